@@ -1,12 +1,13 @@
 package area.server.AREA_Back;
 
 import area.server.AREA_Back.config.RedisStreamProperties;
+import area.server.AREA_Back.config.WorkerProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(RedisStreamProperties.class)
+@EnableConfigurationProperties({RedisStreamProperties.class, WorkerProperties.class})
 public class AreaBackApplication {
 
 	public static void main(String[] args) {
@@ -1,5 +1,6 @@
 package area.server.AREA_Back.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -13,6 +14,7 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync
 @EnableScheduling
+@RequiredArgsConstructor
 public class AsyncConfig {
 
     private static final int WORKER_CORE_POOL_SIZE = 4;
@@ -26,8 +28,14 @@ public class AsyncConfig {
     private static final int SCHEDULER_POOL_SIZE = 10;
     private static final int SCHEDULER_AWAIT_TERMINATION_SECONDS = 30;
 
+    private final WorkerProperties workerProperties;
+
     @Bean(name = "areaWorkerExecutor")
     public Executor areaWorkerExecutor() {
+        if (workerProperties.getExecutorMode() == WorkerProperties.ExecutorMode.VIRTUAL) {
+            return new VirtualThreadTaskExecutor("AreaWorker",
+                    workerProperties.getMaxConcurrentWorkerTasks(), WORKER_AWAIT_TERMINATION_SECONDS);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(WORKER_CORE_POOL_SIZE);
         executor.setMaxPoolSize(WORKER_MAX_POOL_SIZE);
@@ -41,6 +49,10 @@ public class AsyncConfig {
 
     @Bean(name = "reactionTaskExecutor")
     public Executor reactionTaskExecutor() {
+        if (workerProperties.getExecutorMode() == WorkerProperties.ExecutorMode.VIRTUAL) {
+            return new VirtualThreadTaskExecutor("ReactionExec",
+                    workerProperties.getMaxConcurrentReactions(), REACTION_AWAIT_TERMINATION_SECONDS);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(REACTION_CORE_POOL_SIZE);
         executor.setMaxPoolSize(REACTION_MAX_POOL_SIZE);
@@ -72,6 +72,42 @@ public class RedisConfig {
         return streamProperties.getConsumerName();
     }
 
+    public int getAreasBatchSize() {
+        return streamProperties.getBatchSize();
+    }
+
+    public Duration getAreasPollTimeout() {
+        return Duration.ofMillis(streamProperties.getPollTimeoutMs());
+    }
+
+    public Duration getAreasReclaimIdle() {
+        return Duration.ofMillis(streamProperties.getReclaimIdleMs());
+    }
+
+    public int getAreasReclaimBatchSize() {
+        return streamProperties.getReclaimBatchSize();
+    }
+
+    public int getAreasMaxDeliveries() {
+        return streamProperties.getMaxDeliveries();
+    }
+
+    public String getAreasDeadLetterStream() {
+        return streamProperties.getDeadLetterStreamName();
+    }
+
+    public int getAreasShardCount() {
+        return streamProperties.getShardCount();
+    }
+
+    public Duration getAreasMembershipTtl() {
+        return Duration.ofMillis(streamProperties.getMembershipTtlMs());
+    }
+
+    public Duration getAreasTrimRetention() {
+        return Duration.ofMillis(streamProperties.getTrimRetentionMs());
+    }
+
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         log.info("Configuring Redis connection - Host: {}, Port: {}, SSL: {}",
@@ -15,6 +15,15 @@ public class RedisStreamProperties {
     private static final int DEFAULT_THREAD_POOL_SIZE = 4;
     private static final int DEFAULT_POLL_TIMEOUT_MS = 100;
     private static final int UUID_SUBSTRING_LENGTH = 8;
+    private static final long DEFAULT_RECLAIM_INTERVAL_MS = 15000;
+    private static final long DEFAULT_RECLAIM_IDLE_MS = 60000;
+    private static final int DEFAULT_RECLAIM_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_DELIVERIES = 5;
+    private static final int DEFAULT_SHARD_COUNT = 1;
+    private static final long DEFAULT_MEMBERSHIP_TTL_MS = 15000;
+    private static final long DEFAULT_REBALANCE_INTERVAL_MS = 5000;
+    private static final long DEFAULT_TRIM_INTERVAL_MS = 30000;
+    private static final long DEFAULT_TRIM_RETENTION_MS = 60000;
 
     private String streamName = "areas:events";
     private String consumerGroup = "area-processors";
@@ -22,6 +31,16 @@ public class RedisStreamProperties {
     private int batchSize = DEFAULT_BATCH_SIZE;
     private int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
     private int pollTimeoutMs = DEFAULT_POLL_TIMEOUT_MS;
+    private long reclaimIntervalMs = DEFAULT_RECLAIM_INTERVAL_MS;
+    private long reclaimIdleMs = DEFAULT_RECLAIM_IDLE_MS;
+    private int reclaimBatchSize = DEFAULT_RECLAIM_BATCH_SIZE;
+    private int maxDeliveries = DEFAULT_MAX_DELIVERIES;
+    private String deadLetterStreamName = "areas:events:dead-letter";
+    private int shardCount = DEFAULT_SHARD_COUNT;
+    private long membershipTtlMs = DEFAULT_MEMBERSHIP_TTL_MS;
+    private long rebalanceIntervalMs = DEFAULT_REBALANCE_INTERVAL_MS;
+    private long trimIntervalMs = DEFAULT_TRIM_INTERVAL_MS;
+    private long trimRetentionMs = DEFAULT_TRIM_RETENTION_MS;
 
     public String getConsumerName() {
         if (consumerName == null || consumerName.isEmpty()) {
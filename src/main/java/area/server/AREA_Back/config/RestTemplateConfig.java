@@ -1,16 +1,22 @@
 package area.server.AREA_Back.config;
 
+import area.server.AREA_Back.worker.ReactionDeadline;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
-* Configuration for RestTemplate bean with Apache HttpClient for PATCH support
+* Configuration for RestTemplate bean with Apache HttpClient for PATCH support.
+* Requests made by a reaction get their timeouts capped by the time left before its deadline.
 */
 @Configuration
 public class RestTemplateConfig {
@@ -40,6 +46,27 @@ public class RestTemplateConfig {
     @Bean
     public RestTemplate restTemplate(CloseableHttpClient httpClient) {
         HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setHttpContextFactory((method, uri) -> deadlineContext());
         return new RestTemplate(factory);
     }
+
+    /**
+     * Request context whose connect, pool and response timeouts are the default ones capped by the
+     * time left to the reaction on the current thread; {@code null} outside a reaction, so the
+     * client defaults apply.
+     */
+    static HttpContext deadlineContext() {
+        Duration remaining = ReactionDeadline.remaining();
+        if (remaining == null) {
+            return null;
+        }
+        long remainingMs = Math.max(1, remaining.toMillis());
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(Math.min(CONNECT_TIMEOUT_MS, remainingMs)))
+                .setConnectTimeout(Timeout.ofMilliseconds(Math.min(CONNECT_TIMEOUT_MS, remainingMs)))
+                .setResponseTimeout(Timeout.ofMilliseconds(Math.min(READ_TIMEOUT_MS, remainingMs)))
+                .build());
+        return context;
+    }
 }
\ No newline at end of file
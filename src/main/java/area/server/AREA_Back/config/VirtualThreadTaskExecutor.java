@@ -0,0 +1,89 @@
+package area.server.AREA_Back.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs each task on its own virtual thread. Concurrency is bounded by a semaphore instead of a
+ * pool size: once every permit is taken, submitters block until a running task completes.
+ */
+@Slf4j
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int awaitTerminationSeconds;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final AtomicLong completedTasks = new AtomicLong();
+
+    public VirtualThreadTaskExecutor(String name, int maxConcurrency, int awaitTerminationSeconds) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+        this.permits = new Semaphore(maxConcurrency);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for a " + name + " permit", e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    completedTasks.incrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw new TaskRejectedException("Executor " + name + " did not accept task", e);
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTasks.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            log.warn("Executor {} still had {} tasks running after {}s, interrupting them",
+                    name, getActiveCount(), awaitTerminationSeconds);
+            executor.shutdownNow();
+        }
+    }
+}
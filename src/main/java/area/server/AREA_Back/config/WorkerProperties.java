@@ -0,0 +1,217 @@
+package area.server.AREA_Back.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.worker")
+public class WorkerProperties {
+
+    private static final int DEFAULT_CLAIM_BATCH_SIZE = 50;
+    private static final int DEFAULT_MAX_CONCURRENT_REACTIONS = 1000;
+    private static final int DEFAULT_MAX_CONCURRENT_WORKER_TASKS = 16;
+    private static final int DEFAULT_BULKHEAD_MAX_CONCURRENT = 50;
+    private static final int DEFAULT_BULKHEAD_QUEUE_DEPTH = 100;
+    private static final long DEFAULT_BULKHEAD_MAX_WAIT_MS = 2000;
+    private static final long DEFAULT_BULKHEAD_REJECTION_DELAY_MS = 30000;
+    private static final double DEFAULT_BULKHEAD_MAX_THREAD_SHARE = 0.5;
+    private static final long DEFAULT_LIMITER_LEASE_TTL_MS = 300000;
+    private static final long DEFAULT_LIMITER_RETRY_DELAY_MS = 5000;
+    private static final long DEFAULT_THROTTLE_MAX_SLEEP_MS = 250;
+    private static final int DEFAULT_TIMEOUT_SECONDS = 300;
+    private static final long DEFAULT_DEAD_LETTER_ARCHIVE_INTERVAL_MS = 60000;
+    private static final long DEFAULT_DEAD_LETTER_MOVE_AFTER_SECONDS = 3600;
+    private static final int DEFAULT_DEAD_LETTER_MOVE_BATCH_SIZE = 500;
+    private static final int DEFAULT_DEAD_LETTER_REPLAY_BATCH_SIZE = 100;
+    private static final long DEFAULT_DEAD_LETTER_REPLAY_BATCH_DELAY_MS = 500;
+    private static final int DEFAULT_DEAD_LETTER_REPLAY_MAX = 5000;
+    private static final long DEFAULT_PARTITIONS_MAINTENANCE_INTERVAL_MS = 3600000;
+    private static final int DEFAULT_PARTITIONS_MONTHS_AHEAD = 3;
+    private static final int DEFAULT_PARTITIONS_HOT_RETENTION_MONTHS = 6;
+    private static final int DEFAULT_PARTITIONS_ARCHIVE_RETENTION_MONTHS = 24;
+    private static final long DEFAULT_STATISTICS_RECONCILE_INTERVAL_MS = 900000;
+    private static final long DEFAULT_ROLLUPS_INTERVAL_MS = 300000;
+    private static final int DEFAULT_ROLLUPS_MAX_HOURS_PER_RUN = 48;
+    private static final int DEFAULT_ROLLUPS_OVERLAP_HOURS = 1;
+    private static final long DEFAULT_GRAPH_JANITOR_INTERVAL_MS = 3600000;
+    private static final int DEFAULT_GRAPH_STALE_RUN_HOURS = 24;
+    private static final long DEFAULT_OUTBOX_RELAY_INTERVAL_MS = 200;
+    private static final int DEFAULT_OUTBOX_RELAY_BATCH_SIZE = 500;
+    private static final long DEFAULT_OUTBOX_STALE_SWEEP_INTERVAL_MS = 60000;
+    private static final int DEFAULT_OUTBOX_STALE_QUEUED_SECONDS = 60;
+    private static final int DEFAULT_LANE_INTERACTIVE_WEIGHT = 8;
+    private static final int DEFAULT_LANE_CHAIN_WEIGHT = 4;
+    private static final int DEFAULT_LANE_WEBHOOK_WEIGHT = 2;
+    private static final int DEFAULT_LANE_POLL_WEIGHT = 1;
+    private static final int DEFAULT_LANE_CRON_WEIGHT = 1;
+    private static final int DEFAULT_FAIR_SHARE_QUANTUM = 1;
+    private static final int DEFAULT_FAIR_SHARE_MAX_BUFFERED = 500;
+    private static final long DEFAULT_FAIR_SHARE_DISPATCH_INTERVAL_MS = 100;
+    private static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MS = 50;
+    private static final int DEFAULT_WRITE_BEHIND_MAX_BATCH_SIZE = 200;
+    private static final int DEFAULT_WRITE_BEHIND_MAX_FLUSH_ATTEMPTS = 3;
+    private static final int DEFAULT_WRITE_BEHIND_MAX_BUFFERED = 2000;
+    private static final long DEFAULT_DRAIN_TIMEOUT_MS = 25000;
+
+    public enum ExecutorMode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private int claimBatchSize = DEFAULT_CLAIM_BATCH_SIZE;
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+    private int maxConcurrentReactions = DEFAULT_MAX_CONCURRENT_REACTIONS;
+    private int maxConcurrentWorkerTasks = DEFAULT_MAX_CONCURRENT_WORKER_TASKS;
+    private long limiterLeaseTtlMs = DEFAULT_LIMITER_LEASE_TTL_MS;
+    private long limiterRetryDelayMs = DEFAULT_LIMITER_RETRY_DELAY_MS;
+    private long throttleMaxSleepMs = DEFAULT_THROTTLE_MAX_SLEEP_MS;
+    private int defaultTimeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    private Bulkhead bulkhead = new Bulkhead();
+    private DeadLetter deadLetter = new DeadLetter();
+    private Partitions partitions = new Partitions();
+    private Statistics statistics = new Statistics();
+    private Rollups rollups = new Rollups();
+    private Graph graph = new Graph();
+    private Outbox outbox = new Outbox();
+    private Lanes lanes = new Lanes();
+    private FairShare fairShare = new FairShare();
+    private WriteBehind writeBehind = new WriteBehind();
+    private Drain drain = new Drain();
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrent = DEFAULT_BULKHEAD_MAX_CONCURRENT;
+        private int queueDepth = DEFAULT_BULKHEAD_QUEUE_DEPTH;
+        private long maxWaitMs = DEFAULT_BULKHEAD_MAX_WAIT_MS;
+        private long rejectionDelayMs = DEFAULT_BULKHEAD_REJECTION_DELAY_MS;
+        private double maxThreadShare = DEFAULT_BULKHEAD_MAX_THREAD_SHARE;
+        private Map<String, BulkheadLimits> providers = new HashMap<>();
+
+        public BulkheadLimits limitsFor(String provider) {
+            BulkheadLimits override = providers.get(provider);
+            BulkheadLimits limits = new BulkheadLimits();
+            if (override != null && override.getMaxConcurrent() != null) {
+                limits.setMaxConcurrent(override.getMaxConcurrent());
+            } else {
+                limits.setMaxConcurrent(maxConcurrent);
+            }
+            if (override != null && override.getQueueDepth() != null) {
+                limits.setQueueDepth(override.getQueueDepth());
+            } else {
+                limits.setQueueDepth(queueDepth);
+            }
+            return limits;
+        }
+    }
+
+    @Data
+    public static class BulkheadLimits {
+        private Integer maxConcurrent;
+        private Integer queueDepth;
+    }
+
+    @Data
+    public static class DeadLetter {
+        private long archiveIntervalMs = DEFAULT_DEAD_LETTER_ARCHIVE_INTERVAL_MS;
+        private long moveAfterSeconds = DEFAULT_DEAD_LETTER_MOVE_AFTER_SECONDS;
+        private int moveBatchSize = DEFAULT_DEAD_LETTER_MOVE_BATCH_SIZE;
+        private int replayBatchSize = DEFAULT_DEAD_LETTER_REPLAY_BATCH_SIZE;
+        private long replayBatchDelayMs = DEFAULT_DEAD_LETTER_REPLAY_BATCH_DELAY_MS;
+        private int replayMax = DEFAULT_DEAD_LETTER_REPLAY_MAX;
+    }
+
+    @Data
+    public static class Partitions {
+        private long maintenanceIntervalMs = DEFAULT_PARTITIONS_MAINTENANCE_INTERVAL_MS;
+        private int monthsAhead = DEFAULT_PARTITIONS_MONTHS_AHEAD;
+        private int hotRetentionMonths = DEFAULT_PARTITIONS_HOT_RETENTION_MONTHS;
+        private int archiveRetentionMonths = DEFAULT_PARTITIONS_ARCHIVE_RETENTION_MONTHS;
+    }
+
+    @Data
+    public static class Statistics {
+        private long reconcileIntervalMs = DEFAULT_STATISTICS_RECONCILE_INTERVAL_MS;
+    }
+
+    @Data
+    public static class Rollups {
+        private long intervalMs = DEFAULT_ROLLUPS_INTERVAL_MS;
+        private int maxHoursPerRun = DEFAULT_ROLLUPS_MAX_HOURS_PER_RUN;
+        private int overlapHours = DEFAULT_ROLLUPS_OVERLAP_HOURS;
+    }
+
+    @Data
+    public static class Graph {
+        private long janitorIntervalMs = DEFAULT_GRAPH_JANITOR_INTERVAL_MS;
+        private int staleRunHours = DEFAULT_GRAPH_STALE_RUN_HOURS;
+    }
+
+    @Data
+    public static class Outbox {
+        private long relayIntervalMs = DEFAULT_OUTBOX_RELAY_INTERVAL_MS;
+        private int relayBatchSize = DEFAULT_OUTBOX_RELAY_BATCH_SIZE;
+        private long staleSweepIntervalMs = DEFAULT_OUTBOX_STALE_SWEEP_INTERVAL_MS;
+        private int staleQueuedSeconds = DEFAULT_OUTBOX_STALE_QUEUED_SECONDS;
+    }
+
+    /**
+     * Weighted round-robin shares of the event lanes: per round a lane reads up to
+     * weight x batch size entries. Weights below 1 are raised to 1 so no lane starves.
+     */
+    @Data
+    public static class Lanes {
+        private int interactiveWeight = DEFAULT_LANE_INTERACTIVE_WEIGHT;
+        private int chainWeight = DEFAULT_LANE_CHAIN_WEIGHT;
+        private int webhookWeight = DEFAULT_LANE_WEBHOOK_WEIGHT;
+        private int pollWeight = DEFAULT_LANE_POLL_WEIGHT;
+        private int cronWeight = DEFAULT_LANE_CRON_WEIGHT;
+    }
+
+    /**
+     * Per-tenant deficit round robin between stream read and dispatch. Each tenant with buffered
+     * events takes up to its quantum per turn; {@code quanta} overrides the quantum by user id.
+     * {@code maxBuffered} is the read-ahead allowed beyond the free reaction slots.
+     */
+    @Data
+    public static class FairShare {
+        private int quantum = DEFAULT_FAIR_SHARE_QUANTUM;
+        private int maxBuffered = DEFAULT_FAIR_SHARE_MAX_BUFFERED;
+        private long dispatchIntervalMs = DEFAULT_FAIR_SHARE_DISPATCH_INTERVAL_MS;
+        private Map<String, Integer> quanta = new HashMap<>();
+
+        public int quantumFor(String tenant) {
+            Integer override = quanta.get(tenant);
+            return Math.max(1, override != null ? override : quantum);
+        }
+    }
+
+    /**
+     * Write-behind of execution results: when enabled, results are buffered and written with
+     * one UPDATE per flush, every {@code flushIntervalMs} or as soon as {@code maxBatchSize}
+     * results are waiting. Stream entries are acknowledged only once their result is flushed.
+     * A result is kept for up to {@code maxFlushAttempts} flushes before its execution is
+     * handed back to the queue. The buffer never holds more than {@code maxBuffered} results:
+     * past that, results are written on the reaction thread, which slows reactions down instead.
+     */
+    @Data
+    public static class WriteBehind {
+        private boolean enabled;
+        private long flushIntervalMs = DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MS;
+        private int maxBatchSize = DEFAULT_WRITE_BEHIND_MAX_BATCH_SIZE;
+        private int maxFlushAttempts = DEFAULT_WRITE_BEHIND_MAX_FLUSH_ATTEMPTS;
+        private int maxBuffered = DEFAULT_WRITE_BEHIND_MAX_BUFFERED;
+    }
+
+    /**
+     * Shutdown drain: how long running reactions may take to finish once the worker stopped
+     * claiming. Keep it below {@code spring.lifecycle.timeout-per-shutdown-phase} and the
+     * orchestrator's termination grace period.
+     */
+    @Data
+    public static class Drain {
+        private long timeoutMs = DEFAULT_DRAIN_TIMEOUT_MS;
+    }
+}
@@ -3,6 +3,10 @@ package area.server.AREA_Back.controller;
 import area.server.AREA_Back.dto.AdminAreaResponse;
 import area.server.AREA_Back.dto.AdminMetricsResponse;
 import area.server.AREA_Back.dto.AdminServiceResponse;
+import area.server.AREA_Back.dto.DeadLetterFilter;
+import area.server.AREA_Back.dto.DeadLetterReplayJob;
+import area.server.AREA_Back.dto.ExecutionRollupSummary;
+import area.server.AREA_Back.entity.DeadLetter;
 import area.server.AREA_Back.entity.Area;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.Service;
@@ -14,6 +18,9 @@ import area.server.AREA_Back.repository.AreaRepository;
 import area.server.AREA_Back.repository.ExecutionRepository;
 import area.server.AREA_Back.repository.ServiceRepository;
 import area.server.AREA_Back.repository.UserRepository;
+import area.server.AREA_Back.service.Area.DeadLetterService;
+import area.server.AREA_Back.service.Area.ExecutionRollupService;
+import area.server.AREA_Back.service.Area.ExecutionService;
 import area.server.AREA_Back.service.WorkerTrackingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,8 +31,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,6 +41,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -57,6 +66,9 @@ public class AdminController {
     private final ExecutionRepository executionRepository;
     private final ActionInstanceRepository actionInstanceRepository;
     private final WorkerTrackingService workerTrackingService;
+    private final DeadLetterService deadLetterService;
+    private final ExecutionService executionService;
+    private final ExecutionRollupService executionRollupService;
 
     @GetMapping("/services")
     @Operation(summary = "Get all services with usage stats",
@@ -83,15 +95,15 @@ public class AdminController {
     })
     public ResponseEntity<AdminMetricsResponse> getSystemMetrics() {
         try {
-            Long queueLength = executionRepository.countByStatus(ExecutionStatus.QUEUED);
+            Map<String, Long> executionCounts = executionService.getExecutionStatistics();
+            Long queueLength = executionCounts.getOrDefault("queued", 0L);
 
             final int hoursInDay = 24;
-            LocalDateTime yesterday = LocalDateTime.now().minusHours(hoursInDay);
-            Long failedExecutions =
-                executionRepository.countByStatusAndCreatedAtAfter(ExecutionStatus.FAILED, yesterday);
+            Map<ExecutionStatus, Long> lastDay =
+                executionRollupService.countByStatusSince(ExecutionRollupService.windowStart(hoursInDay));
+            Long failedExecutions = lastDay.getOrDefault(ExecutionStatus.FAILED, 0L);
 
-            Long successfulExecutions =
-                executionRepository.countByStatusAndCreatedAtAfter(ExecutionStatus.OK, yesterday);
+            Long successfulExecutions = lastDay.getOrDefault(ExecutionStatus.OK, 0L);
 
             Long totalAreas = areaRepository.count();
 
@@ -102,7 +114,8 @@ public class AdminController {
             Map<String, Object> systemMetrics = new HashMap<>();
             systemMetrics.put("timestamp", LocalDateTime.now());
             systemMetrics.put("uptime", "N/A");
-            systemMetrics.put("totalExecutions", executionRepository.count());
+            systemMetrics.put("totalExecutions",
+                executionCounts.values().stream().mapToLong(Long::longValue).sum());
             systemMetrics.put("totalActionDefinitions", actionDefinitionRepository.count());
             systemMetrics.put("totalServices", serviceRepository.count());
             systemMetrics.put("workerStatistics", workerTrackingService.getWorkerStatistics());
@@ -225,11 +238,19 @@ public class AdminController {
     public ResponseEntity<List<Map<String, Object>>> getServicesUsage() {
         try {
             List<Service> services = serviceRepository.findAll();
+            Map<UUID, Long> instancesByService = new HashMap<>();
+            for (Object[] row : actionInstanceRepository.countGroupedByServiceId()) {
+                instancesByService.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+            final int hoursInDay = 24;
+            Map<UUID, Long> executionsByService =
+                executionRollupService.countByServiceSince(ExecutionRollupService.windowStart(hoursInDay));
+
             List<Map<String, Object>> usageStats = services.stream().map(service -> {
-                Long usageCount = actionInstanceRepository.countByActionDefinitionServiceId(service.getId());
                 Map<String, Object> stat = new HashMap<>();
                 stat.put("service", service.getName());
-                stat.put("usage", usageCount);
+                stat.put("usage", instancesByService.getOrDefault(service.getId(), 0L));
+                stat.put("executions24h", executionsByService.getOrDefault(service.getId(), 0L));
                 return stat;
             }).sorted((a, b) -> Long.compare((Long) b.get("usage"), (Long) a.get("usage")))
             .collect(Collectors.toList());
@@ -246,8 +267,7 @@ public class AdminController {
     public ResponseEntity<List<Map<String, Object>>> getLogs(
             @RequestParam(defaultValue = "50") int limit) {
         try {
-            Pageable pageable = PageRequest.of(0, limit, Sort.by("queuedAt").descending());
-            Page<Execution> executions = executionRepository.findAll(pageable);
+            Slice<Execution> executions = executionRepository.findRecentExecutions(PageRequest.of(0, limit));
 
             List<Map<String, Object>> logs = executions.stream().map(execution -> {
                 Map<String, Object> log = new HashMap<>();
@@ -273,8 +293,7 @@ public class AdminController {
     public ResponseEntity<List<Map<String, Object>>> getAreaRuns(
             @RequestParam(defaultValue = "50") int limit) {
         try {
-            Pageable pageable = PageRequest.of(0, limit, Sort.by("queuedAt").descending());
-            Page<Execution> executions = executionRepository.findAll(pageable);
+            Slice<Execution> executions = executionRepository.findRecentExecutions(PageRequest.of(0, limit));
 
             List<Map<String, Object>> runs = executions.stream().map(execution -> {
                 Map<String, Object> run = new HashMap<>();
@@ -296,19 +315,75 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/dead-letters")
+    @Operation(summary = "Get dead letters",
+               description = "List failed executions moved to the dead-letter queue, oldest first")
+    public ResponseEntity<Map<String, Object>> getDeadLetters(
+            @RequestParam(required = false) String serviceKey,
+            @RequestParam(required = false) UUID areaId,
+            @RequestParam(required = false) UUID actionInstanceId,
+            @RequestParam(required = false) String reason,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeReplayed,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            DeadLetterFilter filter = new DeadLetterFilter(
+                serviceKey, areaId, actionInstanceId, reason, from, to, includeReplayed);
+            Page<DeadLetter> deadLetters = deadLetterService.search(filter, PageRequest.of(page, size));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("content", deadLetters.getContent());
+            response.put("page", deadLetters.getNumber());
+            response.put("size", deadLetters.getSize());
+            response.put("totalElements", deadLetters.getTotalElements());
+            response.put("pending", deadLetterService.countPending());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error fetching dead letters", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/dead-letters/replay")
+    @Operation(summary = "Replay dead letters",
+               description = "Start re-enqueuing the dead letters matching the filter as new executions, "
+                   + "in throttled batches; returns the job to poll")
+    public ResponseEntity<DeadLetterReplayJob> replayDeadLetters(
+            @RequestBody(required = false) DeadLetterFilter filter,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            DeadLetterFilter effectiveFilter = filter != null ? filter : new DeadLetterFilter();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(deadLetterService.startReplay(effectiveFilter, limit));
+        } catch (Exception e) {
+            log.error("Error replaying dead letters", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/dead-letters/replay/{jobId}")
+    @Operation(summary = "Get dead-letter replay progress")
+    public ResponseEntity<DeadLetterReplayJob> getDeadLetterReplay(@PathVariable UUID jobId) {
+        return deadLetterService.getReplayJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/area-stats")
     @Operation(summary = "Get area statistics")
     public ResponseEntity<List<Map<String, Object>>> getAreaStats() {
         try {
             Long total = areaRepository.count();
             final int hoursInDay = 24;
-            LocalDateTime yesterday = LocalDateTime.now().minusHours(hoursInDay);
-            Long successful =
-                executionRepository.countByStatusAndCreatedAtAfter(ExecutionStatus.OK, yesterday);
-            Long failed =
-                executionRepository.countByStatusAndCreatedAtAfter(ExecutionStatus.FAILED, yesterday);
-            Long inProgress = executionRepository.countByStatus(ExecutionStatus.QUEUED)
-                              + executionRepository.countByStatus(ExecutionStatus.RUNNING);
+            Map<ExecutionStatus, Long> lastDay =
+                executionRollupService.countByStatusSince(ExecutionRollupService.windowStart(hoursInDay));
+            Long successful = lastDay.getOrDefault(ExecutionStatus.OK, 0L);
+            Long failed = lastDay.getOrDefault(ExecutionStatus.FAILED, 0L);
+            Map<String, Long> executionCounts = executionService.getExecutionStatistics();
+            Long inProgress = executionCounts.getOrDefault("queued", 0L)
+                              + executionCounts.getOrDefault("running", 0L);
 
             List<Map<String, Object>> stats = new ArrayList<>();
             stats.add(Map.of("title", "Total Areas", "value", total.toString(), "icon", "IconMap"));
@@ -323,6 +398,26 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/execution-rollups")
+    @Operation(summary = "Get execution analytics",
+               description = "Executions per status with average, p50 and p95 durations over the last hours, "
+                           + "grouped by service or by action definition, served from the hourly rollups")
+    public ResponseEntity<List<ExecutionRollupSummary>> getExecutionRollups(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "service") String groupBy) {
+        try {
+            boolean byActionDefinition = "action".equalsIgnoreCase(groupBy);
+            if (!byActionDefinition && !"service".equalsIgnoreCase(groupBy)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(executionRollupService.summarize(
+                ExecutionRollupService.windowStart(hours), byActionDefinition));
+        } catch (Exception e) {
+            log.error("Error fetching execution rollups", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/user-connected-per-day")
     @Operation(summary = "Get users connected per day")
     public ResponseEntity<List<Map<String, Object>>> getUsersConnectedPerDay(
@@ -356,20 +451,21 @@ public class AdminController {
     public ResponseEntity<List<Map<String, Object>>> getNewUsersPerMonth(
             @RequestParam(defaultValue = "12") int months) {
         try {
-            List<Map<String, Object>> data = new ArrayList<>();
-            LocalDateTime endDate = LocalDateTime.now();
-
-            for (int i = months - 1; i >= 0; i--) {
-                LocalDateTime monthStart = endDate.minusMonths(i).withDayOfMonth(1)
-                    .withHour(0).withMinute(0).withSecond(0);
-                LocalDateTime monthEnd = monthStart.plusMonths(1).minusSeconds(1);
+            LocalDateTime firstMonth = LocalDateTime.now().minusMonths(months - 1).withDayOfMonth(1)
+                .truncatedTo(ChronoUnit.DAYS);
+            Map<LocalDate, Long> createdPerMonth = new HashMap<>();
+            for (Object[] row : userRepository.countUsersCreatedPerMonth(firstMonth)) {
+                createdPerMonth.put(LocalDate.parse(row[0].toString()), ((Number) row[1]).longValue());
+            }
 
-                Long count = userRepository.countByCreatedAtBetween(monthStart, monthEnd);
+            List<Map<String, Object>> data = new ArrayList<>();
+            for (int i = 0; i < months; i++) {
+                LocalDate monthStart = firstMonth.toLocalDate().plusMonths(i);
 
                 Map<String, Object> entry = new HashMap<>();
                 final int monthNameLength = 3;
                 entry.put("month", monthStart.getMonth().toString().substring(0, monthNameLength));
-                entry.put("users", count);
+                entry.put("users", createdPerMonth.getOrDefault(monthStart, 0L));
                 data.add(entry);
             }
 
@@ -503,9 +599,9 @@ public class AdminController {
         response.setCreatedAt(area.getCreatedAt());
         response.setUpdatedAt(area.getUpdatedAt());
 
-        List<Execution> executions = executionRepository.findByAreaIdOrderByCreatedAtDesc(area.getId());
-        if (!executions.isEmpty()) {
-            Execution lastExecution = executions.get(0);
+        Optional<Execution> lastExecutionOpt = executionRepository.findFirstByAreaIdOrderByQueuedAtDesc(area.getId());
+        if (lastExecutionOpt.isPresent()) {
+            Execution lastExecution = lastExecutionOpt.get();
             response.setLastRun(lastExecution.getQueuedAt());
             response.setStatus(lastExecution.getStatus().name().toLowerCase());
         } else {
@@ -1,14 +1,20 @@
 package area.server.AREA_Back.controller;
 
+import area.server.AREA_Back.dto.StreamStats;
+import area.server.AREA_Back.service.Area.ActionLinkService;
 import area.server.AREA_Back.service.Area.ExecutionService;
 import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.service.Redis.RedisStreamRetention;
 import area.server.AREA_Back.worker.AreaReactionWorker;
+import area.server.AREA_Back.worker.ReactionDispatcher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,6 +27,9 @@ public class WorkerController {
     private final AreaReactionWorker areaReactionWorker;
     private final ExecutionService executionService;
     private final RedisEventService redisEventService;
+    private final ReactionDispatcher reactionDispatcher;
+    private final ActionLinkService actionLinkService;
+    private final RedisStreamRetention redisStreamRetention;
 
     @GetMapping("/status")
     @Operation(summary = "Get worker status", description = "Returns the current status of the AREA reaction worker")
@@ -40,6 +49,13 @@ public class WorkerController {
         return ResponseEntity.ok(redisEventService.getStreamInfo());
     }
 
+    @GetMapping("/stream-stats")
+    @Operation(summary = "Get Redis stream statistics",
+               description = "Returns length, pending entries, lag and memory of the streams owned by this node")
+    public ResponseEntity<List<StreamStats>> getStreamStats() {
+        return ResponseEntity.ok(redisStreamRetention.getStreamStats());
+    }
+
     @PostMapping("/executions/{executionId}/cancel")
     @Operation(summary = "Cancel execution", description = "Cancel a specific execution")
     public ResponseEntity<Map<String, String>> cancelExecution(
@@ -47,6 +63,8 @@ public class WorkerController {
             @RequestParam(required = false) String reason) {
         try {
             executionService.cancelExecution(executionId, reason);
+            reactionDispatcher.cancel(List.of(executionId));
+            actionLinkService.abortLinkedActions(List.of(executionId));
             return ResponseEntity.ok(Map.of(
                 "status", "canceled",
                 "executionId", executionId.toString(),
@@ -54,6 +72,12 @@ public class WorkerController {
             ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "conflict",
+                "executionId", executionId.toString(),
+                "error", e.getMessage()
+            ));
         }
     }
 
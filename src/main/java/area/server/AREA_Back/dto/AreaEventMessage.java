@@ -14,6 +14,7 @@ import java.util.UUID;
 public class AreaEventMessage {
     private UUID actionInstanceId;
     private UUID areaId;
+    private UUID userId;
     private UUID executionId;
     private String eventType;  //*  "webhook", "poll", "cron", "manual", "chain"
     private Map<String, Object> payload;
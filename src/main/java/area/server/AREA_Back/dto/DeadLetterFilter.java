@@ -0,0 +1,21 @@
+package area.server.AREA_Back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterFilter {
+    private String serviceKey;
+    private UUID areaId;
+    private UUID actionInstanceId;
+    private String reason;  //* case-insensitive substring
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean includeReplayed = false;
+}
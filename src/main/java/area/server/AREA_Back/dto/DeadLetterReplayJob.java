@@ -0,0 +1,52 @@
+package area.server.AREA_Back.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a dead-letter replay running in the background.
+ */
+@Getter
+public class DeadLetterReplayJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id;
+    private final int matched;
+    private final LocalDateTime startedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile int replayed;
+    private volatile int skipped;
+    private volatile int batches;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public DeadLetterReplayJob(UUID id, int matched, LocalDateTime startedAt) {
+        this.id = id;
+        this.matched = matched;
+        this.startedAt = startedAt;
+    }
+
+    public synchronized void recordBatch(int size, int replayedInBatch) {
+        replayed += replayedInBatch;
+        skipped += size - replayedInBatch;
+        batches++;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
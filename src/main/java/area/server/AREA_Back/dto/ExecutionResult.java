@@ -24,6 +24,7 @@ public class ExecutionResult {
     private Long durationMs;
     private boolean shouldRetry;
     private LocalDateTime nextRetryAt;
+    private boolean deferred;
 
     public static ExecutionResult success(final UUID executionId, final Map<String, Object> outputPayload,
                                         final LocalDateTime startedAt) {
@@ -63,4 +64,15 @@ public class ExecutionResult {
         }
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Execution was never attempted (e.g. provider bulkhead saturated): retry later without
+     * counting it against the retry budget.
+     */
+    public static ExecutionResult deferred(final UUID executionId, final String reason,
+                                         final LocalDateTime startedAt, final LocalDateTime nextRetryAt) {
+        ExecutionResult result = failure(executionId, reason, Map.of("deferred", reason), startedAt, true, nextRetryAt);
+        result.setDeferred(true);
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package area.server.AREA_Back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionRollupSummary {
+    private UUID serviceId;
+    private UUID actionDefinitionId;
+    private String name;
+    private long executions;
+    private Map<String, Long> statuses;
+    private Long avgDurationMs;
+    private Long p50DurationMs;
+    private Long p95DurationMs;
+}
@@ -0,0 +1,25 @@
+package area.server.AREA_Back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamStats {
+    private String streamKey;
+    private long length;
+    private long pending;
+    private Long lag;  //* null when the Redis server does not track it (< 7.0)
+    private long memoryBytes;
+    private long trimmed;
+    private Map<String, Long> consumerPending;
+    private Map<String, Long> consumerIdleMs;
+    private LocalDateTime sampledAt;
+}
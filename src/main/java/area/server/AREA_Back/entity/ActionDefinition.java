@@ -70,6 +70,9 @@ public class ActionDefinition {
     @Column(name = "throttle_policy", columnDefinition = "jsonb")
     private Map<String, Object> throttlePolicy;
 
+    @Column(name = "timeout_seconds")
+    private Integer timeoutSeconds;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
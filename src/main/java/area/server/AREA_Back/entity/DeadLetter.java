@@ -0,0 +1,77 @@
+package area.server.AREA_Back.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Terminal execution failure moved out of {@code a_executions}. References are plain ids because
+ * the execution row is deleted and the action instance may be removed before the letter is replayed.
+ */
+@Entity
+@Table(name = "a_dead_letters", schema = "area")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "execution_id", nullable = false)
+    private UUID executionId;
+
+    @Column(name = "action_instance_id")
+    private UUID actionInstanceId;
+
+    @Column(name = "area_id")
+    private UUID areaId;
+
+    @Column(name = "activation_mode_id")
+    private UUID activationModeId;
+
+    @Column(name = "service_key")
+    private String serviceKey;
+
+    @Column(name = "correlation_id")
+    private UUID correlationId;
+
+    @Column
+    private String reason;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> error;
+
+    @Column(nullable = false)
+    private Integer attempt = 0;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "replayed_at")
+    private LocalDateTime replayedAt;
+
+    @Column(name = "replay_execution_id")
+    private UUID replayExecutionId;
+
+    @Column(name = "replay_count", nullable = false)
+    private Integer replayCount = 0;
+}
@@ -73,4 +73,13 @@ public class Execution {
 
     @Column(name = "dedup_key")
     private String dedupKey;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
 }
\ No newline at end of file
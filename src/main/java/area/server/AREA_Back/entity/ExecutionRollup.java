@@ -0,0 +1,56 @@
+package area.server.AREA_Back.entity;
+
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Executions finished during one hour for an action definition and status. Rows are written only
+ * by the {@code area.advance_execution_rollups} database function.
+ */
+@Entity
+@Immutable
+@Table(name = "a_execution_rollups_hourly", schema = "area")
+@IdClass(ExecutionRollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionRollup {
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "action_definition_id", nullable = false)
+    private UUID actionDefinitionId;
+
+    @Id
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ExecutionStatus status;
+
+    @Column(name = "service_id", nullable = false)
+    private UUID serviceId;
+
+    @Column(nullable = false)
+    private Long executions = 0L;
+
+    @Column(name = "duration_ms_sum", nullable = false)
+    private Long durationMsSum = 0L;
+
+    /**
+     * Histogram of durations, one count per slot of {@code area.execution_duration_bounds_ms()}
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "duration_buckets", columnDefinition = "bigint[]", nullable = false)
+    private Long[] durationBuckets;
+}
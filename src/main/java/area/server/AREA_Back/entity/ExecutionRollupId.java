@@ -0,0 +1,19 @@
+package area.server.AREA_Back.entity;
+
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionRollupId implements Serializable {
+    private LocalDateTime bucketStart;
+    private UUID actionDefinitionId;
+    private ExecutionStatus status;
+}
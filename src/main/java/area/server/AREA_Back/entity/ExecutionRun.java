@@ -0,0 +1,61 @@
+package area.server.AREA_Back.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Progress of one linked-action graph, keyed by the correlation id shared by all of its executions.
+ * Every update happens under a row lock, so completions of parallel branches are applied one at a time.
+ */
+@Entity
+@Table(name = "a_execution_runs", schema = "area")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionRun {
+
+    @Id
+    @Column(name = "correlation_id", nullable = false)
+    private UUID correlationId;
+
+    @Column(name = "area_id", nullable = false)
+    private UUID areaId;
+
+    @Column(name = "root_action_instance_id", nullable = false)
+    private UUID rootActionInstanceId;
+
+    @Column(name = "pending_nodes", nullable = false)
+    private Integer pendingNodes = 0;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "resolved_nodes", columnDefinition = "jsonb", nullable = false)
+    private List<String> resolvedNodes = new ArrayList<>();
+
+    /**
+     * Fan-in state per target action instance id: remaining and satisfied incoming links, merged input
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> joins = new HashMap<>();
+
+    @CreationTimestamp
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -138,4 +138,11 @@ public interface ActionInstanceRepository extends JpaRepository<ActionInstance,
      */
        @Query("SELECT COUNT(ai) FROM ActionInstance ai WHERE ai.actionDefinition.service.id = :serviceId")
        Long countByActionDefinitionServiceId(@Param("serviceId") UUID serviceId);
+
+    /**
+     * Count action instances per service, as (service id, count) rows
+     */
+       @Query("SELECT ai.actionDefinition.service.id, COUNT(ai) FROM ActionInstance ai "
+              + "GROUP BY ai.actionDefinition.service.id")
+       List<Object[]> countGroupedByServiceId();
 }
\ No newline at end of file
@@ -26,6 +26,15 @@ public interface ActionLinkRepository extends JpaRepository<ActionLink, ActionLi
     @Query("SELECT al FROM ActionLink al WHERE al.area.id = :areaId ORDER BY al.order")
     List<ActionLink> findByAreaIdOrderByOrder(@Param("areaId") UUID areaId);
 
+    /**
+     * Finds all links of an area with their target action instance and definition loaded
+     */
+    @Query("SELECT al FROM ActionLink al "
+           + "JOIN FETCH al.targetActionInstance t "
+           + "JOIN FETCH t.actionDefinition "
+           + "WHERE al.area.id = :areaId ORDER BY al.order")
+    List<ActionLink> findByAreaIdWithTargetFetch(@Param("areaId") UUID areaId);
+
     /**
      * Finds all links where an action is the source
      */
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -48,6 +49,14 @@ public interface ActivationModeRepository extends JpaRepository<ActivationMode,
     @Query("SELECT am FROM ActivationMode am WHERE am.enabled = true")
     List<ActivationMode> findAllEnabled();
 
+    /**
+     * Find the enabled activation modes of a given type for several action instances in one query
+     */
+    @Query("SELECT am FROM ActivationMode am "
+           + "WHERE am.actionInstance.id IN :actionInstanceIds AND am.type = :type AND am.enabled = true")
+    List<ActivationMode> findEnabledByActionInstanceIdsAndType(Collection<UUID> actionInstanceIds,
+        ActivationModeType type);
+
     /**
      * Find activation modes by action instance and enabled status
      */
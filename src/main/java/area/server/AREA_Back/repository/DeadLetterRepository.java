@@ -0,0 +1,64 @@
+package area.server.AREA_Back.repository;
+
+import area.server.AREA_Back.entity.DeadLetter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, UUID> {
+
+    /**
+     * Move a bounded batch of FAILED executions finished before the cutoff into the dead-letter table
+     */
+    @Query(value = "WITH moved AS ("
+           + "DELETE FROM area.a_executions WHERE id IN (SELECT id FROM area.a_executions "
+           + "WHERE status = 'FAILED' AND COALESCE(finished_at, queued_at) < :before "
+           + "ORDER BY finished_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED) "
+           + "RETURNING id, action_instance_id, area_id, activation_mode_id, correlation_id, "
+           + "input_payload, error, attempt, finished_at) "
+           + "INSERT INTO area.a_dead_letters (execution_id, action_instance_id, area_id, activation_mode_id, "
+           + "service_key, correlation_id, reason, payload, error, attempt, failed_at) "
+           + "SELECT m.id, m.action_instance_id, m.area_id, m.activation_mode_id, s.key, m.correlation_id, "
+           + "COALESCE(m.error->>'message', m.error->>'reason', 'Execution failed'), "
+           + "m.input_payload, m.error, m.attempt, m.finished_at "
+           + "FROM moved m "
+           + "LEFT JOIN area.a_action_instances ai ON ai.id = m.action_instance_id "
+           + "LEFT JOIN area.a_action_definitions ad ON ad.id = ai.action_def_id "
+           + "LEFT JOIN area.a_services s ON s.id = ad.service_id "
+           + "RETURNING id", nativeQuery = true)
+    List<UUID> moveFailedExecutions(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Find dead letters matching the optional filters, oldest first
+     */
+    @Query("SELECT d FROM DeadLetter d WHERE "
+           + "(:serviceKey IS NULL OR d.serviceKey = :serviceKey) AND "
+           + "(:areaId IS NULL OR d.areaId = :areaId) AND "
+           + "(:actionInstanceId IS NULL OR d.actionInstanceId = :actionInstanceId) AND "
+           + "(:reason IS NULL OR LOWER(d.reason) LIKE LOWER(CONCAT('%', :reason, '%'))) AND "
+           + "(:from IS NULL OR d.createdAt >= :from) AND "
+           + "(:to IS NULL OR d.createdAt < :to) AND "
+           + "(:includeReplayed = true OR d.replayedAt IS NULL) "
+           + "ORDER BY d.createdAt ASC")
+    Page<DeadLetter> search(@Param("serviceKey") String serviceKey,
+                            @Param("areaId") UUID areaId,
+                            @Param("actionInstanceId") UUID actionInstanceId,
+                            @Param("reason") String reason,
+                            @Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to,
+                            @Param("includeReplayed") boolean includeReplayed,
+                            Pageable pageable);
+
+    /**
+     * Count dead letters that were never replayed
+     */
+    long countByReplayedAtIsNull();
+}
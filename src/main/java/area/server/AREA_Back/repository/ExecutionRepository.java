@@ -4,13 +4,19 @@ import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.Area;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -32,25 +38,92 @@ public interface ExecutionRepository extends JpaRepository<Execution, UUID> {
     List<Execution> findByArea(Area area);
 
     /**
-     * Find queued executions ordered by queue time
+     * Atomically claim a bounded batch of executions queued before {@code queuedBefore} for a worker
+     * (skips rows locked by other workers)
      */
-    @Query("SELECT e FROM Execution e WHERE e.status = 'QUEUED' ORDER BY e.queuedAt ASC")
-    List<Execution> findQueuedExecutionsOrderedByQueueTime();
+    @Query(value = "UPDATE area.a_executions SET status = 'RUNNING', started_at = now(), "
+           + "claimed_by = :workerId, claimed_at = now() "
+           + "WHERE id IN (SELECT id FROM area.a_executions WHERE status = 'QUEUED' "
+           + "AND queued_at <= :queuedBefore "
+           + "ORDER BY queued_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED) "
+           + "RETURNING id", nativeQuery = true)
+    List<UUID> claimQueuedExecutions(@Param("workerId") String workerId,
+                                     @Param("queuedBefore") LocalDateTime queuedBefore,
+                                     @Param("limit") int limit);
 
     /**
-     * Find executions that need retry (RETRY status and not recently attempted)
+     * Atomically claim a bounded batch of retry executions whose next_retry_at is due, earliest first
      */
-    @Query("SELECT e FROM Execution e WHERE e.status = 'RETRY' AND "
-           + "(e.startedAt IS NULL OR e.startedAt < :retryThreshold) "
-           + "ORDER BY e.queuedAt ASC")
-    List<Execution> findExecutionsReadyForRetry(@Param("retryThreshold") LocalDateTime retryThreshold);
+    @Query(value = "UPDATE area.a_executions SET status = 'RUNNING', started_at = now(), "
+           + "claimed_by = :workerId, claimed_at = now() "
+           + "WHERE id IN (SELECT id FROM area.a_executions WHERE status = 'RETRY' "
+           + "AND next_retry_at <= :now "
+           + "ORDER BY next_retry_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED) "
+           + "RETURNING id", nativeQuery = true)
+    List<UUID> claimRetryExecutions(@Param("workerId") String workerId,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
 
     /**
-     * Find running executions that may have timed out
+     * Atomically claim specific queued executions for a worker (used when dispatching stream events)
      */
-    @Query("SELECT e FROM Execution e WHERE e.status = 'RUNNING' AND "
-           + "e.startedAt < :timeoutThreshold")
-    List<Execution> findTimedOutExecutions(@Param("timeoutThreshold") LocalDateTime timeoutThreshold);
+    @Query(value = "UPDATE area.a_executions SET status = 'RUNNING', started_at = now(), "
+           + "claimed_by = :workerId, claimed_at = now() "
+           + "WHERE id IN (SELECT id FROM area.a_executions WHERE id IN (:ids) AND status = 'QUEUED' "
+           + "FOR UPDATE SKIP LOCKED) "
+           + "RETURNING id", nativeQuery = true)
+    List<UUID> claimExecutionsByIds(@Param("workerId") String workerId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Hand executions a worker claimed but never started back to the queue (used when the worker drains)
+     */
+    @Query(value = "UPDATE area.a_executions SET status = 'QUEUED', started_at = NULL, "
+           + "claimed_by = NULL, claimed_at = NULL "
+           + "WHERE id IN (:ids) AND status = 'RUNNING' AND claimed_by = :workerId "
+           + "RETURNING id", nativeQuery = true)
+    List<UUID> releaseClaimedExecutions(@Param("workerId") String workerId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Move an execution to RUNNING if it is still in one of the expected statuses (0 when another writer won)
+     */
+    @Modifying
+    @Query("UPDATE Execution e SET e.status = :to, e.startedAt = :startedAt "
+           + "WHERE e.id = :id AND e.status IN :from")
+    int transitionToRunning(@Param("id") UUID id,
+                            @Param("from") Collection<ExecutionStatus> from,
+                            @Param("to") ExecutionStatus to,
+                            @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Record an execution outcome if it is still in one of the expected statuses (0 when another writer won)
+     */
+    @Modifying
+    @Query("UPDATE Execution e SET e.status = :to, e.finishedAt = :finishedAt, "
+           + "e.outputPayload = :outputPayload, e.error = :error, "
+           + "e.attempt = e.attempt + :attemptIncrement, e.nextRetryAt = :nextRetryAt "
+           + "WHERE e.id = :id AND e.status IN :from")
+    int transitionExecution(@Param("id") UUID id,
+                            @Param("from") Collection<ExecutionStatus> from,
+                            @Param("to") ExecutionStatus to,
+                            @Param("finishedAt") LocalDateTime finishedAt,
+                            @Param("outputPayload") Map<String, Object> outputPayload,
+                            @Param("error") Map<String, Object> error,
+                            @Param("attemptIncrement") int attemptIncrement,
+                            @Param("nextRetryAt") LocalDateTime nextRetryAt);
+
+    /**
+     * Fail every running execution past its action definition's deadline in one statement
+     */
+    @Query(value = "UPDATE area.a_executions e SET status = 'FAILED', finished_at = :now, "
+           + "error = jsonb_build_object('reason', 'timeout', 'message', 'Execution timed out', "
+           + "'timeoutSeconds', COALESCE(ad.timeout_seconds, :defaultTimeoutSeconds), "
+           + "'claimedBy', e.claimed_by, 'timeoutAt', CAST(:now AS text)) "
+           + "FROM area.a_action_instances ai JOIN area.a_action_definitions ad ON ad.id = ai.action_def_id "
+           + "WHERE ai.id = e.action_instance_id AND e.status = 'RUNNING' "
+           + "AND e.started_at < :now - make_interval(secs => COALESCE(ad.timeout_seconds, :defaultTimeoutSeconds)) "
+           + "RETURNING e.id", nativeQuery = true)
+    List<UUID> failTimedOutExecutions(@Param("now") LocalDateTime now,
+                                      @Param("defaultTimeoutSeconds") int defaultTimeoutSeconds);
 
     /**
      * Find executions by correlation ID
@@ -68,6 +141,13 @@ public interface ExecutionRepository extends JpaRepository<Execution, UUID> {
      */
     long countByStatus(ExecutionStatus status);
 
+    /**
+     * Per-status totals from the trigger-maintained counters, as (status, count) rows
+     */
+    @Query(value = "SELECT status, SUM(count) FROM area.a_execution_status_counts GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> sumStatusCounts();
+
     /**
      * Count failed executions for a specific action instance in the last period
      */
@@ -100,6 +180,18 @@ public interface ExecutionRepository extends JpaRepository<Execution, UUID> {
            + "WHERE e.id = :id")
     java.util.Optional<Execution> findByIdWithActionInstance(@Param("id") UUID id);
 
+    /**
+     * Find executions by IDs with all relations loaded (for batch processing)
+     */
+    @Query("SELECT e FROM Execution e "
+           + "JOIN FETCH e.actionInstance ai "
+           + "JOIN FETCH ai.actionDefinition ad "
+           + "JOIN FETCH ad.service s "
+           + "JOIN FETCH ai.user u "
+           + "LEFT JOIN FETCH e.activationMode am "
+           + "WHERE e.id IN :ids")
+    List<Execution> findAllByIdWithActionInstance(@Param("ids") Collection<UUID> ids);
+
     /**
      * Count executions by status and created after timestamp
      */
@@ -108,6 +200,17 @@ public interface ExecutionRepository extends JpaRepository<Execution, UUID> {
         @Param("status") ExecutionStatus status,
         @Param("createdAfter") LocalDateTime createdAfter);
 
+    /**
+     * Latest executions, newest first, without a total count (reads only the newest partitions)
+     */
+    @Query("SELECT e FROM Execution e ORDER BY e.queuedAt DESC")
+    Slice<Execution> findRecentExecutions(Pageable pageable);
+
+    /**
+     * Last execution of an area
+     */
+    Optional<Execution> findFirstByAreaIdOrderByQueuedAtDesc(UUID areaId);
+
     /**
      * Find executions by area ID ordered by created at descending
      */
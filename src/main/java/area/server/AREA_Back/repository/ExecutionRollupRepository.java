@@ -0,0 +1,34 @@
+package area.server.AREA_Back.repository;
+
+import area.server.AREA_Back.entity.ExecutionRollup;
+import area.server.AREA_Back.entity.ExecutionRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExecutionRollupRepository extends JpaRepository<ExecutionRollup, ExecutionRollupId> {
+
+    /**
+     * Find every hourly rollup starting at or after the given bucket
+     */
+    List<ExecutionRollup> findByBucketStartGreaterThanEqual(LocalDateTime from);
+
+    /**
+     * Executions per status since the given bucket, as (status, count) rows
+     */
+    @Query("SELECT r.status, SUM(r.executions) FROM ExecutionRollup r "
+           + "WHERE r.bucketStart >= :from GROUP BY r.status")
+    List<Object[]> sumExecutionsByStatusSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Executions per service since the given bucket, as (service id, count) rows
+     */
+    @Query("SELECT r.serviceId, SUM(r.executions) FROM ExecutionRollup r "
+           + "WHERE r.bucketStart >= :from GROUP BY r.serviceId")
+    List<Object[]> sumExecutionsByServiceSince(@Param("from") LocalDateTime from);
+}
@@ -0,0 +1,32 @@
+package area.server.AREA_Back.repository;
+
+import area.server.AREA_Back.entity.ExecutionRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ExecutionRunRepository extends JpaRepository<ExecutionRun, UUID> {
+
+    /**
+     * Find a run and lock its row until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ExecutionRun r WHERE r.correlationId = :correlationId")
+    Optional<ExecutionRun> findByIdForUpdate(@Param("correlationId") UUID correlationId);
+
+    /**
+     * Delete runs that have not progressed since the given time
+     */
+    @Modifying
+    @Query("DELETE FROM ExecutionRun r WHERE r.updatedAt < :before")
+    int deleteStaleRuns(@Param("before") LocalDateTime before);
+}
@@ -50,6 +50,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     java.util.List<Object[]> findUsersConnectedPerDay(@Param("start") java.time.LocalDateTime start,
                                                        @Param("endExclusive") java.time.LocalDateTime endExclusive);
 
+    /**
+     * Count users created per month since the given date, as (month start, count) rows
+     */
+    @Query(value = "SELECT DATE(date_trunc('month', created_at)) as month, COUNT(*) as count "
+                   + "FROM area.a_users "
+                   + "WHERE created_at >= :start "
+                   + "GROUP BY DATE(date_trunc('month', created_at)) "
+                   + "ORDER BY month", nativeQuery = true)
+    java.util.List<Object[]> countUsersCreatedPerMonth(@Param("start") java.time.LocalDateTime start);
+
     /**
      * Count users created between dates
      */
@@ -3,6 +3,7 @@ package area.server.AREA_Back.service.Area;
 import area.server.AREA_Back.dto.ActionLinkResponse;
 import area.server.AREA_Back.dto.BatchCreateActionLinksRequest;
 import area.server.AREA_Back.dto.CreateActionLinkRequest;
+import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.ActionLink;
 import area.server.AREA_Back.entity.Area;
@@ -15,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +30,7 @@ public class ActionLinkService {
     private final ActionLinkRepository actionLinkRepository;
     private final ActionInstanceRepository actionInstanceRepository;
     private final AreaRepository areaRepository;
+    private final ExecutionGraphService executionGraphService;
 
     @Transactional
     public ActionLinkResponse createActionLink(CreateActionLinkRequest request, UUID areaId) {
@@ -188,24 +191,13 @@ public class ActionLinkService {
         return response;
     }
 
-    @Transactional
-    public void triggerLinkedActions(Execution execution) {
+    /**
+     * Hands a finished execution to its area's execution graph, which releases the linked
+     * actions whose incoming links are now all resolved.
+     */
+    public void triggerLinkedActions(Execution execution, ExecutionResult result) {
         try {
-            List<ActionLink> linkedActions = actionLinkRepository
-                .findBySourceActionInstanceId(execution.getActionInstance().getId());
-
-            if (linkedActions.isEmpty()) {
-                return;
-            }
-
-            for (ActionLink link : linkedActions) {
-                try {
-                    triggerLinkedAction(link, execution);
-                } catch (Exception e) {
-                    log.error("Failed to trigger linked action {} for execution {}: {}",
-                             link.getTargetActionInstance().getId(), execution.getId(), e.getMessage(), e);
-                }
-            }
+            executionGraphService.onExecutionFinished(execution, result.getStatus(), result.getOutputPayload());
         } catch (Exception e) {
             log.error("Error triggering linked actions for execution {}: {}",
                      execution.getId(), e.getMessage(), e);
@@ -213,7 +205,10 @@ public class ActionLinkService {
         }
     }
 
-    private void triggerLinkedAction(ActionLink link, Execution sourceExecution) {
-        // Trigger logic placeholder
+    /**
+     * Skips the linked actions of executions that were failed or canceled outside the worker.
+     */
+    public void abortLinkedActions(Collection<UUID> executionIds) {
+        executionGraphService.onExecutionsAborted(executionIds);
     }
 }
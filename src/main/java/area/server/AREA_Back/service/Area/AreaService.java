@@ -29,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -517,6 +518,7 @@ public class AreaService {
             log.warn("No activation type specified for action instance: {}", actionInstance.getId());
             return;
         }
+        DedupStrategy dedup = parseDedupStrategy(activationConfig.get("dedup"));
 
         try {
             ActivationModeType activationModeType = ActivationModeType.valueOf(type.toUpperCase());
@@ -528,10 +530,11 @@ public class AreaService {
             activationMode.setActionInstance(actionInstance);
             activationMode.setType(activationModeType);
             activationMode.setEnabled(true);
-            activationMode.setDedup(DedupStrategy.NONE);
 
             Map<String, Object> config = new HashMap<>(activationConfig);
             config.remove("type");
+            config.remove("dedup");
+            activationMode.setDedup(dedup);
             Integer maxConcurrency = DEFAULT_MAX_CONCURRENCY;
             if (config.containsKey("max_concurrency")) {
                 maxConcurrency = ((Number) config.get("max_concurrency")).intValue();
@@ -571,6 +574,18 @@ public class AreaService {
         }
     }
 
+    private DedupStrategy parseDedupStrategy(Object dedup) {
+        if (dedup == null) {
+            return DedupStrategy.NONE;
+        }
+        try {
+            return DedupStrategy.valueOf(dedup.toString().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid dedup strategy: " + dedup
+                + " (expected one of " + Arrays.toString(DedupStrategy.values()) + ")", e);
+        }
+    }
+
     public AreaResponse createAreaWithActionsAndLinks(CreateAreaWithActionsAndLinksRequest request) {
         log.info("Creating new AREA with links: {} for user: {}", request.getName(), request.getUserId());
 
@@ -0,0 +1,248 @@
+package area.server.AREA_Back.service.Area;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.AreaEventMessage;
+import area.server.AREA_Back.dto.DeadLetterFilter;
+import area.server.AREA_Back.dto.DeadLetterReplayJob;
+import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.ActivationMode;
+import area.server.AREA_Back.entity.DeadLetter;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionInstanceRepository;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.repository.DeadLetterRepository;
+import area.server.AREA_Back.repository.ExecutionRepository;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dead-letter queue for executions that reached FAILED. Terminal failures are moved out of the
+ * hot {@code a_executions} table and can be replayed in throttled batches as new executions.
+ * Replays run in the background on the task scheduler; the last {@value #MAX_TRACKED_REPLAY_JOBS}
+ * jobs of this node can be looked up by id.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterService {
+
+    private static final int MAX_TRACKED_REPLAY_JOBS = 100;
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final ExecutionRepository executionRepository;
+    private final ActionInstanceRepository actionInstanceRepository;
+    private final ActivationModeRepository activationModeRepository;
+    private final EventOutboxService eventOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, DeadLetterReplayJob> replayJobs = new ConcurrentHashMap<>();
+    private Counter deadLettersMoved;
+    private Counter deadLettersReplayed;
+    private Counter deadLettersSkipped;
+
+    @PostConstruct
+    public void initMetrics() {
+        deadLettersMoved = Counter.builder("area_dead_letters_moved_total")
+                .description("Failed executions moved to the dead-letter table")
+                .register(meterRegistry);
+        deadLettersReplayed = Counter.builder("area_dead_letters_replayed_total")
+                .description("Dead letters re-enqueued as new executions")
+                .register(meterRegistry);
+        deadLettersSkipped = Counter.builder("area_dead_letters_replay_skipped_total")
+                .description("Dead letters not replayed because their action instance is gone or disabled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves up to {@code limit} FAILED executions finished before {@code before} into the
+     * dead-letter table and returns how many were moved.
+     */
+    @Transactional
+    public int moveFailedExecutions(LocalDateTime before, int limit) {
+        int moved = deadLetterRepository.moveFailedExecutions(before, limit).size();
+        deadLettersMoved.increment(moved);
+        return moved;
+    }
+
+    public Page<DeadLetter> search(DeadLetterFilter filter, Pageable pageable) {
+        return deadLetterRepository.search(
+            filter.getServiceKey(),
+            filter.getAreaId(),
+            filter.getActionInstanceId(),
+            filter.getReason(),
+            filter.getFrom(),
+            filter.getTo(),
+            filter.isIncludeReplayed(),
+            pageable
+        );
+    }
+
+    /**
+     * Starts re-enqueuing the dead letters matching the filter, oldest first, in batches of
+     * {@code app.worker.dead-letter.replay-batch-size} separated by the configured delay so a
+     * mass replay does not flood the providers that just recovered. Returns right away with the
+     * job that tracks the replay.
+     */
+    public DeadLetterReplayJob startReplay(DeadLetterFilter filter, int limit) {
+        WorkerProperties.DeadLetter settings = workerProperties.getDeadLetter();
+        int max = Math.max(1, Math.min(limit, settings.getReplayMax()));
+        List<DeadLetter> candidates = search(filter, PageRequest.of(0, max)).getContent();
+
+        DeadLetterReplayJob job = new DeadLetterReplayJob(UUID.randomUUID(), candidates.size(), LocalDateTime.now());
+        track(job);
+        int batchSize = Math.max(1, settings.getReplayBatchSize());
+        taskScheduler.schedule(() -> replayFrom(job, candidates, batchSize, 0), Instant.now());
+        return job;
+    }
+
+    public Optional<DeadLetterReplayJob> getReplayJob(UUID jobId) {
+        return Optional.ofNullable(replayJobs.get(jobId));
+    }
+
+    private void track(DeadLetterReplayJob job) {
+        replayJobs.put(job.getId(), job);
+        if (replayJobs.size() > MAX_TRACKED_REPLAY_JOBS) {
+            replayJobs.values().stream()
+                .filter(tracked -> tracked.getStatus() != DeadLetterReplayJob.Status.RUNNING)
+                .min(Comparator.comparing(DeadLetterReplayJob::getStartedAt))
+                .ifPresent(oldest -> replayJobs.remove(oldest.getId()));
+        }
+    }
+
+    /**
+     * Replays one batch and schedules the next one after the batch delay.
+     */
+    private void replayFrom(DeadLetterReplayJob job, List<DeadLetter> candidates, int batchSize, int start) {
+        int end = Math.min(start + batchSize, candidates.size());
+        try {
+            if (start < end) {
+                job.recordBatch(end - start, replayBatch(candidates.subList(start, end)));
+            }
+        } catch (Exception e) {
+            log.error("Dead-letter replay {} failed after {} batches: {}", job.getId(), job.getBatches(),
+                    e.getMessage(), e);
+            job.fail(e.getMessage());
+            return;
+        }
+        if (end < candidates.size()) {
+            Instant next = Instant.now().plusMillis(workerProperties.getDeadLetter().getReplayBatchDelayMs());
+            taskScheduler.schedule(() -> replayFrom(job, candidates, batchSize, end), next);
+            return;
+        }
+        job.complete();
+        log.info("Replayed {} dead letters in {} batches ({} skipped)", job.getReplayed(), job.getBatches(),
+                job.getSkipped());
+    }
+
+    private int replayBatch(List<DeadLetter> batch) {
+        Map<UUID, ActionInstance> instances = actionInstanceRepository.findAllById(batch.stream()
+                .map(DeadLetter::getActionInstanceId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList())
+            .stream()
+            .collect(Collectors.toMap(ActionInstance::getId, Function.identity()));
+        Map<UUID, ActivationMode> activationModes = activationModeRepository.findAllById(batch.stream()
+                .map(DeadLetter::getActivationModeId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList())
+            .stream()
+            .collect(Collectors.toMap(ActivationMode::getId, Function.identity()));
+
+        List<DeadLetter> replayable = new ArrayList<>();
+        List<Execution> executions = new ArrayList<>();
+        for (DeadLetter deadLetter : batch) {
+            ActionInstance actionInstance = instances.get(deadLetter.getActionInstanceId());
+            if (actionInstance == null || !Boolean.TRUE.equals(actionInstance.getEnabled())) {
+                log.debug("Skipping dead letter {}: action instance {} is missing or disabled",
+                        deadLetter.getId(), deadLetter.getActionInstanceId());
+                deadLettersSkipped.increment();
+                continue;
+            }
+            Execution execution = new Execution();
+            execution.setActionInstance(actionInstance);
+            execution.setActivationMode(activationModes.get(deadLetter.getActivationModeId()));
+            execution.setArea(actionInstance.getArea());
+            execution.setStatus(ExecutionStatus.QUEUED);
+            execution.setAttempt(0);
+            execution.setInputPayload(deadLetter.getPayload());
+            execution.setCorrelationId(deadLetter.getCorrelationId() != null
+                    ? deadLetter.getCorrelationId()
+                    : UUID.randomUUID());
+            replayable.add(deadLetter);
+            executions.add(execution);
+        }
+        if (executions.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Execution> saved = transactionTemplate.execute(status -> {
+            List<Execution> created = executionRepository.saveAll(executions);
+            for (int i = 0; i < replayable.size(); i++) {
+                DeadLetter deadLetter = replayable.get(i);
+                deadLetter.setReplayedAt(now);
+                deadLetter.setReplayExecutionId(created.get(i).getId());
+                deadLetter.setReplayCount(deadLetter.getReplayCount() + 1);
+            }
+            deadLetterRepository.saveAll(replayable);
+            eventOutboxService.enqueueAll(created.stream().map(this::toReplayMessage).toList());
+            return created;
+        });
+        if (saved == null) {
+            return 0;
+        }
+
+        deadLettersReplayed.increment(saved.size());
+        return saved.size();
+    }
+
+    private AreaEventMessage toReplayMessage(Execution execution) {
+        AreaEventMessage message = AreaEventMessage.fromExecution(
+            execution.getId(),
+            execution.getActionInstance().getId(),
+            execution.getArea() != null ? execution.getArea().getId() : null,
+            execution.getInputPayload()
+        );
+        message.setUserId(execution.getActionInstance().getUser() != null
+            ? execution.getActionInstance().getUser().getId()
+            : null);
+        message.setEventType("replay");
+        message.setSource("dead_letter_replay");
+        message.setCorrelationId(execution.getCorrelationId());
+        return message;
+    }
+
+    public long countPending() {
+        return deadLetterRepository.countByReplayedAtIsNull();
+    }
+}
@@ -0,0 +1,424 @@
+package area.server.AREA_Back.service.Area;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.AreaEventMessage;
+import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.ActionLink;
+import area.server.AREA_Back.entity.ActivationMode;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.ExecutionRun;
+import area.server.AREA_Back.entity.enums.ActivationModeType;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionLinkRepository;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.repository.ExecutionRepository;
+import area.server.AREA_Back.repository.ExecutionRunRepository;
+import area.server.AREA_Back.service.DataMappingService;
+import area.server.AREA_Back.service.Redis.EventLane;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the links of an area as a DAG. A node is enqueued as soon as all of its incoming links are
+ * resolved, with its predecessors' output passed through each link's condition and mapping, so
+ * independent branches run in parallel on the workers and a run takes critical-path time.
+ * Progress is kept per correlation id in {@code a_execution_runs}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionGraphService {
+
+    private static final String JOIN_REMAINING = "remaining";
+    private static final String JOIN_SATISFIED = "satisfied";
+    private static final String JOIN_INPUT = "input";
+
+    private final ExecutionRunRepository executionRunRepository;
+    private final ActionLinkRepository actionLinkRepository;
+    private final ActivationModeRepository activationModeRepository;
+    private final ExecutionRepository executionRepository;
+    private final ExecutionService executionService;
+    private final EventOutboxService eventOutboxService;
+    private final DataMappingService dataMappingService;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Counter runsStarted;
+    private Counter runsCompleted;
+    private Counter nodesSkipped;
+
+    @PostConstruct
+    public void initMetrics() {
+        runsStarted = meterRegistry.counter("area_graph_runs_started_total");
+        runsCompleted = meterRegistry.counter("area_graph_runs_completed_total");
+        nodesSkipped = meterRegistry.counter("area_graph_nodes_skipped_total");
+    }
+
+    /**
+     * Starts the graph rooted at a triggered action. When the root has an execution, its successors
+     * are released when it finishes; an event-only root passes the trigger payload on immediately.
+     *
+     * @return the executions queued right away for an event-only root
+     */
+    @Transactional
+    public List<Execution> startRun(ActionInstance root, Execution rootExecution, Map<String, Object> inputPayload,
+                                    UUID correlationId) {
+        return startRun(root, rootExecution, inputPayload, correlationId, EventLane.CHAIN);
+    }
+
+    /**
+     * Same as {@link #startRun(ActionInstance, Execution, Map, UUID)}, publishing the executions an
+     * event-only root releases on the lane of its trigger; later nodes go to the chain lane.
+     */
+    @Transactional
+    public List<Execution> startRun(ActionInstance root, Execution rootExecution, Map<String, Object> inputPayload,
+                                    UUID correlationId, EventLane lane) {
+        UUID areaId = root.getArea().getId();
+        AreaGraph graph = AreaGraph.build(actionLinkRepository.findByAreaIdWithTargetFetch(areaId), root.getId());
+        if (!graph.hasSuccessors(root.getId())) {
+            return List.of();
+        }
+
+        ExecutionRun run = new ExecutionRun();
+        run.setCorrelationId(correlationId);
+        run.setAreaId(areaId);
+        run.setRootActionInstanceId(root.getId());
+        run.setPendingNodes(graph.size());
+        runsStarted.increment();
+        log.info("Starting graph run {} for AREA {} with {} nodes", correlationId, areaId, graph.size());
+
+        List<Execution> queued = List.of();
+        if (rootExecution == null) {
+            queued = resolve(run, graph, root.getId(), inputPayload != null ? inputPayload : new HashMap<>(), lane);
+        }
+        saveOrComplete(run);
+        return queued;
+    }
+
+    /**
+     * Records a terminal execution of a graph node and releases the successors that became ready.
+     * Only OK passes output on; FAILED and CANCELED skip the node's outgoing links.
+     */
+    @Transactional
+    public void onExecutionFinished(Execution execution, ExecutionStatus status, Map<String, Object> outputPayload) {
+        if (execution.getCorrelationId() == null || execution.getActionInstance() == null) {
+            return;
+        }
+        ExecutionRun run = executionRunRepository.findByIdForUpdate(execution.getCorrelationId()).orElse(null);
+        if (run == null) {
+            return;
+        }
+
+        AreaGraph graph = AreaGraph.build(
+            actionLinkRepository.findByAreaIdWithTargetFetch(run.getAreaId()), run.getRootActionInstanceId());
+        UUID node = execution.getActionInstance().getId();
+        if (!graph.contains(node)) {
+            return;
+        }
+
+        Map<String, Object> output = null;
+        if (status == ExecutionStatus.OK) {
+            output = outputPayload != null ? outputPayload : new HashMap<>();
+        }
+        resolve(run, graph, node, output, EventLane.CHAIN);
+        saveOrComplete(run);
+    }
+
+    /**
+     * Skips the successors of executions that were failed or canceled outside the worker
+     * (timeouts, manual cancellation).
+     */
+    @Transactional
+    public void onExecutionsAborted(Collection<UUID> executionIds) {
+        if (executionIds == null || executionIds.isEmpty()) {
+            return;
+        }
+        for (Execution execution : executionRepository.findAllByIdWithActionInstance(executionIds)) {
+            onExecutionFinished(execution, ExecutionStatus.FAILED, null);
+        }
+    }
+
+    /**
+     * Drops runs that stopped progressing, e.g. because one of their executions was lost.
+     */
+    @Transactional
+    public int purgeStaleRuns() {
+        LocalDateTime before = LocalDateTime.now().minusHours(workerProperties.getGraph().getStaleRunHours());
+        return executionRunRepository.deleteStaleRuns(before);
+    }
+
+    private void saveOrComplete(ExecutionRun run) {
+        if (run.getPendingNodes() > 0) {
+            executionRunRepository.save(run);
+            return;
+        }
+        if (executionRunRepository.existsById(run.getCorrelationId())) {
+            executionRunRepository.deleteById(run.getCorrelationId());
+        }
+        runsCompleted.increment();
+        log.info("Graph run {} completed", run.getCorrelationId());
+    }
+
+    /**
+     * Resolves a node with its output ({@code null} when it failed or was skipped) and walks every
+     * link that this makes decidable. Skipped and event-only targets are resolved in place; the
+     * executable targets released by the walk are queued together at the end, on the given lane.
+     *
+     * @return the executions queued
+     */
+    private List<Execution> resolve(ExecutionRun run, AreaGraph graph, UUID nodeId, Map<String, Object> nodeOutput,
+                                    EventLane lane) {
+        Deque<Resolution> work = new ArrayDeque<>();
+        List<Execution> released = new ArrayList<>();
+        work.push(new Resolution(nodeId, nodeOutput));
+
+        while (!work.isEmpty()) {
+            Resolution current = work.pop();
+            if (!markResolved(run, current.nodeId())) {
+                continue;
+            }
+
+            for (ActionLink link : graph.outgoing(current.nodeId())) {
+                ActionInstance target = link.getTargetActionInstance();
+                Map<String, Object> edgeInput = current.output() != null ? traverse(link, current.output()) : null;
+
+                Map<String, Object> targetInput;
+                if (graph.inDegree(target.getId()) <= 1) {
+                    targetInput = edgeInput;
+                } else {
+                    Map<String, Object> join = arrive(run, graph, target.getId(), edgeInput);
+                    if (join == null) {
+                        continue;
+                    }
+                    targetInput = ((Number) join.get(JOIN_SATISFIED)).intValue() > 0 ? inputOf(join) : null;
+                }
+                release(run, target, targetInput, work, released);
+            }
+        }
+        return enqueue(run, released, lane);
+    }
+
+    private void release(ExecutionRun run, ActionInstance target, Map<String, Object> input,
+                         Deque<Resolution> work, List<Execution> released) {
+        if (input == null || !Boolean.TRUE.equals(target.getEnabled())) {
+            nodesSkipped.increment();
+            work.push(new Resolution(target.getId(), null));
+            return;
+        }
+        if (target.getActionDefinition() == null || !Boolean.TRUE.equals(target.getActionDefinition().getIsExecutable())) {
+            work.push(new Resolution(target.getId(), input));
+            return;
+        }
+
+        Execution execution = new Execution();
+        execution.setActionInstance(target);
+        execution.setArea(target.getArea());
+        execution.setInputPayload(input);
+        execution.setCorrelationId(run.getCorrelationId());
+        released.add(execution);
+    }
+
+    /**
+     * Queues the released nodes with one batch insert, one activation mode lookup and one outbox
+     * batch, however wide the fan-out.
+     */
+    private List<Execution> enqueue(ExecutionRun run, List<Execution> released, EventLane lane) {
+        if (released.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, ActivationMode> chainModes = activationModeRepository
+            .findEnabledByActionInstanceIdsAndType(
+                released.stream().map(execution -> execution.getActionInstance().getId()).toList(),
+                ActivationModeType.CHAIN)
+            .stream()
+            .collect(Collectors.toMap(mode -> mode.getActionInstance().getId(), mode -> mode, (a, b) -> a));
+        released.forEach(execution ->
+            execution.setActivationMode(chainModes.get(execution.getActionInstance().getId())));
+
+        List<Execution> queued = executionService.createExecutionsBatch(released);
+        List<AreaEventMessage> messages = new ArrayList<>(queued.size());
+        for (Execution execution : queued) {
+            AreaEventMessage message = new AreaEventMessage();
+            message.setExecutionId(execution.getId());
+            message.setActionInstanceId(execution.getActionInstance().getId());
+            message.setAreaId(run.getAreaId());
+            message.setUserId(execution.getActionInstance().getUser() != null
+                ? execution.getActionInstance().getUser().getId()
+                : null);
+            message.setEventType(lane.getKey());
+            message.setSource("graph_executor");
+            message.setPayload(execution.getInputPayload());
+            message.setCorrelationId(run.getCorrelationId());
+            messages.add(message);
+        }
+        eventOutboxService.enqueueAll(messages);
+
+        log.debug("Graph run {} released {} actions", run.getCorrelationId(), released.size());
+        return queued;
+    }
+
+    /**
+     * Output of a link: empty when its condition does not hold, else the source output through the mapping.
+     */
+    private Map<String, Object> traverse(ActionLink link, Map<String, Object> sourceOutput) {
+        try {
+            if (!dataMappingService.evaluateCondition(sourceOutput, link.getCondition())) {
+                return null;
+            }
+            Map<String, Object> mapped = dataMappingService.applyMapping(sourceOutput, link.getMapping());
+            return mapped != null ? new HashMap<>(mapped) : new HashMap<>();
+        } catch (Exception e) {
+            log.warn("Failed to evaluate link {} -> {}: {}", link.getSourceActionInstance().getId(),
+                link.getTargetActionInstance().getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Records one incoming link of a fan-in node; returns the completed join once every link arrived.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> arrive(ExecutionRun run, AreaGraph graph, UUID targetId,
+                                       Map<String, Object> edgeInput) {
+        Map<String, Object> joins = new HashMap<>(run.getJoins());
+        String key = targetId.toString();
+        Map<String, Object> join = joins.containsKey(key)
+            ? new HashMap<>((Map<String, Object>) joins.get(key))
+            : new HashMap<>(Map.of(JOIN_REMAINING, graph.inDegree(targetId), JOIN_SATISFIED, 0,
+                JOIN_INPUT, new HashMap<>()));
+
+        join.put(JOIN_REMAINING, ((Number) join.get(JOIN_REMAINING)).intValue() - 1);
+        if (edgeInput != null) {
+            Map<String, Object> input = new HashMap<>(inputOf(join));
+            input.putAll(edgeInput);
+            join.put(JOIN_INPUT, input);
+            join.put(JOIN_SATISFIED, ((Number) join.get(JOIN_SATISFIED)).intValue() + 1);
+        }
+
+        boolean complete = ((Number) join.get(JOIN_REMAINING)).intValue() <= 0;
+        if (complete) {
+            joins.remove(key);
+        } else {
+            joins.put(key, join);
+        }
+        run.setJoins(joins);
+        return complete ? join : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> inputOf(Map<String, Object> join) {
+        Object input = join.get(JOIN_INPUT);
+        return input instanceof Map ? (Map<String, Object>) input : new HashMap<>();
+    }
+
+    private static boolean markResolved(ExecutionRun run, UUID nodeId) {
+        String key = nodeId.toString();
+        if (run.getResolvedNodes().contains(key)) {
+            return false;
+        }
+        List<String> resolved = new ArrayList<>(run.getResolvedNodes());
+        resolved.add(key);
+        run.setResolvedNodes(resolved);
+        run.setPendingNodes(run.getPendingNodes() - 1);
+        return true;
+    }
+
+    private record Resolution(UUID nodeId, Map<String, Object> output) {
+    }
+
+    /**
+     * Links of an area restricted to the nodes reachable from the root. Links closing a cycle are
+     * dropped so the remaining graph is a DAG.
+     */
+    static final class AreaGraph {
+
+        private final Map<UUID, List<ActionLink>> outgoing;
+        private final Map<UUID, Integer> inDegree;
+        private final Set<UUID> nodes;
+
+        private AreaGraph(Map<UUID, List<ActionLink>> outgoing, Map<UUID, Integer> inDegree, Set<UUID> nodes) {
+            this.outgoing = outgoing;
+            this.inDegree = inDegree;
+            this.nodes = nodes;
+        }
+
+        static AreaGraph build(List<ActionLink> links, UUID rootId) {
+            Map<UUID, List<ActionLink>> bySource = new HashMap<>();
+            for (ActionLink link : links) {
+                bySource.computeIfAbsent(link.getSourceActionInstance().getId(), id -> new ArrayList<>()).add(link);
+            }
+            Comparator<ActionLink> linkOrder = Comparator
+                .comparing((ActionLink link) -> Objects.requireNonNullElse(link.getOrder(), 0))
+                .thenComparing(link -> link.getTargetActionInstance().getId());
+            bySource.values().forEach(list -> list.sort(linkOrder));
+
+            Map<UUID, List<ActionLink>> kept = new HashMap<>();
+            Map<UUID, Integer> inDegree = new HashMap<>();
+            Set<UUID> visited = new LinkedHashSet<>();
+            Set<UUID> onPath = new HashSet<>();
+            visit(rootId, bySource, kept, inDegree, visited, onPath);
+            return new AreaGraph(kept, inDegree, visited);
+        }
+
+        private static void visit(UUID node, Map<UUID, List<ActionLink>> bySource, Map<UUID, List<ActionLink>> kept,
+                                  Map<UUID, Integer> inDegree, Set<UUID> visited, Set<UUID> onPath) {
+            visited.add(node);
+            onPath.add(node);
+            for (ActionLink link : bySource.getOrDefault(node, List.of())) {
+                UUID target = link.getTargetActionInstance().getId();
+                if (onPath.contains(target)) {
+                    log.warn("Ignoring action link {} -> {}: it closes a cycle", node, target);
+                    continue;
+                }
+                kept.computeIfAbsent(node, id -> new ArrayList<>()).add(link);
+                inDegree.merge(target, 1, Integer::sum);
+                if (!visited.contains(target)) {
+                    visit(target, bySource, kept, inDegree, visited, onPath);
+                }
+            }
+            onPath.remove(node);
+        }
+
+        boolean contains(UUID node) {
+            return nodes.contains(node);
+        }
+
+        boolean hasSuccessors(UUID node) {
+            return !outgoing(node).isEmpty();
+        }
+
+        List<ActionLink> outgoing(UUID node) {
+            return outgoing.getOrDefault(node, List.of());
+        }
+
+        int inDegree(UUID node) {
+            return inDegree.getOrDefault(node, 0);
+        }
+
+        int size() {
+            return nodes.size();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package area.server.AREA_Back.service.Area;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.ExecutionResult;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Writes execution results, either right away or write-behind. With
+ * {@code app.worker.write-behind.enabled} results wait in a bounded buffer and are written
+ * together by {@link ExecutionService#updateExecutionsWithResults} every flush interval, or as
+ * soon as the buffer holds a full batch; the submitting thread then flushes it itself. While
+ * flushes are failing only the scheduled flush retries, and once the buffer holds
+ * {@code app.worker.write-behind.max-buffered} results new ones are written on the submitting
+ * thread, so a database outage slows the reactions down instead of growing the buffer.
+ *
+ * The future returned for a result completes once it is in the database, with whether the
+ * execution was still running. Callers acknowledge their stream entry only then, so a result
+ * lost with the buffer leaves the entry pending for another consumer. A failed flush keeps its
+ * results for the next one; after {@code app.worker.write-behind.max-flush-attempts} their futures
+ * fail and the caller hands the executions back to the queue, since they are still RUNNING and a
+ * redelivered entry would otherwise not claim them.
+ *
+ * An applied OK or FAILED result advances the execution graph of its run in the same transaction
+ * as the result, so a crash or a graph error can never leave a finished node whose successors
+ * were not released: the write is rolled back and retried with the graph step.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionResultWriter {
+
+    private final ExecutionService executionService;
+    private final ExecutionGraphService executionGraphService;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<Runnable> flushListeners = new CopyOnWriteArrayList<>();
+    private List<PendingResult> buffer = new ArrayList<>();
+    private boolean failing;
+
+    private Timer flushLatency;
+    private DistributionSummary flushBatchSize;
+    private Counter flushFailures;
+    private Counter bufferOverflows;
+
+    @PostConstruct
+    public void initMetrics() {
+        flushLatency = Timer.builder("execution_result_flush_duration")
+                .description("Time to write one batch of buffered execution results")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushBatchSize = DistributionSummary.builder("execution_result_flush_batch_size")
+                .description("Execution results written per flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushFailures = Counter.builder("execution_result_flush_failures_total")
+                .description("Flushes that failed; their stream entries stay pending")
+                .register(meterRegistry);
+        bufferOverflows = Counter.builder("execution_result_buffer_overflows_total")
+                .description("Results written on the submitting thread because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("execution_result_buffered", this, ExecutionResultWriter::getBuffered)
+                .description("Execution results waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    public boolean isWriteBehind() {
+        return workerProperties.getWriteBehind().isEnabled();
+    }
+
+    /**
+     * Writes or buffers the result of an execution. Without write-behind the result is written on
+     * the calling thread and errors are thrown as they are.
+     *
+     * @return completes with true when the result was applied, false when it was discarded
+     */
+    public CompletableFuture<Boolean> write(final Execution execution, final ExecutionResult result) {
+        if (!isWriteBehind()) {
+            return CompletableFuture.completedFuture(writeNow(execution, result));
+        }
+        PendingResult pending = new PendingResult(execution, result, new CompletableFuture<>(), 0);
+        boolean accepted;
+        boolean full = false;
+        synchronized (this) {
+            accepted = buffer.size() < workerProperties.getWriteBehind().getMaxBuffered();
+            if (accepted) {
+                buffer.add(pending);
+                full = !failing && buffer.size() >= workerProperties.getWriteBehind().getMaxBatchSize();
+            }
+        }
+        if (!accepted) {
+            bufferOverflows.increment();
+            try {
+                return CompletableFuture.completedFuture(writeNow(execution, result));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (full) {
+            flush();
+        }
+        return pending.written();
+    }
+
+    private Boolean writeNow(final Execution execution, final ExecutionResult result) {
+        return transactionTemplate.execute(status -> {
+            boolean applied = executionService.updateExecutionWithResult(result);
+            if (applied) {
+                advanceGraph(execution, result);
+            }
+            return applied;
+        });
+    }
+
+    /**
+     * Runs after every flush, once the futures of the flushed results have completed.
+     */
+    public void addFlushListener(final Runnable listener) {
+        flushListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.worker.write-behind.flush-interval-ms:50}")
+    public void flush() {
+        List<PendingResult> batch;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            batch = buffer;
+            buffer = new ArrayList<>();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Set<UUID> applied = transactionTemplate.execute(status -> writeBatch(batch));
+            sample.stop(flushLatency);
+            flushBatchSize.record(batch.size());
+            synchronized (this) {
+                failing = false;
+            }
+            batch.forEach(pending -> pending.written().complete(applied.contains(pending.result().getExecutionId())));
+            log.debug("Flushed {} execution results, {} applied", batch.size(), applied.size());
+        } catch (Exception e) {
+            flushFailures.increment();
+            List<PendingResult> retry = new ArrayList<>();
+            for (PendingResult pending : batch) {
+                if (pending.attempts() + 1 < workerProperties.getWriteBehind().getMaxFlushAttempts()) {
+                    retry.add(pending.retried());
+                } else {
+                    pending.written().completeExceptionally(e);
+                }
+            }
+            synchronized (this) {
+                retry.addAll(buffer);
+                buffer = retry;
+                failing = true;
+            }
+            log.error("Failed to flush {} execution results, {} kept for the next flush: {}", batch.size(),
+                retry.size(), e.getMessage(), e);
+        }
+        flushListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Writes a batch and advances the graphs of its applied results, locking their runs in
+     * correlation id order so concurrent flushes cannot deadlock on them.
+     */
+    private Set<UUID> writeBatch(final List<PendingResult> batch) {
+        Set<UUID> applied = executionService.updateExecutionsWithResults(
+            batch.stream().map(PendingResult::result).toList());
+        batch.stream()
+            .filter(pending -> applied.contains(pending.result().getExecutionId()))
+            .sorted(Comparator.comparing((PendingResult pending) -> pending.execution().getCorrelationId(),
+                Comparator.nullsFirst(Comparator.naturalOrder())))
+            .forEach(pending -> advanceGraph(pending.execution(), pending.result()));
+        return applied;
+    }
+
+    /**
+     * Lets the execution graph release the successors of an execution that reached a final status.
+     */
+    private void advanceGraph(final Execution execution, final ExecutionResult result) {
+        if (result.getStatus() == ExecutionStatus.OK || result.getStatus() == ExecutionStatus.FAILED) {
+            executionGraphService.onExecutionFinished(execution, result.getStatus(), result.getOutputPayload());
+        }
+    }
+
+    /**
+     * Flushes until the buffer is empty or its results ran out of attempts.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        for (int attempt = 0; attempt < workerProperties.getWriteBehind().getMaxFlushAttempts()
+                && getBuffered() > 0; attempt++) {
+            flush();
+        }
+    }
+
+    public synchronized int getBuffered() {
+        return buffer.size();
+    }
+
+    private record PendingResult(Execution execution, ExecutionResult result, CompletableFuture<Boolean> written,
+                                 int attempts) {
+
+        PendingResult retried() {
+            return new PendingResult(execution, result, written, attempts + 1);
+        }
+    }
+}
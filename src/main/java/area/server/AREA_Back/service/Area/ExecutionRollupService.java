@@ -0,0 +1,177 @@
+package area.server.AREA_Back.service.Area;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.ExecutionRollupSummary;
+import area.server.AREA_Back.entity.ActionDefinition;
+import area.server.AREA_Back.entity.ExecutionRollup;
+import area.server.AREA_Back.entity.Service;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionDefinitionRepository;
+import area.server.AREA_Back.repository.ExecutionRollupRepository;
+import area.server.AREA_Back.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hourly execution rollups: advances {@code a_execution_rollups_hourly} incrementally and serves
+ * admin analytics from it, so their cost depends on the window size rather than the history size.
+ * Duration percentiles are estimated from the stored histograms (upper bound of the matching slot).
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionRollupService {
+
+    /**
+     * Slot upper bounds of the duration histograms, same values as
+     * {@code area.execution_duration_bounds_ms()}. The last slot is open-ended.
+     */
+    public static final long[] DURATION_BOUNDS_MS =
+        {100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000};
+
+    private static final double MEDIAN = 0.5;
+    private static final double P95 = 0.95;
+
+    private final ExecutionRollupRepository executionRollupRepository;
+    private final ServiceRepository serviceRepository;
+    private final ActionDefinitionRepository actionDefinitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkerProperties workerProperties;
+
+    /**
+     * Recomputes the buckets from the watermark (minus the overlap) up to the current hour.
+     *
+     * @return number of hourly buckets recomputed
+     */
+    public int advanceRollups() {
+        WorkerProperties.Rollups settings = workerProperties.getRollups();
+        Integer rolled = jdbcTemplate.queryForObject("SELECT area.advance_execution_rollups(?, ?)",
+            Integer.class, settings.getMaxHoursPerRun(), settings.getOverlapHours());
+        return rolled != null ? rolled : 0;
+    }
+
+    /**
+     * Start of the oldest hourly bucket covering the last {@code hours} hours.
+     */
+    public static LocalDateTime windowStart(int hours) {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(Math.max(hours - 1, 0));
+    }
+
+    public Map<ExecutionStatus, Long> countByStatusSince(LocalDateTime from) {
+        Map<ExecutionStatus, Long> counts = new EnumMap<>(ExecutionStatus.class);
+        for (Object[] row : executionRollupRepository.sumExecutionsByStatusSince(from)) {
+            counts.put((ExecutionStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public Map<UUID, Long> countByServiceSince(LocalDateTime from) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : executionRollupRepository.sumExecutionsByServiceSince(from)) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Merges the hourly rollups since {@code from} per service, or per action definition when
+     * {@code byActionDefinition} is set, busiest first.
+     */
+    public List<ExecutionRollupSummary> summarize(LocalDateTime from, boolean byActionDefinition) {
+        Map<UUID, List<ExecutionRollup>> groups = executionRollupRepository
+            .findByBucketStartGreaterThanEqual(from).stream()
+            .collect(Collectors.groupingBy(
+                byActionDefinition ? ExecutionRollup::getActionDefinitionId : ExecutionRollup::getServiceId,
+                LinkedHashMap::new, Collectors.toList()));
+
+        Map<UUID, String> names = byActionDefinition
+            ? actionDefinitionRepository.findAllById(groups.keySet()).stream()
+                .collect(Collectors.toMap(ActionDefinition::getId, ActionDefinition::getName))
+            : serviceRepository.findAllById(groups.keySet()).stream()
+                .collect(Collectors.toMap(Service::getId, Service::getName));
+
+        List<ExecutionRollupSummary> summaries = new ArrayList<>();
+        groups.forEach((groupId, rollups) -> summaries.add(summarizeGroup(rollups, byActionDefinition, names)));
+        summaries.sort(Comparator.comparingLong(ExecutionRollupSummary::getExecutions).reversed());
+        return summaries;
+    }
+
+    private ExecutionRollupSummary summarizeGroup(List<ExecutionRollup> rollups, boolean byActionDefinition,
+                                                  Map<UUID, String> names) {
+        ExecutionRollup first = rollups.get(0);
+        long[] histogram = new long[DURATION_BOUNDS_MS.length + 1];
+        Map<String, Long> statuses = new HashMap<>();
+        long executions = 0;
+        long durationSum = 0;
+
+        for (ExecutionRollup rollup : rollups) {
+            executions += rollup.getExecutions();
+            durationSum += rollup.getDurationMsSum();
+            statuses.merge(rollup.getStatus().name().toLowerCase(), rollup.getExecutions(), Long::sum);
+            Long[] buckets = rollup.getDurationBuckets();
+            if (buckets != null) {
+                for (int i = 0; i < Math.min(buckets.length, histogram.length); i++) {
+                    histogram[i] += buckets[i] != null ? buckets[i] : 0;
+                }
+            }
+        }
+
+        long timed = 0;
+        for (long hits : histogram) {
+            timed += hits;
+        }
+
+        Function<ExecutionRollup, UUID> key =
+            byActionDefinition ? ExecutionRollup::getActionDefinitionId : ExecutionRollup::getServiceId;
+        return ExecutionRollupSummary.builder()
+            .serviceId(first.getServiceId())
+            .actionDefinitionId(byActionDefinition ? first.getActionDefinitionId() : null)
+            .name(names.get(key.apply(first)))
+            .executions(executions)
+            .statuses(statuses)
+            .avgDurationMs(timed > 0 ? durationSum / timed : null)
+            .p50DurationMs(percentile(histogram, MEDIAN))
+            .p95DurationMs(percentile(histogram, P95))
+            .build();
+    }
+
+    /**
+     * Estimates a duration percentile from a histogram: the upper bound of the first slot whose
+     * cumulative count reaches the quantile (the last bound for the open-ended slot).
+     *
+     * @return the estimate in milliseconds, or null for an empty histogram
+     */
+    public static Long percentile(long[] histogram, double quantile) {
+        long total = 0;
+        for (long hits : histogram) {
+            total += hits;
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        long target = (long) Math.ceil(total * quantile);
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= target) {
+                return DURATION_BOUNDS_MS[Math.min(i, DURATION_BOUNDS_MS.length - 1)];
+            }
+        }
+        return DURATION_BOUNDS_MS[DURATION_BOUNDS_MS.length - 1];
+    }
+}
@@ -1,38 +1,108 @@
 package area.server.AREA_Back.service.Area;
 
+import area.server.AREA_Back.dto.AreaEventMessage;
 import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.ActivationMode;
 import area.server.AREA_Back.entity.enums.ActivationModeType;
+import area.server.AREA_Back.entity.enums.DedupStrategy;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
 import area.server.AREA_Back.repository.ExecutionRepository;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExecutionService {
 
+    /**
+     * Execution state machine. Every status change is a conditional UPDATE guarded by the
+     * allowed source statuses, so concurrent writers (worker, timeout reaper, cancel) cannot
+     * overwrite each other: the first one wins and the others see zero updated rows.
+     */
+    private static final Map<ExecutionStatus, Set<ExecutionStatus>> ALLOWED_TRANSITIONS = Map.of(
+        ExecutionStatus.QUEUED, EnumSet.of(ExecutionStatus.RUNNING, ExecutionStatus.CANCELED),
+        ExecutionStatus.RETRY, EnumSet.of(ExecutionStatus.RUNNING, ExecutionStatus.CANCELED),
+        ExecutionStatus.RUNNING, EnumSet.of(ExecutionStatus.OK, ExecutionStatus.RETRY,
+            ExecutionStatus.FAILED, ExecutionStatus.CANCELED)
+    );
+
+    private static final String INSERT_QUEUED_EXECUTIONS = "INSERT INTO area.a_executions "
+        + "(id, action_instance_id, activation_mode_id, area_id, status, attempt, queued_at, input_payload, "
+        + "correlation_id, dedup_key) VALUES ";
+
+    private static final String QUEUED_EXECUTION_ROW =
+        "(?, ?, ?, ?, 'QUEUED', 0, ?, ?::jsonb, ?, ? || area.payload_sha256(?::jsonb))";
+
+    /**
+     * Claims a dedup key for a trigger that starts a run without an execution row of its own.
+     * Same conflict rule as the registration trigger on a_executions: a key held for less than
+     * {@code area.execution_dedup_window()} is left alone and no row is affected.
+     */
+    private static final String CLAIM_DEDUP_KEY = "INSERT INTO area.a_execution_dedup_keys AS k "
+        + "(dedup_key, execution_id, queued_at) VALUES (? || area.payload_sha256(?::jsonb), ?, ?) "
+        + "ON CONFLICT (dedup_key) DO UPDATE SET execution_id = EXCLUDED.execution_id, queued_at = EXCLUDED.queued_at "
+        + "WHERE k.queued_at < EXCLUDED.queued_at - area.execution_dedup_window()";
+
+    /**
+     * Applies a batch of results in one statement; each row carries the statuses it may
+     * transition from, so the guard is the same as {@link ExecutionRepository#transitionExecution}.
+     */
+    private static final String APPLY_RESULTS = "UPDATE area.a_executions e SET status = v.status, "
+        + "finished_at = v.finished_at, output_payload = v.output_payload, error = v.error, "
+        + "attempt = e.attempt + v.attempt_increment, next_retry_at = v.next_retry_at FROM (VALUES ";
+
+    private static final String APPLY_RESULTS_WHERE = ") AS v(id, status, finished_at, output_payload, error, "
+        + "attempt_increment, next_retry_at, sources) WHERE e.id = v.id AND e.status = ANY(v.sources) RETURNING e.id";
+
+    private static final String RESULT_ROW =
+        "(?::uuid, ?, ?::timestamp, ?::jsonb, ?::jsonb, ?::int, ?::timestamp, ?::text[])";
+
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+    private static final String EXTERNAL_ID_FIELD = "external_id_field";
+    private static final String DEFAULT_EXTERNAL_ID_FIELD = "id";
+
     private final ExecutionRepository executionRepository;
     private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventOutboxService eventOutboxService;
 
     private Counter executionsCreated;
     private Counter executionsUpdated;
     private Counter executionsStarted;
     private Counter executionsCanceled;
+    private Counter transitionsRejected;
+    private final Map<DedupStrategy, Counter> duplicatesSuppressed = new EnumMap<>(DedupStrategy.class);
+
+    private final Map<ExecutionStatus, AtomicLong> statusCounts = new EnumMap<>(ExecutionStatus.class);
 
     @PostConstruct
     public void init() {
@@ -40,6 +110,23 @@ public class ExecutionService {
         executionsUpdated = meterRegistry.counter("execution_updated_total");
         executionsStarted = meterRegistry.counter("execution_started_total");
         executionsCanceled = meterRegistry.counter("execution_canceled_total");
+        transitionsRejected = meterRegistry.counter("execution_transition_rejected_total");
+        for (DedupStrategy strategy : DedupStrategy.values()) {
+            if (strategy != DedupStrategy.NONE) {
+                duplicatesSuppressed.put(strategy, Counter.builder("execution_dedup_suppressed_total")
+                    .description("Executions not queued because an identical event was queued within the dedup window")
+                    .tag("strategy", strategy.name().toLowerCase())
+                    .register(meterRegistry));
+            }
+        }
+        for (ExecutionStatus status : ExecutionStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            statusCounts.put(status, count);
+            Gauge.builder("execution_status_count", count, AtomicLong::get)
+                .description("Executions per status, from the last statistics read")
+                .tag("status", status.name().toLowerCase())
+                .register(meterRegistry);
+        }
     }
 
     @Transactional
@@ -77,87 +164,431 @@ public class ExecutionService {
         return executionRepository.save(execution);
     }
 
+    /**
+     * Queues a single execution, skipping it when its activation mode deduplicates events and an
+     * identical one was queued within the dedup window.
+     *
+     * @return the queued execution, or null when it was a duplicate
+     */
+    @Transactional
+    public Execution createDedupedExecution(ActionInstance actionInstance,
+                                            ActivationMode activationMode,
+                                            Map<String, Object> inputPayload,
+                                            UUID correlationId) {
+        Execution execution = new Execution();
+        execution.setActionInstance(actionInstance);
+        execution.setActivationMode(activationMode);
+        execution.setInputPayload(inputPayload);
+        execution.setCorrelationId(correlationId);
+        List<Execution> queued = createExecutionsBatch(List.of(execution), activationMode, inputPayload);
+        return queued.isEmpty() ? null : queued.get(0);
+    }
+
+    /**
+     * Queues a fan-out of executions with one multi-row INSERT instead of one INSERT per execution.
+     * Ids and the queue time are assigned here, so the returned executions can be published
+     * right away; they are not attached to the persistence context.
+     */
+    @Transactional
+    public List<Execution> createExecutionsBatch(List<Execution> executions) {
+        return createExecutionsBatch(executions, null, null);
+    }
+
+    /**
+     * Same as {@link #createExecutionsBatch(List)}, deduplicating the executions of one event
+     * under the strategy of {@code dedupMode}. Each execution gets a key made of the strategy,
+     * its action instance and the SHA-256 of the event payload (or of its external id); rows
+     * whose key is already held are dropped by the database in the same statement and are
+     * missing from the returned list.
+     */
     @Transactional
-    public Execution updateExecutionWithResult(ExecutionResult result) {
-        Optional<Execution> executionOpt = executionRepository.findById(result.getExecutionId());
-        if (executionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Execution not found: " + result.getExecutionId());
+    public List<Execution> createExecutionsBatch(List<Execution> executions,
+                                                 ActivationMode dedupMode,
+                                                 Map<String, Object> dedupPayload) {
+        if (executions == null || executions.isEmpty()) {
+            return List.of();
+        }
+        String dedupSource = dedupSourceOf(dedupMode, dedupPayload);
+        LocalDateTime now = LocalDateTime.now();
+        for (Execution execution : executions) {
+            execution.setId(UUID.randomUUID());
+            execution.setStatus(ExecutionStatus.QUEUED);
+            execution.setAttempt(0);
+            execution.setQueuedAt(now);
+            if (execution.getArea() == null) {
+                execution.setArea(execution.getActionInstance().getArea());
+            }
+        }
+
+        Set<UUID> inserted = new HashSet<>();
+        for (int from = 0; from < executions.size(); from += MAX_ROWS_PER_INSERT) {
+            List<Execution> chunk = executions.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, executions.size()));
+            inserted.addAll(insertQueued(chunk, dedupSource != null ? dedupMode.getDedup() : null, dedupSource));
         }
 
-        Execution execution = executionOpt.get();
-        execution.setStatus(result.getStatus());
-        execution.setStartedAt(result.getStartedAt());
-        execution.setFinishedAt(result.getFinishedAt());
-        execution.setOutputPayload(result.getOutputPayload());
-        execution.setError(result.getError());
+        List<Execution> queued = executions;
+        if (inserted.size() < executions.size()) {
+            queued = executions.stream().filter(execution -> inserted.contains(execution.getId())).toList();
+            int suppressed = executions.size() - queued.size();
+            Counter counter = dedupMode != null ? duplicatesSuppressed.get(dedupMode.getDedup()) : null;
+            if (counter != null) {
+                counter.increment(suppressed);
+            }
+            log.info("Skipped {} duplicate executions (dedup: {})", suppressed,
+                    dedupMode != null ? dedupMode.getDedup() : null);
+        }
+
+        executionsCreated.increment(queued.size());
+        log.debug("Queued {} executions in one batch", queued.size());
+        return queued;
+    }
+
+    /**
+     * Claims the dedup key of an event that starts a run without queuing an execution for its
+     * own action instance, so a redelivered or re-polled event does not start the run twice.
+     *
+     * @return false when an identical event was already claimed within the dedup window
+     */
+    @Transactional
+    public boolean claimDedupKey(ActionInstance actionInstance,
+                                 ActivationMode activationMode,
+                                 Map<String, Object> payload,
+                                 UUID ownerId) {
+        String dedupSource = dedupSourceOf(activationMode, payload);
+        if (dedupSource == null) {
+            return true;
+        }
+        int claimed = jdbcTemplate.update(CLAIM_DEDUP_KEY,
+                dedupPrefix(activationMode.getDedup(), actionInstance.getId()), dedupSource, ownerId,
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (claimed == 0) {
+            duplicatesSuppressed.get(activationMode.getDedup()).increment();
+            log.info("Skipped duplicate event for action instance {} (dedup: {})",
+                    actionInstance.getId(), activationMode.getDedup());
+            return false;
+        }
+        return true;
+    }
 
-        if (result.getStatus() == ExecutionStatus.RETRY) {
-            execution.setAttempt(execution.getAttempt() + 1);
+    private List<UUID> insertQueued(List<Execution> executions, DedupStrategy strategy, String dedupSource) {
+        StringBuilder sql = new StringBuilder(INSERT_QUEUED_EXECUTIONS);
+        List<Object> args = new ArrayList<>(executions.size() * 9);
+        for (Execution execution : executions) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(QUEUED_EXECUTION_ROW);
+            args.add(execution.getId());
+            args.add(execution.getActionInstance().getId());
+            args.add(execution.getActivationMode() != null ? execution.getActivationMode().getId() : null);
+            args.add(execution.getArea() != null ? execution.getArea().getId() : null);
+            args.add(Timestamp.valueOf(execution.getQueuedAt()));
+            args.add(toJson(execution.getInputPayload()));
+            args.add(execution.getCorrelationId());
+            args.add(strategy != null ? dedupPrefix(strategy, execution.getActionInstance().getId()) : null);
+            args.add(dedupSource);
         }
+        sql.append(" RETURNING id");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> rs.getObject(1, UUID.class), args.toArray());
+    }
+
+    /**
+     * JSON hashed into the dedup key of an event: the whole payload for BY_PAYLOAD_HASH, the
+     * value of the mode's {@code external_id_field} (default {@code id}) for BY_EXTERNAL_ID.
+     * Null when the mode does not deduplicate or the payload carries no external id.
+     */
+    String dedupSourceOf(ActivationMode mode, Map<String, Object> payload) {
+        if (mode == null || mode.getDedup() == null || payload == null) {
+            return null;
+        }
+        return switch (mode.getDedup()) {
+            case BY_PAYLOAD_HASH -> toJson(payload);
+            case BY_EXTERNAL_ID -> {
+                Object field = mode.getConfig() != null ? mode.getConfig().get(EXTERNAL_ID_FIELD) : null;
+                Object externalId = payload.get(field != null ? field.toString() : DEFAULT_EXTERNAL_ID_FIELD);
+                yield externalId != null ? toJson(Map.of("external_id", externalId)) : null;
+            }
+            case NONE -> null;
+        };
+    }
+
+    static String dedupPrefix(DedupStrategy strategy, UUID actionInstanceId) {
+        return strategy.name().toLowerCase() + ":" + actionInstanceId + ":";
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Execution payload is not serializable", e);
+        }
+    }
 
-        log.info("Updated execution { } with status { }, attempt { }",
-                execution.getId(), execution.getStatus(), execution.getAttempt());
+    /**
+     * Records the outcome of a running execution with a single conditional UPDATE.
+     * Returns false when the execution is no longer RUNNING (reaped, canceled or missing),
+     * in which case the result is discarded.
+     */
+    @Transactional
+    public boolean updateExecutionWithResult(ExecutionResult result) {
+        ResultTransition transition = transitionOf(result);
+        int updated = executionRepository.transitionExecution(result.getExecutionId(), transition.sources(),
+                transition.target(), result.getFinishedAt(), result.getOutputPayload(), result.getError(),
+                transition.attemptIncrement(), transition.nextRetryAt());
+        if (updated == 0) {
+            log.info("Discarded {} result for execution {}: it is no longer running",
+                    transition.target(), result.getExecutionId());
+            transitionsRejected.increment();
+            return false;
+        }
 
+        log.info("Updated execution {} with status {}", result.getExecutionId(), transition.target());
         executionsUpdated.increment();
-        return executionRepository.save(execution);
+        return true;
     }
 
+    /**
+     * Records many outcomes with one {@code UPDATE ... FROM (VALUES ...)} per chunk, under the same
+     * status guard as {@link #updateExecutionWithResult}.
+     *
+     * @return ids of the executions the result was applied to; the others were discarded
+     */
     @Transactional
-    public Execution markExecutionAsStarted(UUID executionId) {
-        Optional<Execution> executionOpt = executionRepository.findById(executionId);
-        if (executionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Execution not found: " + executionId);
+    public Set<UUID> updateExecutionsWithResults(List<ExecutionResult> results) {
+        if (results == null || results.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> applied = new HashSet<>();
+        for (int from = 0; from < results.size(); from += MAX_ROWS_PER_INSERT) {
+            applied.addAll(applyResults(results.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, results.size()))));
+        }
+        executionsUpdated.increment(applied.size());
+        int rejected = results.size() - applied.size();
+        if (rejected > 0) {
+            log.info("Discarded {} of {} results: executions no longer running", rejected, results.size());
+            transitionsRejected.increment(rejected);
+        }
+        return applied;
+    }
+
+    private List<UUID> applyResults(List<ExecutionResult> results) {
+        StringBuilder sql = new StringBuilder(APPLY_RESULTS);
+        List<Object> args = new ArrayList<>(results.size() * 8);
+        for (ExecutionResult result : results) {
+            ResultTransition transition = transitionOf(result);
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(RESULT_ROW);
+            args.add(result.getExecutionId());
+            args.add(transition.target().name());
+            args.add(result.getFinishedAt() != null ? Timestamp.valueOf(result.getFinishedAt()) : null);
+            args.add(toJson(result.getOutputPayload()));
+            args.add(toJson(result.getError()));
+            args.add(transition.attemptIncrement());
+            args.add(transition.nextRetryAt() != null ? Timestamp.valueOf(transition.nextRetryAt()) : null);
+            args.add(transition.sources().stream().map(Enum::name).collect(Collectors.joining(",", "{", "}")));
+        }
+        sql.append(APPLY_RESULTS_WHERE);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> rs.getObject(1, UUID.class), args.toArray());
+    }
+
+    private static ResultTransition transitionOf(ExecutionResult result) {
+        ExecutionStatus target = result.getStatus();
+        Set<ExecutionStatus> sources = sourcesOf(target);
+        if (target == ExecutionStatus.CANCELED || sources.isEmpty()) {
+            throw new IllegalArgumentException("Cannot record an execution result with status " + target);
         }
 
-        Execution execution = executionOpt.get();
-        execution.setStatus(ExecutionStatus.RUNNING);
-        execution.setStartedAt(LocalDateTime.now());
+        int attemptIncrement = 0;
+        if (target == ExecutionStatus.RETRY && !result.isDeferred()) {
+            attemptIncrement = 1;
+        }
+        LocalDateTime nextRetryAt = null;
+        if (target == ExecutionStatus.RETRY) {
+            nextRetryAt = result.getNextRetryAt();
+            if (nextRetryAt == null) {
+                nextRetryAt = LocalDateTime.now();
+            }
+        }
+        return new ResultTransition(target, sources, attemptIncrement, nextRetryAt);
+    }
 
+    private record ResultTransition(ExecutionStatus target, Set<ExecutionStatus> sources,
+                                   int attemptIncrement, LocalDateTime nextRetryAt) {
+    }
+
+    /**
+     * Moves a queued or retrying execution to RUNNING; returns false if it was not in either state.
+     */
+    @Transactional
+    public boolean markExecutionAsStarted(UUID executionId) {
+        int updated = executionRepository.transitionToRunning(executionId, sourcesOf(ExecutionStatus.RUNNING),
+                ExecutionStatus.RUNNING, LocalDateTime.now());
+        if (updated == 0) {
+            transitionsRejected.increment();
+            return false;
+        }
         executionsStarted.increment();
-        return executionRepository.save(execution);
+        return true;
     }
 
-    public List<Execution> getQueuedExecutions() {
-        return executionRepository.findQueuedExecutionsOrderedByQueueTime();
+    /**
+     * Claims up to {@code limit} executions queued before {@code queuedBefore} for the given
+     * worker and returns them with their action instance, definition, service and user loaded.
+     */
+    @Transactional
+    public List<Execution> claimQueuedExecutions(String workerId, LocalDateTime queuedBefore, int limit) {
+        return loadClaimed(executionRepository.claimQueuedExecutions(workerId, queuedBefore, limit));
     }
 
-    public List<Execution> getExecutionsReadyForRetry(LocalDateTime retryThreshold) {
-        return executionRepository.findExecutionsReadyForRetry(retryThreshold);
+    @Transactional
+    public List<Execution> claimRetryExecutions(String workerId, LocalDateTime now, int limit) {
+        return loadClaimed(executionRepository.claimRetryExecutions(workerId, now, limit));
     }
 
-    public List<Execution> getTimedOutExecutions(LocalDateTime timeoutThreshold) {
-        return executionRepository.findTimedOutExecutions(timeoutThreshold);
+    /**
+     * Claims the given executions if they are still queued; executions already claimed by
+     * another worker (or no longer queued) are silently skipped.
+     */
+    @Transactional
+    public List<Execution> claimExecutions(String workerId, Collection<UUID> executionIds) {
+        if (executionIds == null || executionIds.isEmpty()) {
+            return List.of();
+        }
+        return loadClaimed(executionRepository.claimExecutionsByIds(workerId, executionIds));
     }
 
+    /**
+     * Puts executions this worker claimed but did not start back to QUEUED, outside the result
+     * state machine: nothing ran, so no attempt is recorded. Executions another writer already
+     * moved on are left alone.
+     *
+     * Their stream entries may already be acknowledged, so the released executions are published
+     * again through the outbox in the same transaction. A copy of an entry still pending is
+     * harmless: only queued executions are claimed.
+     *
+     * @return ids of the executions handed back
+     */
     @Transactional
-    public Execution cancelExecution(UUID executionId, String reason) {
-        Optional<Execution> executionOpt = executionRepository.findById(executionId);
-        if (executionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Execution not found: " + executionId);
+    public List<UUID> releaseClaimedExecutions(String workerId, Collection<UUID> executionIds) {
+        if (executionIds == null || executionIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> released = executionRepository.releaseClaimedExecutions(workerId, executionIds);
+        if (!released.isEmpty()) {
+            eventOutboxService.enqueueAll(executionRepository.findAllByIdWithActionInstance(released).stream()
+                .map(this::toRequeueMessage)
+                .toList());
         }
+        log.info("Handed {} claimed executions back to the queue", released.size());
+        return released;
+    }
 
-        Execution execution = executionOpt.get();
-        execution.setStatus(ExecutionStatus.CANCELED);
-        execution.setFinishedAt(LocalDateTime.now());
+    /**
+     * Event for a handed-back execution, on the lane of its activation mode.
+     */
+    private AreaEventMessage toRequeueMessage(Execution execution) {
+        AreaEventMessage message = AreaEventMessage.fromExecution(
+            execution.getId(),
+            execution.getActionInstance().getId(),
+            execution.getArea() != null ? execution.getArea().getId() : null,
+            execution.getInputPayload()
+        );
+        message.setUserId(execution.getActionInstance().getUser() != null
+            ? execution.getActionInstance().getUser().getId()
+            : null);
+        if (execution.getActivationMode() != null && execution.getActivationMode().getType() != null) {
+            message.setEventType(execution.getActivationMode().getType().name().toLowerCase());
+        }
+        message.setSource("worker_drain");
+        message.setCorrelationId(execution.getCorrelationId());
+        return message;
+    }
 
-        if (reason != null) {
-            execution.setError(Map.of("reason", reason, "canceledAt", LocalDateTime.now().toString()));
+    private List<Execution> loadClaimed(List<UUID> claimedIds) {
+        if (claimedIds == null || claimedIds.isEmpty()) {
+            return List.of();
+        }
+        executionsStarted.increment(claimedIds.size());
+        return executionRepository.findAllByIdWithActionInstance(claimedIds);
+    }
+
+    /**
+     * Fails all running executions past their per-action deadline and returns their ids.
+     */
+    @Transactional
+    public List<UUID> failTimedOutExecutions(LocalDateTime now, int defaultTimeoutSeconds) {
+        List<UUID> timedOut = executionRepository.failTimedOutExecutions(now, defaultTimeoutSeconds);
+        executionsUpdated.increment(timedOut.size());
+        return timedOut;
+    }
+
+    /**
+     * Cancels an execution that has not finished yet.
+     *
+     * @throws IllegalArgumentException if the execution does not exist
+     * @throws IllegalStateException if it already reached a final status
+     */
+    @Transactional
+    public void cancelExecution(UUID executionId, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> error = Map.of(
+            "reason", reason != null ? reason : "Manual cancellation",
+            "canceledAt", now.toString()
+        );
+        int updated = executionRepository.transitionExecution(executionId, sourcesOf(ExecutionStatus.CANCELED),
+                ExecutionStatus.CANCELED, now, null, error, 0, null);
+        if (updated == 0) {
+            if (!executionRepository.existsById(executionId)) {
+                throw new IllegalArgumentException("Execution not found: " + executionId);
+            }
+            transitionsRejected.increment();
+            throw new IllegalStateException("Execution " + executionId + " has already finished");
         }
 
         log.info("Canceled execution { } with reason: { }", executionId, reason);
         executionsCanceled.increment();
-        return executionRepository.save(execution);
     }
 
+    static Set<ExecutionStatus> sourcesOf(ExecutionStatus target) {
+        Set<ExecutionStatus> sources = EnumSet.noneOf(ExecutionStatus.class);
+        ALLOWED_TRANSITIONS.forEach((from, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(from);
+            }
+        });
+        return sources;
+    }
+
+    /**
+     * Reads the per-status counters maintained by the a_executions statement triggers: one small
+     * aggregate over the counter table instead of a COUNT(*) per status. The values also feed the
+     * {@code execution_status_count} gauges.
+     */
     public Map<String, Long> getExecutionStatistics() {
-        return Map.of(
-            "queued", executionRepository.countByStatus(ExecutionStatus.QUEUED),
-            "running", executionRepository.countByStatus(ExecutionStatus.RUNNING),
-            "ok", executionRepository.countByStatus(ExecutionStatus.OK),
-            "retry", executionRepository.countByStatus(ExecutionStatus.RETRY),
-            "failed", executionRepository.countByStatus(ExecutionStatus.FAILED),
-            "canceled", executionRepository.countByStatus(ExecutionStatus.CANCELED)
-        );
+        Map<ExecutionStatus, Long> totals = new EnumMap<>(ExecutionStatus.class);
+        for (Object[] row : executionRepository.sumStatusCounts()) {
+            try {
+                totals.put(ExecutionStatus.valueOf((String) row[0]), ((Number) row[1]).longValue());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring counter for unknown execution status {}", row[0]);
+            }
+        }
+
+        Map<String, Long> statistics = new HashMap<>();
+        for (ExecutionStatus status : ExecutionStatus.values()) {
+            long total = totals.getOrDefault(status, 0L);
+            statistics.put(status.name().toLowerCase(), total);
+            AtomicLong gauge = statusCounts.get(status);
+            if (gauge != null) {
+                gauge.set(total);
+            }
+        }
+        return statistics;
     }
 
     public boolean hasExcessiveFailures(ActionInstance actionInstance, int maxFailures,
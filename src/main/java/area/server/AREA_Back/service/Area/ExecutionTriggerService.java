@@ -2,17 +2,17 @@ package area.server.AREA_Back.service.Area;
 
 import area.server.AREA_Back.dto.AreaEventMessage;
 import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.ActivationMode;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.enums.ActivationModeType;
-import area.server.AREA_Back.repository.ActionLinkRepository;
-import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -24,11 +24,14 @@ import java.util.UUID;
 public class ExecutionTriggerService {
 
     private final ExecutionService executionService;
-    private final RedisEventService redisEventService;
-    private final ActionLinkRepository actionLinkRepository;
+    private final EventOutboxService eventOutboxService;
+    private final ExecutionGraphService executionGraphService;
+    private final ActivationModeRepository activationModeRepository;
 
     /**
-     * Triggers execution of an AREA based on an action instance
+     * Triggers execution of an AREA based on an action instance. Linked reactions are released
+     * by the execution graph as their predecessors finish. An event already seen within the dedup
+     * window of the activation mode is dropped before anything is queued.
      */
     @Transactional
     public void triggerAreaExecution(ActionInstance actionInstance,
@@ -53,60 +56,46 @@ public class ExecutionTriggerService {
         }
 
         try {
+            ActivationMode mode = activationModeRepository
+                .findByActionInstanceAndTypeAndEnabled(actionInstance, activationMode, true)
+                .stream()
+                .findFirst()
+                .orElse(null);
             boolean isExecutable = actionInstance.getActionDefinition().getIsExecutable();
             Execution execution = null;
             if (isExecutable) {
-                execution = executionService.createExecutionWithActivationType(
+                execution = executionService.createDedupedExecution(
                     actionInstance,
-                    activationMode,
+                    mode,
                     inputPayload,
                     correlationId
                 );
+                if (execution == null) {
+                    return;
+                }
 
                 AreaEventMessage message = new AreaEventMessage();
                 message.setExecutionId(execution.getId());
                 message.setActionInstanceId(actionInstance.getId());
                 message.setAreaId(actionInstance.getArea().getId());
+                message.setUserId(actionInstance.getUser() != null ? actionInstance.getUser().getId() : null);
                 message.setEventType(activationMode.toString().toLowerCase());
                 message.setSource("trigger_service");
                 message.setPayload(inputPayload);
                 message.setCorrelationId(correlationId);
 
-                redisEventService.publishAreaEvent(message);
+                eventOutboxService.enqueue(message);
 
                 log.info("Successfully triggered execution: {} for action instance: {}",
                         execution.getId(), actionInstance.getName());
             } else {
+                if (!executionService.claimDedupKey(actionInstance, mode, inputPayload, correlationId)) {
+                    return;
+                }
                 log.debug("Action instance {} is not executable (event-only), skipping execution",
                          actionInstance.getName());
             }
-            var linkedActions = actionLinkRepository
-                    .findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId());
-
-            if (!linkedActions.isEmpty()) {
-                log.info("Action {} has {} linked reactions, triggering them in order",
-                         actionInstance.getName(), linkedActions.size());
-                linkedActions.sort((l1, l2) -> {
-                    Integer order1 = Objects.requireNonNullElse(l1.getOrder(), 0);
-                    Integer order2 = Objects.requireNonNullElse(l2.getOrder(), 0);
-                    return order1.compareTo(order2);
-                });
-
-                for (var link : linkedActions) {
-                    try {
-                        log.info("Triggering chained reaction {} (order: {}) from {}",
-                                link.getTargetActionInstance().getName(),
-                                link.getOrder(),
-                                actionInstance.getName());
-                        triggerAreaExecution(link.getTargetActionInstance(), ActivationModeType.CHAIN, inputPayload);
-                    } catch (Exception e) {
-                        log.error("Failed to trigger chained reaction {} from {}: {}",
-                                 link.getTargetActionInstance().getName(),
-                                 actionInstance.getName(),
-                                 e.getMessage());
-                    }
-                }
-            }
+            executionGraphService.startRun(actionInstance, execution, inputPayload, correlationId);
 
         } catch (Exception e) {
             log.error("Failed to trigger AREA execution for action instance {}: {}",
@@ -118,6 +107,7 @@ public class ExecutionTriggerService {
     /**
      * Triggers manual execution of an AREA
      */
+    @Transactional
     public Execution triggerManualExecution(ActionInstance actionInstance,
                                           Map<String, Object> inputPayload) {
 
@@ -137,12 +127,13 @@ public class ExecutionTriggerService {
             message.setExecutionId(execution.getId());
             message.setActionInstanceId(actionInstance.getId());
             message.setAreaId(actionInstance.getArea().getId());
+            message.setUserId(actionInstance.getUser() != null ? actionInstance.getUser().getId() : null);
             message.setEventType("manual");
             message.setSource("manual_trigger");
             message.setPayload(inputPayload);
             message.setCorrelationId(correlationId);
 
-            redisEventService.publishAreaEvent(message);
+            eventOutboxService.enqueue(message);
 
             log.info("Successfully triggered manual execution: {} for AREA: {}",
                     execution.getId(), actionInstance.getArea().getId());
@@ -0,0 +1,49 @@
+package area.server.AREA_Back.service.Redis;
+
+/**
+ * Priority class of an area event. Each lane has its own stream per shard so interactive
+ * triggers never queue behind bulk poll or webhook traffic; lanes are listed by priority.
+ */
+public enum EventLane {
+    INTERACTIVE("manual"),
+    CHAIN("chain"),
+    WEBHOOK("webhook"),
+    POLL("poll"),
+    CRON("cron");
+
+    private final String key;
+
+    EventLane(final String key) {
+        this.key = key;
+    }
+
+    /**
+     * Stream key suffix, also the event type that maps to the lane.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Lane of an event type; types without a lane of their own (replays, test events) go to
+     * the bulk poll lane.
+     */
+    public static EventLane of(final String eventType) {
+        if (eventType != null) {
+            for (EventLane lane : values()) {
+                if (lane.key.equalsIgnoreCase(eventType)) {
+                    return lane;
+                }
+            }
+        }
+        return POLL;
+    }
+
+    /**
+     * Lane of a stream key built by {@link StreamShardAssignment#streamKey}, which ends with the
+     * lane key.
+     */
+    public static EventLane ofStream(final String streamKey) {
+        return of(streamKey.substring(streamKey.lastIndexOf(':') + 1));
+    }
+}
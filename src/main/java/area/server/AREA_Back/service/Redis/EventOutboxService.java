@@ -0,0 +1,115 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.dto.AreaEventMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for area events. Events are written to {@code a_event_outbox} in the
+ * transaction that creates their executions and relayed to the Redis stream once committed, so a
+ * worker never sees an event before its execution row and a rollback never leaves a phantom event.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventOutboxService {
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO area.a_event_outbox (execution_id, message) VALUES (?, ?::jsonb)";
+    private static final String LOCK_BATCH =
+        "SELECT id, message FROM area.a_event_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_BATCH = "DELETE FROM area.a_event_outbox WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisEventService redisEventService;
+    private final MeterRegistry meterRegistry;
+
+    private Counter eventsEnqueued;
+    private Counter eventsRelayed;
+    private Counter eventsDropped;
+
+    @PostConstruct
+    public void initMetrics() {
+        eventsEnqueued = meterRegistry.counter("area_outbox_events_enqueued_total");
+        eventsRelayed = meterRegistry.counter("area_outbox_events_relayed_total");
+        eventsDropped = meterRegistry.counter("area_outbox_events_dropped_total");
+    }
+
+    /**
+     * Records an event to publish when the surrounding transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(AreaEventMessage message) {
+        enqueueAll(List.of(message));
+    }
+
+    /**
+     * Records a batch of events with one JDBC batch; they are published when the surrounding
+     * transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<AreaEventMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, messages, messages.size(), (ps, message) -> {
+            ps.setObject(1, message.getExecutionId());
+            ps.setString(2, toJson(message));
+        });
+        eventsEnqueued.increment(messages.size());
+    }
+
+    /**
+     * Publishes the oldest committed events with one pipelined XADD and deletes them. Rows are
+     * locked with SKIP LOCKED so several relays can drain the outbox concurrently; if the publish
+     * fails the transaction rolls back and the events are retried on the next run.
+     *
+     * @return number of outbox rows consumed
+     */
+    @Transactional
+    public int relayBatch(int batchSize) {
+        List<Long> ids = new ArrayList<>();
+        List<AreaEventMessage> messages = new ArrayList<>();
+        jdbcTemplate.query(LOCK_BATCH, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            ids.add(id);
+            try {
+                messages.add(objectMapper.readValue(rs.getString("message"), AreaEventMessage.class));
+            } catch (JsonProcessingException e) {
+                eventsDropped.increment();
+                log.error("Dropping unreadable outbox event {}: {}", id, e.getMessage());
+            }
+        }, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        redisEventService.publishAreaEvents(messages);
+        jdbcTemplate.update(DELETE_BATCH,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+        eventsRelayed.increment(messages.size());
+        return ids.size();
+    }
+
+    private String toJson(AreaEventMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Area event is not serializable", e);
+        }
+    }
+}
@@ -6,10 +6,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -24,6 +32,7 @@ public class RedisEventService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final RedisConfig redisConfig;
+    private final StreamShardAssignment shardAssignment;
     private final MeterRegistry meterRegistry;
 
     private Counter publishAreaEventCalls;
@@ -53,13 +62,14 @@ public class RedisEventService {
     public String publishAreaEvent(AreaEventMessage message) {
         publishAreaEventCalls.increment();
         try {
+            String streamKey = shardAssignment.streamFor(message);
             ObjectRecord<String, AreaEventMessage> record = StreamRecords
                     .newRecord()
-                    .in(redisConfig.getAreasEventsStream())
+                    .in(streamKey)
                     .ofObject(message);
             var recordId = redisTemplate.opsForStream().add(record);
             log.info("Published event to stream { }: executionId={ }, actionInstanceId={ }, eventType={ }",
-                    redisConfig.getAreasEventsStream(),
+                    streamKey,
                     message.getExecutionId(),
                     message.getActionInstanceId(),
                     message.getEventType());
@@ -79,6 +89,49 @@ public class RedisEventService {
         }
     }
 
+    /**
+     * Publishes a batch of events with all XADDs pipelined in one Redis round trip, each to the
+     * lane of its event type on the shard of its area.
+     *
+     * @return the stream record ids, in message order
+     */
+    public List<String> publishAreaEvents(List<AreaEventMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return List.of();
+        }
+        publishAreaEventCalls.increment(messages.size());
+        try {
+            List<String> streamKeys = messages.stream().map(shardAssignment::streamFor).toList();
+            List<Object> recordIds = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    StreamOperations<String, Object, Object> streams =
+                        (StreamOperations<String, Object, Object>) operations.opsForStream();
+                    for (int i = 0; i < messages.size(); i++) {
+                        streams.add(StreamRecords.newRecord()
+                            .in(streamKeys.get(i))
+                            .ofObject(messages.get(i)));
+                    }
+                    return null;
+                }
+            });
+            log.info("Published {} events to streams {} in one pipeline", messages.size(),
+                new LinkedHashSet<>(streamKeys));
+
+            List<String> ids = new ArrayList<>(recordIds.size());
+            for (Object recordId : recordIds) {
+                ids.add(recordId instanceof RecordId id ? id.getValue() : String.valueOf(recordId));
+            }
+            return ids;
+
+        } catch (Exception e) {
+            publishFailures.increment();
+            log.error("Failed to publish {} events to Redis stream: {}", messages.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to publish events to Redis stream", e);
+        }
+    }
+
     public String publishExecutionEvent(UUID executionId, UUID actionInstanceId,
                                       UUID areaId, Map<String, Object> payload) {
         publishExecutionEventCalls.increment();
@@ -89,51 +142,60 @@ public class RedisEventService {
 
     public void initializeStream() {
         streamInitializationCalls.increment();
+        for (String streamKey : shardAssignment.allStreams()) {
+            initializeStream(streamKey);
+        }
+    }
+
+    private void initializeStream(String streamKey) {
         try {
             try {
-                redisTemplate.opsForStream().info(redisConfig.getAreasEventsStream());
+                redisTemplate.opsForStream().info(streamKey);
             } catch (Exception e) {
-                log.info("Creating Redis stream: { }", redisConfig.getAreasEventsStream());
+                log.info("Creating Redis stream: {}", streamKey);
                 var dummyRecord = StreamRecords.string(Map.of("init", "true"))
-                        .withStreamKey(redisConfig.getAreasEventsStream());
+                        .withStreamKey(streamKey);
                 var recordId = redisTemplate.opsForStream().add(dummyRecord);
-                redisTemplate.opsForStream().delete(redisConfig.getAreasEventsStream(), recordId);
+                redisTemplate.opsForStream().delete(streamKey, recordId);
             }
             try {
                 redisTemplate.opsForStream().createGroup(
-                        redisConfig.getAreasEventsStream(),
+                        streamKey,
                         ReadOffset.from("0"),
                         redisConfig.getAreasConsumerGroup());
                 log.info("Created consumer group: { } for stream: { }",
                         redisConfig.getAreasConsumerGroup(),
-                        redisConfig.getAreasEventsStream());
+                        streamKey);
             } catch (Exception e) {
                 log.debug("Consumer group { } already exists for stream { }",
                          redisConfig.getAreasConsumerGroup(),
-                         redisConfig.getAreasEventsStream());
+                         streamKey);
             }
 
         } catch (Exception e) {
-            log.error("Failed to initialize Redis stream: { }", e.getMessage(), e);
+            log.error("Failed to initialize Redis stream {}: {}", streamKey, e.getMessage(), e);
         }
     }
 
+    /**
+     * Info of every lane stream on every shard, keyed by stream.
+     */
     public Map<String, Object> getStreamInfo() {
-        try {
-            var info = redisTemplate.opsForStream().info(redisConfig.getAreasEventsStream());
-            String streamInfoValue = info.toString();
-            return Map.of(
-                "streamKey", redisConfig.getAreasEventsStream(),
-                "consumerGroup", redisConfig.getAreasConsumerGroup(),
-                "streamInfo", streamInfoValue
-            );
-        } catch (Exception e) {
-            log.warn("Failed to get stream info: { }", e.getMessage());
-            return Map.of(
-                "streamKey", redisConfig.getAreasEventsStream(),
-                "consumerGroup", redisConfig.getAreasConsumerGroup(),
-                "error", e.getMessage()
-            );
+        Map<String, String> streams = new LinkedHashMap<>();
+        for (String streamKey : shardAssignment.allStreams()) {
+            try {
+                streams.put(streamKey, redisTemplate.opsForStream().info(streamKey).toString());
+            } catch (Exception e) {
+                log.warn("Failed to get stream info for {}: {}", streamKey, e.getMessage());
+                streams.put(streamKey, "error: " + e.getMessage());
+            }
         }
+        return Map.of(
+            "streamKey", redisConfig.getAreasEventsStream(),
+            "consumerGroup", redisConfig.getAreasConsumerGroup(),
+            "shardCount", shardAssignment.shardCount(),
+            "assignedStreams", shardAssignment.getAssignedStreams(),
+            "streams", streams
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.entity.ActivationMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Distributed limiter enforcing {@link ActivationMode#getMaxConcurrency()} and
+ * {@link ActivationMode#getRateLimit()} across all worker nodes.
+ *
+ * Concurrency is a sorted set of leases scored by expiry, so leases held by a crashed node
+ * disappear on their own. Rate is a sliding-window log. Acquire and release are each a single
+ * Lua call.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisExecutionLimiter {
+
+    private static final String CONCURRENCY_KEY_PREFIX = "area:limiter:concurrency:";
+    private static final String RATE_KEY_PREFIX = "area:limiter:rate:";
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    /**
+     * KEYS[1] lease set, KEYS[2] rate window.
+     * ARGV: now, leaseTtlMs, maxConcurrency (0 = unlimited), rateLimit (0 = unlimited), windowMs, member.
+     * Returns 1 when acquired, -1 when over concurrency, -2 when over rate.
+     */
+    static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local ttl = tonumber(ARGV[2])
+            local maxConcurrency = tonumber(ARGV[3])
+            local rateLimit = tonumber(ARGV[4])
+            local window = tonumber(ARGV[5])
+            local member = ARGV[6]
+            if maxConcurrency > 0 then
+              redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+              if redis.call('ZSCORE', KEYS[1], member) == false
+                  and redis.call('ZCARD', KEYS[1]) >= maxConcurrency then
+                return -1
+              end
+            end
+            if rateLimit > 0 then
+              redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - window)
+              if redis.call('ZCARD', KEYS[2]) >= rateLimit then
+                return -2
+              end
+              redis.call('ZADD', KEYS[2], now, member .. ':' .. now)
+              redis.call('PEXPIRE', KEYS[2], window)
+            end
+            if maxConcurrency > 0 then
+              redis.call('ZADD', KEYS[1], now + ttl, member)
+              redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    /** KEYS[1] lease set. ARGV: now, member. Drops the lease and any expired ones. */
+    static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]))
+            return redis.call('ZREM', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    public enum Decision {
+        ACQUIRED,
+        CONCURRENCY_EXCEEDED,
+        RATE_EXCEEDED
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Counter concurrencyRejections;
+    private Counter rateRejections;
+
+    @PostConstruct
+    public void initMetrics() {
+        concurrencyRejections = Counter.builder("area_limiter_rejections_total")
+                .description("Executions deferred by the distributed limiter")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        rateRejections = Counter.builder("area_limiter_rejections_total")
+                .description("Executions deferred by the distributed limiter")
+                .tag("reason", "rate")
+                .register(meterRegistry);
+    }
+
+    public Decision tryAcquire(final ActivationMode activationMode, final UUID executionId) {
+        if (!isLimited(activationMode)) {
+            return Decision.ACQUIRED;
+        }
+        int maxConcurrency = positiveOrZero(activationMode.getMaxConcurrency());
+        long[] rate = parseRateLimit(activationMode.getRateLimit());
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT,
+                    new StringRedisSerializer(),
+                    new GenericToStringSerializer<>(Long.class),
+                    List.of(CONCURRENCY_KEY_PREFIX + activationMode.getId(), RATE_KEY_PREFIX + activationMode.getId()),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(workerProperties.getLimiterLeaseTtlMs()),
+                    String.valueOf(maxConcurrency),
+                    String.valueOf(rate[0]),
+                    String.valueOf(rate[1]),
+                    executionId.toString());
+            if (result != null && result == -1L) {
+                concurrencyRejections.increment();
+                return Decision.CONCURRENCY_EXCEEDED;
+            }
+            if (result != null && result == -2L) {
+                rateRejections.increment();
+                return Decision.RATE_EXCEEDED;
+            }
+            return Decision.ACQUIRED;
+        } catch (Exception e) {
+            log.warn("Limiter unavailable for activation mode {}, allowing execution {}: {}",
+                    activationMode.getId(), executionId, e.getMessage());
+            return Decision.ACQUIRED;
+        }
+    }
+
+    public void release(final ActivationMode activationMode, final UUID executionId) {
+        if (activationMode == null || positiveOrZero(activationMode.getMaxConcurrency()) == 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT,
+                    new StringRedisSerializer(),
+                    new GenericToStringSerializer<>(Long.class),
+                    List.of(CONCURRENCY_KEY_PREFIX + activationMode.getId()),
+                    String.valueOf(System.currentTimeMillis()),
+                    executionId.toString());
+        } catch (Exception e) {
+            log.warn("Failed to release limiter lease for execution {}, it will expire: {}",
+                    executionId, e.getMessage());
+        }
+    }
+
+    private boolean isLimited(final ActivationMode activationMode) {
+        if (activationMode == null) {
+            return false;
+        }
+        return positiveOrZero(activationMode.getMaxConcurrency()) > 0
+                || parseRateLimit(activationMode.getRateLimit())[0] > 0;
+    }
+
+    /**
+     * Reads {"per_second"|"per_minute"|"per_hour": n} into {limit, windowMs}; {0, 0} when absent.
+     */
+    static long[] parseRateLimit(final Map<String, Object> rateLimit) {
+        if (rateLimit == null || rateLimit.isEmpty()) {
+            return new long[] {0, 0};
+        }
+        if (rateLimit.get("per_second") instanceof Number n && n.longValue() > 0) {
+            return new long[] {n.longValue(), MILLIS_PER_SECOND};
+        }
+        if (rateLimit.get("per_minute") instanceof Number n && n.longValue() > 0) {
+            return new long[] {n.longValue(), MILLIS_PER_MINUTE};
+        }
+        if (rateLimit.get("per_hour") instanceof Number n && n.longValue() > 0) {
+            return new long[] {n.longValue(), MILLIS_PER_HOUR};
+        }
+        return new long[] {0, 0};
+    }
+
+    private static int positiveOrZero(final Integer value) {
+        if (value == null || value < 0) {
+            return 0;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,140 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.entity.ActionDefinition;
+import area.server.AREA_Back.entity.ActionInstance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Paces outbound provider calls according to {@link ActionDefinition#getThrottlePolicy()}.
+ *
+ * Each (service, action definition, account) key holds the next free send slot; a caller
+ * reserves the slot with one Lua call and sleeps until it comes up, so bursts are spread
+ * evenly over the window on every node instead of tripping the provider's 429s.
+ *
+ * Sleeping holds a reaction thread and a bulkhead permit, so a caller only sleeps for slots
+ * within {@code app.worker.throttle-max-sleep-ms}. A later slot is not reserved; the caller
+ * defers the execution until it comes up instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisProviderThrottle {
+
+    private static final String THROTTLE_KEY_PREFIX = "area:throttle:";
+    private static final long KEY_TTL_MARGIN_MS = 1000L;
+
+    /**
+     * KEYS[1] next-slot timestamp. ARGV: now, intervalMs, maxSleepMs, key TTL margin.
+     * Returns the milliseconds to sleep before sending, or the negated wait without reserving
+     * the slot when that exceeds maxSleepMs.
+     */
+    static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local interval = tonumber(ARGV[2])
+            local maxSleep = tonumber(ARGV[3])
+            local slot = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if slot < now then
+              slot = now
+            end
+            local wait = slot - now
+            if wait > maxSleep then
+              return -wait
+            end
+            redis.call('SET', KEYS[1], slot + interval, 'PX', wait + interval + tonumber(ARGV[4]))
+            return wait
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary throttleWait;
+    private Counter throttleRejections;
+
+    @PostConstruct
+    public void initMetrics() {
+        throttleWait = DistributionSummary.builder("area_throttle_wait_ms")
+                .description("Time reactions were paced before calling the provider")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        throttleRejections = Counter.builder("area_throttle_rejections_total")
+                .description("Reactions deferred because the next throttle slot was beyond the max sleep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sleeps until the caller may send when its slot is close enough.
+     *
+     * @return 0 once the caller may send, otherwise the milliseconds after which it should defer
+     *         the execution and try again
+     */
+    public long await(final String serviceKey, final ActionDefinition actionDefinition,
+                      final ActionInstance actionInstance) {
+        long[] rate = RedisExecutionLimiter.parseRateLimit(actionDefinition.getThrottlePolicy());
+        if (rate[0] <= 0) {
+            return 0;
+        }
+        long intervalMs = Math.max(1L, rate[1] / rate[0]);
+        String key = THROTTLE_KEY_PREFIX + serviceKey + ":" + actionDefinition.getId() + ":"
+                + accountKey(actionInstance);
+        long waitMs;
+        try {
+            Long result = redisTemplate.execute(RESERVE_SCRIPT,
+                    new StringRedisSerializer(),
+                    new GenericToStringSerializer<>(Long.class),
+                    List.of(key),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(intervalMs),
+                    String.valueOf(workerProperties.getThrottleMaxSleepMs()),
+                    String.valueOf(KEY_TTL_MARGIN_MS));
+            if (result == null) {
+                return 0;
+            }
+            waitMs = result;
+        } catch (Exception e) {
+            log.warn("Throttle unavailable for {}, sending without pacing: {}", key, e.getMessage());
+            return 0;
+        }
+
+        if (waitMs < 0) {
+            throttleRejections.increment();
+            return -waitMs;
+        }
+        throttleWait.record(waitMs);
+        if (waitMs > 0) {
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return intervalMs;
+            }
+        }
+        return 0;
+    }
+
+    private static String accountKey(final ActionInstance actionInstance) {
+        if (actionInstance.getServiceAccount() != null) {
+            return "sa:" + actionInstance.getServiceAccount().getId();
+        }
+        UUID userId = null;
+        if (actionInstance.getUser() != null) {
+            userId = actionInstance.getUser().getId();
+        }
+        return "user:" + userId;
+    }
+}
@@ -0,0 +1,173 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.worker.AreaReactionWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recovers stream entries left in the consumer group's pending list by consumers that died
+ * between reading and acknowledging them. Idle entries are claimed by this consumer, up to its
+ * read credits, and buffered in the fair-share queues like freshly read ones; entries delivered
+ * too many times are moved to the dead-letter stream.
+ *
+ * Entries this consumer still holds (buffered for dispatch or waiting for their result) are never
+ * reclaimed nor dead-lettered; their idle time is refreshed instead, so other nodes scanning the
+ * same stream leave them alone too.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisStreamReclaimer {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisConfig redisConfig;
+    private final AreaReactionWorker areaReactionWorker;
+    private final StreamShardAssignment shardAssignment;
+    private final MeterRegistry meterRegistry;
+
+    private Counter reclaimedEntriesCounter;
+    private Counter deadLetteredEntriesCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        reclaimedEntriesCounter = Counter.builder("redis_stream.reclaimed_entries")
+                .description("Total number of idle pending entries reclaimed from other consumers")
+                .register(meterRegistry);
+
+        deadLetteredEntriesCounter = Counter.builder("redis_stream.dead_lettered_entries")
+                .description("Total number of pending entries moved to the dead-letter stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reclaims idle entries on every shard this consumer owns, so entries left behind by a node
+     * that lost or released a shard are picked up by the new owner.
+     */
+    @Scheduled(fixedDelayString = "${app.redis.stream.reclaim-interval-ms:15000}")
+    public void reclaimPendingEntries() {
+        for (String streamKey : shardAssignment.getAssignedStreams()) {
+            reclaimPendingEntries(streamKey);
+        }
+    }
+
+    private void reclaimPendingEntries(final String streamKey) {
+        try {
+            String group = redisConfig.getAreasConsumerGroup();
+            Duration minIdle = redisConfig.getAreasReclaimIdle();
+
+            PendingMessages pending = redisTemplate.opsForStream().pending(
+                    streamKey, group, Range.unbounded(), redisConfig.getAreasReclaimBatchSize());
+            if (pending == null || pending.isEmpty()) {
+                return;
+            }
+
+            int credits = areaReactionWorker.getReadCredits();
+            List<RecordId> toReclaim = new ArrayList<>();
+            for (PendingMessage message : pending) {
+                if (isHeldHere(streamKey, message)) {
+                    if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle.dividedBy(2)) >= 0) {
+                        refreshIdle(streamKey, message);
+                    }
+                    continue;
+                }
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (message.getTotalDeliveryCount() >= redisConfig.getAreasMaxDeliveries()) {
+                    deadLetter(streamKey, message);
+                } else if (toReclaim.size() < credits) {
+                    toReclaim.add(message.getId());
+                }
+            }
+
+            if (toReclaim.isEmpty()) {
+                return;
+            }
+
+            // XCLAIM re-checks the idle time, so entries picked up concurrently by another node are skipped
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    streamKey, group, redisConfig.getAreasConsumerName(), minIdle,
+                    toReclaim.toArray(RecordId[]::new));
+            if (claimed == null || claimed.isEmpty()) {
+                return;
+            }
+
+            log.info("Reclaimed {} idle pending entries from stream {}", claimed.size(), streamKey);
+            reclaimedEntriesCounter.increment(claimed.size());
+            areaReactionWorker.enqueueReclaimed(claimed);
+
+        } catch (Exception e) {
+            log.error("Failed to reclaim pending entries of stream {}: {}", streamKey, e.getMessage(), e);
+        }
+    }
+
+    private boolean isHeldHere(final String streamKey, final PendingMessage message) {
+        return redisConfig.getAreasConsumerName().equals(message.getConsumerName())
+            && areaReactionWorker.isHolding(streamKey, message.getId());
+    }
+
+    /**
+     * Resets the idle time of an entry this consumer holds by claiming it again for itself,
+     * keeping its delivery count.
+     */
+    private void refreshIdle(final String streamKey, final PendingMessage message) {
+        try {
+            redisTemplate.opsForStream().claim(streamKey, redisConfig.getAreasConsumerGroup(),
+                redisConfig.getAreasConsumerName(),
+                XClaimOptions.minIdle(Duration.ZERO).ids(message.getId()).retryCount(message.getTotalDeliveryCount()));
+        } catch (Exception e) {
+            log.warn("Failed to refresh idle time of held stream entry {}: {}", message.getIdAsString(),
+                e.getMessage());
+        }
+    }
+
+    private void deadLetter(final String streamKey, final PendingMessage message) {
+        String id = message.getIdAsString();
+        try {
+            List<MapRecord<String, Object, Object>> records =
+                    redisTemplate.opsForStream().range(streamKey, Range.closed(id, id));
+
+            Map<Object, Object> fields = new HashMap<>();
+            if (records != null && !records.isEmpty()) {
+                fields.putAll(records.get(0).getValue());
+            }
+            fields.put("originalId", id);
+            fields.put("originalStream", streamKey);
+            fields.put("lastConsumer", message.getConsumerName());
+            fields.put("deliveryCount", String.valueOf(message.getTotalDeliveryCount()));
+            fields.put("deadLetteredAt", LocalDateTime.now().toString());
+
+            redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                    .in(redisConfig.getAreasDeadLetterStream())
+                    .ofMap(fields));
+            redisTemplate.opsForStream().acknowledge(streamKey, redisConfig.getAreasConsumerGroup(), message.getId());
+
+            deadLetteredEntriesCounter.increment();
+            log.warn("Moved stream entry {} to dead-letter stream after {} deliveries (last consumer: {})",
+                    id, message.getTotalDeliveryCount(), message.getConsumerName());
+        } catch (Exception e) {
+            log.error("Failed to dead-letter stream entry {}: {}", id, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.dto.StreamStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the area event streams bounded and reports their size. Acknowledged entries are trimmed
+ * periodically with an approximate {@code XTRIM MINID}; the floor is computed in the same Lua call
+ * from every group's last-delivered ID and oldest pending entry, so undelivered or unacknowledged
+ * entries are never dropped. Each node trims and samples only the shards it owns.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisStreamRetention {
+
+    /**
+     * KEYS[1] stream. ARGV[1] newest ID that may be trimmed by age (entries newer than the
+     * retention window are kept). Returns the number of entries trimmed.
+     */
+    static final RedisScript<Long> TRIM_SCRIPT = new DefaultRedisScript<>("""
+            local function older(a, b)
+              local ams, aseq = string.match(a, '(%d+)-(%d+)')
+              local bms, bseq = string.match(b, '(%d+)-(%d+)')
+              if tonumber(ams) ~= tonumber(bms) then
+                return tonumber(ams) < tonumber(bms)
+              end
+              return tonumber(aseq) < tonumber(bseq)
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            local groups = redis.call('XINFO', 'GROUPS', KEYS[1])
+            if #groups == 0 then
+              return 0
+            end
+            local floor = ARGV[1]
+            for _, group in ipairs(groups) do
+              local name, delivered
+              for i = 1, #group, 2 do
+                if group[i] == 'name' then name = group[i + 1] end
+                if group[i] == 'last-delivered-id' then delivered = group[i + 1] end
+              end
+              if older(delivered, floor) then floor = delivered end
+              local pending = redis.call('XPENDING', KEYS[1], name)
+              if pending[1] > 0 and older(pending[2], floor) then floor = pending[2] end
+            end
+            return redis.call('XTRIM', KEYS[1], 'MINID', '~', floor)
+            """, Long.class);
+
+    /**
+     * KEYS[1] stream. ARGV[1] consumer group. Returns {length, pending, lag (-1 when unknown), memory bytes}.
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> STATS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return {0, 0, -1, 0}
+            end
+            local pending, lag = 0, -1
+            for _, group in ipairs(redis.call('XINFO', 'GROUPS', KEYS[1])) do
+              local fields = {}
+              for i = 1, #group, 2 do fields[group[i]] = group[i + 1] end
+              if fields['name'] == ARGV[1] then
+                pending = fields['pending']
+                if type(fields['lag']) == 'number' then lag = fields['lag'] end
+              end
+            end
+            local memory = redis.call('MEMORY', 'USAGE', KEYS[1]) or 0
+            return {redis.call('XLEN', KEYS[1]), pending, lag, memory}
+            """, List.class);
+
+    private static final int STAT_LENGTH = 0;
+    private static final int STAT_PENDING = 1;
+    private static final int STAT_LAG = 2;
+    private static final int STAT_MEMORY = 3;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisConfig redisConfig;
+    private final StreamShardAssignment shardAssignment;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Map<String, StreamStats> latestStats = Map.of();
+
+    private Counter trimmedEntries;
+    private MultiGauge streamLength;
+    private MultiGauge streamPending;
+    private MultiGauge streamLag;
+    private MultiGauge streamMemory;
+    private MultiGauge consumerPending;
+    private MultiGauge consumerIdle;
+
+    @PostConstruct
+    public void initMetrics() {
+        trimmedEntries = Counter.builder("area_stream_trimmed_entries_total")
+                .description("Acknowledged stream entries removed by the retention trimmer")
+                .register(meterRegistry);
+        streamLength = MultiGauge.builder("area_stream_length")
+                .description("Entries currently stored in the stream")
+                .register(meterRegistry);
+        streamPending = MultiGauge.builder("area_stream_pending")
+                .description("Entries delivered to the consumer group but not acknowledged")
+                .register(meterRegistry);
+        streamLag = MultiGauge.builder("area_stream_lag")
+                .description("Entries not yet delivered to the consumer group")
+                .register(meterRegistry);
+        streamMemory = MultiGauge.builder("area_stream_memory_bytes")
+                .description("Redis memory used by the stream key")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        consumerPending = MultiGauge.builder("area_stream_consumer_pending")
+                .description("Unacknowledged entries held by each consumer")
+                .register(meterRegistry);
+        consumerIdle = MultiGauge.builder("area_stream_consumer_idle_ms")
+                .description("Time since each consumer last read from the stream")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.redis.stream.trim-interval-ms:30000}")
+    public void trimAndSample() {
+        Map<String, StreamStats> stats = new LinkedHashMap<>();
+        for (String streamKey : shardAssignment.getAssignedStreams()) {
+            try {
+                long trimmed = trim(streamKey);
+                stats.put(streamKey, sample(streamKey, trimmed));
+            } catch (Exception e) {
+                log.error("Failed to trim or sample stream {}: {}", streamKey, e.getMessage(), e);
+            }
+        }
+        latestStats = stats;
+        publishGauges(stats.values());
+    }
+
+    /**
+     * Last sample of every stream this node owns.
+     */
+    public List<StreamStats> getStreamStats() {
+        return new ArrayList<>(latestStats.values());
+    }
+
+    /**
+     * Trims acknowledged entries older than the retention window.
+     *
+     * @return number of entries removed
+     */
+    long trim(final String streamKey) {
+        long cutoff = System.currentTimeMillis() - redisConfig.getAreasTrimRetention().toMillis();
+        Long trimmed = redisTemplate.execute(TRIM_SCRIPT,
+                new StringRedisSerializer(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(streamKey),
+                Math.max(cutoff, 0) + "-0");
+        long count = trimmed != null ? trimmed : 0;
+        if (count > 0) {
+            trimmedEntries.increment(count);
+            log.debug("Trimmed {} acknowledged entries from stream {}", count, streamKey);
+        }
+        return count;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    StreamStats sample(final String streamKey, final long trimmed) {
+        String group = redisConfig.getAreasConsumerGroup();
+        List<Object> values = redisTemplate.execute(STATS_SCRIPT,
+                new StringRedisSerializer(),
+                (RedisSerializer) new GenericToStringSerializer<>(Long.class),
+                List.of(streamKey),
+                group);
+
+        Map<String, Long> pendingByConsumer = new LinkedHashMap<>();
+        Map<String, Long> idleByConsumer = new LinkedHashMap<>();
+        StreamInfo.XInfoConsumers consumers = redisTemplate.opsForStream().consumers(streamKey, group);
+        if (consumers != null) {
+            consumers.forEach(consumer -> {
+                pendingByConsumer.put(consumer.consumerName(), consumer.pendingCount());
+                idleByConsumer.put(consumer.consumerName(), consumer.idleTimeMs());
+            });
+        }
+
+        long lag = stat(values, STAT_LAG);
+        return StreamStats.builder()
+                .streamKey(streamKey)
+                .length(stat(values, STAT_LENGTH))
+                .pending(stat(values, STAT_PENDING))
+                .lag(lag >= 0 ? lag : null)
+                .memoryBytes(stat(values, STAT_MEMORY))
+                .trimmed(trimmed)
+                .consumerPending(pendingByConsumer)
+                .consumerIdleMs(idleByConsumer)
+                .sampledAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void publishGauges(final Iterable<StreamStats> stats) {
+        List<MultiGauge.Row<?>> length = new ArrayList<>();
+        List<MultiGauge.Row<?>> pending = new ArrayList<>();
+        List<MultiGauge.Row<?>> lag = new ArrayList<>();
+        List<MultiGauge.Row<?>> memory = new ArrayList<>();
+        List<MultiGauge.Row<?>> perConsumerPending = new ArrayList<>();
+        List<MultiGauge.Row<?>> perConsumerIdle = new ArrayList<>();
+        for (StreamStats stream : stats) {
+            Tags tags = Tags.of("stream", stream.getStreamKey());
+            length.add(MultiGauge.Row.of(tags, stream.getLength()));
+            pending.add(MultiGauge.Row.of(tags, stream.getPending()));
+            if (stream.getLag() != null) {
+                lag.add(MultiGauge.Row.of(tags, stream.getLag()));
+            }
+            memory.add(MultiGauge.Row.of(tags, stream.getMemoryBytes()));
+            stream.getConsumerPending().forEach((consumer, count) ->
+                perConsumerPending.add(MultiGauge.Row.of(tags.and("consumer", consumer), count)));
+            stream.getConsumerIdleMs().forEach((consumer, idle) ->
+                perConsumerIdle.add(MultiGauge.Row.of(tags.and("consumer", consumer), idle)));
+        }
+        streamLength.register(length, true);
+        streamPending.register(pending, true);
+        streamLag.register(lag, true);
+        streamMemory.register(memory, true);
+        consumerPending.register(perConsumerPending, true);
+        consumerIdle.register(perConsumerIdle, true);
+    }
+
+    private static long stat(final List<Object> values, final int index) {
+        if (values == null || values.size() <= index || !(values.get(index) instanceof Number number)) {
+            return 0;
+        }
+        return number.longValue();
+    }
+}
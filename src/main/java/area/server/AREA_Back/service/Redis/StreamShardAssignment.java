@@ -0,0 +1,283 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.dto.AreaEventMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoStream;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes area events to N stream shards by hash of their area, so all events of an area stay
+ * ordered on one stream per {@link EventLane}, and decides which shards this consumer reads.
+ *
+ * <p>Consumers heartbeat into a sorted set scored by last-seen time; members that missed the
+ * membership TTL are dropped. Each shard is owned by the live member with the highest
+ * rendezvous score for it, so a node joining or leaving only moves the shards it wins or held.
+ * With a single shard every consumer reads the one stream and no membership is kept.
+ *
+ * <p>Events used to be published to the bare base stream. While that legacy stream still has
+ * entries the group has not been delivered or has not acknowledged, every consumer keeps reading
+ * and reclaiming it with the lane its key maps to, so nothing left there is abandoned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StreamShardAssignment {
+
+    private static final String MEMBERS_SUFFIX = ":consumers";
+    private static final int MIX_SHIFT = 33;
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisConfig redisConfig;
+    private final MeterRegistry meterRegistry;
+
+    private volatile List<Integer> assignedShards;
+    private volatile Boolean legacyStreamActive;
+    private Counter rebalances;
+
+    @PostConstruct
+    public void initMetrics() {
+        rebalances = meterRegistry.counter("area_stream_shard_rebalances_total");
+        meterRegistry.gauge("area_stream_shards_assigned", this,
+            assignment -> assignment.assignedShards != null ? assignment.assignedShards.size() : 0);
+    }
+
+    public int shardCount() {
+        return Math.max(1, redisConfig.getAreasShardCount());
+    }
+
+    public int shardOf(UUID areaId) {
+        return areaId != null ? Math.floorMod(areaId.hashCode(), shardCount()) : 0;
+    }
+
+    public String streamKey(int shard, EventLane lane) {
+        String base = redisConfig.getAreasEventsStream();
+        return (shardCount() > 1 ? base + ":" + shard : base) + ":" + lane.getKey();
+    }
+
+    /**
+     * Stream an event is published to: the lane of its event type on the shard of its area.
+     * Events without an area are spread by execution id.
+     */
+    public String streamFor(AreaEventMessage message) {
+        UUID key = message.getAreaId() != null ? message.getAreaId() : message.getExecutionId();
+        return streamKey(shardOf(key), EventLane.of(message.getEventType()));
+    }
+
+    public List<String> allStreams() {
+        return streamsOf(allShards());
+    }
+
+    /**
+     * Streams this consumer reads: every lane of every shard it currently owns, plus the legacy
+     * base stream until it is drained. Shards are empty until the first successful heartbeat when
+     * sharding is enabled.
+     */
+    public List<String> getAssignedStreams() {
+        List<String> streams = streamsOf(getAssignedShards());
+        if (isLegacyStreamActive()) {
+            streams.add(legacyStream());
+        }
+        return streams;
+    }
+
+    /**
+     * Streams of one lane across the shards this consumer owns, plus the legacy base stream for
+     * the lane its key maps to until it is drained.
+     */
+    public List<String> getAssignedStreams(EventLane lane) {
+        List<String> streams = new ArrayList<>();
+        for (int shard : getAssignedShards()) {
+            streams.add(streamKey(shard, lane));
+        }
+        if (lane == EventLane.ofStream(legacyStream()) && isLegacyStreamActive()) {
+            streams.add(legacyStream());
+        }
+        return streams;
+    }
+
+    /**
+     * Base stream events were published to before they were split into lanes and shards.
+     */
+    public String legacyStream() {
+        return redisConfig.getAreasEventsStream();
+    }
+
+    private boolean isLegacyStreamActive() {
+        if (legacyStreamActive == null) {
+            refreshLegacyStream();
+        }
+        return Boolean.TRUE.equals(legacyStreamActive);
+    }
+
+    /**
+     * Rechecks whether the legacy base stream still has entries for the consumer group: pending
+     * ones, or ones newer than the last entry delivered to the group. A stream without the group
+     * was never consumed and is left alone.
+     */
+    @Scheduled(fixedDelayString = "${app.redis.stream.rebalance-interval-ms:5000}")
+    public void refreshLegacyStream() {
+        String stream = legacyStream();
+        boolean active = false;
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(stream))) {
+                String group = redisConfig.getAreasConsumerGroup();
+                for (XInfoGroup info : redisTemplate.opsForStream().groups(stream)) {
+                    if (group.equals(info.groupName())) {
+                        active = info.pendingCount() > 0
+                            || hasUndelivered(redisTemplate.opsForStream().info(stream), info.lastDeliveredId());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check legacy stream {}: {}", stream, e.getMessage());
+            active = Boolean.TRUE.equals(legacyStreamActive);
+        }
+        if (legacyStreamActive != null && legacyStreamActive && !active) {
+            log.info("Legacy stream {} is drained, no longer reading it", stream);
+        }
+        legacyStreamActive = active;
+    }
+
+    private static boolean hasUndelivered(XInfoStream info, String lastDeliveredId) {
+        if (info.streamLength() == 0 || info.lastEntryId() == null) {
+            return false;
+        }
+        RecordId last = RecordId.of(info.lastEntryId());
+        RecordId delivered = RecordId.of(lastDeliveredId);
+        int byTime = Long.compare(last.getTimestamp(), delivered.getTimestamp());
+        return byTime > 0 || byTime == 0 && last.getSequence() > delivered.getSequence();
+    }
+
+    private List<Integer> getAssignedShards() {
+        if (shardCount() == 1) {
+            return allShards();
+        }
+        if (assignedShards == null) {
+            rebalance();
+        }
+        return assignedShards != null ? assignedShards : List.of();
+    }
+
+    private List<Integer> allShards() {
+        List<Integer> shards = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private List<String> streamsOf(List<Integer> shards) {
+        List<String> streams = new ArrayList<>(shards.size() * EventLane.values().length);
+        for (int shard : shards) {
+            for (EventLane lane : EventLane.values()) {
+                streams.add(streamKey(shard, lane));
+            }
+        }
+        return streams;
+    }
+
+    /**
+     * Refreshes this consumer's heartbeat, drops expired members and recomputes the shards it owns.
+     */
+    @Scheduled(fixedDelayString = "${app.redis.stream.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        if (shardCount() == 1) {
+            return;
+        }
+        try {
+            String membersKey = membersKey();
+            String self = redisConfig.getAreasConsumerName();
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().add(membersKey, self, now);
+            redisTemplate.opsForZSet().removeRangeByScore(membersKey, 0,
+                now - redisConfig.getAreasMembershipTtl().toMillis());
+            Set<Object> live = redisTemplate.opsForZSet().range(membersKey, 0, -1);
+
+            List<String> members = new ArrayList<>();
+            if (live != null) {
+                live.forEach(member -> members.add(member.toString()));
+            }
+            if (!members.contains(self)) {
+                members.add(self);
+            }
+
+            List<Integer> owned = new ArrayList<>();
+            for (int shard = 0; shard < shardCount(); shard++) {
+                if (self.equals(owner(members, shard))) {
+                    owned.add(shard);
+                }
+            }
+            if (!owned.equals(assignedShards)) {
+                log.info("Consumer {} now reads {} of {} shards across {} members: {}",
+                    self, owned.size(), shardCount(), members.size(), owned);
+                rebalances.increment();
+                assignedShards = List.copyOf(owned);
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh stream shard assignment: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Leaves the membership on shutdown so the other consumers take over this node's shards on
+     * their next rebalance instead of waiting for the TTL.
+     */
+    @PreDestroy
+    public void leave() {
+        if (shardCount() == 1) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(membersKey(), redisConfig.getAreasConsumerName());
+        } catch (Exception e) {
+            log.warn("Failed to leave stream shard membership: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rendezvous (highest random weight) owner of a shard among the given members.
+     */
+    static String owner(List<String> members, int shard) {
+        String best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (String member : members) {
+            long score = mix(((long) member.hashCode() << Integer.SIZE) ^ shard);
+            if (best == null || score > bestScore || score == bestScore && member.compareTo(best) < 0) {
+                best = member;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_MULTIPLIER_1;
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_MULTIPLIER_2;
+        h ^= h >>> MIX_SHIFT;
+        return h;
+    }
+
+    private String membersKey() {
+        return redisConfig.getAreasEventsStream() + MEMBERS_SUFFIX;
+    }
+}
@@ -1,14 +1,14 @@
 package area.server.AREA_Back.service.Webhook;
 
 import area.server.AREA_Back.entity.ActionInstance;
-import area.server.AREA_Back.entity.ActionLink;
 import area.server.AREA_Back.entity.ActivationMode;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.enums.ActivationModeType;
 import area.server.AREA_Back.repository.ActionInstanceRepository;
-import area.server.AREA_Back.repository.ActionLinkRepository;
 import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.service.Area.ExecutionGraphService;
 import area.server.AREA_Back.service.Area.ExecutionService;
+import area.server.AREA_Back.service.Redis.EventLane;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,9 +25,8 @@ public class WebhookEventProcessingService {
 
     private final ActionInstanceRepository actionInstanceRepository;
     private final ActivationModeRepository activationModeRepository;
-    private final ActionLinkRepository actionLinkRepository;
     private final ExecutionService executionService;
-    private final PayloadMappingService payloadMappingService;
+    private final ExecutionGraphService executionGraphService;
 
     @Transactional
     public List<Execution> processWebhookEvent(String service, String action,
@@ -38,8 +37,7 @@ public class WebhookEventProcessingService {
         log.debug("Found {} matching action instances for webhook event", matchingInstances.size());
 
         return matchingInstances.stream()
-            .map(instance -> createExecutionForWebhook(instance, payload))
-            .filter(execution -> execution != null)
+            .flatMap(instance -> startRunForWebhook(instance, payload).stream())
             .toList();
     }
 
@@ -149,13 +147,20 @@ public class WebhookEventProcessingService {
         };
     }
 
-    private Execution createExecutionForWebhook(ActionInstance triggerInstance, Map<String, Object> payload) {
+    /**
+     * Starts the execution graph of a webhook trigger, which queues the linked reactions on the
+     * webhook lane and releases the rest of the area as they finish. An event already seen within
+     * the dedup window of the trigger's webhook mode is dropped.
+     *
+     * @return the executions queued for the trigger's direct successors
+     */
+    private List<Execution> startRunForWebhook(ActionInstance triggerInstance, Map<String, Object> payload) {
         try {
             List<ActivationMode> activationModes = activationModeRepository
                 .findByActionInstanceAndTypeAndEnabled(triggerInstance, ActivationModeType.WEBHOOK, true);
             if (activationModes.isEmpty()) {
                 log.warn("No webhook activation mode found for action instance {}", triggerInstance.getId());
-                return null;
+                return List.of();
             }
             String eventAction = null;
             if (payload.get("action") != null) {
@@ -167,56 +172,28 @@ public class WebhookEventProcessingService {
                     eventAction,
                     triggerInstance.getId()
                 );
-                return null;
-            }
-
-            List<ActionLink> links = actionLinkRepository
-                .findBySourceActionInstanceIdWithTargetFetch(triggerInstance.getId());
-
-            if (links.isEmpty()) {
-                log.warn("No linked actions found for trigger action instance {}", triggerInstance.getId());
-                return null;
+                return List.of();
             }
 
             UUID correlationId = UUID.randomUUID();
-            Execution firstExecution = null;
-
-            for (ActionLink link : links) {
-                ActionInstance targetInstance = link.getTargetActionInstance();
-
-                List<ActivationMode> chainModes = activationModeRepository
-                    .findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true);
-
-                if (chainModes.isEmpty()) {
-                    log.warn("No CHAIN activation mode found for linked action instance {}", targetInstance.getId());
-                    continue;
-                }
-
-                ActivationMode chainActivationMode = chainModes.get(0);
-
-                Map<String, Object> mappedPayload = applyPayloadMapping(payload, link.getMapping());
-
-                Execution execution = executionService.createExecution(
-                    targetInstance,
-                    chainActivationMode,
-                    mappedPayload,
-                    correlationId
-                );
-
-                if (firstExecution == null) {
-                    firstExecution = execution;
-                }
-
-                log.info("Created execution {} for linked reaction {} (correlation: {})",
-                        execution.getId(), targetInstance.getId(), correlationId);
+            if (!executionService.claimDedupKey(triggerInstance, activationModes.get(0), payload, correlationId)) {
+                return List.of();
+            }
+            List<Execution> executions = executionGraphService.startRun(triggerInstance, null, payload,
+                correlationId, EventLane.WEBHOOK);
+            if (executions.isEmpty()) {
+                log.warn("No linked actions queued for trigger action instance {}", triggerInstance.getId());
+                return List.of();
             }
 
-            return firstExecution;
+            log.info("Created {} executions for linked reactions of {} (correlation: {})",
+                    executions.size(), triggerInstance.getId(), correlationId);
+            return executions;
 
         } catch (Exception e) {
             log.error("Failed to create executions for trigger action instance {}: {}",
                      triggerInstance.getId(), e.getMessage(), e);
-            return null;
+            return List.of();
         }
     }
 
@@ -275,24 +252,6 @@ public class WebhookEventProcessingService {
         };
     }
 
-    private Map<String, Object> applyPayloadMapping(
-            Map<String, Object> sourcePayload,
-            Map<String, Object> mappingConfig) {
-        if (mappingConfig == null || mappingConfig.isEmpty()) {
-            return sourcePayload;
-        }
-
-        try {
-            String mappingJson = new com.fasterxml.jackson.databind.ObjectMapper()
-                .writeValueAsString(mappingConfig);
-            return payloadMappingService.applyMapping(sourcePayload, mappingJson);
-        } catch (Exception e) {
-            log.warn("Failed to apply payload mapping, using original payload: {}",
-                e.getMessage());
-            return sourcePayload;
-        }
-    }
-
     public String generateDeduplicationKey(String service, String action, Map<String, Object> payload) {
         Object eventId = extractEventId(service, payload);
         Object eventAction = payload.get("action");
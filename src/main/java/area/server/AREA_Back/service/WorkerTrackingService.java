@@ -1,5 +1,6 @@
 package area.server.AREA_Back.service;
 
+import area.server.AREA_Back.config.VirtualThreadTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -13,32 +14,32 @@ import java.util.concurrent.Executor;
 @Slf4j
 public class WorkerTrackingService {
 
-    private final ThreadPoolTaskExecutor areaWorkerExecutor;
-    private final ThreadPoolTaskExecutor reactionTaskExecutor;
+    private final Executor areaWorkerExecutor;
+    private final Executor reactionTaskExecutor;
 
     public WorkerTrackingService(
             @Qualifier("areaWorkerExecutor") Executor areaWorkerExecutor,
             @Qualifier("reactionTaskExecutor") Executor reactionTaskExecutor) {
-        this.areaWorkerExecutor = (ThreadPoolTaskExecutor) areaWorkerExecutor;
-        this.reactionTaskExecutor = (ThreadPoolTaskExecutor) reactionTaskExecutor;
+        this.areaWorkerExecutor = areaWorkerExecutor;
+        this.reactionTaskExecutor = reactionTaskExecutor;
         log.info("WorkerTrackingService initialized");
     }
 
     public int getActiveWorkers() {
-        int areaWorkerActive = areaWorkerExecutor.getActiveCount();
-        int reactionWorkerActive = reactionTaskExecutor.getActiveCount();
+        int areaWorkerActive = activeCount(areaWorkerExecutor);
+        int reactionWorkerActive = activeCount(reactionTaskExecutor);
         return areaWorkerActive + reactionWorkerActive;
     }
 
     public int getTotalWorkers() {
-        int areaWorkerTotal = areaWorkerExecutor.getPoolSize();
-        int reactionWorkerTotal = reactionTaskExecutor.getPoolSize();
+        int areaWorkerTotal = poolSize(areaWorkerExecutor);
+        int reactionWorkerTotal = poolSize(reactionTaskExecutor);
         return areaWorkerTotal + reactionWorkerTotal;
     }
 
     public int getMaxWorkers() {
-        int areaWorkerMax = areaWorkerExecutor.getMaxPoolSize();
-        int reactionWorkerMax = reactionTaskExecutor.getMaxPoolSize();
+        int areaWorkerMax = maxPoolSize(areaWorkerExecutor);
+        int reactionWorkerMax = maxPoolSize(reactionTaskExecutor);
         return areaWorkerMax + reactionWorkerMax;
     }
 
@@ -48,47 +49,19 @@ public class WorkerTrackingService {
         stats.put("activeWorkers", getActiveWorkers());
         stats.put("totalWorkers", getTotalWorkers());
         stats.put("maxWorkers", getMaxWorkers());
-
-        Map<String, Object> areaWorkerStats = new HashMap<>();
-        areaWorkerStats.put("active", areaWorkerExecutor.getActiveCount());
-        areaWorkerStats.put("poolSize", areaWorkerExecutor.getPoolSize());
-        areaWorkerStats.put("corePoolSize", areaWorkerExecutor.getCorePoolSize());
-        areaWorkerStats.put("maxPoolSize", areaWorkerExecutor.getMaxPoolSize());
-        areaWorkerStats.put("queueSize", areaWorkerExecutor.getThreadPoolExecutor().getQueue().size());
-        int areaQueueRemaining = areaWorkerExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
-        int areaQueueSize = areaWorkerExecutor.getThreadPoolExecutor().getQueue().size();
-        areaWorkerStats.put("queueCapacity", areaQueueRemaining + areaQueueSize);
-        long areaCompletedTasks = areaWorkerExecutor.getThreadPoolExecutor().getCompletedTaskCount();
-        areaWorkerStats.put("completedTaskCount", areaCompletedTasks);
-        stats.put("areaWorker", areaWorkerStats);
-
-        Map<String, Object> reactionWorkerStats = new HashMap<>();
-        reactionWorkerStats.put("active", reactionTaskExecutor.getActiveCount());
-        reactionWorkerStats.put("poolSize", reactionTaskExecutor.getPoolSize());
-        reactionWorkerStats.put("corePoolSize", reactionTaskExecutor.getCorePoolSize());
-        reactionWorkerStats.put("maxPoolSize", reactionTaskExecutor.getMaxPoolSize());
-        reactionWorkerStats.put("queueSize", reactionTaskExecutor.getThreadPoolExecutor().getQueue().size());
-        int reactionQueueRemaining = reactionTaskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
-        int reactionQueueSize = reactionTaskExecutor.getThreadPoolExecutor().getQueue().size();
-        reactionWorkerStats.put("queueCapacity", reactionQueueRemaining + reactionQueueSize);
-        long reactionCompletedTasks = reactionTaskExecutor.getThreadPoolExecutor().getCompletedTaskCount();
-        reactionWorkerStats.put("completedTaskCount", reactionCompletedTasks);
-        stats.put("reactionWorker", reactionWorkerStats);
+        stats.put("areaWorker", executorStatistics(areaWorkerExecutor));
+        stats.put("reactionWorker", executorStatistics(reactionTaskExecutor));
 
         return stats;
     }
 
     public boolean isHealthy() {
         final double healthThreshold = 0.8;
-        int areaWorkerQueueSize = areaWorkerExecutor.getThreadPoolExecutor().getQueue().size();
-        int reactionWorkerQueueSize = reactionTaskExecutor.getThreadPoolExecutor().getQueue().size();
+        int areaWorkerQueueSize = queueSize(areaWorkerExecutor);
+        int reactionWorkerQueueSize = queueSize(reactionTaskExecutor);
 
-        int areaWorkerQueueRemaining = areaWorkerExecutor.getThreadPoolExecutor().getQueue()
-                .remainingCapacity();
-        int areaWorkerQueueCapacity = areaWorkerQueueRemaining + areaWorkerQueueSize;
-        int reactionWorkerQueueRemaining = reactionTaskExecutor.getThreadPoolExecutor().getQueue()
-                .remainingCapacity();
-        int reactionWorkerQueueCapacity = reactionWorkerQueueRemaining + reactionWorkerQueueSize;
+        int areaWorkerQueueCapacity = queueCapacity(areaWorkerExecutor);
+        int reactionWorkerQueueCapacity = queueCapacity(reactionTaskExecutor);
 
         boolean areaWorkerHealthy = areaWorkerQueueSize < (areaWorkerQueueCapacity * healthThreshold);
         boolean reactionWorkerHealthy = reactionWorkerQueueSize < (reactionWorkerQueueCapacity
@@ -104,12 +77,77 @@ public class WorkerTrackingService {
         health.put("totalWorkers", getTotalWorkers());
         health.put("maxWorkers", getMaxWorkers());
 
-        int areaWorkerQueueSize = areaWorkerExecutor.getThreadPoolExecutor().getQueue().size();
-        int reactionWorkerQueueSize = reactionTaskExecutor.getThreadPoolExecutor().getQueue().size();
-
-        health.put("areaWorkerQueueSize", areaWorkerQueueSize);
-        health.put("reactionWorkerQueueSize", reactionWorkerQueueSize);
+        health.put("areaWorkerQueueSize", queueSize(areaWorkerExecutor));
+        health.put("reactionWorkerQueueSize", queueSize(reactionTaskExecutor));
 
         return health;
     }
+
+    private Map<String, Object> executorStatistics(Executor executor) {
+        Map<String, Object> executorStats = new HashMap<>();
+        executorStats.put("active", activeCount(executor));
+        executorStats.put("poolSize", poolSize(executor));
+        executorStats.put("maxPoolSize", maxPoolSize(executor));
+        executorStats.put("queueSize", queueSize(executor));
+        executorStats.put("queueCapacity", queueCapacity(executor));
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            executorStats.put("corePoolSize", pool.getCorePoolSize());
+            executorStats.put("completedTaskCount", pool.getThreadPoolExecutor().getCompletedTaskCount());
+        } else if (executor instanceof VirtualThreadTaskExecutor virtual) {
+            executorStats.put("virtualThreads", true);
+            executorStats.put("availablePermits", virtual.getAvailablePermits());
+            executorStats.put("completedTaskCount", virtual.getCompletedTaskCount());
+        }
+        return executorStats;
+    }
+
+    private int activeCount(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getActiveCount();
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtual) {
+            return virtual.getActiveCount();
+        }
+        return 0;
+    }
+
+    /** Virtual-thread executors have no pool: every running task owns its own thread. */
+    private int poolSize(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getPoolSize();
+        }
+        return activeCount(executor);
+    }
+
+    private int maxPoolSize(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getMaxPoolSize();
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtual) {
+            return virtual.getMaxConcurrency();
+        }
+        return 0;
+    }
+
+    /** For virtual-thread executors the queue is the set of submitters waiting for a permit. */
+    private int queueSize(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getThreadPoolExecutor().getQueue().size();
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtual) {
+            return virtual.getWaitingCount();
+        }
+        return 0;
+    }
+
+    private int queueCapacity(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getThreadPoolExecutor().getQueue().remainingCapacity()
+                    + pool.getThreadPoolExecutor().getQueue().size();
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtual) {
+            return virtual.getMaxConcurrency();
+        }
+        return 0;
+    }
 }
@@ -1,12 +1,16 @@
 package area.server.AREA_Back.worker;
 
 import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.config.WorkerProperties;
 import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.Execution;
-import area.server.AREA_Back.repository.ExecutionRepository;
 import area.server.AREA_Back.service.Area.ActionLinkService;
+import area.server.AREA_Back.service.Area.ExecutionResultWriter;
 import area.server.AREA_Back.service.Area.ExecutionService;
+import area.server.AREA_Back.service.Redis.EventLane;
 import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.service.Redis.RedisExecutionLimiter;
+import area.server.AREA_Back.service.Redis.StreamShardAssignment;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +18,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -22,28 +28,47 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AreaReactionWorker {
 
-    private static final int TIMEOUT_MINUTES = 5;
+    private static final Runnable NO_OP = () -> { };
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final RedisEventService redisEventService;
     private final ExecutionService executionService;
-    private final ExecutionRepository executionRepository;
     private final ReactionExecutor reactionExecutor;
     private final RedisConfig redisConfig;
     private final MeterRegistry meterRegistry;
     private final ActionLinkService actionLinkService;
+    private final WorkerProperties workerProperties;
+    private final ReactionDispatcher reactionDispatcher;
+    private final RedisExecutionLimiter executionLimiter;
+    private final StreamShardAssignment shardAssignment;
+    private final FairShareScheduler fairShareScheduler;
+    private final ExecutionResultWriter resultWriter;
     private volatile boolean running = true;
+    private final AtomicBoolean reading = new AtomicBoolean();
+    private final ReentrantLock dispatchLock = new ReentrantLock();
 
     private Counter processedEventsCounter;
     private Counter processedExecutionsCounter;
@@ -51,6 +76,10 @@ public class AreaReactionWorker {
     private Counter cleanedTimeoutsCounter;
     private Counter successfulExecutionsCounter;
     private Counter failedExecutionsCounter;
+    private Counter deferredReadsCounter;
+    private final Map<EventLane, Counter> laneEventsCounters = new EnumMap<>(EventLane.class);
+    private final Queue<MapRecord<String, Object, Object>> flushedRecords = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, String> inFlightRecords = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void initialize() {
@@ -64,76 +93,256 @@ public class AreaReactionWorker {
         cleanedTimeoutsCounter = meterRegistry.counter("area_worker_timeouts_cleaned_total");
         successfulExecutionsCounter = meterRegistry.counter("area_worker_executions_successful_total");
         failedExecutionsCounter = meterRegistry.counter("area_worker_executions_failed_total");
+        deferredReadsCounter = meterRegistry.counter("area_worker_stream_reads_deferred_total");
+        for (EventLane lane : EventLane.values()) {
+            laneEventsCounters.put(lane, meterRegistry.counter("area_worker_lane_events_total", "lane", lane.getKey()));
+        }
+        resultWriter.addFlushListener(this::acknowledgeFlushed);
     }
 
+    /**
+     * Reads the lanes by weighted round robin: each round takes up to weight x batch size
+     * entries from every lane in priority order without blocking, so a bulk lane with a deep
+     * backlog is read after the interactive lane every round but still gets its share. Rounds
+     * repeat while a lane filled its quota; an idle round ends with one blocking read across
+     * every lane. Entries read go through the per-tenant fair-share queues before dispatch.
+     *
+     * Reads are credit based: a round reads at most the free reaction slots plus the fair-share
+     * read-ahead not yet buffered, and is skipped while no credit is left. Only one round reads at
+     * a time: an overlapping scheduled run returns at once, since credits computed concurrently
+     * would both count the same free capacity.
+     */
     @Scheduled(fixedDelay = 1000)
     @Async("areaWorkerExecutor")
     public void processAreaEvents() {
+        if (!running || !reading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<String> streams = shardAssignment.getAssignedStreams();
+            if (streams.isEmpty()) {
+                return;
+            }
+            int batchSize = redisConfig.getAreasBatchSize();
+            boolean backlog;
+            do {
+                backlog = false;
+                int credits = getReadCredits();
+                if (credits == 0) {
+                    deferredReadsCounter.increment();
+                }
+                int readInRound = 0;
+                for (EventLane lane : EventLane.values()) {
+                    int quota = Math.min(Math.max(1, batchSize * fairShareScheduler.weightOf(lane)),
+                        credits - readInRound);
+                    if (quota <= 0) {
+                        break;
+                    }
+                    int read = readLane(lane, StreamReadOptions.empty().count(quota),
+                        shardAssignment.getAssignedStreams(lane));
+                    readInRound += read;
+                    backlog |= read >= quota;
+                }
+                if (readInRound == 0 && credits > 0 && fairShareScheduler.getBuffered() == 0) {
+                    readLane(null, StreamReadOptions.empty().count(Math.min(batchSize, credits))
+                        .block(redisConfig.getAreasPollTimeout()), streams);
+                }
+                dispatchFairShare();
+            } while (running && backlog);
+
+        } catch (Exception e) {
+            log.error("Error processing Redis stream events: {}", e.getMessage(), e);
+        } finally {
+            reading.set(false);
+        }
+    }
+
+    /**
+     * Entries the worker may read or reclaim now: free reaction slots plus the fair-share
+     * read-ahead that is not yet buffered.
+     */
+    public int getReadCredits() {
+        return (int) Math.min(Integer.MAX_VALUE,
+            (long) reactionDispatcher.getFreeSlots() + fairShareScheduler.remainingCapacity());
+    }
+
+    /**
+     * Reads new entries of the given streams into the fair-share queues.
+     *
+     * @param lane lane being read, or {@code null} for a read across every lane
+     * @return number of entries read
+     */
+    private int readLane(final EventLane lane, final StreamReadOptions readOptions, final List<String> streams) {
+        if (streams.isEmpty()) {
+            return 0;
+        }
+        @SuppressWarnings("unchecked")
+        StreamOffset<String>[] offsets = streams.stream()
+            .map(stream -> StreamOffset.create(stream, ReadOffset.lastConsumed()))
+            .toArray(StreamOffset[]::new);
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+            Consumer.from(redisConfig.getAreasConsumerGroup(), redisConfig.getAreasConsumerName()),
+            readOptions,
+            offsets
+        );
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        processedEventsCounter.increment(records.size());
+        if (lane != null) {
+            laneEventsCounters.get(lane).increment(records.size());
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            fairShareScheduler.enqueue(tenantOf(record), lane != null ? lane : EventLane.ofStream(record.getStream()),
+                record);
+        }
+        return records.size();
+    }
+
+    /**
+     * Dispatches buffered events as reaction slots free up between stream reads.
+     */
+    @Scheduled(fixedDelayString = "${app.worker.fair-share.dispatch-interval-ms:100}")
+    @Async("areaWorkerExecutor")
+    public void dispatchBufferedEvents() {
         if (!running) {
             return;
         }
         try {
-            @SuppressWarnings("unchecked")
-            var records = redisTemplate.opsForStream().read(
-                Consumer.from(redisConfig.getAreasConsumerGroup(), redisConfig.getAreasConsumerName()),
-                (StreamOffset<String>) StreamOffset.create(
-                    redisConfig.getAreasEventsStream(), ReadOffset.lastConsumed())
-            );
-            if (records != null && !records.isEmpty()) {
-                processedEventsCounter.increment(records.size());
-                for (var record : records) {
-                    processEventRecord(record);
+            dispatchFairShare();
+        } catch (Exception e) {
+            log.error("Error dispatching buffered stream events: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claims and runs buffered events in fair-share order while the reaction executor has free
+     * slots. Runs under the dispatch lock, like the database sweeps, so two threads never spend the
+     * same free slots.
+     */
+    private void dispatchFairShare() {
+        dispatchLock.lock();
+        try {
+            int free = reactionDispatcher.getFreeSlots();
+            while (free > 0) {
+                List<MapRecord<String, Object, Object>> batch =
+                    fairShareScheduler.next(Math.min(free, workerProperties.getClaimBatchSize()));
+                if (batch.isEmpty()) {
+                    return;
                 }
+                processEventRecords(batch);
+                free = reactionDispatcher.getFreeSlots();
             }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Error processing Redis stream events: { }", e.getMessage(), e);
+    /**
+     * Buffers entries reclaimed from the pending list in the fair-share queues, so they are
+     * dispatched in tenant and lane order like freshly read ones.
+     */
+    public void enqueueReclaimed(final List<MapRecord<String, Object, Object>> records) {
+        for (MapRecord<String, Object, Object> record : records) {
+            fairShareScheduler.enqueue(tenantOf(record), EventLane.ofStream(record.getStream()), record);
         }
     }
 
-    @Scheduled(fixedDelay = 5000)
+    /**
+     * Whether this worker still holds a pending entry: buffered for fair-share dispatch, or claimed
+     * with its reaction result not written yet. The reclaimer leaves such entries alone.
+     */
+    public boolean isHolding(final String stream, final RecordId id) {
+        return fairShareScheduler.contains(stream, id)
+            || inFlightRecords.containsValue(FairShareScheduler.recordKey(stream, id));
+    }
+
+    /**
+     * Tenant an event is scheduled under: its user, or its area for events published without one.
+     */
+    private String tenantOf(final MapRecord<String, Object, Object> record) {
+        UUID userId = parseUUID(record.getValue().get("userId"));
+        if (userId != null) {
+            return userId.toString();
+        }
+        UUID areaId = parseUUID(record.getValue().get("areaId"));
+        return areaId != null ? "area:" + areaId : "unknown";
+    }
+
+    /**
+     * Safety net for executions whose stream event never arrived (e.g. an outbox row relayed to a
+     * stream entry that was lost). Executions are normally dispatched from the stream, so only
+     * those queued for longer than the stale threshold are swept here.
+     */
+    @Scheduled(fixedDelayString = "${app.worker.outbox.stale-sweep-interval-ms:60000}")
     @Async("areaWorkerExecutor")
     public void processQueuedExecutions() {
         if (!running) {
             return;
         }
+        dispatchLock.lock();
         try {
-            List<Execution> queuedExecutions = executionService.getQueuedExecutions();
-            if (!queuedExecutions.isEmpty()) {
-                processedExecutionsCounter.increment(queuedExecutions.size());
-                for (Execution execution : queuedExecutions) {
-                    processExecution(execution);
+            LocalDateTime queuedBefore =
+                LocalDateTime.now().minusSeconds(workerProperties.getOutbox().getStaleQueuedSeconds());
+            List<Execution> claimedExecutions;
+            int limit;
+            do {
+                limit = claimLimit();
+                if (limit == 0) {
+                    break;
                 }
-            }
+                claimedExecutions = executionService.claimQueuedExecutions(workerId(), queuedBefore, limit);
+                processedExecutionsCounter.increment(claimedExecutions.size());
+                for (Execution execution : claimedExecutions) {
+                    executeClaimedExecution(execution, NO_OP);
+                }
+            } while (running && claimedExecutions.size() >= limit);
 
         } catch (Exception e) {
-            log.error("Error processing queued executions: { }", e.getMessage(), e);
+            log.error("Error processing queued executions: {}", e.getMessage(), e);
+        } finally {
+            dispatchLock.unlock();
         }
     }
 
-    @Scheduled(fixedDelay = 10000)
+    @Scheduled(fixedDelay = 1000)
     @Async("areaWorkerExecutor")
     public void processRetryExecutions() {
         if (!running) {
             return;
         }
+        dispatchLock.lock();
         try {
-            LocalDateTime retryThreshold = LocalDateTime.now().minusMinutes(1);
-            List<Execution> retryExecutions = executionService.getExecutionsReadyForRetry(retryThreshold);
-
-            if (!retryExecutions.isEmpty()) {
+            List<Execution> retryExecutions;
+            int limit;
+            do {
+                limit = claimLimit();
+                if (limit == 0) {
+                    break;
+                }
+                retryExecutions = executionService.claimRetryExecutions(workerId(), LocalDateTime.now(), limit);
                 processedRetriesCounter.increment(retryExecutions.size());
                 for (Execution execution : retryExecutions) {
-                    processExecution(execution);
+                    executeClaimedExecution(execution, NO_OP);
                 }
-            }
+            } while (running && retryExecutions.size() >= limit);
 
         } catch (Exception e) {
-            log.error("Error processing retry executions: { }", e.getMessage(), e);
+            log.error("Error processing retry executions: {}", e.getMessage(), e);
+        } finally {
+            dispatchLock.unlock();
         }
     }
 
-    @Scheduled(fixedDelay = 30000)
+    /**
+     * Executions a database sweep may claim now: one batch, cut to the free reaction slots so a
+     * retry storm waits in the database instead of overrunning the reaction executor.
+     */
+    private int claimLimit() {
+        return Math.max(0, Math.min(workerProperties.getClaimBatchSize(), reactionDispatcher.getFreeSlots()));
+    }
+
+    @Scheduled(fixedDelay = 10000)
     @Async("areaWorkerExecutor")
     public void cleanupTimedOutExecutions() {
         if (!running) {
@@ -141,22 +350,18 @@ public class AreaReactionWorker {
         }
 
         try {
-            LocalDateTime timeoutThreshold = LocalDateTime.now().minusMinutes(TIMEOUT_MINUTES);
-            List<Execution> timedOutExecutions = executionService.getTimedOutExecutions(timeoutThreshold);
-            if (!timedOutExecutions.isEmpty()) {
-                log.warn("Found { } timed out executions, marking as failed", timedOutExecutions.size());
-                cleanedTimeoutsCounter.increment(timedOutExecutions.size());
-                for (Execution execution : timedOutExecutions) {
-                    ExecutionResult failureResult = ExecutionResult.failure(
-                        execution.getId(),
-                        "Execution timed out",
-                        Map.of("reason", "timeout", "timeoutAt", LocalDateTime.now().toString()),
-                        execution.getStartedAt(),
-                        false,
-                        null
-                    );
-                    executionService.updateExecutionWithResult(failureResult);
-                }
+            int overdue = reactionDispatcher.cancelOverdue();
+            if (overdue > 0) {
+                log.warn("Interrupted {} local reactions past their deadline", overdue);
+            }
+
+            List<UUID> timedOutIds = executionService.failTimedOutExecutions(
+                LocalDateTime.now(), workerProperties.getDefaultTimeoutSeconds());
+            if (!timedOutIds.isEmpty()) {
+                log.warn("Marked {} timed out executions as failed", timedOutIds.size());
+                cleanedTimeoutsCounter.increment(timedOutIds.size());
+                reactionDispatcher.cancel(timedOutIds);
+                actionLinkService.abortLinkedActions(timedOutIds);
             }
 
         } catch (Exception e) {
@@ -173,35 +378,108 @@ public class AreaReactionWorker {
         }
     }
 
-    @Async("reactionTaskExecutor")
-    public void processEventRecord(final MapRecord<String, Object, Object> record) {
+    /**
+     * Dispatches a batch of stream records: claims every referenced execution in a single
+     * statement and runs the claimed ones. Records that claimed nothing are acknowledged right
+     * away with one XACK per stream; the record of a claimed execution stays pending until its
+     * result is written (or flushed, with write-behind results), so a node dying mid-reaction
+     * leaves it for another consumer to reclaim.
+     */
+    public void processEventRecords(final List<MapRecord<String, Object, Object>> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        Set<MapRecord<String, Object, Object>> heldUntilWritten = Collections.newSetFromMap(new IdentityHashMap<>());
         try {
-            Map<Object, Object> values = record.getValue();
-            Object executionIdObj = values.get("executionId");
-            if (executionIdObj != null) {
+            Map<UUID, MapRecord<String, Object, Object>> recordsByExecution = new LinkedHashMap<>();
+            for (var record : records) {
+                Object executionIdObj = record.getValue().get("executionId");
+                if (executionIdObj == null) {
+                    continue;
+                }
                 UUID executionId = parseUUID(executionIdObj);
                 if (executionId != null) {
-                    var executionOpt = executionService.getQueuedExecutions().stream()
-                        .filter(e -> e.getId().equals(executionId))
-                        .findFirst();
-                    if (executionOpt.isPresent()) {
-                        processExecution(executionOpt.get());
-                    } else {
-                        log.warn("Execution not found for event: { }", executionId);
-                    }
+                    recordsByExecution.putIfAbsent(executionId, record);
                 } else {
                     log.error("Failed to parse executionId from event: {}", executionIdObj);
                 }
             }
-            redisTemplate.opsForStream().acknowledge(
-                redisConfig.getAreasEventsStream(),
-                redisConfig.getAreasConsumerGroup(),
-                record.getId()
-            );
 
+            if (!recordsByExecution.isEmpty()) {
+                List<UUID> executionIds = new ArrayList<>(recordsByExecution.keySet());
+                List<Execution> claimedExecutions = executionService.claimExecutions(workerId(), executionIds);
+                if (claimedExecutions.size() < executionIds.size()) {
+                    log.debug("{} of {} stream events referenced executions that are missing or already claimed",
+                             executionIds.size() - claimedExecutions.size(), executionIds.size());
+                }
+                for (Execution execution : claimedExecutions) {
+                    MapRecord<String, Object, Object> record = recordsByExecution.get(execution.getId());
+                    if (record != null) {
+                        heldUntilWritten.add(record);
+                        inFlightRecords.put(execution.getId(),
+                            FairShareScheduler.recordKey(record.getStream(), record.getId()));
+                    }
+                }
+                for (Execution execution : claimedExecutions) {
+                    executeClaimedExecution(execution,
+                        acknowledgeAfterWrite(recordsByExecution.get(execution.getId())));
+                }
+            }
         } catch (Exception e) {
-            log.error("Error processing event record { }: { }", record.getId(), e.getMessage(), e);
+            log.error("Error processing event batch of {} records: {}", records.size(), e.getMessage(), e);
+        } finally {
+            acknowledge(heldUntilWritten.isEmpty()
+                ? records
+                : records.stream().filter(record -> !heldUntilWritten.contains(record)).toList());
+        }
+    }
+
+    /**
+     * Acknowledges the record of a claimed execution once its result is in the database: right
+     * away for direct writes, with the next flush listener call for write-behind results.
+     */
+    private Runnable acknowledgeAfterWrite(final MapRecord<String, Object, Object> record) {
+        if (record == null) {
+            return NO_OP;
+        }
+        if (resultWriter.isWriteBehind()) {
+            return () -> flushedRecords.add(record);
+        }
+        return () -> acknowledge(List.of(record));
+    }
+
+    /**
+     * Acknowledges the records whose results went out with the last write-behind flush.
+     */
+    private void acknowledgeFlushed() {
+        List<MapRecord<String, Object, Object>> flushed = new ArrayList<>();
+        MapRecord<String, Object, Object> record;
+        while ((record = flushedRecords.poll()) != null) {
+            flushed.add(record);
         }
+        acknowledge(flushed);
+    }
+
+    /**
+     * Acknowledges the records with one XACK per shard stream they were read from.
+     */
+    private void acknowledge(final List<MapRecord<String, Object, Object>> records) {
+        Map<String, List<RecordId>> recordIdsByStream = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            recordIdsByStream.computeIfAbsent(record.getStream(), key -> new ArrayList<>()).add(record.getId());
+        }
+        recordIdsByStream.forEach((stream, recordIds) -> {
+            try {
+                redisTemplate.opsForStream().acknowledge(
+                    stream,
+                    redisConfig.getAreasConsumerGroup(),
+                    recordIds.toArray(RecordId[]::new)
+                );
+            } catch (Exception e) {
+                log.error("Failed to acknowledge {} records of stream {}: {}",
+                    recordIds.size(), stream, e.getMessage(), e);
+            }
+        });
     }
 
     private UUID parseUUID(final Object obj) {
@@ -253,24 +531,50 @@ public class AreaReactionWorker {
 
     @Async("reactionTaskExecutor")
     public void processExecution(final Execution execution) {
-        Execution fullExecution = executionRepository.findByIdWithActionInstance(execution.getId())
-            .orElseThrow(() -> new IllegalStateException("Execution not found: " + execution.getId()));
+        if (!running) {
+            return;
+        }
+        List<Execution> claimed = executionService.claimExecutions(workerId(), List.of(execution.getId()));
+        if (claimed.isEmpty()) {
+            log.debug("Execution {} is no longer queued or was claimed by another worker", execution.getId());
+            return;
+        }
+        Execution claimedExecution = claimed.get(0);
+        reactionDispatcher.runTracked(claimedExecution.getId(), timeoutFor(claimedExecution),
+            () -> runClaimedExecution(claimedExecution, NO_OP));
+    }
 
+    private void executeClaimedExecution(final Execution execution, final Runnable afterWrite) {
+        reactionDispatcher.dispatch(execution.getId(), timeoutFor(execution),
+            () -> runClaimedExecution(execution, afterWrite));
+    }
+
+    private Duration timeoutFor(final Execution execution) {
+        Integer timeoutSeconds = execution.getActionInstance().getActionDefinition() != null
+            ? execution.getActionInstance().getActionDefinition().getTimeoutSeconds()
+            : null;
+        if (timeoutSeconds == null) {
+            timeoutSeconds = workerProperties.getDefaultTimeoutSeconds();
+        }
+        return Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /**
+     * Runs a claimed execution and writes its result; {@code afterWrite} runs once the result is
+     * in the database, whether or not it was applied.
+     */
+    private void runClaimedExecution(final Execution fullExecution, final Runnable afterWrite) {
+        RedisExecutionLimiter.Decision decision =
+            executionLimiter.tryAcquire(fullExecution.getActivationMode(), fullExecution.getId());
+        if (decision != RedisExecutionLimiter.Decision.ACQUIRED) {
+            deferExecution(fullExecution, decision, afterWrite);
+            return;
+        }
         try {
-            executionService.markExecutionAsStarted(fullExecution.getId());
             ExecutionResult result = reactionExecutor.executeReaction(fullExecution);
-            executionService.updateExecutionWithResult(result);
             successfulExecutionsCounter.increment();
-
             processedExecutionsCounter.increment();
-            if ("SUCCESS".equals(result.getStatus().name())) {
-                try {
-                    actionLinkService.triggerLinkedActions(fullExecution);
-                } catch (Exception linkError) {
-                    log.error("Failed to trigger linked actions for execution { }: { }",
-                             fullExecution.getId(), linkError.getMessage(), linkError);
-                }
-            }
+            writeResult(fullExecution, result, afterWrite);
 
         } catch (Exception e) {
             log.error("Error processing execution { }: { }", fullExecution.getId(), e.getMessage(), e);
@@ -279,28 +583,86 @@ public class AreaReactionWorker {
                     fullExecution.getId(),
                     "Worker processing error: " + e.getMessage(),
                     Map.of("workerError", e.getClass().getSimpleName(), "timestamp", LocalDateTime.now().toString()),
-                    execution.getStartedAt(),
+                    fullExecution.getStartedAt(),
                     false,
                     null
                 );
-                executionService.updateExecutionWithResult(failureResult);
+                writeResult(fullExecution, failureResult, afterWrite);
 
                 failedExecutionsCounter.increment();
             } catch (Exception updateError) {
+                inFlightRecords.remove(fullExecution.getId());
                 log.error("Failed to update execution after processing error: { }", updateError.getMessage());
             }
+        } finally {
+            executionLimiter.release(fullExecution.getActivationMode(), fullExecution.getId());
+        }
+    }
+
+    /**
+     * Writes a result through the result writer, which releases the linked actions in the same
+     * transaction. A result the writer gave up on leaves the execution RUNNING, so it is handed back
+     * to the queue for its pending stream entry to be claimed again.
+     */
+    private void writeResult(final Execution execution, final ExecutionResult result, final Runnable afterWrite) {
+        resultWriter.write(execution, result).whenComplete((applied, error) -> {
+            inFlightRecords.remove(execution.getId());
+            if (error != null) {
+                log.error("Result of execution {} was not written, handing it back: {}", execution.getId(),
+                    error.getMessage());
+                handBack(execution);
+                return;
+            }
+            afterWrite.run();
+        });
+    }
+
+    private void handBack(final Execution execution) {
+        try {
+            executionService.releaseClaimedExecutions(workerId(), List.of(execution.getId()));
+        } catch (Exception e) {
+            log.error("Failed to hand execution {} back to the queue: {}", execution.getId(), e.getMessage());
         }
     }
 
+    private void deferExecution(final Execution execution, final RedisExecutionLimiter.Decision decision,
+                                final Runnable afterWrite) {
+        log.debug("Deferring execution {}: activation mode limit reached ({})", execution.getId(), decision);
+        try {
+            writeResult(execution, ExecutionResult.deferred(
+                execution.getId(),
+                "Activation mode limit reached: " + decision.name().toLowerCase(),
+                execution.getStartedAt(),
+                LocalDateTime.now().plus(Duration.ofMillis(workerProperties.getLimiterRetryDelayMs()))
+            ), afterWrite);
+        } catch (Exception e) {
+            inFlightRecords.remove(execution.getId());
+            log.error("Failed to defer execution {}: {}", execution.getId(), e.getMessage());
+        }
+    }
+
+    private String workerId() {
+        return redisConfig.getAreasConsumerName();
+    }
+
+    /**
+     * Stops claiming new work; reactions already dispatched keep running.
+     */
     public void shutdown() {
-        log.info("Shutting down AREA Reaction Worker: { }", redisConfig.getAreasConsumerName());
+        log.info("Shutting down AREA Reaction Worker: {}", redisConfig.getAreasConsumerName());
         running = false;
     }
 
+    public boolean isRunning() {
+        return running;
+    }
+
     public Map<String, Object> getWorkerStatus() {
         return Map.of(
             "consumerName", redisConfig.getAreasConsumerName(),
             "running", running,
+            "assignedStreams", shardAssignment.getAssignedStreams(),
+            "bufferedEvents", fairShareScheduler.getQueueDepths(),
             "streamInfo", redisEventService.getStreamInfo()
         );
     }
@@ -0,0 +1,17 @@
+package area.server.AREA_Back.worker;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a provider bulkhead has no free slot and its wait queue is full or the wait timed out.
+ */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final String provider;
+
+    public BulkheadFullException(String provider) {
+        super("Bulkhead for provider " + provider + " is saturated");
+        this.provider = provider;
+    }
+}
@@ -0,0 +1,46 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Area.DeadLetterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves FAILED executions older than {@code app.worker.dead-letter.move-after-seconds}
+ * into the dead-letter table, one bounded batch per transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterArchiver {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final DeadLetterService deadLetterService;
+    private final WorkerProperties workerProperties;
+
+    @Scheduled(fixedDelayString = "${app.worker.dead-letter.archive-interval-ms:60000}")
+    public void archiveFailedExecutions() {
+        WorkerProperties.DeadLetter settings = workerProperties.getDeadLetter();
+        LocalDateTime before = LocalDateTime.now().minusSeconds(settings.getMoveAfterSeconds());
+        int total = 0;
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                int moved = deadLetterService.moveFailedExecutions(before, settings.getMoveBatchSize());
+                total += moved;
+                if (moved < settings.getMoveBatchSize()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error moving failed executions to the dead-letter table: {}", e.getMessage(), e);
+        }
+        if (total > 0) {
+            log.info("Moved {} failed executions to the dead-letter table", total);
+        }
+    }
+}
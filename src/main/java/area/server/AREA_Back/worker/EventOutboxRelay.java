@@ -0,0 +1,37 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relays committed outbox events to the Redis stream. A run keeps draining while batches come
+ * back full, so a burst is published within one tick instead of one batch per interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventOutboxRelay {
+
+    private static final long STARTUP_DELAY_MS = 5000;
+
+    private final EventOutboxService eventOutboxService;
+    private final WorkerProperties workerProperties;
+
+    @Scheduled(initialDelay = STARTUP_DELAY_MS,
+               fixedDelayString = "${app.worker.outbox.relay-interval-ms:200}")
+    public void relayEvents() {
+        int batchSize = Math.max(1, workerProperties.getOutbox().getRelayBatchSize());
+        try {
+            int relayed;
+            do {
+                relayed = eventOutboxService.relayBatch(batchSize);
+            } while (relayed >= batchSize);
+        } catch (Exception e) {
+            log.error("Error relaying outbox events: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of {@code a_executions} ahead of time and applies retention:
+ * partitions older than the hot retention are detached into {@code a_executions_archive},
+ * archived partitions older than the archive retention are dropped. Both are metadata-only
+ * operations, so history is removed without row-by-row deletes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionPartitionMaintainer {
+
+    private static final long STARTUP_DELAY_MS = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkerProperties workerProperties;
+
+    @Scheduled(initialDelay = STARTUP_DELAY_MS,
+               fixedDelayString = "${app.worker.partitions.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        WorkerProperties.Partitions settings = workerProperties.getPartitions();
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                "SELECT area.ensure_execution_partitions(?, ?)", Integer.class,
+                Date.valueOf(currentMonth), settings.getMonthsAhead());
+            if (created != null && created > 0) {
+                log.info("Created {} execution partitions", created);
+            }
+
+            if (settings.getHotRetentionMonths() > 0) {
+                Integer archived = jdbcTemplate.queryForObject(
+                    "SELECT area.archive_execution_partitions(?)", Integer.class,
+                    Date.valueOf(currentMonth.minusMonths(settings.getHotRetentionMonths())));
+                if (archived != null && archived > 0) {
+                    log.info("Archived {} execution partitions", archived);
+                }
+            }
+
+            if (settings.getArchiveRetentionMonths() > 0) {
+                Integer dropped = jdbcTemplate.queryForObject(
+                    "SELECT area.drop_archived_execution_partitions(?)", Integer.class,
+                    Date.valueOf(currentMonth.minusMonths(settings.getArchiveRetentionMonths())));
+                if (dropped != null && dropped > 0) {
+                    log.info("Dropped {} archived execution partitions", dropped);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error maintaining execution partitions: {}", e.getMessage(), e);
+        }
+    }
+}
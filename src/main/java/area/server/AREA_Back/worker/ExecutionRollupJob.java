@@ -0,0 +1,31 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.service.Area.ExecutionRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Advances the hourly execution rollups. Each run refreshes the open hour and the overlap before
+ * it, and catches up on missed hours a bounded number of buckets at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionRollupJob {
+
+    private static final long STARTUP_DELAY_MS = 20000;
+
+    private final ExecutionRollupService executionRollupService;
+
+    @Scheduled(initialDelay = STARTUP_DELAY_MS, fixedDelayString = "${app.worker.rollups.interval-ms:300000}")
+    public void advanceRollups() {
+        try {
+            int rolled = executionRollupService.advanceRollups();
+            log.debug("Recomputed {} hourly execution rollup buckets", rolled);
+        } catch (Exception e) {
+            log.error("Error advancing execution rollups: {}", e.getMessage(), e);
+        }
+    }
+}
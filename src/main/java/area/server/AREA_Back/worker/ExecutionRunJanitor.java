@@ -0,0 +1,34 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.service.Area.ExecutionGraphService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes execution graph runs that stopped progressing (an execution lost before reporting
+ * back), so their join state does not accumulate.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionRunJanitor {
+
+    private static final long STARTUP_DELAY_MS = 60000;
+
+    private final ExecutionGraphService executionGraphService;
+
+    @Scheduled(initialDelay = STARTUP_DELAY_MS,
+               fixedDelayString = "${app.worker.graph.janitor-interval-ms:3600000}")
+    public void purgeStaleRuns() {
+        try {
+            int purged = executionGraphService.purgeStaleRuns();
+            if (purged > 0) {
+                log.warn("Purged {} stale execution graph runs", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging stale execution graph runs: {}", e.getMessage(), e);
+        }
+    }
+}
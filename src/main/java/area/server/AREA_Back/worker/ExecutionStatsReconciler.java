@@ -0,0 +1,36 @@
+package area.server.AREA_Back.worker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compares the trigger-maintained execution status counters with the real
+ * per-status counts and adds the difference back, so any drift (manual fixes, truncations,
+ * partition moves) is bounded by the reconciliation interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionStatsReconciler {
+
+    private static final long STARTUP_DELAY_MS = 30000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(initialDelay = STARTUP_DELAY_MS,
+               fixedDelayString = "${app.worker.statistics.reconcile-interval-ms:900000}")
+    public void reconcileStatusCounts() {
+        try {
+            Integer corrected = jdbcTemplate.queryForObject(
+                "SELECT area.reconcile_execution_status_counts()", Integer.class);
+            if (corrected != null && corrected > 0) {
+                log.warn("Corrected drift on {} execution status counters", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling execution status counters: {}", e.getMessage(), e);
+        }
+    }
+}
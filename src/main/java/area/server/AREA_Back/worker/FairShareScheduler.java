@@ -0,0 +1,207 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Redis.EventLane;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Buffers stream records read by the worker in one virtual queue per tenant and hands them out
+ * by deficit round robin. Every tenant with buffered events takes up to its quantum per turn, so
+ * a tenant flooding the stream is held to its share while the others keep their usual latency.
+ * Inside a tenant's queue the records are split by {@link EventLane} and taken by weighted round
+ * robin with the lane weights, so a tenant's own webhook or poll storm does not delay its
+ * interactive triggers by more than one round of the lower lanes.
+ *
+ * Records stay pending in the stream until they are dispatched and acknowledged. The worker only
+ * reads ahead {@code app.worker.fair-share.max-buffered} records beyond its free reaction slots,
+ * which bounds the buffer.
+ */
+@Component
+@RequiredArgsConstructor
+public class FairShareScheduler {
+
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TenantQueue> queues = new LinkedHashMap<>();
+    private final Deque<String> activeTenants = new ArrayDeque<>();
+    private final Set<String> bufferedKeys = new HashSet<>();
+    private int buffered;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("area_worker_fair_share_buffered", this, FairShareScheduler::getBuffered)
+                .description("Stream events buffered locally waiting for a dispatch slot")
+                .register(meterRegistry);
+        Gauge.builder("area_worker_fair_share_tenants", this, FairShareScheduler::getTenantCount)
+                .description("Tenants with stream events buffered locally")
+                .register(meterRegistry);
+        Gauge.builder("area_worker_fair_share_max_tenant_depth", this, FairShareScheduler::getMaxQueueDepth)
+                .description("Stream events buffered locally for the tenant with the deepest queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends a record to the queue of its tenant and lane; a tenant without buffered events joins
+     * the back of the round.
+     */
+    public synchronized void enqueue(final String tenant, final EventLane lane,
+                                     final MapRecord<String, Object, Object> record) {
+        TenantQueue queue = queues.get(tenant);
+        if (queue == null) {
+            queue = new TenantQueue();
+            queues.put(tenant, queue);
+            activeTenants.addLast(tenant);
+        }
+        queue.add(lane, record);
+        bufferedKeys.add(recordKey(record.getStream(), record.getId()));
+        buffered++;
+    }
+
+    /**
+     * Takes up to {@code limit} records in fair-share order. A tenant cut short by the limit keeps
+     * its remaining deficit and is served first on the next call.
+     */
+    public synchronized List<MapRecord<String, Object, Object>> next(final int limit) {
+        List<MapRecord<String, Object, Object>> batch = new ArrayList<>();
+        while (batch.size() < limit && !activeTenants.isEmpty()) {
+            String tenant = activeTenants.pollFirst();
+            TenantQueue queue = queues.get(tenant);
+            if (queue.deficit == 0) {
+                queue.deficit = workerProperties.getFairShare().quantumFor(tenant);
+            }
+            while (queue.deficit > 0 && queue.size > 0 && batch.size() < limit) {
+                MapRecord<String, Object, Object> record = queue.poll();
+                bufferedKeys.remove(recordKey(record.getStream(), record.getId()));
+                batch.add(record);
+                queue.deficit--;
+                buffered--;
+            }
+            if (queue.size == 0) {
+                queues.remove(tenant);
+            } else if (queue.deficit > 0) {
+                activeTenants.addFirst(tenant);
+            } else {
+                activeTenants.addLast(tenant);
+            }
+        }
+        return batch;
+    }
+
+    public synchronized int getBuffered() {
+        return buffered;
+    }
+
+    /**
+     * Whether the given stream entry is buffered here waiting for dispatch.
+     */
+    public synchronized boolean contains(final String stream, final RecordId id) {
+        return bufferedKeys.contains(recordKey(stream, id));
+    }
+
+    /**
+     * Identifies a stream entry across shard and lane streams, whose ids may collide.
+     */
+    static String recordKey(final String stream, final RecordId id) {
+        return stream + "/" + id.getValue();
+    }
+
+    /**
+     * Number of records that can still be read before the buffer is full.
+     */
+    public int remainingCapacity() {
+        return Math.max(0, workerProperties.getFairShare().getMaxBuffered() - getBuffered());
+    }
+
+    public synchronized int getTenantCount() {
+        return queues.size();
+    }
+
+    public synchronized int getMaxQueueDepth() {
+        int max = 0;
+        for (TenantQueue queue : queues.values()) {
+            max = Math.max(max, queue.size);
+        }
+        return max;
+    }
+
+    /**
+     * Buffered records per tenant, for the worker status; not exported as a metric since the
+     * number of tenants is unbounded.
+     */
+    public synchronized Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        queues.forEach((tenant, queue) -> depths.put(tenant, queue.size));
+        return depths;
+    }
+
+    /**
+     * Weighted round-robin share of a lane, at least 1 so no lane starves.
+     */
+    public int weightOf(final EventLane lane) {
+        WorkerProperties.Lanes lanes = workerProperties.getLanes();
+        int weight = switch (lane) {
+            case INTERACTIVE -> lanes.getInteractiveWeight();
+            case CHAIN -> lanes.getChainWeight();
+            case WEBHOOK -> lanes.getWebhookWeight();
+            case POLL -> lanes.getPollWeight();
+            case CRON -> lanes.getCronWeight();
+        };
+        return Math.max(1, weight);
+    }
+
+    private final class TenantQueue {
+        private final Map<EventLane, Deque<MapRecord<String, Object, Object>>> lanes = new EnumMap<>(EventLane.class);
+        private final Map<EventLane, Integer> laneCredits = new EnumMap<>(EventLane.class);
+        private int size;
+        private int deficit;
+
+        private void add(final EventLane lane, final MapRecord<String, Object, Object> record) {
+            lanes.computeIfAbsent(lane, key -> new ArrayDeque<>()).addLast(record);
+            size++;
+        }
+
+        /**
+         * Takes the head of the highest-priority lane with credit left; once every lane with
+         * records has spent its credit, each lane gets its weight again.
+         */
+        private MapRecord<String, Object, Object> poll() {
+            EventLane lane = nextLane();
+            if (lane == null) {
+                for (EventLane each : EventLane.values()) {
+                    laneCredits.put(each, weightOf(each));
+                }
+                lane = nextLane();
+            }
+            laneCredits.merge(lane, -1, Integer::sum);
+            size--;
+            return lanes.get(lane).pollFirst();
+        }
+
+        private EventLane nextLane() {
+            for (EventLane lane : EventLane.values()) {
+                Deque<MapRecord<String, Object, Object>> records = lanes.get(lane);
+                if (records != null && !records.isEmpty() && laneCredits.getOrDefault(lane, 0) > 0) {
+                    return lane;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Isolates reaction calls per provider so a slow upstream only exhausts its own slots.
+ * Each provider gets a semaphore of {@code maxConcurrent} permits and at most {@code queueDepth}
+ * callers waiting for one; anything beyond that is rejected with {@link BulkheadFullException}.
+ *
+ * The permits are capped at {@code maxThreadShare} of the threads the reaction executor runs, so
+ * one provider can never occupy the whole platform pool. Only virtual threads wait for a permit;
+ * a pool thread is rejected right away and the reaction is deferred, which frees it for the
+ * other providers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderBulkheads {
+
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+    private final ReactionDispatcher reactionDispatcher;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public <T> T execute(final String provider, final Supplier<T> call) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(provider, this::createBulkhead);
+        bulkhead.acquire();
+        try {
+            return call.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public long getRejectionDelayMs() {
+        return workerProperties.getBulkhead().getRejectionDelayMs();
+    }
+
+    private Bulkhead createBulkhead(final String provider) {
+        WorkerProperties.BulkheadLimits limits = workerProperties.getBulkhead().limitsFor(provider);
+        int maxConcurrent = Math.min(limits.getMaxConcurrent(), threadShare());
+        Counter rejected = Counter.builder("area_reaction_bulkhead_rejected_total")
+                .description("Reactions rejected because the provider bulkhead was saturated")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Bulkhead bulkhead = new Bulkhead(provider, maxConcurrent, limits.getQueueDepth(),
+                workerProperties.getBulkhead().getMaxWaitMs(), rejected);
+
+        Gauge.builder("area_reaction_bulkhead_active", bulkhead, Bulkhead::getActive)
+                .description("Reactions currently holding a bulkhead slot")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("area_reaction_bulkhead_waiting", bulkhead, b -> b.waiting.get())
+                .description("Reactions waiting for a bulkhead slot")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("area_reaction_bulkhead_saturation", bulkhead, Bulkhead::getSaturation)
+                .description("Ratio of used bulkhead slots to the configured maximum")
+                .tag("provider", provider)
+                .register(meterRegistry);
+
+        log.info("Created bulkhead for provider {}: maxConcurrent={}, queueDepth={}",
+                provider, maxConcurrent, limits.getQueueDepth());
+        return bulkhead;
+    }
+
+    private int threadShare() {
+        int threads = reactionDispatcher.getThreads();
+        if (threads == Integer.MAX_VALUE) {
+            return threads;
+        }
+        return Math.max(1, (int) (threads * workerProperties.getBulkhead().getMaxThreadShare()));
+    }
+
+    private static final class Bulkhead {
+        private final String provider;
+        private final int maxConcurrent;
+        private final int queueDepth;
+        private final long maxWaitMs;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Counter rejected;
+
+        private Bulkhead(String provider, int maxConcurrent, int queueDepth, long maxWaitMs, Counter rejected) {
+            this.provider = provider;
+            this.maxConcurrent = maxConcurrent;
+            this.queueDepth = queueDepth;
+            this.maxWaitMs = maxWaitMs;
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.rejected = rejected;
+        }
+
+        private void acquire() {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            if (!Thread.currentThread().isVirtual()) {
+                reject();
+            }
+            if (waiting.incrementAndGet() > queueDepth) {
+                waiting.decrementAndGet();
+                reject();
+            }
+            try {
+                if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    reject();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        private void release() {
+            permits.release();
+        }
+
+        private void reject() {
+            rejected.increment();
+            throw new BulkheadFullException(provider);
+        }
+
+        private int getActive() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        private double getSaturation() {
+            if (maxConcurrent == 0) {
+                return 1.0;
+            }
+            return (double) getActive() / maxConcurrent;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package area.server.AREA_Back.worker;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deadline of the reaction running on the current thread. {@link ReactionDispatcher} sets it
+ * around every reaction so the HTTP client can cap its connect and read timeouts by the time
+ * left: interrupting the thread does not abort a socket read that is already blocked.
+ */
+public final class ReactionDeadline {
+
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    private ReactionDeadline() {
+    }
+
+    static void set(final Instant deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Time left before the deadline of the reaction running on this thread, zero once it passed.
+     *
+     * @return the time left, or {@code null} outside a reaction
+     */
+    public static Duration remaining() {
+        Instant deadline = DEADLINE.get();
+        if (deadline == null) {
+            return null;
+        }
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
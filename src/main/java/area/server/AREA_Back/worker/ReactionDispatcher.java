@@ -0,0 +1,237 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.VirtualThreadTaskExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands claimed executions to the reaction executor. Submission is explicit because the worker
+ * would bypass its own {@code @Async} proxy. When a bounded platform pool rejects a task it runs
+ * on the caller thread, which slows down claiming instead of dropping work.
+ *
+ * Running reactions are tracked with their deadline so overdue or reaped ones can be interrupted.
+ * An interrupt only ends waits; the deadline is also published as {@link ReactionDeadline} so
+ * the HTTP client bounds its connect and read timeouts by it and blocked I/O gives up in time.
+ *
+ * The worker reads the stream against {@link #getFreeSlots()}, the number of reactions the
+ * executor can still take without rejecting or blocking, so caller-runs stays a fallback.
+ *
+ * Dispatched reactions that have not reached a thread yet can be withdrawn when the worker
+ * drains; their task then returns without running.
+ */
+@Component
+@Slf4j
+public class ReactionDispatcher {
+
+    private final Executor reactionTaskExecutor;
+    private final int capacity;
+    private final int threads;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<UUID, RunningReaction> running = new ConcurrentHashMap<>();
+    private final Set<UUID> waiting = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final Counter callerRunsCounter;
+    private final Counter cancelledCounter;
+
+    public ReactionDispatcher(
+            @Qualifier("reactionTaskExecutor") Executor reactionTaskExecutor,
+            MeterRegistry meterRegistry) {
+        this.reactionTaskExecutor = reactionTaskExecutor;
+        this.capacity = slotsOf(reactionTaskExecutor);
+        this.threads = threadsOf(reactionTaskExecutor);
+        this.meterRegistry = meterRegistry;
+        this.callerRunsCounter = Counter.builder("area_worker_reactions_caller_runs_total")
+                .description("Reactions executed on the claiming thread because the executor was saturated")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("area_worker_reactions_cancelled_total")
+                .description("Running reactions interrupted because they exceeded their deadline")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("area_worker_reactions_in_flight", inFlight, AtomicInteger::get)
+                .description("Number of reactions currently dispatched and not yet completed")
+                .register(meterRegistry);
+        Gauge.builder("area_worker_reaction_utilization", this, ReactionDispatcher::getUtilization)
+                .description("Share of reaction executor slots in use")
+                .register(meterRegistry);
+    }
+
+    public void dispatch(final UUID executionId, final Duration timeout, final Runnable reaction) {
+        inFlight.incrementAndGet();
+        waiting.add(executionId);
+        Runnable tracked = () -> {
+            try {
+                if (waiting.remove(executionId)) {
+                    runTracked(executionId, timeout, reaction);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+        try {
+            reactionTaskExecutor.execute(tracked);
+        } catch (RejectedExecutionException e) {
+            log.debug("Reaction executor saturated, running reaction on caller thread");
+            callerRunsCounter.increment();
+            tracked.run();
+        }
+    }
+
+    /**
+     * Runs the reaction on the current thread, registered so it can be cancelled and with its
+     * deadline visible to the HTTP calls it makes.
+     */
+    public void runTracked(final UUID executionId, final Duration timeout, final Runnable reaction) {
+        RunningReaction runningReaction = new RunningReaction(Thread.currentThread(), Instant.now().plus(timeout));
+        running.put(executionId, runningReaction);
+        ReactionDeadline.set(runningReaction.deadline);
+        try {
+            reaction.run();
+        } finally {
+            ReactionDeadline.clear();
+            running.remove(executionId, runningReaction);
+            runningReaction.finish();
+        }
+    }
+
+    /**
+     * Interrupts the given executions if they are running on this node.
+     */
+    public int cancel(final Collection<UUID> executionIds) {
+        int cancelled = 0;
+        for (UUID executionId : executionIds) {
+            RunningReaction runningReaction = running.get(executionId);
+            if (runningReaction != null && runningReaction.interrupt()) {
+                log.warn("Interrupted reaction for execution {}", executionId);
+                cancelled++;
+            }
+        }
+        cancelledCounter.increment(cancelled);
+        return cancelled;
+    }
+
+    /**
+     * Interrupts local reactions that are past their deadline.
+     */
+    public int cancelOverdue() {
+        Instant now = Instant.now();
+        return cancel(running.entrySet().stream()
+                .filter(entry -> entry.getValue().deadline.isBefore(now))
+                .map(Map.Entry::getKey)
+                .toList());
+    }
+
+    /**
+     * Withdraws every dispatched reaction that has not started yet.
+     *
+     * @return execution ids of the withdrawn reactions
+     */
+    public List<UUID> withdrawWaiting() {
+        List<UUID> withdrawn = new ArrayList<>();
+        for (UUID executionId : waiting) {
+            if (waiting.remove(executionId)) {
+                withdrawn.add(executionId);
+            }
+        }
+        return withdrawn;
+    }
+
+    public int getRunning() {
+        return running.size();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Reactions that can run at the same time, as opposed to waiting in the pool queue.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getFreeSlots() {
+        return Math.max(0, capacity - inFlight.get());
+    }
+
+    public double getUtilization() {
+        return (double) inFlight.get() / capacity;
+    }
+
+    /**
+     * Reactions the executor accepts without rejecting or blocking: threads plus queue for a pool,
+     * permits for virtual threads, unbounded for anything else.
+     */
+    private static int slotsOf(final Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return (int) Math.min(Integer.MAX_VALUE, (long) pool.getMaxPoolSize() + pool.getQueueCapacity());
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtualThreads) {
+            return virtualThreads.getMaxConcurrency();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static int threadsOf(final Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getMaxPoolSize();
+        }
+        if (executor instanceof VirtualThreadTaskExecutor virtualThreads) {
+            return virtualThreads.getMaxConcurrency();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static final class RunningReaction {
+        private final Thread thread;
+        private final Instant deadline;
+        private boolean finished;
+
+        private RunningReaction(Thread thread, Instant deadline) {
+            this.thread = thread;
+            this.deadline = deadline;
+        }
+
+        private synchronized boolean interrupt() {
+            if (finished) {
+                return false;
+            }
+            thread.interrupt();
+            return true;
+        }
+
+        /** Marks the reaction done and clears an interrupt that may have landed after it returned. */
+        private synchronized void finish() {
+            finished = true;
+            if (thread == Thread.currentThread()) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
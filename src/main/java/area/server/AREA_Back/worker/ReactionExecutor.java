@@ -10,6 +10,7 @@ import area.server.AREA_Back.service.Area.Services.GoogleActionService;
 import area.server.AREA_Back.service.Area.Services.NotionActionService;
 import area.server.AREA_Back.service.Area.Services.SlackActionService;
 import area.server.AREA_Back.service.Area.Services.SpotifyActionService;
+import area.server.AREA_Back.service.Redis.RedisProviderThrottle;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,8 @@ public class ReactionExecutor {
     private final SpotifyActionService spotifyActionService;
     private final NotionActionService notionActionService;
     private final MeterRegistry meterRegistry;
+    private final ProviderBulkheads providerBulkheads;
+    private final RedisProviderThrottle providerThrottle;
 
     public ExecutionResult executeReaction(final Execution execution) {
         Timer.Sample sample = Timer.start(meterRegistry);
@@ -49,12 +52,30 @@ public class ReactionExecutor {
                 throw new IllegalStateException("Action definition is not executable: " + actionDefinition.getKey());
             }
 
-            Map<String, Object> result = executeReactionByService(
-                actionDefinition.getService().getKey(),
-                actionDefinition.getKey(),
-                execution.getInputPayload(),
-                actionInstance.getParams(),
-                execution
+            String serviceKey = actionDefinition.getService().getKey();
+            long throttleDelayMs = providerThrottle.await(serviceKey.toLowerCase(), actionDefinition, actionInstance);
+            if (throttleDelayMs > 0) {
+                log.debug("Deferring execution {} by {}ms: throttle policy {} for {} is saturated",
+                        execution.getId(), throttleDelayMs, actionDefinition.getThrottlePolicy(),
+                        actionDefinition.getKey());
+                sample.stop(Timer.builder("area_reaction_execution_duration")
+                        .tag("status", "throttled")
+                        .register(meterRegistry));
+                return ExecutionResult.deferred(
+                    execution.getId(),
+                    "Throttle policy saturated for " + actionDefinition.getKey(),
+                    startTime,
+                    LocalDateTime.now().plus(java.time.Duration.ofMillis(throttleDelayMs))
+                );
+            }
+            Map<String, Object> result = providerBulkheads.execute(serviceKey.toLowerCase(), () ->
+                executeReactionByService(
+                    serviceKey,
+                    actionDefinition.getKey(),
+                    execution.getInputPayload(),
+                    actionInstance.getParams(),
+                    execution
+                )
             );
 
             log.info("Successfully executed reaction for execution { } in { }ms",
@@ -66,6 +87,18 @@ public class ReactionExecutor {
                     .register(meterRegistry));
             return ExecutionResult.success(execution.getId(), result, startTime);
 
+        } catch (BulkheadFullException e) {
+            log.warn("Deferring execution {}: {}", execution.getId(), e.getMessage());
+            sample.stop(Timer.builder("area_reaction_execution_duration")
+                    .tag("status", "rejected")
+                    .register(meterRegistry));
+            return ExecutionResult.deferred(
+                execution.getId(),
+                e.getMessage(),
+                startTime,
+                LocalDateTime.now().plus(java.time.Duration.ofMillis(providerBulkheads.getRejectionDelayMs()))
+            );
+
         } catch (Exception e) {
             log.error("Failed to execute reaction for execution { }: { }",
                      execution.getId(), e.getMessage(), e);
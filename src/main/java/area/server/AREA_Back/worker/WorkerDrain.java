@@ -0,0 +1,158 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Area.ExecutionResultWriter;
+import area.server.AREA_Back.service.Area.ExecutionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drains the worker when the context closes, before the executors shut down:
+ * <ol>
+ *   <li>stops claiming executions and reading the stream;</li>
+ *   <li>withdraws the reactions dispatched but not started and hands their executions back to
+ *       the queue, publishing their events again through the outbox since their stream entries
+ *       may already be acknowledged, so another node runs them instead of the timeout reaper
+ *       failing them;</li>
+ *   <li>waits up to {@code app.worker.drain.timeout-ms} for the running reactions;</li>
+ *   <li>flushes the write-behind results, which acknowledges their stream entries.</li>
+ * </ol>
+ * Stream entries still buffered for fair-share dispatch were never claimed nor acknowledged, so
+ * the other consumers reclaim them once idle. Progress is exposed by {@link WorkerDrainEndpoint}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerDrain implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    public enum State {
+        ACTIVE,
+        DRAINING,
+        DRAINED
+    }
+
+    private final AreaReactionWorker areaReactionWorker;
+    private final ReactionDispatcher reactionDispatcher;
+    private final ExecutionService executionService;
+    private final ExecutionResultWriter resultWriter;
+    private final FairShareScheduler fairShareScheduler;
+    private final RedisConfig redisConfig;
+    private final WorkerProperties workerProperties;
+
+    private volatile boolean started;
+    private volatile State state = State.ACTIVE;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int handedBack;
+    private volatile int abandoned;
+
+    @Override
+    public void start() {
+        started = true;
+    }
+
+    /**
+     * Runs in the first shutdown phase, ahead of the executors and the web server.
+     */
+    @Override
+    public void stop() {
+        drain();
+        started = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    /**
+     * Runs the drain once; later calls return right away.
+     */
+    public synchronized void drain() {
+        if (state != State.ACTIVE) {
+            return;
+        }
+        state = State.DRAINING;
+        startedAt = LocalDateTime.now();
+        log.info("Draining worker {}: {} reactions in flight", redisConfig.getAreasConsumerName(),
+            reactionDispatcher.getInFlight());
+
+        areaReactionWorker.shutdown();
+        handBackWaiting();
+        awaitRunningReactions();
+        resultWriter.flush();
+
+        finishedAt = LocalDateTime.now();
+        state = State.DRAINED;
+        log.info("Worker {} drained: {} executions handed back, {} reactions still running, "
+            + "{} stream events left pending", redisConfig.getAreasConsumerName(), handedBack, abandoned,
+            fairShareScheduler.getBuffered());
+    }
+
+    private void handBackWaiting() {
+        List<UUID> withdrawn = reactionDispatcher.withdrawWaiting();
+        try {
+            handedBack = executionService.releaseClaimedExecutions(redisConfig.getAreasConsumerName(), withdrawn)
+                .size();
+        } catch (Exception e) {
+            log.error("Failed to hand {} executions back to the queue: {}", withdrawn.size(), e.getMessage(), e);
+        }
+    }
+
+    private void awaitRunningReactions() {
+        long deadline = System.nanoTime() + workerProperties.getDrain().getTimeoutMs() * 1_000_000L;
+        while (busy() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        abandoned = Math.max(reactionDispatcher.getInFlight(), reactionDispatcher.getRunning());
+        if (abandoned > 0) {
+            log.warn("Drain deadline reached with {} reactions still running", abandoned);
+        }
+    }
+
+    private boolean busy() {
+        return reactionDispatcher.getInFlight() > 0 || reactionDispatcher.getRunning() > 0;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("consumerName", redisConfig.getAreasConsumerName());
+        status.put("state", state);
+        status.put("claiming", areaReactionWorker.isRunning());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("timeoutMs", workerProperties.getDrain().getTimeoutMs());
+        status.put("reactionsInFlight", reactionDispatcher.getInFlight());
+        status.put("reactionsRunning", reactionDispatcher.getRunning());
+        status.put("handedBack", handedBack);
+        status.put("abandoned", abandoned);
+        status.put("bufferedEvents", fairShareScheduler.getBuffered());
+        status.put("bufferedResults", resultWriter.getBuffered());
+        return status;
+    }
+}
@@ -0,0 +1,25 @@
+package area.server.AREA_Back.worker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/drain}: drain state and progress of this node's worker. Read only; the drain
+ * itself starts when the application shuts down.
+ */
+@Component
+@Endpoint(id = "drain")
+@RequiredArgsConstructor
+public class WorkerDrainEndpoint {
+
+    private final WorkerDrain workerDrain;
+
+    @ReadOperation
+    public Map<String, Object> drain() {
+        return workerDrain.getStatus();
+    }
+}
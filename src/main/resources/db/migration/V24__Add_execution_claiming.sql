@@ -0,0 +1,13 @@
+-- Execution claiming: workers atomically move a bounded batch of QUEUED/RETRY rows to RUNNING
+-- with SELECT ... FOR UPDATE SKIP LOCKED and record which worker claimed them
+
+SET search_path TO area, public;
+
+ALTER TABLE a_executions ADD COLUMN IF NOT EXISTS claimed_by varchar(255);
+ALTER TABLE a_executions ADD COLUMN IF NOT EXISTS claimed_at timestamptz;
+
+-- Partial indexes so claim scans only touch claimable rows, independent of table size
+CREATE INDEX IF NOT EXISTS idx_exec_queued_claim ON a_executions(status, queued_at)
+  WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_exec_retry_claim ON a_executions(status, queued_at)
+  WHERE status = 'RETRY';
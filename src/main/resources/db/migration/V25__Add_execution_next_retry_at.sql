@@ -0,0 +1,16 @@
+-- Delayed retries: persist the backoff computed by RetryManager so the retry poller only
+-- claims executions whose next_retry_at is due
+
+SET search_path TO area, public;
+
+ALTER TABLE a_executions ADD COLUMN IF NOT EXISTS next_retry_at timestamptz;
+
+-- Rows already waiting for a retry keep the previous fixed one-minute delay
+UPDATE a_executions
+SET next_retry_at = COALESCE(started_at, queued_at) + interval '1 minute'
+WHERE status = 'RETRY' AND next_retry_at IS NULL;
+
+-- Due-time index replaces the queued_at ordered retry claim index
+DROP INDEX IF EXISTS idx_exec_retry_claim;
+CREATE INDEX IF NOT EXISTS idx_exec_retry_due ON a_executions(next_retry_at)
+  WHERE status = 'RETRY';
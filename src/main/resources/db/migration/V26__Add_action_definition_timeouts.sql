@@ -0,0 +1,13 @@
+-- Per-action execution deadlines: RUNNING executions older than their action definition's
+-- timeout_seconds (or the worker default when NULL) are failed by a single set-based UPDATE
+
+SET search_path TO area, public;
+
+ALTER TABLE a_action_definitions ADD COLUMN IF NOT EXISTS timeout_seconds integer
+  CHECK (timeout_seconds IS NULL OR timeout_seconds > 0);
+
+COMMENT ON COLUMN a_action_definitions.timeout_seconds IS 'Max execution time before the reaper fails it; NULL = worker default';
+
+-- The reaper only ever scans RUNNING rows ordered by start time
+CREATE INDEX IF NOT EXISTS idx_exec_running_started ON a_executions(started_at)
+  WHERE status = 'RUNNING';
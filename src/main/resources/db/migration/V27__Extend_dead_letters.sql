@@ -0,0 +1,31 @@
+-- Dead-letter queue: terminal failures are moved out of a_executions into a_dead_letters,
+-- so the dead letter must outlive the execution row it was created from
+
+SET search_path TO area, public;
+
+ALTER TABLE a_dead_letters DROP CONSTRAINT IF EXISTS a_dead_letters_execution_id_fkey;
+
+ALTER TABLE a_dead_letters
+  ADD COLUMN IF NOT EXISTS action_instance_id  uuid,
+  ADD COLUMN IF NOT EXISTS area_id             uuid,
+  ADD COLUMN IF NOT EXISTS activation_mode_id  uuid,
+  ADD COLUMN IF NOT EXISTS service_key         text,
+  ADD COLUMN IF NOT EXISTS correlation_id      uuid,
+  ADD COLUMN IF NOT EXISTS error               jsonb,
+  ADD COLUMN IF NOT EXISTS attempt             integer NOT NULL DEFAULT 0,
+  ADD COLUMN IF NOT EXISTS failed_at           timestamptz,
+  ADD COLUMN IF NOT EXISTS replayed_at         timestamptz,
+  ADD COLUMN IF NOT EXISTS replay_execution_id uuid,
+  ADD COLUMN IF NOT EXISTS replay_count        integer NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN a_dead_letters.service_key IS 'Provider of the failed reaction, kept for filtering after an outage';
+COMMENT ON COLUMN a_dead_letters.replayed_at IS 'Last time the dead letter was re-enqueued as a new execution';
+
+CREATE INDEX IF NOT EXISTS idx_dead_letters_pending ON a_dead_letters(created_at)
+  WHERE replayed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_dead_letters_service ON a_dead_letters(service_key, created_at);
+CREATE INDEX IF NOT EXISTS idx_dead_letters_area ON a_dead_letters(area_id, created_at);
+
+-- Archiver scans terminal failures by age
+CREATE INDEX IF NOT EXISTS idx_exec_failed_finished ON a_executions(finished_at)
+  WHERE status = 'FAILED';
@@ -0,0 +1,239 @@
+-- Range-partition a_executions by month of queued_at so history can be archived by detaching
+-- whole partitions instead of deleting rows, and queue scans only touch small partial indexes
+
+SET search_path TO area, public;
+
+-- =========================
+-- Partitioned table
+-- =========================
+ALTER TABLE a_executions RENAME TO a_executions_legacy;
+DROP TRIGGER IF EXISTS trg_executions_set_area ON a_executions_legacy;
+
+CREATE TABLE a_executions (
+  id                   uuid NOT NULL DEFAULT gen_random_uuid(),
+  action_instance_id   uuid NOT NULL REFERENCES a_action_instances(id) ON DELETE CASCADE,
+  activation_mode_id   uuid REFERENCES a_activation_modes(id) ON DELETE SET NULL,
+  area_id              uuid REFERENCES a_areas(id) ON DELETE SET NULL,
+  status               varchar(20) NOT NULL DEFAULT 'QUEUED',
+  attempt              integer NOT NULL DEFAULT 0,
+  queued_at            timestamptz NOT NULL DEFAULT now(),
+  started_at           timestamptz,
+  finished_at          timestamptz,
+  input_payload        jsonb,
+  output_payload       jsonb,
+  error                jsonb,
+  correlation_id       uuid,
+  dedup_key            text,
+  claimed_by           varchar(255),
+  claimed_at           timestamptz,
+  next_retry_at        timestamptz,
+  PRIMARY KEY (id, queued_at),
+  CONSTRAINT chk_execution_status_values
+    CHECK (status IN ('QUEUED', 'RUNNING', 'OK', 'RETRY', 'FAILED', 'CANCELED'))
+) PARTITION BY RANGE (queued_at);
+
+COMMENT ON TABLE a_executions IS 'Executions log (jobs) with status, retries, I/O, dedup and area. Monthly partitions on queued_at.';
+
+-- Rows outside every monthly range land here until their partition is created
+CREATE TABLE a_executions_default PARTITION OF a_executions DEFAULT;
+
+-- Cold storage: old monthly partitions are detached from a_executions and attached here
+CREATE TABLE IF NOT EXISTS a_executions_archive (LIKE a_executions INCLUDING DEFAULTS)
+  PARTITION BY RANGE (queued_at);
+COMMENT ON TABLE a_executions_archive IS 'Archived execution partitions detached from a_executions by the retention job.';
+
+-- =========================
+-- Dedup keys (a unique index on a partitioned table must include queued_at)
+-- =========================
+CREATE TABLE IF NOT EXISTS a_execution_dedup_keys (
+  dedup_key     text PRIMARY KEY,
+  execution_id  uuid NOT NULL,
+  queued_at     timestamptz NOT NULL
+);
+COMMENT ON TABLE a_execution_dedup_keys IS 'Global uniqueness of a_executions.dedup_key across partitions.';
+
+CREATE OR REPLACE FUNCTION area.register_execution_dedup_key()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  IF NEW.dedup_key IS NOT NULL THEN
+    INSERT INTO area.a_execution_dedup_keys (dedup_key, execution_id, queued_at)
+    VALUES (NEW.dedup_key, NEW.id, NEW.queued_at);
+  END IF;
+  RETURN NEW;
+END$$;
+
+CREATE OR REPLACE FUNCTION area.release_execution_dedup_key()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  IF OLD.dedup_key IS NOT NULL THEN
+    DELETE FROM area.a_execution_dedup_keys WHERE dedup_key = OLD.dedup_key AND execution_id = OLD.id;
+  END IF;
+  RETURN OLD;
+END$$;
+
+-- =========================
+-- Partition management
+-- =========================
+CREATE OR REPLACE FUNCTION area.create_execution_partition(month_start date)
+RETURNS boolean LANGUAGE plpgsql AS $$
+DECLARE
+  first_day date := date_trunc('month', month_start)::date;
+  next_day date := (date_trunc('month', month_start) + interval '1 month')::date;
+  partition_name text := 'a_executions_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+  IF to_regclass('area.' || partition_name) IS NOT NULL THEN
+    RETURN false;
+  END IF;
+
+  IF EXISTS (SELECT 1 FROM area.a_executions_default WHERE queued_at >= first_day AND queued_at < next_day) THEN
+    -- Rows for this month already sit in the default partition: move them before attaching
+    EXECUTE format('CREATE TABLE area.%I (LIKE area.a_executions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+      partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM area.a_executions_default '
+      'WHERE queued_at >= %L AND queued_at < %L RETURNING *) INSERT INTO area.%I SELECT * FROM moved',
+      first_day, next_day, partition_name);
+    -- The DELETE fired the release_execution_dedup_key clone on the default partition and the
+    -- INSERT went to a table without triggers: register the keys of the moved rows again
+    EXECUTE format('INSERT INTO area.a_execution_dedup_keys (dedup_key, execution_id, queued_at) '
+      'SELECT dedup_key, id, queued_at FROM area.%I WHERE dedup_key IS NOT NULL '
+      'ON CONFLICT (dedup_key) DO NOTHING', partition_name);
+    EXECUTE format('ALTER TABLE area.a_executions ATTACH PARTITION area.%I FOR VALUES FROM (%L) TO (%L)',
+      partition_name, first_day, next_day);
+  ELSE
+    EXECUTE format('CREATE TABLE area.%I PARTITION OF area.a_executions FOR VALUES FROM (%L) TO (%L)',
+      partition_name, first_day, next_day);
+  END IF;
+  RETURN true;
+END$$;
+
+CREATE OR REPLACE FUNCTION area.ensure_execution_partitions(from_month date, months_ahead integer)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+  current_month date := date_trunc('month', from_month)::date;
+  last_month date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+  created integer := 0;
+BEGIN
+  WHILE current_month <= last_month LOOP
+    IF area.create_execution_partition(current_month) THEN
+      created := created + 1;
+    END IF;
+    current_month := (current_month + interval '1 month')::date;
+  END LOOP;
+  RETURN created;
+END$$;
+
+-- Bookkeeping for the rows of a partition detached from a_executions: DETACH fires no trigger,
+-- so their dedup keys are released here
+CREATE OR REPLACE FUNCTION area.release_detached_execution_partition(partition_name text, first_day date)
+RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+  DELETE FROM area.a_execution_dedup_keys
+    WHERE queued_at >= first_day AND queued_at < (first_day + interval '1 month');
+END$$;
+
+-- Detach monthly partitions that end on or before the cutoff and attach them to the archive table
+CREATE OR REPLACE FUNCTION area.archive_execution_partitions(cutoff date)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+  part record;
+  first_day date;
+  archived integer := 0;
+BEGIN
+  FOR part IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    JOIN pg_namespace n ON n.oid = p.relnamespace
+    WHERE n.nspname = 'area' AND p.relname = 'a_executions'
+      AND c.relname ~ '^a_executions_[0-9]{4}_[0-9]{2}$'
+    ORDER BY c.relname
+  LOOP
+    first_day := to_date(substring(part.relname from '[0-9]{4}_[0-9]{2}$'), 'YYYY_MM');
+    CONTINUE WHEN (first_day + interval '1 month')::date > cutoff;
+    EXECUTE format('ALTER TABLE area.a_executions DETACH PARTITION area.%I', part.relname);
+    PERFORM area.release_detached_execution_partition(part.relname, first_day);
+    EXECUTE format('ALTER TABLE area.a_executions_archive ATTACH PARTITION area.%I FOR VALUES FROM (%L) TO (%L)',
+      part.relname, first_day, (first_day + interval '1 month')::date);
+    archived := archived + 1;
+  END LOOP;
+  RETURN archived;
+END$$;
+
+-- Drop archived partitions that end on or before the cutoff
+CREATE OR REPLACE FUNCTION area.drop_archived_execution_partitions(cutoff date)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+  part record;
+  first_day date;
+  dropped integer := 0;
+BEGIN
+  FOR part IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    JOIN pg_namespace n ON n.oid = p.relnamespace
+    WHERE n.nspname = 'area' AND p.relname = 'a_executions_archive'
+      AND c.relname ~ '^a_executions_[0-9]{4}_[0-9]{2}$'
+  LOOP
+    first_day := to_date(substring(part.relname from '[0-9]{4}_[0-9]{2}$'), 'YYYY_MM');
+    CONTINUE WHEN (first_day + interval '1 month')::date > cutoff;
+    EXECUTE format('DROP TABLE area.%I', part.relname);
+    dropped := dropped + 1;
+  END LOOP;
+  RETURN dropped;
+END$$;
+
+-- =========================
+-- Data copy
+-- =========================
+SELECT area.ensure_execution_partitions(
+  COALESCE((SELECT min(queued_at) FROM a_executions_legacy), now())::date, 3);
+
+INSERT INTO a_executions (id, action_instance_id, activation_mode_id, area_id, status, attempt, queued_at,
+                          started_at, finished_at, input_payload, output_payload, error, correlation_id,
+                          dedup_key, claimed_by, claimed_at, next_retry_at)
+SELECT id, action_instance_id, activation_mode_id, area_id, status, attempt, queued_at,
+       started_at, finished_at, input_payload, output_payload, error, correlation_id,
+       dedup_key, claimed_by, claimed_at, next_retry_at
+FROM a_executions_legacy;
+
+INSERT INTO a_execution_dedup_keys (dedup_key, execution_id, queued_at)
+SELECT dedup_key, id, queued_at FROM a_executions_legacy WHERE dedup_key IS NOT NULL;
+
+DROP TABLE a_executions_legacy;
+
+-- =========================
+-- Indexes (created on every partition)
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_exec_ai_status ON a_executions(action_instance_id, status, queued_at);
+CREATE INDEX IF NOT EXISTS idx_exec_corr ON a_executions(correlation_id);
+CREATE INDEX IF NOT EXISTS idx_exec_dedup ON a_executions(dedup_key) WHERE dedup_key IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_executions_area_status ON a_executions(area_id, status, queued_at);
+-- Ordered append over partitions for "latest executions" pages and the last run of an area
+CREATE INDEX IF NOT EXISTS idx_exec_queued_at ON a_executions(queued_at);
+CREATE INDEX IF NOT EXISTS idx_exec_area_queued ON a_executions(area_id, queued_at);
+CREATE INDEX IF NOT EXISTS idx_exec_queued_claim ON a_executions(status, queued_at)
+  WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_exec_retry_due ON a_executions(next_retry_at)
+  WHERE status = 'RETRY';
+CREATE INDEX IF NOT EXISTS idx_exec_running_started ON a_executions(started_at)
+  WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_exec_failed_finished ON a_executions(finished_at)
+  WHERE status = 'FAILED';
+
+-- =========================
+-- Triggers
+-- =========================
+CREATE TRIGGER trg_executions_set_area
+  BEFORE INSERT ON a_executions
+  FOR EACH ROW EXECUTE FUNCTION area.set_execution_area();
+
+CREATE TRIGGER trg_executions_dedup_key
+  BEFORE INSERT ON a_executions
+  FOR EACH ROW EXECUTE FUNCTION area.register_execution_dedup_key();
+
+CREATE TRIGGER trg_executions_release_dedup_key
+  AFTER DELETE ON a_executions
+  FOR EACH ROW EXECUTE FUNCTION area.release_execution_dedup_key();
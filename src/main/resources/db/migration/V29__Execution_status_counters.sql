@@ -0,0 +1,99 @@
+-- Incrementally maintained execution counts per status, so statistics and gauges no longer run
+-- COUNT(*) over every partition of a_executions
+
+SET search_path TO area, public;
+
+-- =========================
+-- Counter table
+-- =========================
+-- Each status is spread over a few shard rows so concurrent transitions do not all queue on
+-- the same row lock; the count of a status is the sum of its shards
+CREATE TABLE IF NOT EXISTS a_execution_status_counts (
+  status  varchar(20) NOT NULL,
+  shard   smallint    NOT NULL,
+  count   bigint      NOT NULL DEFAULT 0,
+  PRIMARY KEY (status, shard)
+);
+COMMENT ON TABLE a_execution_status_counts IS 'Per-status execution counts maintained by statement triggers on a_executions.';
+
+INSERT INTO a_execution_status_counts (status, shard, count)
+SELECT status, 0, count(*) FROM a_executions GROUP BY status;
+
+-- =========================
+-- Statement-level maintenance
+-- =========================
+-- One upsert per status touched by the statement, in status order to keep lock ordering stable
+CREATE OR REPLACE FUNCTION area.apply_execution_status_counts()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO area.a_execution_status_counts AS sc (status, shard, count)
+    SELECT status, floor(random() * 8)::smallint, count(*)
+    FROM new_rows GROUP BY status ORDER BY status
+    ON CONFLICT (status, shard) DO UPDATE SET count = sc.count + EXCLUDED.count;
+  ELSIF TG_OP = 'UPDATE' THEN
+    INSERT INTO area.a_execution_status_counts AS sc (status, shard, count)
+    SELECT status, floor(random() * 8)::smallint, sum(diff)
+    FROM (SELECT status, 1 AS diff FROM new_rows
+          UNION ALL
+          SELECT status, -1 AS diff FROM old_rows) delta
+    GROUP BY status HAVING sum(diff) <> 0 ORDER BY status
+    ON CONFLICT (status, shard) DO UPDATE SET count = sc.count + EXCLUDED.count;
+  ELSE
+    INSERT INTO area.a_execution_status_counts AS sc (status, shard, count)
+    SELECT status, floor(random() * 8)::smallint, -count(*)
+    FROM old_rows GROUP BY status ORDER BY status
+    ON CONFLICT (status, shard) DO UPDATE SET count = sc.count + EXCLUDED.count;
+  END IF;
+  RETURN NULL;
+END$$;
+
+CREATE TRIGGER trg_executions_count_insert
+  AFTER INSERT ON a_executions
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION area.apply_execution_status_counts();
+
+CREATE TRIGGER trg_executions_count_update
+  AFTER UPDATE ON a_executions
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION area.apply_execution_status_counts();
+
+CREATE TRIGGER trg_executions_count_delete
+  AFTER DELETE ON a_executions
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION area.apply_execution_status_counts();
+
+-- =========================
+-- Reconciliation
+-- =========================
+-- Both counts are read in the same statement snapshot, so the difference is the real drift
+-- and can be added to the counters without locking out concurrent transitions
+CREATE OR REPLACE FUNCTION area.reconcile_execution_status_counts()
+RETURNS integer LANGUAGE sql AS $$
+  WITH actual AS (
+    SELECT status, count(*) AS total FROM area.a_executions GROUP BY status
+  ), counted AS (
+    SELECT status, sum(count) AS total FROM area.a_execution_status_counts GROUP BY status
+  ), drift AS (
+    SELECT COALESCE(a.status, c.status) AS status, COALESCE(a.total, 0) - COALESCE(c.total, 0) AS diff
+    FROM actual a FULL JOIN counted c ON c.status = a.status
+  ), fixed AS (
+    INSERT INTO area.a_execution_status_counts AS sc (status, shard, count)
+    SELECT status, 0, diff FROM drift WHERE diff <> 0 ORDER BY status
+    ON CONFLICT (status, shard) DO UPDATE SET count = sc.count + EXCLUDED.count
+    RETURNING 1
+  )
+  SELECT count(*)::integer FROM fixed;
+$$;
+
+-- Supersedes the V28 definition: detaching a partition removes its rows without firing the
+-- count triggers, so their counts are subtracted along with the dedup keys
+CREATE OR REPLACE FUNCTION area.release_detached_execution_partition(partition_name text, first_day date)
+RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+  DELETE FROM area.a_execution_dedup_keys
+    WHERE queued_at >= first_day AND queued_at < (first_day + interval '1 month');
+  EXECUTE format('INSERT INTO area.a_execution_status_counts AS sc (status, shard, count) '
+    'SELECT status, 0, -count(*) FROM area.%I GROUP BY status ORDER BY status '
+    'ON CONFLICT (status, shard) DO UPDATE SET count = sc.count + EXCLUDED.count', partition_name);
+END$$;
@@ -0,0 +1,125 @@
+-- Hourly execution rollups per (action definition, status) with a duration histogram, so admin
+-- analytics read a few hundred rows instead of scanning the execution history
+
+SET search_path TO area, public;
+
+-- =========================
+-- Tables
+-- =========================
+CREATE TABLE IF NOT EXISTS a_execution_rollups_hourly (
+  bucket_start          timestamptz NOT NULL,
+  action_definition_id  uuid        NOT NULL,
+  status                varchar(20) NOT NULL,
+  service_id            uuid        NOT NULL,
+  executions            bigint      NOT NULL DEFAULT 0,
+  duration_ms_sum       bigint      NOT NULL DEFAULT 0,
+  duration_buckets      bigint[]    NOT NULL,
+  PRIMARY KEY (bucket_start, action_definition_id, status)
+);
+COMMENT ON TABLE a_execution_rollups_hourly IS 'Executions finished per hour, action definition and status. duration_buckets[i] counts durations in slot i of area.execution_duration_bounds_ms().';
+
+CREATE INDEX IF NOT EXISTS idx_rollups_service_bucket ON a_execution_rollups_hourly(service_id, bucket_start);
+
+CREATE TABLE IF NOT EXISTS a_rollup_watermarks (
+  name          varchar(100) PRIMARY KEY,
+  rolled_up_to  timestamptz  NOT NULL
+);
+COMMENT ON TABLE a_rollup_watermarks IS 'Latest bucket computed by each incremental rollup job.';
+
+-- Rollups select executions by the hour they finished in
+CREATE INDEX IF NOT EXISTS idx_exec_finished_at ON a_executions(finished_at);
+CREATE INDEX IF NOT EXISTS idx_dead_letters_failed_at ON a_dead_letters(failed_at);
+
+INSERT INTO a_rollup_watermarks (name, rolled_up_to)
+VALUES ('executions_hourly', date_trunc('hour', COALESCE(
+  (SELECT min(finished_at) FROM a_executions),
+  now())))
+ON CONFLICT (name) DO NOTHING;
+
+-- =========================
+-- Functions
+-- =========================
+-- Upper bounds (exclusive) of the duration histogram slots; the last slot is open-ended.
+-- ExecutionRollupService.DURATION_BOUNDS_MS must stay in sync.
+CREATE OR REPLACE FUNCTION area.execution_duration_bounds_ms()
+RETURNS bigint[] LANGUAGE sql IMMUTABLE AS $$
+  SELECT ARRAY[100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000]::bigint[];
+$$;
+
+-- Recompute one hourly bucket. Failed executions already moved to a_dead_letters are counted
+-- from there (without duration) so the bucket stays complete after archiving.
+CREATE OR REPLACE FUNCTION area.rollup_execution_hour(bucket timestamptz)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+  bounds bigint[] := area.execution_duration_bounds_ms();
+  inserted integer;
+BEGIN
+  DELETE FROM area.a_execution_rollups_hourly WHERE bucket_start = bucket;
+
+  INSERT INTO area.a_execution_rollups_hourly
+    (bucket_start, action_definition_id, status, service_id, executions, duration_ms_sum, duration_buckets)
+  WITH finished AS (
+    SELECT ad.id AS action_definition_id, ad.service_id, e.status,
+           (extract(epoch FROM e.finished_at - e.started_at) * 1000)::bigint AS duration_ms
+    FROM area.a_executions e
+    JOIN area.a_action_instances ai ON ai.id = e.action_instance_id
+    JOIN area.a_action_definitions ad ON ad.id = ai.action_def_id
+    WHERE e.finished_at >= bucket AND e.finished_at < bucket + interval '1 hour'
+    UNION ALL
+    SELECT ad.id, ad.service_id, 'FAILED', NULL
+    FROM area.a_dead_letters d
+    JOIN area.a_action_instances ai ON ai.id = d.action_instance_id
+    JOIN area.a_action_definitions ad ON ad.id = ai.action_def_id
+    WHERE d.failed_at >= bucket AND d.failed_at < bucket + interval '1 hour'
+  ), totals AS (
+    SELECT action_definition_id, status, service_id,
+           count(*) AS executions, COALESCE(sum(duration_ms), 0) AS duration_ms_sum
+    FROM finished GROUP BY action_definition_id, status, service_id
+  ), slots AS (
+    SELECT action_definition_id, status, width_bucket(duration_ms, bounds) AS slot, count(*) AS hits
+    FROM finished WHERE duration_ms IS NOT NULL
+    GROUP BY action_definition_id, status, width_bucket(duration_ms, bounds)
+  )
+  SELECT bucket, t.action_definition_id, t.status, t.service_id, t.executions, t.duration_ms_sum,
+         ARRAY(SELECT COALESCE(s.hits, 0)
+               FROM generate_series(0, array_length(bounds, 1)) AS i(slot)
+               LEFT JOIN slots s ON s.action_definition_id = t.action_definition_id
+                                AND s.status = t.status AND s.slot = i.slot
+               ORDER BY i.slot)
+  FROM totals t;
+
+  GET DIAGNOSTICS inserted = ROW_COUNT;
+  RETURN inserted;
+END$$;
+
+-- Advance the hourly rollups from the watermark up to the current (still open) hour, at most
+-- max_hours buckets per call. The last overlap_hours before the watermark are recomputed to pick
+-- up executions that finished late; the open hour is refreshed on every call.
+CREATE OR REPLACE FUNCTION area.advance_execution_rollups(max_hours integer, overlap_hours integer)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+  watermark timestamptz;
+  current_hour timestamptz := date_trunc('hour', now());
+  bucket timestamptz;
+  last_bucket timestamptz;
+  rolled integer := 0;
+BEGIN
+  SELECT rolled_up_to INTO watermark
+  FROM area.a_rollup_watermarks WHERE name = 'executions_hourly'
+  FOR UPDATE;
+  IF watermark IS NULL THEN
+    watermark := current_hour;
+    INSERT INTO area.a_rollup_watermarks (name, rolled_up_to) VALUES ('executions_hourly', watermark);
+  END IF;
+
+  bucket := watermark - make_interval(hours => overlap_hours);
+  last_bucket := least(current_hour, watermark + make_interval(hours => max_hours));
+  WHILE bucket <= last_bucket LOOP
+    PERFORM area.rollup_execution_hour(bucket);
+    rolled := rolled + 1;
+    bucket := bucket + interval '1 hour';
+  END LOOP;
+
+  UPDATE area.a_rollup_watermarks SET rolled_up_to = last_bucket WHERE name = 'executions_hourly';
+  RETURN rolled;
+END$$;
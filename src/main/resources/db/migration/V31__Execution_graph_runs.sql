@@ -0,0 +1,17 @@
+-- Progress of linked-action graphs: one row per correlation id while its DAG is running
+
+SET search_path TO area, public;
+
+CREATE TABLE IF NOT EXISTS a_execution_runs (
+  correlation_id           uuid PRIMARY KEY,
+  area_id                  uuid NOT NULL REFERENCES a_areas(id) ON DELETE CASCADE,
+  root_action_instance_id  uuid NOT NULL,
+  pending_nodes            integer NOT NULL,
+  resolved_nodes           jsonb NOT NULL DEFAULT '[]'::jsonb,
+  joins                    jsonb NOT NULL DEFAULT '{}'::jsonb,
+  started_at               timestamptz NOT NULL DEFAULT now(),
+  updated_at               timestamptz NOT NULL DEFAULT now()
+);
+COMMENT ON TABLE a_execution_runs IS 'In-flight linked action graphs: nodes still pending, nodes already resolved and fan-in join state. Deleted once every node is resolved.';
+
+CREATE INDEX IF NOT EXISTS idx_execution_runs_updated ON a_execution_runs(updated_at);
@@ -0,0 +1,16 @@
+-- Transactional outbox for stream events: rows are written in the same transaction as the
+-- executions they announce and relayed to Redis after commit
+
+SET search_path TO area, public;
+
+-- =========================
+-- Tables
+-- =========================
+CREATE TABLE IF NOT EXISTS a_event_outbox (
+  id            bigserial   PRIMARY KEY,
+  execution_id  uuid,
+  message       jsonb       NOT NULL,
+  created_at    timestamptz NOT NULL DEFAULT now()
+);
+COMMENT ON TABLE a_event_outbox IS 'Area events committed but not yet published to the Redis stream. Rows are deleted once published.';
+
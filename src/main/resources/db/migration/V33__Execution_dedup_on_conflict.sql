@@ -0,0 +1,39 @@
+-- Duplicate executions are skipped instead of failing the insert: the dedup key is claimed with
+-- ON CONFLICT and the BEFORE trigger drops the row when another execution already holds it, so
+-- INSERT ... RETURNING only returns the executions that were actually queued
+
+SET search_path TO area, public;
+
+-- =========================
+-- Dedup window
+-- =========================
+-- Single definition of how long a dedup key holds, shared by the registration trigger and the
+-- key claims made by ExecutionService
+CREATE OR REPLACE FUNCTION area.execution_dedup_window()
+RETURNS interval LANGUAGE sql IMMUTABLE AS $$
+  SELECT interval '24 hours'
+$$;
+
+-- =========================
+-- Dedup key registration
+-- =========================
+-- A key held for longer than the dedup window is taken over by the new execution, so an identical
+-- payload polled again the next day still runs
+CREATE OR REPLACE FUNCTION area.register_execution_dedup_key()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  IF NEW.dedup_key IS NOT NULL THEN
+    INSERT INTO area.a_execution_dedup_keys AS k (dedup_key, execution_id, queued_at)
+    VALUES (NEW.dedup_key, NEW.id, NEW.queued_at)
+    ON CONFLICT (dedup_key) DO UPDATE
+      SET execution_id = EXCLUDED.execution_id, queued_at = EXCLUDED.queued_at
+      WHERE k.queued_at < EXCLUDED.queued_at - area.execution_dedup_window();
+    IF NOT FOUND THEN
+      RETURN NULL;
+    END IF;
+  END IF;
+  RETURN NEW;
+END$$;
+
+COMMENT ON TABLE a_execution_dedup_keys IS
+  'Dedup keys of queued executions and event-only triggers; a key younger than the dedup window skips the insert.';
@@ -0,0 +1,55 @@
+package area.server.AREA_Back.config;
+
+import area.server.AREA_Back.worker.ReactionDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestTemplateConfigTest {
+
+    @Test
+    void requestsOutsideAReactionUseTheClientDefaults() {
+        // When & Then
+        assertNull(RestTemplateConfig.deadlineContext());
+    }
+
+    @Test
+    void requestsOfAReactionAreCappedByItsDeadline() {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(Runnable::run, new SimpleMeterRegistry());
+        AtomicReference<RequestConfig> config = new AtomicReference<>();
+
+        // When
+        dispatcher.runTracked(UUID.randomUUID(), Duration.ofSeconds(2), () ->
+            config.set(((HttpClientContext) RestTemplateConfig.deadlineContext()).getRequestConfig()));
+
+        // Then
+        assertTrue(config.get().getResponseTimeout().toMilliseconds() <= 2000);
+        assertTrue(config.get().getConnectionRequestTimeout().toMilliseconds() <= 2000);
+        assertTrue(config.get().getResponseTimeout().toMilliseconds() > 0);
+    }
+
+    @Test
+    void overdueReactionGetsTheShortestTimeout() {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(Runnable::run, new SimpleMeterRegistry());
+        AtomicReference<RequestConfig> config = new AtomicReference<>();
+
+        // When
+        dispatcher.runTracked(UUID.randomUUID(), Duration.ofMillis(-10), () ->
+            config.set(((HttpClientContext) RestTemplateConfig.deadlineContext()).getRequestConfig()));
+
+        // Then
+        assertEquals(Timeout.ofMilliseconds(1), config.get().getResponseTimeout());
+    }
+}
@@ -0,0 +1,69 @@
+package area.server.AREA_Back.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadTaskExecutorTest {
+
+    private VirtualThreadTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void executeShouldRunTaskOnVirtualThread() throws InterruptedException {
+        // Given
+        executor = new VirtualThreadTaskExecutor("Test", 2, 1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+
+        // When
+        executor.execute(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            done.countDown();
+        });
+
+        // Then
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual.get()).isTrue();
+    }
+
+    @Test
+    void permitsShouldBoundConcurrency() throws InterruptedException {
+        // Given
+        executor = new VirtualThreadTaskExecutor("Test", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Then
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+        assertThat(executor.getAvailablePermits()).isZero();
+
+        release.countDown();
+        CountDownLatch second = new CountDownLatch(1);
+        executor.execute(second::countDown);
+        assertThat(second.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getMaxConcurrency()).isEqualTo(1);
+    }
+}
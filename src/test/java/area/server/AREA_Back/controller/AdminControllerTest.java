@@ -1,12 +1,19 @@
 package area.server.AREA_Back.controller;
 
 import area.server.AREA_Back.dto.AdminMetricsResponse;
+import area.server.AREA_Back.dto.DeadLetterFilter;
+import area.server.AREA_Back.dto.DeadLetterReplayJob;
+import area.server.AREA_Back.dto.ExecutionRollupSummary;
+import area.server.AREA_Back.entity.DeadLetter;
 import area.server.AREA_Back.entity.Service;
 import area.server.AREA_Back.entity.User;
 import area.server.AREA_Back.entity.Area;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
 import area.server.AREA_Back.repository.*;
+import area.server.AREA_Back.service.Area.DeadLetterService;
+import area.server.AREA_Back.service.Area.ExecutionRollupService;
+import area.server.AREA_Back.service.Area.ExecutionService;
 import area.server.AREA_Back.service.WorkerTrackingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,15 +21,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -56,6 +67,15 @@ class AdminControllerTest {
     @Mock
     private WorkerTrackingService workerTrackingService;
 
+    @Mock
+    private DeadLetterService deadLetterService;
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private ExecutionRollupService executionRollupService;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -103,15 +123,12 @@ class AdminControllerTest {
     @Test
     void testGetSystemMetrics_Success() {
         // Arrange
-        when(executionRepository.countByStatus(ExecutionStatus.QUEUED)).thenReturn(5L);
-        when(executionRepository.countByStatusAndCreatedAtAfter(eq(ExecutionStatus.FAILED), any(LocalDateTime.class)))
-            .thenReturn(3L);
-        when(executionRepository.countByStatusAndCreatedAtAfter(eq(ExecutionStatus.OK), any(LocalDateTime.class)))
-            .thenReturn(42L);
+        when(executionService.getExecutionStatistics()).thenReturn(Map.of("queued", 5L, "ok", 95L));
+        when(executionRollupService.countByStatusSince(any(LocalDateTime.class)))
+            .thenReturn(Map.of(ExecutionStatus.FAILED, 3L, ExecutionStatus.OK, 42L));
         when(areaRepository.count()).thenReturn(15L);
         when(areaRepository.countByEnabled(true)).thenReturn(12L);
         when(userRepository.count()).thenReturn(40L);
-        when(executionRepository.count()).thenReturn(100L);
         when(actionDefinitionRepository.count()).thenReturn(50L);
         when(serviceRepository.count()).thenReturn(10L);
 
@@ -134,6 +151,7 @@ class AdminControllerTest {
         assertEquals(15L, response.getBody().getTotalAreas());
         assertEquals(12L, response.getBody().getActiveAreas());
         assertEquals(40L, response.getBody().getTotalUsers());
+        assertEquals(100L, response.getBody().getSystemMetrics().get("totalExecutions"));
 
         // Verify WorkerTrackingService was called
         verify(workerTrackingService).getActiveWorkers();
@@ -163,8 +181,8 @@ class AdminControllerTest {
         List<Area> areas = Collections.singletonList(testArea);
 
         when(areaRepository.findAll(org.mockito.ArgumentMatchers.any(Sort.class))).thenReturn(areas);
-        when(executionRepository.findByAreaIdOrderByCreatedAtDesc(any(UUID.class)))
-            .thenReturn(Collections.emptyList());
+        when(executionRepository.findFirstByAreaIdOrderByQueuedAtDesc(any(UUID.class)))
+            .thenReturn(Optional.empty());
 
         // Act
         ResponseEntity<?> response = adminController.getAllAreas();
@@ -246,7 +264,8 @@ class AdminControllerTest {
     void testGetServicesUsage() {
         // Arrange
         when(serviceRepository.findAll()).thenReturn(Collections.singletonList(testService));
-            when(actionInstanceRepository.countByActionDefinitionServiceId(any(UUID.class))).thenReturn(25L);
+        when(actionInstanceRepository.countGroupedByServiceId())
+            .thenReturn(Collections.singletonList(new Object[]{testService.getId(), 25L}));
 
         // Act
         ResponseEntity<List<Map<String, Object>>> response = adminController.getServicesUsage();
@@ -261,12 +280,9 @@ class AdminControllerTest {
     void testGetAreaStats() {
         // Arrange
         when(areaRepository.count()).thenReturn(15L);
-        when(executionRepository.countByStatusAndCreatedAtAfter(eq(ExecutionStatus.OK), any(LocalDateTime.class)))
-            .thenReturn(8L);
-        when(executionRepository.countByStatusAndCreatedAtAfter(eq(ExecutionStatus.FAILED), any(LocalDateTime.class)))
-            .thenReturn(4L);
-        when(executionRepository.countByStatus(ExecutionStatus.QUEUED)).thenReturn(2L);
-        when(executionRepository.countByStatus(ExecutionStatus.RUNNING)).thenReturn(1L);
+        when(executionRollupService.countByStatusSince(any(LocalDateTime.class)))
+            .thenReturn(Map.of(ExecutionStatus.OK, 8L, ExecutionStatus.FAILED, 4L));
+        when(executionService.getExecutionStatistics()).thenReturn(Map.of("queued", 2L, "running", 1L));
 
         // Act
         ResponseEntity<List<Map<String, Object>>> response = adminController.getAreaStats();
@@ -389,7 +405,7 @@ class AdminControllerTest {
         org.springframework.data.domain.Page<Execution> mockPage = 
             new org.springframework.data.domain.PageImpl<>(Collections.singletonList(testExecution));
         
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenReturn(mockPage);
 
         // Act
@@ -406,7 +422,7 @@ class AdminControllerTest {
         assertEquals("area-runner", log.get("source"));
         assertTrue(log.get("message").toString().contains("FAILED"));
         
-        verify(executionRepository, times(1)).findAll(any(org.springframework.data.domain.Pageable.class));
+        verify(executionRepository, times(1)).findRecentExecutions(any(org.springframework.data.domain.Pageable.class));
     }
 
     @Test
@@ -418,7 +434,7 @@ class AdminControllerTest {
         org.springframework.data.domain.Page<Execution> mockPage = 
             new org.springframework.data.domain.PageImpl<>(Collections.singletonList(testExecution));
         
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenReturn(mockPage);
 
         // Act
@@ -435,7 +451,7 @@ class AdminControllerTest {
     @Test
     void testGetLogs_Error() {
         // Arrange
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
@@ -455,7 +471,7 @@ class AdminControllerTest {
         org.springframework.data.domain.Page<Execution> mockPage = 
             new org.springframework.data.domain.PageImpl<>(Collections.singletonList(testExecution));
         
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenReturn(mockPage);
 
         // Act
@@ -474,7 +490,7 @@ class AdminControllerTest {
         assertNotNull(run.get("timestamp"));
         assertTrue(run.get("duration").toString().endsWith("s"));
         
-        verify(executionRepository, times(1)).findAll(any(org.springframework.data.domain.Pageable.class));
+        verify(executionRepository, times(1)).findRecentExecutions(any(org.springframework.data.domain.Pageable.class));
     }
 
     @Test
@@ -487,7 +503,7 @@ class AdminControllerTest {
         org.springframework.data.domain.Page<Execution> mockPage = 
             new org.springframework.data.domain.PageImpl<>(Collections.singletonList(testExecution));
         
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenReturn(mockPage);
 
         // Act
@@ -513,7 +529,7 @@ class AdminControllerTest {
         org.springframework.data.domain.Page<Execution> mockPage = 
             new org.springframework.data.domain.PageImpl<>(Collections.singletonList(testExecution));
         
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenReturn(mockPage);
 
         // Act
@@ -528,7 +544,7 @@ class AdminControllerTest {
     @Test
     void testGetAreaRuns_Error() {
         // Arrange
-        when(executionRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(executionRepository.findRecentExecutions(any(org.springframework.data.domain.Pageable.class)))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
@@ -596,8 +612,10 @@ class AdminControllerTest {
     @Test
     void testGetNewUsersPerMonth_Success() {
         // Arrange
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(5L, 8L, 12L);
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        when(userRepository.countUsersCreatedPerMonth(any(LocalDateTime.class))).thenReturn(Arrays.asList(
+            new Object[]{java.sql.Date.valueOf(currentMonth.minusMonths(2)), 5L},
+            new Object[]{java.sql.Date.valueOf(currentMonth), 12L}));
 
         // Act
         ResponseEntity<List<Map<String, Object>>> response = adminController.getNewUsersPerMonth(3);
@@ -610,15 +628,19 @@ class AdminControllerTest {
         Map<String, Object> firstMonth = response.getBody().get(0);
         assertNotNull(firstMonth.get("month"));
         assertEquals(5L, firstMonth.get("users"));
+        assertEquals(0L, response.getBody().get(1).get("users"));
+        assertEquals(12L, response.getBody().get(2).get("users"));
         
-        verify(userRepository, times(3)).countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(userRepository, times(1)).countUsersCreatedPerMonth(any(LocalDateTime.class));
+        verify(userRepository, never()).countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void testGetNewUsersPerMonth_SingleMonth() {
         // Arrange
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(10L);
+        when(userRepository.countUsersCreatedPerMonth(any(LocalDateTime.class)))
+            .thenReturn(Collections.singletonList(
+                new Object[]{java.sql.Date.valueOf(LocalDate.now().withDayOfMonth(1)), 10L}));
 
         // Act
         ResponseEntity<List<Map<String, Object>>> response = adminController.getNewUsersPerMonth(1);
@@ -632,7 +654,7 @@ class AdminControllerTest {
     @Test
     void testGetNewUsersPerMonth_Error() {
         // Arrange
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(userRepository.countUsersCreatedPerMonth(any(LocalDateTime.class)))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
@@ -658,8 +680,11 @@ class AdminControllerTest {
         List<Service> services = Arrays.asList(service1, service2);
         
         when(serviceRepository.findAll()).thenReturn(services);
-        when(actionInstanceRepository.countByActionDefinitionServiceId(service1.getId())).thenReturn(10L);
-        when(actionInstanceRepository.countByActionDefinitionServiceId(service2.getId())).thenReturn(25L);
+        when(actionInstanceRepository.countGroupedByServiceId()).thenReturn(Arrays.asList(
+            new Object[]{service1.getId(), 10L},
+            new Object[]{service2.getId(), 25L}));
+        when(executionRollupService.countByServiceSince(any(LocalDateTime.class)))
+            .thenReturn(Map.of(service2.getId(), 300L));
 
         // Act
         ResponseEntity<List<Map<String, Object>>> response = adminController.getServicesUsage();
@@ -675,11 +700,43 @@ class AdminControllerTest {
         
         assertEquals("Service B", first.get("service"));
         assertEquals(25L, first.get("usage"));
+        assertEquals(300L, first.get("executions24h"));
         
         assertEquals("Service A", second.get("service"));
         assertEquals(10L, second.get("usage"));
     }
 
+    @Test
+    void testGetExecutionRollups_ByService() {
+        // Arrange
+        ExecutionRollupSummary summary = ExecutionRollupSummary.builder()
+            .serviceId(testService.getId())
+            .name("Test Service")
+            .executions(12L)
+            .p95DurationMs(1000L)
+            .build();
+        when(executionRollupService.summarize(any(LocalDateTime.class), eq(false)))
+            .thenReturn(Collections.singletonList(summary));
+
+        // Act
+        ResponseEntity<List<ExecutionRollupSummary>> response = adminController.getExecutionRollups(24, "service");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(1000L, response.getBody().get(0).getP95DurationMs());
+    }
+
+    @Test
+    void testGetExecutionRollups_InvalidGroupBy() {
+        // Act
+        ResponseEntity<List<ExecutionRollupSummary>> response = adminController.getExecutionRollups(24, "user");
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(executionRollupService, never()).summarize(any(LocalDateTime.class), anyBoolean());
+    }
+
     @Test
     void testGetServicesUsage_Error() {
         // Arrange
@@ -769,7 +826,7 @@ class AdminControllerTest {
     @Test
     void testGetSystemMetrics_Error() {
         // Arrange
-        when(executionRepository.countByStatus(ExecutionStatus.QUEUED))
+        when(executionService.getExecutionStatistics())
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
@@ -856,8 +913,8 @@ class AdminControllerTest {
     @Test
     void testConvertToAdminAreaResponse_WithNoExecutions() {
         // Arrange
-        when(executionRepository.findByAreaIdOrderByCreatedAtDesc(testArea.getId()))
-            .thenReturn(Collections.emptyList());
+        when(executionRepository.findFirstByAreaIdOrderByQueuedAtDesc(testArea.getId()))
+            .thenReturn(Optional.empty());
 
         when(areaRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(testArea));
 
@@ -866,7 +923,7 @@ class AdminControllerTest {
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(executionRepository, times(1)).findByAreaIdOrderByCreatedAtDesc(testArea.getId());
+        verify(executionRepository, times(1)).findFirstByAreaIdOrderByQueuedAtDesc(testArea.getId());
     }
 
     @Test
@@ -878,8 +935,8 @@ class AdminControllerTest {
         execution.setStatus(ExecutionStatus.FAILED);
         execution.setQueuedAt(LocalDateTime.now());
         
-        when(executionRepository.findByAreaIdOrderByCreatedAtDesc(testArea.getId()))
-            .thenReturn(Collections.singletonList(execution));
+        when(executionRepository.findFirstByAreaIdOrderByQueuedAtDesc(testArea.getId()))
+            .thenReturn(Optional.of(execution));
 
         when(areaRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(testArea));
 
@@ -888,6 +945,71 @@ class AdminControllerTest {
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(executionRepository, times(1)).findByAreaIdOrderByCreatedAtDesc(testArea.getId());
+        verify(executionRepository, times(1)).findFirstByAreaIdOrderByQueuedAtDesc(testArea.getId());
+    }
+
+    @Test
+    void testGetDeadLetters() {
+        // Arrange
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setId(UUID.randomUUID());
+        deadLetter.setServiceKey("spotify");
+        when(deadLetterService.search(any(DeadLetterFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(deadLetter)));
+        when(deadLetterService.countPending()).thenReturn(1L);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = adminController.getDeadLetters(
+            "spotify", null, null, null, null, null, false, 0, 50);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, response.getBody().get("totalElements"));
+        assertEquals(1L, response.getBody().get("pending"));
+        verify(deadLetterService).search(
+            eq(new DeadLetterFilter("spotify", null, null, null, null, null, false)), any(Pageable.class));
+    }
+
+    @Test
+    void testReplayDeadLetters() {
+        // Arrange
+        DeadLetterFilter filter = new DeadLetterFilter();
+        filter.setServiceKey("spotify");
+        DeadLetterReplayJob job = new DeadLetterReplayJob(UUID.randomUUID(), 3, LocalDateTime.now());
+        when(deadLetterService.startReplay(filter, 200)).thenReturn(job);
+
+        // Act
+        ResponseEntity<DeadLetterReplayJob> response = adminController.replayDeadLetters(filter, 200);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job.getId(), response.getBody().getId());
+        assertEquals(DeadLetterReplayJob.Status.RUNNING, response.getBody().getStatus());
+    }
+
+    @Test
+    void testGetDeadLetterReplay() {
+        // Arrange
+        DeadLetterReplayJob job = new DeadLetterReplayJob(UUID.randomUUID(), 3, LocalDateTime.now());
+        when(deadLetterService.getReplayJob(job.getId())).thenReturn(Optional.of(job));
+        UUID unknown = UUID.randomUUID();
+        when(deadLetterService.getReplayJob(unknown)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(HttpStatus.OK, adminController.getDeadLetterReplay(job.getId()).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, adminController.getDeadLetterReplay(unknown).getStatusCode());
+    }
+
+    @Test
+    void testReplayDeadLettersWithoutFilter() {
+        // Arrange
+        when(deadLetterService.startReplay(any(DeadLetterFilter.class), eq(1000)))
+            .thenThrow(new RuntimeException("Database error"));
+
+        // Act
+        ResponseEntity<DeadLetterReplayJob> response = adminController.replayDeadLetters(null, 1000);
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 }
@@ -1,8 +1,12 @@
 package area.server.AREA_Back.controller;
 
+import area.server.AREA_Back.dto.StreamStats;
+import area.server.AREA_Back.service.Area.ActionLinkService;
 import area.server.AREA_Back.service.Area.ExecutionService;
 import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.service.Redis.RedisStreamRetention;
 import area.server.AREA_Back.worker.AreaReactionWorker;
+import area.server.AREA_Back.worker.ReactionDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -35,6 +40,15 @@ class WorkerControllerTest {
     @Mock
     private RedisEventService redisEventService;
 
+    @Mock
+    private ReactionDispatcher reactionDispatcher;
+
+    @Mock
+    private ActionLinkService actionLinkService;
+
+    @Mock
+    private RedisStreamRetention redisStreamRetention;
+
     @InjectMocks
     private WorkerController workerController;
 
@@ -111,11 +125,35 @@ class WorkerControllerTest {
         verify(redisEventService, times(1)).getStreamInfo();
     }
 
+    @Test
+    @DisplayName("Should get stream stats successfully")
+    void testGetStreamStats() throws Exception {
+        StreamStats stats = StreamStats.builder()
+                .streamKey("areas:events")
+                .length(120L)
+                .pending(4L)
+                .lag(2L)
+                .memoryBytes(65536L)
+                .consumerPending(Map.of("node-a", 4L))
+                .consumerIdleMs(Map.of("node-a", 150L))
+                .build();
+        when(redisStreamRetention.getStreamStats()).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/api/worker/stream-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].streamKey").value("areas:events"))
+                .andExpect(jsonPath("$[0].length").value(120))
+                .andExpect(jsonPath("$[0].pending").value(4))
+                .andExpect(jsonPath("$[0].lag").value(2))
+                .andExpect(jsonPath("$[0].consumerPending.node-a").value(4));
+
+        verify(redisStreamRetention, times(1)).getStreamStats();
+    }
+
     @Test
     @DisplayName("Should cancel execution successfully")
     void testCancelExecution() throws Exception {
         String reason = "Manual cancellation";
-        // cancelExecution returns Execution, not void
         mockMvc.perform(post("/api/worker/executions/{executionId}/cancel", executionId)
                         .param("reason", reason))
                 .andExpect(status().isOk())
@@ -124,12 +162,13 @@ class WorkerControllerTest {
                 .andExpect(jsonPath("$.reason").value(reason));
 
         verify(executionService, times(1)).cancelExecution(executionId, reason);
+        verify(reactionDispatcher, times(1)).cancel(List.of(executionId));
+        verify(actionLinkService, times(1)).abortLinkedActions(List.of(executionId));
     }
 
     @Test
     @DisplayName("Should cancel execution without reason")
     void testCancelExecutionWithoutReason() throws Exception {
-        // cancelExecution returns Execution, not void
         mockMvc.perform(post("/api/worker/executions/{executionId}/cancel", executionId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("canceled"))
@@ -150,6 +189,21 @@ class WorkerControllerTest {
                 .andExpect(status().isNotFound());
 
         verify(executionService, times(1)).cancelExecution(any(UUID.class), anyString());
+        verify(reactionDispatcher, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when canceling a finished execution")
+    void testCancelExecutionAlreadyFinished() throws Exception {
+        doThrow(new IllegalStateException("Execution has already finished"))
+                .when(executionService).cancelExecution(any(UUID.class), anyString());
+
+        mockMvc.perform(post("/api/worker/executions/{executionId}/cancel", executionId)
+                        .param("reason", "Test"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("conflict"));
+
+        verify(reactionDispatcher, never()).cancel(any());
     }
 
     @Test
@@ -3,11 +3,13 @@ package area.server.AREA_Back.service.Area;
 import area.server.AREA_Back.dto.ActionLinkResponse;
 import area.server.AREA_Back.dto.BatchCreateActionLinksRequest;
 import area.server.AREA_Back.dto.CreateActionLinkRequest;
+import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.ActionLink;
 import area.server.AREA_Back.entity.ActionLinkId;
 import area.server.AREA_Back.entity.Area;
 import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
 import area.server.AREA_Back.repository.ActionInstanceRepository;
 import area.server.AREA_Back.repository.ActionLinkRepository;
 import area.server.AREA_Back.repository.AreaRepository;
@@ -38,6 +40,9 @@ class ActionLinkServiceTest {
     @Mock
     private AreaRepository areaRepository;
 
+    @Mock
+    private ExecutionGraphService executionGraphService;
+
     @InjectMocks
     private ActionLinkService actionLinkService;
 
@@ -640,102 +645,49 @@ class ActionLinkServiceTest {
     }
 
     @Test
-    void triggerLinkedActions_Success() {
+    void triggerLinkedActions_DelegatesToExecutionGraph() {
         // Given
         Execution execution = new Execution();
         execution.setId(UUID.randomUUID());
         execution.setActionInstance(sourceAction);
-
-        when(actionLinkRepository.findBySourceActionInstanceId(sourceActionInstanceId))
-                .thenReturn(List.of(actionLink));
+        Map<String, Object> output = Map.of("result", "ok");
+        ExecutionResult result = ExecutionResult.success(execution.getId(), output, LocalDateTime.now());
 
         // When
-        actionLinkService.triggerLinkedActions(execution);
+        actionLinkService.triggerLinkedActions(execution, result);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceId(sourceActionInstanceId);
+        verify(executionGraphService).onExecutionFinished(execution, ExecutionStatus.OK, output);
     }
 
     @Test
-    void triggerLinkedActions_NoLinkedActions() {
+    void triggerLinkedActions_GraphError_Propagates() {
         // Given
         Execution execution = new Execution();
         execution.setId(UUID.randomUUID());
         execution.setActionInstance(sourceAction);
+        ExecutionResult result = ExecutionResult.success(execution.getId(), Map.of(), LocalDateTime.now());
 
-        when(actionLinkRepository.findBySourceActionInstanceId(sourceActionInstanceId))
-                .thenReturn(new ArrayList<>());
-
-        // When
-        actionLinkService.triggerLinkedActions(execution);
+        doThrow(new RuntimeException("Database error"))
+                .when(executionGraphService).onExecutionFinished(any(), any(), any());
 
-        // Then
-        verify(actionLinkRepository).findBySourceActionInstanceId(sourceActionInstanceId);
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                actionLinkService.triggerLinkedActions(execution, result)
+        );
+        assertEquals("Database error", exception.getMessage());
     }
 
     @Test
-    void triggerLinkedActions_MultipleLinks() {
+    void abortLinkedActions_DelegatesToExecutionGraph() {
         // Given
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
-        execution.setActionInstance(sourceAction);
-
-        ActionInstance targetAction2 = new ActionInstance();
-        targetAction2.setId(UUID.randomUUID());
-        targetAction2.setArea(area);
-        targetAction2.setName("Target Action 2");
-
-        ActionLink actionLink2 = new ActionLink();
-        actionLink2.setSourceActionInstance(sourceAction);
-        actionLink2.setTargetActionInstance(targetAction2);
-        actionLink2.setArea(area);
-        actionLink2.setLinkType("chain");
-        actionLink2.setMapping(new HashMap<>());
-        actionLink2.setCondition(new HashMap<>());
-        actionLink2.setOrder(1);
-
-        when(actionLinkRepository.findBySourceActionInstanceId(sourceActionInstanceId))
-                .thenReturn(List.of(actionLink, actionLink2));
+        List<UUID> executionIds = List.of(UUID.randomUUID());
 
         // When
-        actionLinkService.triggerLinkedActions(execution);
-
-        // Then
-        verify(actionLinkRepository).findBySourceActionInstanceId(sourceActionInstanceId);
-    }
-
-    @Test
-    void triggerLinkedActions_HandlesExceptionInTrigger() {
-        // Given
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
-        execution.setActionInstance(sourceAction);
-
-        when(actionLinkRepository.findBySourceActionInstanceId(sourceActionInstanceId))
-                .thenReturn(List.of(actionLink));
-
-        // When - execution should not throw even if internal trigger fails
-        assertDoesNotThrow(() -> actionLinkService.triggerLinkedActions(execution));
+        actionLinkService.abortLinkedActions(executionIds);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceId(sourceActionInstanceId);
-    }
-
-    @Test
-    void triggerLinkedActions_ExceptionInRepository_Propagates() {
-        // Given
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
-        execution.setActionInstance(sourceAction);
-
-        when(actionLinkRepository.findBySourceActionInstanceId(sourceActionInstanceId))
-                .thenThrow(new RuntimeException("Database error"));
-
-        // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                actionLinkService.triggerLinkedActions(execution)
-        );
-        assertEquals("Database error", exception.getMessage());
+        verify(executionGraphService).onExecutionsAborted(executionIds);
     }
 
     @Test
@@ -590,6 +590,32 @@ class AreaServiceTest {
         assertTrue(savedMode.getConfig().containsKey("cron_expression"));
     }
 
+    @Test
+    void testCreateActivationModes_InvalidDedupStrategy() {
+        // Arrange
+        AreaReactionRequest reactionRequest = new AreaReactionRequest();
+        reactionRequest.setActionDefinitionId(executableActionDefId);
+        reactionRequest.setName("Test Reaction");
+        reactionRequest.setActivationConfig(Map.of("type", "webhook", "dedup", "sometimes"));
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(actionDefinitionRepository.findById(executableActionDefId)).thenReturn(Optional.of(executableActionDef));
+        when(areaRepository.save(any(Area.class))).thenReturn(testArea);
+        when(actionInstanceRepository.save(any(ActionInstance.class))).thenAnswer(i -> {
+            ActionInstance instance = i.getArgument(0);
+            instance.setId(UUID.randomUUID());
+            return instance;
+        });
+
+        CreateAreaWithActionsRequest request = createMinimalRequest(new ArrayList<>(), List.of(reactionRequest));
+
+        // Act & Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> areaService.createAreaWithActions(request));
+        assertTrue(error.getMessage().startsWith("Invalid dedup strategy: sometimes"));
+        verify(activationModeRepository, never()).save(any(ActivationMode.class));
+    }
+
     @Test
     void testCreateActivationModes_CronMissingExpression() {
         // Arrange
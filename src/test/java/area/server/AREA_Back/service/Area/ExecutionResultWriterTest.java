@@ -0,0 +1,333 @@
+package area.server.AREA_Back.service.Area;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.ExecutionResult;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionResultWriterTest {
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private ExecutionGraphService executionGraphService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkerProperties workerProperties;
+    private ExecutionResultWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workerProperties = new WorkerProperties();
+        writer = new ExecutionResultWriter(executionService, executionGraphService,
+            new TransactionTemplate(transactionManager), workerProperties, meterRegistry);
+        writer.initMetrics();
+    }
+
+    @Test
+    void writesRightAwayWithoutWriteBehind() {
+        // Given
+        ExecutionResult result = success();
+        when(executionService.updateExecutionWithResult(result)).thenReturn(true);
+
+        // When
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // Then
+        assertTrue(written.join());
+        assertEquals(0, writer.getBuffered());
+    }
+
+    @Test
+    void appliedResultAdvancesTheGraphInTheSameTransaction() {
+        // Given
+        ExecutionResult result = success();
+        Execution execution = executionOf(result);
+        when(executionService.updateExecutionWithResult(result)).thenReturn(true);
+
+        // When
+        writer.write(execution, result);
+
+        // Then
+        verify(executionGraphService).onExecutionFinished(execution, ExecutionStatus.OK, result.getOutputPayload());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void discardedResultLeavesTheGraphAlone() {
+        // Given
+        ExecutionResult result = success();
+        when(executionService.updateExecutionWithResult(result)).thenReturn(false);
+
+        // When
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // Then
+        assertFalse(written.join());
+        verifyNoInteractions(executionGraphService);
+    }
+
+    @Test
+    void graphFailureRollsBackTheResult() {
+        // Given
+        ExecutionResult result = success();
+        Execution execution = executionOf(result);
+        when(executionService.updateExecutionWithResult(result)).thenReturn(true);
+        doThrow(new IllegalStateException("run locked")).when(executionGraphService)
+            .onExecutionFinished(execution, ExecutionStatus.OK, result.getOutputPayload());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> writer.write(execution, result));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void failedGraphStepKeepsTheBatchForTheNextFlush() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        ExecutionResult result = success();
+        Execution execution = executionOf(result);
+        when(executionService.updateExecutionsWithResults(List.of(result))).thenReturn(Set.of(result.getExecutionId()));
+        doThrow(new IllegalStateException("run locked")).doNothing().when(executionGraphService)
+            .onExecutionFinished(execution, ExecutionStatus.OK, result.getOutputPayload());
+        CompletableFuture<Boolean> written = writer.write(execution, result);
+
+        // When
+        writer.flush();
+
+        // Then
+        assertFalse(written.isDone());
+        assertEquals(1, writer.getBuffered());
+
+        writer.flush();
+        assertTrue(written.join());
+        verify(executionGraphService, times(2)).onExecutionFinished(execution, ExecutionStatus.OK,
+            result.getOutputPayload());
+    }
+
+    @Test
+    void bufferedResultsAreWrittenTogetherOnFlush() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        ExecutionResult applied = success();
+        ExecutionResult discarded = success();
+        when(executionService.updateExecutionsWithResults(List.of(applied, discarded)))
+            .thenReturn(Set.of(applied.getExecutionId()));
+        AtomicInteger flushes = new AtomicInteger();
+        writer.addFlushListener(flushes::incrementAndGet);
+
+        // When
+        CompletableFuture<Boolean> first = writer.write(executionOf(applied), applied);
+        CompletableFuture<Boolean> second = writer.write(executionOf(discarded), discarded);
+
+        // Then
+        assertFalse(first.isDone());
+        assertEquals(2, writer.getBuffered());
+        verify(executionService, never()).updateExecutionWithResult(any());
+
+        writer.flush();
+        assertTrue(first.join());
+        assertFalse(second.join());
+        verify(executionGraphService)
+            .onExecutionFinished(any(), eq(ExecutionStatus.OK), eq(applied.getOutputPayload()));
+        assertEquals(1, flushes.get());
+        assertEquals(1, meterRegistry.get("execution_result_flush_duration").timer().count());
+        assertEquals(2.0, meterRegistry.get("execution_result_flush_batch_size").summary().totalAmount());
+    }
+
+    @Test
+    void fullBatchIsFlushedByTheWritingThread() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        workerProperties.getWriteBehind().setMaxBatchSize(2);
+        ExecutionResult first = success();
+        ExecutionResult second = success();
+        when(executionService.updateExecutionsWithResults(anyList()))
+            .thenReturn(Set.of(first.getExecutionId(), second.getExecutionId()));
+
+        // When
+        writer.write(executionOf(first), first);
+        CompletableFuture<Boolean> written = writer.write(executionOf(second), second);
+
+        // Then
+        assertTrue(written.isDone());
+        assertEquals(0, writer.getBuffered());
+    }
+
+    @Test
+    void fullBufferWritesOnTheSubmittingThread() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        workerProperties.getWriteBehind().setMaxBuffered(1);
+        ExecutionResult buffered = success();
+        ExecutionResult overflow = success();
+        when(executionService.updateExecutionWithResult(overflow)).thenReturn(true);
+
+        // When
+        CompletableFuture<Boolean> first = writer.write(executionOf(buffered), buffered);
+        CompletableFuture<Boolean> second = writer.write(executionOf(overflow), overflow);
+
+        // Then
+        assertFalse(first.isDone());
+        assertTrue(second.join());
+        assertEquals(1, writer.getBuffered());
+        assertEquals(1.0, meterRegistry.get("execution_result_buffer_overflows_total").counter().count());
+    }
+
+    @Test
+    void failedOverflowWriteFailsItsFuture() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        workerProperties.getWriteBehind().setMaxBuffered(0);
+        ExecutionResult result = success();
+        when(executionService.updateExecutionWithResult(result)).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // Then
+        assertTrue(written.isCompletedExceptionally());
+        assertEquals(0, writer.getBuffered());
+    }
+
+    @Test
+    void appendsLeaveRetriesToTheScheduledFlushWhileFlushesFail() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        workerProperties.getWriteBehind().setMaxBatchSize(1);
+        ExecutionResult first = success();
+        ExecutionResult second = success();
+        when(executionService.updateExecutionsWithResults(anyList()))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(Set.of(first.getExecutionId(), second.getExecutionId()));
+
+        // When
+        writer.write(executionOf(first), first);
+        CompletableFuture<Boolean> written = writer.write(executionOf(second), second);
+
+        // Then
+        assertFalse(written.isDone());
+        assertEquals(2, writer.getBuffered());
+        verify(executionService, times(1)).updateExecutionsWithResults(anyList());
+
+        writer.flush();
+        assertTrue(written.join());
+        assertEquals(0, writer.getBuffered());
+    }
+
+    @Test
+    void failedFlushKeepsTheResultsForTheNextFlush() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        ExecutionResult result = success();
+        when(executionService.updateExecutionsWithResults(anyList()))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(Set.of(result.getExecutionId()));
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // When
+        writer.flush();
+
+        // Then
+        assertFalse(written.isDone());
+        assertEquals(1, writer.getBuffered());
+        assertEquals(1.0, meterRegistry.get("execution_result_flush_failures_total").counter().count());
+
+        writer.flush();
+        assertTrue(written.join());
+        assertEquals(0, writer.getBuffered());
+    }
+
+    @Test
+    void resultsFailOnceTheirFlushAttemptsRunOut() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        workerProperties.getWriteBehind().setMaxFlushAttempts(2);
+        when(executionService.updateExecutionsWithResults(anyList())).thenThrow(new IllegalStateException("db down"));
+        ExecutionResult result = success();
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // When
+        writer.flush();
+        writer.flush();
+
+        // Then
+        assertTrue(written.isCompletedExceptionally());
+        assertEquals(0, writer.getBuffered());
+        assertEquals(2.0, meterRegistry.get("execution_result_flush_failures_total").counter().count());
+    }
+
+    @Test
+    void shutdownFlushRetriesFailedResults() {
+        // Given
+        workerProperties.getWriteBehind().setEnabled(true);
+        ExecutionResult result = success();
+        when(executionService.updateExecutionsWithResults(anyList()))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(Set.of(result.getExecutionId()));
+        CompletableFuture<Boolean> written = writer.write(executionOf(result), result);
+
+        // When
+        writer.flushOnShutdown();
+
+        // Then
+        assertTrue(written.join());
+    }
+
+    @Test
+    void flushWithEmptyBufferSkipsDatabase() {
+        // When
+        writer.flush();
+
+        // Then
+        verifyNoInteractions(executionService);
+    }
+
+    private static Execution executionOf(ExecutionResult result) {
+        Execution execution = new Execution();
+        execution.setId(result.getExecutionId());
+        execution.setCorrelationId(UUID.randomUUID());
+        return execution;
+    }
+
+    private static ExecutionResult success() {
+        return ExecutionResult.success(UUID.randomUUID(), Map.of("ok", true), LocalDateTime.now());
+    }
+}
@@ -3,9 +3,10 @@ package area.server.AREA_Back.service.Area;
 import area.server.AREA_Back.dto.AreaEventMessage;
 import area.server.AREA_Back.entity.*;
 import area.server.AREA_Back.entity.enums.ActivationModeType;
+import area.server.AREA_Back.entity.enums.DedupStrategy;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
-import area.server.AREA_Back.repository.ActionLinkRepository;
-import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,17 +28,19 @@ class ExecutionTriggerServiceTest {
     private ExecutionService executionService;
 
     @Mock
-    private RedisEventService redisEventService;
+    private EventOutboxService eventOutboxService;
 
     @Mock
-    private ActionLinkRepository actionLinkRepository;
+    private ExecutionGraphService executionGraphService;
+
+    @Mock
+    private ActivationModeRepository activationModeRepository;
 
     @InjectMocks
     private ExecutionTriggerService executionTriggerService;
 
     private Area area;
     private ActionInstance actionInstance;
-    private ActionInstance targetActionInstance;
     private ActionDefinition actionDefinition;
     private Execution execution;
     private Map<String, Object> inputPayload;
@@ -65,14 +68,6 @@ class ExecutionTriggerServiceTest {
         actionInstance.setParams(new HashMap<>());
         actionInstance.setEnabled(true);
 
-        targetActionInstance = new ActionInstance();
-        targetActionInstance.setId(UUID.randomUUID());
-        targetActionInstance.setName("Target Action");
-        targetActionInstance.setArea(area);
-        targetActionInstance.setActionDefinition(actionDefinition);
-        targetActionInstance.setParams(new HashMap<>());
-        targetActionInstance.setEnabled(true);
-
         execution = new Execution();
         execution.setId(UUID.randomUUID());
         execution.setActionInstance(actionInstance);
@@ -88,11 +83,9 @@ class ExecutionTriggerServiceTest {
     @Test
     void triggerAreaExecution_WithManualActivation_ShouldCreateExecutionAndPublishEvent() {
         // Given
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -101,16 +94,15 @@ class ExecutionTriggerServiceTest {
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.MANUAL, inputPayload);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId());
-        verify(executionService).createExecutionWithActivationType(
+        verify(executionService).createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         );
 
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals(execution.getId(), capturedMessage.getExecutionId());
@@ -125,11 +117,9 @@ class ExecutionTriggerServiceTest {
     @Test
     void triggerAreaExecution_WithWebhookActivation_ShouldCreateExecutionWithWebhookType() {
         // Given
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.WEBHOOK),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -138,42 +128,26 @@ class ExecutionTriggerServiceTest {
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.WEBHOOK, inputPayload);
 
         // Then
-        verify(executionService).createExecutionWithActivationType(
+        verify(executionService).createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.WEBHOOK),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         );
 
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals("webhook", capturedMessage.getEventType());
     }
 
     @Test
-    void triggerAreaExecution_WithLinkedActions_ShouldTriggerLinkedReactions() {
+    void triggerAreaExecution_ShouldStartGraphRunWithRootExecution() {
         // Given
-        // Make source action event-only (not executable)
-        ActionDefinition eventOnlyDef = new ActionDefinition();
-        eventOnlyDef.setId(UUID.randomUUID());
-        eventOnlyDef.setKey("test.event");
-        eventOnlyDef.setIsExecutable(false);
-        actionInstance.setActionDefinition(eventOnlyDef);
-        
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-        actionLink.setTargetActionInstance(targetActionInstance);
-        actionLink.setArea(area);
-
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(new ArrayList<>(List.of(actionLink)));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(targetActionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
-                eq(targetActionInstance),
-                eq(ActivationModeType.CHAIN),
+        when(executionService.createDedupedExecution(
+                eq(actionInstance),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -182,155 +156,101 @@ class ExecutionTriggerServiceTest {
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.WEBHOOK, inputPayload);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId());
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(targetActionInstance.getId());
-        
-        // Should not create execution for the source action (event-only)
-        verify(executionService, never()).createExecutionWithActivationType(
+        ArgumentCaptor<UUID> correlationCaptor = ArgumentCaptor.forClass(UUID.class);
+        verify(executionService).createDedupedExecution(
                 eq(actionInstance),
-                any(),
-                any(),
-                any()
-        );
-        
-        // Should create execution for the target action
-        verify(executionService).createExecutionWithActivationType(
-                eq(targetActionInstance),
-                eq(ActivationModeType.CHAIN),
+                isNull(),
                 eq(inputPayload),
-                any(UUID.class)
+                correlationCaptor.capture()
         );
-        
-        // Should publish event only for the target action
-        verify(redisEventService, times(1)).publishAreaEvent(any(AreaEventMessage.class));
+        verify(executionGraphService).startRun(actionInstance, execution, inputPayload, correlationCaptor.getValue());
     }
 
     @Test
-    void triggerAreaExecution_WithMultipleLinkedActions_ShouldTriggerAllReactions() {
+    void triggerAreaExecution_WithEventOnlyAction_ShouldStartGraphRunWithoutExecution() {
         // Given
-        // Make source action event-only (not executable)
         ActionDefinition eventOnlyDef = new ActionDefinition();
         eventOnlyDef.setId(UUID.randomUUID());
         eventOnlyDef.setKey("test.event");
         eventOnlyDef.setIsExecutable(false);
         actionInstance.setActionDefinition(eventOnlyDef);
-        
-        ActionInstance targetAction2 = new ActionInstance();
-        targetAction2.setId(UUID.randomUUID());
-        targetAction2.setName("Target Action 2");
-        targetAction2.setArea(area);
-        targetAction2.setActionDefinition(actionDefinition);
-        targetAction2.setEnabled(true);
-
-        ActionLink actionLink1 = new ActionLink();
-        actionLink1.setSourceActionInstance(actionInstance);
-        actionLink1.setTargetActionInstance(targetActionInstance);
-        actionLink1.setArea(area);
-
-        ActionLink actionLink2 = new ActionLink();
-        actionLink2.setSourceActionInstance(actionInstance);
-        actionLink2.setTargetActionInstance(targetAction2);
-        actionLink2.setArea(area);
-
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(new ArrayList<>(List.of(actionLink1, actionLink2)));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(targetActionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(targetAction2.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
-                any(ActionInstance.class),
-                eq(ActivationModeType.CHAIN),
-                eq(inputPayload),
-                any(UUID.class)
-        )).thenReturn(execution);
+        when(executionService.claimDedupKey(eq(actionInstance), isNull(), eq(inputPayload), any(UUID.class)))
+                .thenReturn(true);
 
         // When
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.WEBHOOK, inputPayload);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId());
-        verify(executionService, times(2)).createExecutionWithActivationType(
-                any(ActionInstance.class),
-                eq(ActivationModeType.CHAIN),
+        verify(executionService, never()).createDedupedExecution(any(), any(), any(), any());
+        verify(eventOutboxService, never()).enqueue(any(AreaEventMessage.class));
+        verify(executionGraphService).startRun(eq(actionInstance), isNull(), eq(inputPayload), any(UUID.class));
+    }
+
+    @Test
+    void triggerAreaExecution_WithDuplicateEvent_ShouldSkipRun() {
+        // Given
+        ActivationMode pollMode = new ActivationMode();
+        pollMode.setType(ActivationModeType.POLL);
+        pollMode.setDedup(DedupStrategy.BY_PAYLOAD_HASH);
+        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(
+                actionInstance, ActivationModeType.POLL, true)).thenReturn(List.of(pollMode));
+        when(executionService.createDedupedExecution(
+                eq(actionInstance),
+                eq(pollMode),
                 eq(inputPayload),
                 any(UUID.class)
-        );
-        verify(redisEventService, times(2)).publishAreaEvent(any(AreaEventMessage.class));
+        )).thenReturn(null);
+
+        // When
+        executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.POLL, inputPayload);
+
+        // Then
+        verify(eventOutboxService, never()).enqueue(any(AreaEventMessage.class));
+        verify(executionGraphService, never()).startRun(any(), any(), any(), any());
     }
 
     @Test
-    void triggerAreaExecution_WithLinkedActionFailure_ShouldContinueWithOtherReactions() {
+    void triggerAreaExecution_WithDuplicateEventOnlyTrigger_ShouldSkipRun() {
         // Given
-        // Make source action event-only (not executable)
         ActionDefinition eventOnlyDef = new ActionDefinition();
         eventOnlyDef.setId(UUID.randomUUID());
         eventOnlyDef.setKey("test.event");
         eventOnlyDef.setIsExecutable(false);
         actionInstance.setActionDefinition(eventOnlyDef);
-        
-        ActionInstance targetAction2 = new ActionInstance();
-        targetAction2.setId(UUID.randomUUID());
-        targetAction2.setName("Target Action 2");
-        targetAction2.setArea(area);
-        targetAction2.setActionDefinition(actionDefinition);
-        targetAction2.setEnabled(true);
-
-        ActionLink actionLink1 = new ActionLink();
-        actionLink1.setSourceActionInstance(actionInstance);
-        actionLink1.setTargetActionInstance(targetActionInstance);
-        actionLink1.setArea(area);
-
-        ActionLink actionLink2 = new ActionLink();
-        actionLink2.setSourceActionInstance(actionInstance);
-        actionLink2.setTargetActionInstance(targetAction2);
-        actionLink2.setArea(area);
-
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(new ArrayList<>(List.of(actionLink1, actionLink2)));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(targetActionInstance.getId()))
-                .thenThrow(new RuntimeException("Test error"));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(targetAction2.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
-                eq(targetActionInstance),
-                eq(ActivationModeType.CHAIN),
-                eq(inputPayload),
-                any(UUID.class)
-        )).thenReturn(execution);
-        when(executionService.createExecutionWithActivationType(
-                eq(targetAction2),
-                eq(ActivationModeType.CHAIN),
-                eq(inputPayload),
-                any(UUID.class)
-        )).thenReturn(execution);
+        when(executionService.claimDedupKey(eq(actionInstance), isNull(), eq(inputPayload), any(UUID.class)))
+                .thenReturn(false);
 
         // When
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.WEBHOOK, inputPayload);
 
         // Then
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId());
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(targetActionInstance.getId());
-        verify(actionLinkRepository).findBySourceActionInstanceIdWithTargetFetch(targetAction2.getId());
-        
-        // Should still process the second action despite first failure
-        verify(executionService).createExecutionWithActivationType(
-                eq(targetAction2),
-                eq(ActivationModeType.CHAIN),
+        verify(executionGraphService, never()).startRun(any(), any(), any(), any());
+    }
+
+    @Test
+    void triggerAreaExecution_WhenGraphRunFails_ShouldThrow() {
+        // Given
+        when(executionService.createDedupedExecution(
+                eq(actionInstance),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
-        );
+        )).thenReturn(execution);
+        doThrow(new RuntimeException("Test error")).when(executionGraphService)
+                .startRun(any(), any(), any(), any());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () ->
+                executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.WEBHOOK, inputPayload));
     }
 
     @Test
     void triggerAreaExecution_WithEmptyPayload_ShouldWork() {
         // Given
         Map<String, Object> emptyPayload = new HashMap<>();
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(emptyPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -339,21 +259,21 @@ class ExecutionTriggerServiceTest {
         executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.MANUAL, emptyPayload);
 
         // Then
-        verify(executionService).createExecutionWithActivationType(
+        verify(executionService).createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(emptyPayload),
                 any(UUID.class)
         );
-        verify(redisEventService).publishAreaEvent(any(AreaEventMessage.class));
+        verify(eventOutboxService).enqueue(any(AreaEventMessage.class));
     }
 
     @Test
     void triggerAreaExecution_WhenExecutionServiceFails_ShouldThrowException() {
         // Given
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenThrow(new RuntimeException("Database error"));
@@ -363,20 +283,20 @@ class ExecutionTriggerServiceTest {
             executionTriggerService.triggerAreaExecution(actionInstance, ActivationModeType.MANUAL, inputPayload)
         );
 
-        verify(redisEventService, never()).publishAreaEvent(any());
+        verify(eventOutboxService, never()).enqueue(any());
     }
 
     @Test
-    void triggerAreaExecution_WhenRedisServiceFails_ShouldThrowException() {
+    void triggerAreaExecution_WhenOutboxFails_ShouldThrowException() {
         // Given
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
-        doThrow(new RuntimeException("Redis connection error"))
-                .when(redisEventService).publishAreaEvent(any());
+        doThrow(new RuntimeException("Outbox insert failed"))
+                .when(eventOutboxService).enqueue(any());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> 
@@ -410,7 +330,7 @@ class ExecutionTriggerServiceTest {
         );
 
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals(execution.getId(), capturedMessage.getExecutionId());
@@ -444,7 +364,7 @@ class ExecutionTriggerServiceTest {
                 eq(emptyPayload),
                 any(UUID.class)
         );
-        verify(redisEventService).publishAreaEvent(any(AreaEventMessage.class));
+        verify(eventOutboxService).enqueue(any(AreaEventMessage.class));
     }
 
     @Test
@@ -463,11 +383,11 @@ class ExecutionTriggerServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Failed to trigger manual execution"));
-        verify(redisEventService, never()).publishAreaEvent(any());
+        verify(eventOutboxService, never()).enqueue(any());
     }
 
     @Test
-    void triggerManualExecution_WhenRedisServiceFails_ShouldThrowException() {
+    void triggerManualExecution_WhenOutboxFails_ShouldThrowException() {
         // Given
         when(executionService.createExecutionWithActivationType(
                 any(),
@@ -475,8 +395,8 @@ class ExecutionTriggerServiceTest {
                 any(),
                 any()
         )).thenReturn(execution);
-        doThrow(new RuntimeException("Redis connection error"))
-                .when(redisEventService).publishAreaEvent(any());
+        doThrow(new RuntimeException("Outbox insert failed"))
+                .when(eventOutboxService).enqueue(any());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> 
@@ -509,7 +429,7 @@ class ExecutionTriggerServiceTest {
         );
 
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertNull(capturedMessage.getPayload());
@@ -518,11 +438,9 @@ class ExecutionTriggerServiceTest {
     @Test
     void triggerAreaExecution_WithCronActivation_ShouldUseCorrectEventType() {
         // Given
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.CRON),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -532,7 +450,7 @@ class ExecutionTriggerServiceTest {
 
         // Then
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals("cron", capturedMessage.getEventType());
@@ -541,11 +459,9 @@ class ExecutionTriggerServiceTest {
     @Test
     void triggerAreaExecution_WithPollActivation_ShouldUseCorrectEventType() {
         // Given
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.POLL),
+                isNull(),
                 eq(inputPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -555,7 +471,7 @@ class ExecutionTriggerServiceTest {
 
         // Then
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals("poll", capturedMessage.getEventType());
@@ -569,11 +485,9 @@ class ExecutionTriggerServiceTest {
         complexPayload.put("items", List.of("item1", "item2", "item3"));
         complexPayload.put("metadata", Map.of("timestamp", 1234567890L, "version", "1.0"));
 
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-                .thenReturn(Collections.emptyList());
-        when(executionService.createExecutionWithActivationType(
+        when(executionService.createDedupedExecution(
                 eq(actionInstance),
-                eq(ActivationModeType.MANUAL),
+                isNull(),
                 eq(complexPayload),
                 any(UUID.class)
         )).thenReturn(execution);
@@ -583,7 +497,7 @@ class ExecutionTriggerServiceTest {
 
         // Then
         ArgumentCaptor<AreaEventMessage> messageCaptor = ArgumentCaptor.forClass(AreaEventMessage.class);
-        verify(redisEventService).publishAreaEvent(messageCaptor.capture());
+        verify(eventOutboxService).enqueue(messageCaptor.capture());
 
         AreaEventMessage capturedMessage = messageCaptor.getValue();
         assertEquals(complexPayload, capturedMessage.getPayload());
@@ -0,0 +1,259 @@
+package area.server.AREA_Back.service;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.AreaEventMessage;
+import area.server.AREA_Back.dto.DeadLetterFilter;
+import area.server.AREA_Back.dto.DeadLetterReplayJob;
+import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.Area;
+import area.server.AREA_Back.entity.DeadLetter;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionInstanceRepository;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.repository.DeadLetterRepository;
+import area.server.AREA_Back.repository.ExecutionRepository;
+import area.server.AREA_Back.service.Area.DeadLetterService;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DeadLetterServiceTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private ExecutionRepository executionRepository;
+
+    @Mock
+    private ActionInstanceRepository actionInstanceRepository;
+
+    @Mock
+    private ActivationModeRepository activationModeRepository;
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final List<Instant> scheduledAt = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkerProperties workerProperties;
+    private DeadLetterService deadLetterService;
+    private ActionInstance actionInstance;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workerProperties = new WorkerProperties();
+        workerProperties.getDeadLetter().setReplayBatchSize(2);
+        workerProperties.getDeadLetter().setReplayBatchDelayMs(0);
+        deadLetterService = new DeadLetterService(deadLetterRepository, executionRepository,
+            actionInstanceRepository, activationModeRepository, eventOutboxService, transactionTemplate,
+            taskScheduler, workerProperties, meterRegistry);
+        deadLetterService.initMetrics();
+
+        Area area = new Area();
+        area.setId(UUID.randomUUID());
+        actionInstance = new ActionInstance();
+        actionInstance.setId(UUID.randomUUID());
+        actionInstance.setArea(area);
+        actionInstance.setEnabled(true);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(executionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Execution> saved = new ArrayList<>(invocation.getArgument(0));
+            saved.forEach(execution -> execution.setId(UUID.randomUUID()));
+            return saved;
+        });
+        when(actionInstanceRepository.findAllById(any())).thenReturn(List.of(actionInstance));
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            scheduledAt.add(invocation.getArgument(1));
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        });
+    }
+
+    private DeadLetter deadLetter(UUID actionInstanceId) {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setId(UUID.randomUUID());
+        deadLetter.setExecutionId(UUID.randomUUID());
+        deadLetter.setActionInstanceId(actionInstanceId);
+        deadLetter.setPayload(Map.of("text", "hello"));
+        deadLetter.setCorrelationId(UUID.randomUUID());
+        return deadLetter;
+    }
+
+    private void givenDeadLetters(List<DeadLetter> deadLetters) {
+        when(deadLetterRepository.search(any(), any(), any(), any(), any(), any(), anyBoolean(), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(deadLetters));
+    }
+
+    @Test
+    void moveFailedExecutionsCountsMovedRows() {
+        // Given
+        LocalDateTime before = LocalDateTime.now();
+        when(deadLetterRepository.moveFailedExecutions(before, 500))
+            .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        // When
+        int moved = deadLetterService.moveFailedExecutions(before, 500);
+
+        // Then
+        assertEquals(2, moved);
+        assertEquals(2.0, meterRegistry.counter("area_dead_letters_moved_total").count());
+    }
+
+    @Test
+    void replayRequeuesDeadLettersInBatches() {
+        // Given
+        givenDeadLetters(List.of(deadLetter(actionInstance.getId()), deadLetter(actionInstance.getId()),
+            deadLetter(actionInstance.getId())));
+
+        workerProperties.getDeadLetter().setReplayBatchDelayMs(500);
+
+        // When
+        DeadLetterReplayJob result = deadLetterService.startReplay(new DeadLetterFilter(), 100);
+
+        // Then
+        assertEquals(DeadLetterReplayJob.Status.COMPLETED, result.getStatus());
+        assertEquals(3, result.getMatched());
+        assertEquals(3, result.getReplayed());
+        assertEquals(0, result.getSkipped());
+        assertEquals(2, result.getBatches());
+        assertEquals(2, scheduledAt.size());
+        assertTrue(scheduledAt.get(1).isAfter(scheduledAt.get(0).plusMillis(400)));
+        assertEquals(result, deadLetterService.getReplayJob(result.getId()).orElseThrow());
+        verify(executionRepository, times(2)).saveAll(anyList());
+        verify(eventOutboxService, times(2)).enqueueAll(anyList());
+        assertEquals(3.0, meterRegistry.counter("area_dead_letters_replayed_total").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayCreatesQueuedExecutionAndMarksDeadLetter() {
+        // Given
+        DeadLetter deadLetter = deadLetter(actionInstance.getId());
+        givenDeadLetters(List.of(deadLetter));
+
+        // When
+        deadLetterService.startReplay(new DeadLetterFilter(), 100);
+
+        // Then
+        ArgumentCaptor<List<Execution>> executions = ArgumentCaptor.forClass(List.class);
+        verify(executionRepository).saveAll(executions.capture());
+        Execution execution = executions.getValue().get(0);
+        assertEquals(ExecutionStatus.QUEUED, execution.getStatus());
+        assertEquals(0, execution.getAttempt());
+        assertEquals(deadLetter.getPayload(), execution.getInputPayload());
+        assertEquals(deadLetter.getCorrelationId(), execution.getCorrelationId());
+        assertNotNull(deadLetter.getReplayedAt());
+        assertEquals(execution.getId(), deadLetter.getReplayExecutionId());
+        assertEquals(1, deadLetter.getReplayCount());
+    }
+
+    @Test
+    void replaySkipsDeadLettersWithoutActionInstance() {
+        // Given
+        givenDeadLetters(List.of(deadLetter(UUID.randomUUID())));
+
+        // When
+        DeadLetterReplayJob result = deadLetterService.startReplay(new DeadLetterFilter(), 100);
+
+        // Then
+        assertEquals(0, result.getReplayed());
+        assertEquals(1, result.getSkipped());
+        verify(executionRepository, never()).saveAll(anyList());
+        verify(eventOutboxService, never()).enqueueAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayQueuesEventsInTheReplayTransaction() {
+        // Given
+        givenDeadLetters(List.of(deadLetter(actionInstance.getId()), deadLetter(actionInstance.getId())));
+
+        // When
+        DeadLetterReplayJob result = deadLetterService.startReplay(new DeadLetterFilter(), 100);
+
+        // Then
+        assertEquals(2, result.getReplayed());
+        ArgumentCaptor<List<AreaEventMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(eventOutboxService).enqueueAll(messages.capture());
+        assertEquals(2, messages.getValue().size());
+        assertEquals("replay", messages.getValue().get(0).getEventType());
+        assertEquals("dead_letter_replay", messages.getValue().get(0).getSource());
+    }
+
+    @Test
+    void replayIsRolledBackWhenOutboxFails() {
+        // Given
+        givenDeadLetters(List.of(deadLetter(actionInstance.getId())));
+        doThrow(new RuntimeException("Outbox insert failed")).when(eventOutboxService).enqueueAll(anyList());
+
+        // When
+        DeadLetterReplayJob result = deadLetterService.startReplay(new DeadLetterFilter(), 100);
+
+        // Then
+        assertEquals(DeadLetterReplayJob.Status.FAILED, result.getStatus());
+        assertEquals("Outbox insert failed", result.getError());
+        verify(deadLetterRepository).saveAll(anyList());
+    }
+
+    @Test
+    void replayCapsRequestedLimit() {
+        // Given
+        workerProperties.getDeadLetter().setReplayMax(10);
+        givenDeadLetters(List.of());
+
+        // When
+        deadLetterService.startReplay(new DeadLetterFilter(), 100_000);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(deadLetterRepository).search(any(), any(), any(), any(), any(), any(), eq(false), pageable.capture());
+        assertEquals(10, pageable.getValue().getPageSize());
+    }
+}
@@ -0,0 +1,396 @@
+package area.server.AREA_Back.service;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.entity.ActionDefinition;
+import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.ActionLink;
+import area.server.AREA_Back.entity.ActivationMode;
+import area.server.AREA_Back.entity.Area;
+import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.ExecutionRun;
+import area.server.AREA_Back.entity.enums.ActivationModeType;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionLinkRepository;
+import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.repository.ExecutionRepository;
+import area.server.AREA_Back.repository.ExecutionRunRepository;
+import area.server.AREA_Back.service.Area.ExecutionGraphService;
+import area.server.AREA_Back.service.Area.ExecutionService;
+import area.server.AREA_Back.service.Redis.EventLane;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExecutionGraphServiceTest {
+
+    @Mock
+    private ExecutionRunRepository executionRunRepository;
+
+    @Mock
+    private ActionLinkRepository actionLinkRepository;
+
+    @Mock
+    private ActivationModeRepository activationModeRepository;
+
+    @Mock
+    private ExecutionRepository executionRepository;
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    private ExecutionGraphService executionGraphService;
+    private SimpleMeterRegistry meterRegistry;
+    private Area area;
+    private ActionDefinition executable;
+    private ActionInstance trigger;
+    private List<ActionLink> links;
+    private Map<UUID, Map<String, Object>> enqueued;
+    private ExecutionRun storedRun;
+    private UUID correlationId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executionGraphService = new ExecutionGraphService(executionRunRepository, actionLinkRepository,
+            activationModeRepository, executionRepository, executionService, eventOutboxService,
+            new DataMappingService(), new WorkerProperties(), meterRegistry);
+        executionGraphService.initMetrics();
+
+        area = new Area();
+        area.setId(UUID.randomUUID());
+
+        ActionDefinition eventOnly = new ActionDefinition();
+        eventOnly.setIsExecutable(false);
+        executable = new ActionDefinition();
+        executable.setIsExecutable(true);
+
+        trigger = instance("trigger", eventOnly);
+        links = new ArrayList<>();
+        enqueued = new HashMap<>();
+        correlationId = UUID.randomUUID();
+
+        when(actionLinkRepository.findByAreaIdWithTargetFetch(area.getId())).thenReturn(links);
+        when(executionService.createExecutionsBatch(anyList())).thenAnswer(invocation -> {
+            List<Execution> executions = invocation.getArgument(0);
+            for (Execution execution : executions) {
+                execution.setId(UUID.randomUUID());
+                enqueued.put(execution.getActionInstance().getId(), execution.getInputPayload());
+            }
+            return executions;
+        });
+        when(executionRunRepository.save(any(ExecutionRun.class))).thenAnswer(invocation -> {
+            storedRun = invocation.getArgument(0);
+            return storedRun;
+        });
+        when(executionRunRepository.findByIdForUpdate(correlationId))
+            .thenAnswer(invocation -> Optional.ofNullable(storedRun));
+        when(executionRunRepository.existsById(correlationId)).thenAnswer(invocation -> storedRun != null);
+    }
+
+    @Test
+    void startRunEnqueuesIndependentBranchesTogether() {
+        // Given
+        ActionInstance slack = instance("slack", executable);
+        ActionInstance github = instance("github", executable);
+        link(trigger, slack, null, null);
+        link(trigger, github, null, null);
+
+        // When
+        executionGraphService.startRun(trigger, null, Map.of("title", "Bug"), correlationId);
+
+        // Then
+        assertEquals(Map.of("title", "Bug"), enqueued.get(slack.getId()));
+        assertEquals(Map.of("title", "Bug"), enqueued.get(github.getId()));
+        verify(executionService, times(1)).createExecutionsBatch(anyList());
+        verify(eventOutboxService, times(1)).enqueueAll(argThat(messages -> messages.size() == 2));
+        assertEquals(2, storedRun.getPendingNodes());
+        assertEquals(1.0, meterRegistry.counter("area_graph_runs_started_total").count());
+    }
+
+    @Test
+    void startRunPublishesTheRootsSuccessorsOnTheTriggerLane() {
+        // Given
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, slack, null, null);
+
+        // When
+        List<Execution> queued = executionGraphService.startRun(trigger, null, Map.of("title", "Bug"), correlationId,
+            EventLane.WEBHOOK);
+
+        // Then
+        assertEquals(1, queued.size());
+        assertEquals(slack.getId(), queued.get(0).getActionInstance().getId());
+        verify(eventOutboxService).enqueueAll(argThat(messages ->
+            messages.size() == 1 && EventLane.WEBHOOK.getKey().equals(messages.get(0).getEventType())));
+    }
+
+    @Test
+    void startRunWithoutLinksCreatesNoRun() {
+        // When
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+
+        // Then
+        verify(executionRunRepository, never()).save(any());
+        verify(executionService, never()).createExecutionsBatch(anyList());
+    }
+
+    @Test
+    void startRunWithRootExecutionWaitsForItsResult() {
+        // Given
+        ActionInstance root = instance("root", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(root, slack, null, null);
+        Execution rootExecution = execution(root);
+
+        // When
+        executionGraphService.startRun(root, rootExecution, Map.of(), correlationId);
+        executionGraphService.onExecutionFinished(rootExecution, ExecutionStatus.OK, Map.of("id", 42));
+
+        // Then
+        assertEquals(Map.of("id", 42), enqueued.get(slack.getId()));
+        assertEquals(1, storedRun.getPendingNodes());
+    }
+
+    @Test
+    void releasedExecutionsUseTheTargetChainActivationMode() {
+        // Given
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, slack, null, null);
+        ActivationMode chainMode = new ActivationMode();
+        chainMode.setId(UUID.randomUUID());
+        chainMode.setActionInstance(slack);
+        chainMode.setType(ActivationModeType.CHAIN);
+        when(activationModeRepository.findEnabledByActionInstanceIdsAndType(List.of(slack.getId()),
+            ActivationModeType.CHAIN)).thenReturn(List.of(chainMode));
+
+        // When
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+
+        // Then
+        verify(executionService).createExecutionsBatch(
+            argThat(executions -> executions.get(0).getActivationMode() == chainMode));
+    }
+
+    @Test
+    void linkMappingShapesTargetInput() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        link(trigger, github, Map.of("title", "issue.title"), null);
+
+        // When
+        executionGraphService.startRun(trigger, null, Map.of("issue", Map.of("title", "Bug")), correlationId);
+
+        // Then
+        assertEquals(Map.of("title", "Bug"), enqueued.get(github.getId()));
+    }
+
+    @Test
+    void unmetConditionSkipsTargetAndItsSuccessors() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, github, null, Map.of("field", "status", "operator", "equals", "value", "open"));
+        link(github, slack, null, null);
+
+        // When
+        executionGraphService.startRun(trigger, null, Map.of("status", "closed"), correlationId);
+
+        // Then
+        verify(executionService, never()).createExecutionsBatch(anyList());
+        verify(executionRunRepository, never()).save(any());
+        assertEquals(2.0, meterRegistry.counter("area_graph_nodes_skipped_total").count());
+        assertEquals(1.0, meterRegistry.counter("area_graph_runs_completed_total").count());
+    }
+
+    @Test
+    void fanInWaitsForAllPredecessorsAndMergesTheirOutputs() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        ActionInstance jira = instance("jira", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, github, null, null);
+        link(trigger, jira, null, null);
+        link(github, slack, Map.of("issue", "url"), null);
+        link(jira, slack, Map.of("ticket", "key"), null);
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+
+        // When
+        executionGraphService.onExecutionFinished(execution(github), ExecutionStatus.OK, Map.of("url", "gh/1"));
+
+        // Then
+        assertNull(enqueued.get(slack.getId()));
+
+        // When
+        executionGraphService.onExecutionFinished(execution(jira), ExecutionStatus.OK, Map.of("key", "AR-7"));
+
+        // Then
+        assertEquals(Map.of("issue", "gh/1", "ticket", "AR-7"), enqueued.get(slack.getId()));
+        assertEquals(1, storedRun.getPendingNodes());
+        assertEquals(Map.of(), storedRun.getJoins());
+    }
+
+    @Test
+    void fanInRunsWithSurvivingInputsWhenOnePredecessorFails() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        ActionInstance jira = instance("jira", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, github, null, null);
+        link(trigger, jira, null, null);
+        link(github, slack, Map.of("issue", "url"), null);
+        link(jira, slack, Map.of("ticket", "key"), null);
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+
+        // When
+        executionGraphService.onExecutionFinished(execution(github), ExecutionStatus.FAILED, null);
+        executionGraphService.onExecutionFinished(execution(jira), ExecutionStatus.OK, Map.of("key", "AR-7"));
+
+        // Then
+        assertEquals(Map.of("ticket", "AR-7"), enqueued.get(slack.getId()));
+    }
+
+    @Test
+    void runCompletesWhenLastNodeFinishes() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        link(trigger, github, null, null);
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+
+        // When
+        executionGraphService.onExecutionFinished(execution(github), ExecutionStatus.OK, Map.of());
+
+        // Then
+        verify(executionRunRepository).deleteById(correlationId);
+        assertEquals(1.0, meterRegistry.counter("area_graph_runs_completed_total").count());
+    }
+
+    @Test
+    void duplicateCompletionIsIgnored() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, github, null, null);
+        link(github, slack, null, null);
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+        Execution githubExecution = execution(github);
+
+        // When
+        executionGraphService.onExecutionFinished(githubExecution, ExecutionStatus.OK, Map.of());
+        executionGraphService.onExecutionFinished(githubExecution, ExecutionStatus.OK, Map.of());
+
+        // Then
+        verify(executionService, times(2)).createExecutionsBatch(anyList());
+        assertEquals(2, enqueued.size());
+        assertEquals(1, storedRun.getPendingNodes());
+    }
+
+    @Test
+    void linkClosingACycleIsIgnored() {
+        // Given
+        ActionInstance github = instance("github", executable);
+        ActionInstance slack = instance("slack", executable);
+        link(trigger, github, null, null);
+        link(github, slack, null, null);
+        link(slack, github, null, null);
+
+        // When
+        executionGraphService.startRun(trigger, null, Map.of(), correlationId);
+        executionGraphService.onExecutionFinished(execution(github), ExecutionStatus.OK, Map.of());
+        executionGraphService.onExecutionFinished(execution(slack), ExecutionStatus.OK, Map.of());
+
+        // Then
+        verify(executionService, times(2)).createExecutionsBatch(anyList());
+        assertEquals(2, enqueued.size());
+        verify(executionRunRepository).deleteById(correlationId);
+    }
+
+    @Test
+    void finishedExecutionWithoutRunIsIgnored() {
+        // Given
+        ActionInstance github = instance("github", executable);
+
+        // When
+        executionGraphService.onExecutionFinished(execution(github), ExecutionStatus.OK, Map.of());
+
+        // Then
+        verify(actionLinkRepository, never()).findByAreaIdWithTargetFetch(any());
+    }
+
+    @Test
+    void purgeDeletesRunsOlderThanStaleRunHours() {
+        // Given
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(executionRunRepository.deleteStaleRuns(before.capture())).thenReturn(3);
+        LocalDateTime start = LocalDateTime.now();
+
+        // When
+        int purged = executionGraphService.purgeStaleRuns();
+
+        // Then
+        assertEquals(3, purged);
+        assertFalse(before.getValue().isBefore(start.minusHours(24)));
+        assertFalse(before.getValue().isAfter(LocalDateTime.now().minusHours(24)));
+    }
+
+    private ActionInstance instance(String name, ActionDefinition definition) {
+        ActionInstance instance = new ActionInstance();
+        instance.setId(UUID.randomUUID());
+        instance.setName(name);
+        instance.setArea(area);
+        instance.setActionDefinition(definition);
+        instance.setEnabled(true);
+        return instance;
+    }
+
+    private void link(ActionInstance source, ActionInstance target, Map<String, Object> mapping,
+                      Map<String, Object> condition) {
+        ActionLink link = new ActionLink();
+        link.setSourceActionInstance(source);
+        link.setTargetActionInstance(target);
+        link.setArea(area);
+        link.setMapping(mapping);
+        link.setCondition(condition);
+        link.setOrder(links.size());
+        links.add(link);
+    }
+
+    private Execution execution(ActionInstance instance) {
+        Execution execution = new Execution();
+        execution.setId(UUID.randomUUID());
+        execution.setActionInstance(instance);
+        execution.setCorrelationId(correlationId);
+        return execution;
+    }
+}
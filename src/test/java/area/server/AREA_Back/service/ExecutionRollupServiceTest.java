@@ -0,0 +1,183 @@
+package area.server.AREA_Back.service;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.dto.ExecutionRollupSummary;
+import area.server.AREA_Back.entity.ActionDefinition;
+import area.server.AREA_Back.entity.ExecutionRollup;
+import area.server.AREA_Back.entity.Service;
+import area.server.AREA_Back.entity.enums.ExecutionStatus;
+import area.server.AREA_Back.repository.ActionDefinitionRepository;
+import area.server.AREA_Back.repository.ExecutionRollupRepository;
+import area.server.AREA_Back.repository.ServiceRepository;
+import area.server.AREA_Back.service.Area.ExecutionRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExecutionRollupServiceTest {
+
+    @Mock
+    private ExecutionRollupRepository executionRollupRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private ActionDefinitionRepository actionDefinitionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutionRollupService executionRollupService;
+    private UUID serviceId;
+    private UUID sendMessageId;
+    private UUID createIssueId;
+    private LocalDateTime bucket;
+
+    @BeforeEach
+    void setUp() {
+        executionRollupService = new ExecutionRollupService(executionRollupRepository, serviceRepository,
+            actionDefinitionRepository, jdbcTemplate, new WorkerProperties());
+        serviceId = UUID.randomUUID();
+        sendMessageId = UUID.randomUUID();
+        createIssueId = UUID.randomUUID();
+        bucket = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0);
+
+        Service service = new Service();
+        service.setId(serviceId);
+        service.setName("Slack");
+        when(serviceRepository.findAllById(any())).thenReturn(List.of(service));
+    }
+
+    private ExecutionRollup rollup(UUID actionDefinitionId, ExecutionStatus status, long executions,
+                                   long durationSum, Long... buckets) {
+        return new ExecutionRollup(bucket, actionDefinitionId, status, serviceId, executions, durationSum, buckets);
+    }
+
+    private static Long[] histogram(int slot, long hits) {
+        Long[] buckets = new Long[ExecutionRollupService.DURATION_BOUNDS_MS.length + 1];
+        java.util.Arrays.fill(buckets, 0L);
+        buckets[slot] = hits;
+        return buckets;
+    }
+
+    @Test
+    void advanceRollupsCallsDatabaseFunction() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(2);
+
+        // When
+        int rolled = executionRollupService.advanceRollups();
+
+        // Then
+        assertEquals(2, rolled);
+        verify(jdbcTemplate).queryForObject("SELECT area.advance_execution_rollups(?, ?)", Integer.class, 48, 1);
+    }
+
+    @Test
+    void percentileUsesUpperBoundOfMatchingSlot() {
+        // Given 90 fast executions (< 100 ms) and 10 slow ones (1-2.5 s)
+        long[] histogram = new long[ExecutionRollupService.DURATION_BOUNDS_MS.length + 1];
+        histogram[0] = 90;
+        histogram[4] = 10;
+
+        // When & Then
+        assertEquals(100L, ExecutionRollupService.percentile(histogram, 0.5));
+        assertEquals(2500L, ExecutionRollupService.percentile(histogram, 0.95));
+    }
+
+    @Test
+    void percentileOfOpenEndedSlotReturnsLastBound() {
+        long[] histogram = new long[ExecutionRollupService.DURATION_BOUNDS_MS.length + 1];
+        histogram[histogram.length - 1] = 3;
+
+        assertEquals(300000L, ExecutionRollupService.percentile(histogram, 0.5));
+    }
+
+    @Test
+    void percentileOfEmptyHistogramIsNull() {
+        assertNull(ExecutionRollupService.percentile(new long[11], 0.95));
+    }
+
+    @Test
+    void summarizeMergesRollupsPerService() {
+        // Given
+        when(executionRollupRepository.findByBucketStartGreaterThanEqual(bucket)).thenReturn(List.of(
+            rollup(sendMessageId, ExecutionStatus.OK, 8, 800, histogram(1, 8)),
+            rollup(createIssueId, ExecutionStatus.OK, 2, 4000, histogram(4, 2)),
+            rollup(sendMessageId, ExecutionStatus.FAILED, 3, 0, histogram(0, 0))
+        ));
+
+        // When
+        List<ExecutionRollupSummary> summaries = executionRollupService.summarize(bucket, false);
+
+        // Then
+        assertEquals(1, summaries.size());
+        ExecutionRollupSummary summary = summaries.get(0);
+        assertEquals("Slack", summary.getName());
+        assertEquals(13L, summary.getExecutions());
+        assertEquals(Map.of("ok", 10L, "failed", 3L), summary.getStatuses());
+        assertEquals(480L, summary.getAvgDurationMs());
+        assertEquals(250L, summary.getP50DurationMs());
+        assertEquals(2500L, summary.getP95DurationMs());
+        assertNull(summary.getActionDefinitionId());
+    }
+
+    @Test
+    void summarizeByActionDefinitionSortsBusiestFirst() {
+        // Given
+        ActionDefinition createIssue = new ActionDefinition();
+        createIssue.setId(createIssueId);
+        createIssue.setName("Create issue");
+        when(actionDefinitionRepository.findAllById(any())).thenReturn(List.of(createIssue));
+        when(executionRollupRepository.findByBucketStartGreaterThanEqual(bucket)).thenReturn(List.of(
+            rollup(sendMessageId, ExecutionStatus.OK, 1, 50, histogram(0, 1)),
+            rollup(createIssueId, ExecutionStatus.OK, 5, 500, histogram(0, 5))
+        ));
+
+        // When
+        List<ExecutionRollupSummary> summaries = executionRollupService.summarize(bucket, true);
+
+        // Then
+        assertEquals(2, summaries.size());
+        assertEquals(createIssueId, summaries.get(0).getActionDefinitionId());
+        assertEquals("Create issue", summaries.get(0).getName());
+        assertNull(summaries.get(1).getName());
+    }
+
+    @Test
+    void countByStatusSinceMapsRows() {
+        // Given
+        when(executionRollupRepository.sumExecutionsByStatusSince(bucket)).thenReturn(List.of(
+            new Object[]{ExecutionStatus.OK, 42L},
+            new Object[]{ExecutionStatus.FAILED, 3L}
+        ));
+
+        // When
+        Map<ExecutionStatus, Long> counts = executionRollupService.countByStatusSince(bucket);
+
+        // Then
+        assertEquals(42L, counts.get(ExecutionStatus.OK));
+        assertEquals(3L, counts.get(ExecutionStatus.FAILED));
+    }
+}
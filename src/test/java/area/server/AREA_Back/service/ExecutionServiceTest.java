@@ -1,42 +1,67 @@
 package area.server.AREA_Back.service;
 
+import area.server.AREA_Back.dto.AreaEventMessage;
 import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.ActivationMode;
 import area.server.AREA_Back.entity.Area;
 import area.server.AREA_Back.entity.Execution;
+import area.server.AREA_Back.entity.enums.ActivationModeType;
+import area.server.AREA_Back.entity.enums.DedupStrategy;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
 import area.server.AREA_Back.repository.ExecutionRepository;
 import area.server.AREA_Back.service.Area.ExecutionService;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.List;
 import java.util.UUID;
-import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ExecutionServiceTest {
 
+    private static final int ROW_ARGS = 9;
+
     @Mock
     private ExecutionRepository executionRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
     private SimpleMeterRegistry meterRegistry;
 
     private ExecutionService executionService;
@@ -49,7 +74,8 @@ class ExecutionServiceTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        executionService = new ExecutionService(executionRepository, meterRegistry);
+        executionService = new ExecutionService(executionRepository, meterRegistry, jdbcTemplate, new ObjectMapper(),
+            eventOutboxService);
         executionService.init();
 
         area = new Area();
@@ -70,6 +96,161 @@ class ExecutionServiceTest {
         execution.setAttempt(0);
     }
 
+    @Test
+    void createExecutionsBatchInsertsAllExecutionsInOneStatement() {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+        Execution first = new Execution();
+        first.setActionInstance(actionInstance);
+        first.setActivationMode(activationMode);
+        first.setInputPayload(Map.of("title", "Bug"));
+        first.setCorrelationId(correlationId);
+        Execution second = new Execution();
+        second.setActionInstance(actionInstance);
+        second.setCorrelationId(correlationId);
+        List<Object[]> statements = givenInsertReturnsRows(Integer.MAX_VALUE);
+
+        // When
+        List<Execution> created = executionService.createExecutionsBatch(List.of(first, second));
+
+        // Then
+        assertEquals(1, statements.size());
+        Object[] args = statements.get(0);
+        assertEquals(2 * ROW_ARGS, args.length);
+        assertEquals(2, created.size());
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertEquals(first.getQueuedAt(), second.getQueuedAt());
+        assertEquals(ExecutionStatus.QUEUED, second.getStatus());
+        assertEquals(area, second.getArea());
+        assertEquals(2.0, meterRegistry.counter("execution_created_total").count());
+        assertEquals(first.getId(), args[0]);
+        assertEquals(activationMode.getId(), args[2]);
+        assertEquals("{\"title\":\"Bug\"}", args[5]);
+        assertEquals(correlationId, args[6]);
+        assertNull(args[7]);
+    }
+
+    @Test
+    void createExecutionsBatchKeysExecutionsByPayloadHashAndDropsDuplicates() {
+        // Given
+        activationMode.setDedup(DedupStrategy.BY_PAYLOAD_HASH);
+        Map<String, Object> payload = Map.of("number", 42);
+        ActionInstance otherTarget = new ActionInstance();
+        otherTarget.setId(UUID.randomUUID());
+        Execution first = new Execution();
+        first.setActionInstance(actionInstance);
+        Execution second = new Execution();
+        second.setActionInstance(otherTarget);
+        List<Object[]> statements = givenInsertReturnsRows(1);
+
+        // When
+        List<Execution> created = executionService.createExecutionsBatch(
+            List.of(first, second), activationMode, payload);
+
+        // Then
+        Object[] args = statements.get(0);
+        assertEquals("by_payload_hash:" + actionInstance.getId() + ":", args[7]);
+        assertEquals("{\"number\":42}", args[8]);
+        assertEquals("by_payload_hash:" + otherTarget.getId() + ":", args[ROW_ARGS + 7]);
+        assertEquals(List.of(first), created);
+        assertEquals(1.0, meterRegistry.counter("execution_created_total").count());
+        assertEquals(1.0, meterRegistry.get("execution_dedup_suppressed_total")
+            .tag("strategy", "by_payload_hash").counter().count());
+    }
+
+    @Test
+    void externalIdDedupHashesOnlyTheConfiguredField() {
+        // Given
+        activationMode.setDedup(DedupStrategy.BY_EXTERNAL_ID);
+        activationMode.setConfig(Map.of("external_id_field", "message_id"));
+        Execution queued = new Execution();
+        queued.setActionInstance(actionInstance);
+        List<Object[]> statements = givenInsertReturnsRows(Integer.MAX_VALUE);
+
+        // When
+        executionService.createExecutionsBatch(List.of(queued), activationMode,
+            Map.of("message_id", "m-1", "receivedAt", "2025-01-01T00:00:00"));
+
+        // Then
+        assertEquals("by_external_id:" + actionInstance.getId() + ":", statements.get(0)[7]);
+        assertEquals("{\"external_id\":\"m-1\"}", statements.get(0)[8]);
+    }
+
+    @Test
+    void externalIdDedupIsSkippedWhenThePayloadHasNoId() {
+        // Given
+        activationMode.setDedup(DedupStrategy.BY_EXTERNAL_ID);
+        Execution queued = new Execution();
+        queued.setActionInstance(actionInstance);
+        List<Object[]> statements = givenInsertReturnsRows(Integer.MAX_VALUE);
+
+        // When
+        executionService.createExecutionsBatch(List.of(queued), activationMode, Map.of("title", "no id"));
+
+        // Then
+        assertNull(statements.get(0)[7]);
+        assertNull(statements.get(0)[8]);
+    }
+
+    @Test
+    void claimDedupKeyRejectsAnEventAlreadyClaimed() {
+        // Given
+        activationMode.setDedup(DedupStrategy.BY_PAYLOAD_HASH);
+        UUID correlationId = UUID.randomUUID();
+        when(jdbcTemplate.update(anyString(), eq("by_payload_hash:" + actionInstance.getId() + ":"),
+            eq("{\"number\":42}"), eq(correlationId), any())).thenReturn(0);
+
+        // When
+        boolean claimed = executionService.claimDedupKey(actionInstance, activationMode, Map.of("number", 42),
+            correlationId);
+
+        // Then
+        assertFalse(claimed);
+        assertEquals(1.0, meterRegistry.get("execution_dedup_suppressed_total")
+            .tag("strategy", "by_payload_hash").counter().count());
+    }
+
+    @Test
+    void claimDedupKeyWithoutStrategySkipsDatabase() {
+        // When
+        boolean claimed = executionService.claimDedupKey(actionInstance, activationMode, Map.of("number", 42),
+            UUID.randomUUID());
+
+        // Then
+        assertTrue(claimed);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Captures the arguments of each multi-row INSERT and returns the ids of its first
+     * {@code rows} executions, as the database would when the others are duplicates.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> givenInsertReturnsRows(int rows) {
+        List<Object[]> statements = new ArrayList<>();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            statements.add(args);
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < args.length && ids.size() < rows; i += ROW_ARGS) {
+                ids.add((UUID) args[i]);
+            }
+            return ids;
+        });
+        return statements;
+    }
+
+    @Test
+    void createExecutionsBatchWithNoExecutionsSkipsDatabase() {
+        // When
+        List<Execution> created = executionService.createExecutionsBatch(List.of());
+
+        // Then
+        assertTrue(created.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
     @Test
     void createExecutionSuccess() {
         // Given
@@ -94,105 +275,267 @@ class ExecutionServiceTest {
             Map.of("result", "success"),
             LocalDateTime.now()
         );
-        when(executionRepository.findById(execution.getId())).thenReturn(Optional.of(execution));
-        when(executionRepository.save(any(Execution.class))).thenReturn(execution);
+        when(executionRepository.transitionExecution(eq(execution.getId()), eq(Set.of(ExecutionStatus.RUNNING)),
+            eq(ExecutionStatus.OK), any(), eq(Map.of("result", "success")), any(), eq(0), isNull()))
+            .thenReturn(1);
 
         // When
-        Execution updatedExecution = executionService.updateExecutionWithResult(result);
+        boolean updated = executionService.updateExecutionWithResult(result);
 
         // Then
-        assertNotNull(updatedExecution);
-        verify(executionRepository).findById(execution.getId());
-        verify(executionRepository).save(any(Execution.class));
+        assertTrue(updated);
+        verify(executionRepository, never()).findById(any(UUID.class));
+        verify(executionRepository, never()).save(any(Execution.class));
+        assertEquals(1.0, meterRegistry.counter("execution_updated_total").count());
     }
 
     @Test
-    void updateExecutionWithResultExecutionNotFound() {
+    void updateExecutionWithDeferredResultKeepsAttempt() {
+        // Given
+        ExecutionResult result = ExecutionResult.deferred(
+            execution.getId(),
+            "Bulkhead for provider spotify is saturated",
+            LocalDateTime.now(),
+            LocalDateTime.now().plusSeconds(30)
+        );
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(1);
+
+        // When
+        executionService.updateExecutionWithResult(result);
+
+        // Then
+        verify(executionRepository).transitionExecution(eq(execution.getId()), any(), eq(ExecutionStatus.RETRY),
+            any(), any(), any(), eq(0), eq(result.getNextRetryAt()));
+    }
+
+    @Test
+    void updateExecutionWithRetryResultPersistsBackoff() {
+        // Given
+        LocalDateTime nextRetryAt = LocalDateTime.now().plusSeconds(8);
+        ExecutionResult result = ExecutionResult.failure(
+            execution.getId(), "Timeout", Map.of(), LocalDateTime.now(), true, nextRetryAt);
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(1);
+
+        // When
+        executionService.updateExecutionWithResult(result);
+
+        // Then
+        verify(executionRepository).transitionExecution(eq(execution.getId()), eq(Set.of(ExecutionStatus.RUNNING)),
+            eq(ExecutionStatus.RETRY), any(), any(), any(), eq(1), eq(nextRetryAt));
+    }
+
+    @Test
+    void updateExecutionWithFinalResultClearsNextRetryAt() {
+        // Given
+        ExecutionResult result = ExecutionResult.success(execution.getId(), Map.of(), LocalDateTime.now());
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(1);
+
+        // When
+        executionService.updateExecutionWithResult(result);
+
+        // Then
+        verify(executionRepository).transitionExecution(eq(execution.getId()), any(), eq(ExecutionStatus.OK),
+            any(), any(), any(), eq(0), isNull());
+    }
+
+    @Test
+    void updateExecutionWithResultDiscardedWhenNoLongerRunning() {
         // Given
         ExecutionResult result = ExecutionResult.success(
             UUID.randomUUID(),
             Map.of("result", "success"),
             LocalDateTime.now()
         );
-        when(executionRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(0);
 
-        // When & Then
-        assertThrows(IllegalArgumentException.class, () -> {
-            executionService.updateExecutionWithResult(result);
+        // When
+        boolean updated = executionService.updateExecutionWithResult(result);
+
+        // Then
+        assertFalse(updated);
+        assertEquals(0.0, meterRegistry.counter("execution_updated_total").count());
+        assertEquals(1.0, meterRegistry.counter("execution_transition_rejected_total").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateExecutionsWithResultsAppliesTheBatchInOneStatement() {
+        // Given
+        ExecutionResult success = ExecutionResult.success(execution.getId(), Map.of("ok", true), LocalDateTime.now());
+        LocalDateTime retryAt = LocalDateTime.now().plusMinutes(1);
+        ExecutionResult retry = ExecutionResult.failure(UUID.randomUUID(), "rate limited", Map.of(),
+            LocalDateTime.now(), true, retryAt);
+        List<Object[]> statements = new ArrayList<>();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            statements.add((Object[]) invocation.getRawArguments()[2]);
+            return List.of(execution.getId());
         });
+
+        // When
+        Set<UUID> applied = executionService.updateExecutionsWithResults(List.of(success, retry));
+
+        // Then
+        assertEquals(Set.of(execution.getId()), applied);
+        assertEquals(1, statements.size());
+        Object[] args = statements.get(0);
+        assertEquals(16, args.length);
+        assertEquals("OK", args[1]);
+        assertEquals("{\"ok\":true}", args[3]);
+        assertEquals("{RUNNING}", args[7]);
+        assertEquals("RETRY", args[9]);
+        assertEquals(1, args[13]);
+        assertEquals(Timestamp.valueOf(retryAt), args[14]);
+        assertEquals(1.0, meterRegistry.counter("execution_updated_total").count());
+        assertEquals(1.0, meterRegistry.counter("execution_transition_rejected_total").count());
+    }
+
+    @Test
+    void updateExecutionWithCanceledResultIsRejected() {
+        // Given
+        ExecutionResult result = ExecutionResult.success(execution.getId(), Map.of(), LocalDateTime.now());
+        result.setStatus(ExecutionStatus.CANCELED);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> executionService.updateExecutionWithResult(result));
+        verify(executionRepository, never())
+            .transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any());
     }
 
     @Test
     void markExecutionAsStartedSuccess() {
         // Given
-        when(executionRepository.findById(execution.getId())).thenReturn(Optional.of(execution));
-        when(executionRepository.save(any(Execution.class))).thenReturn(execution);
+        when(executionRepository.transitionToRunning(eq(execution.getId()),
+            eq(Set.of(ExecutionStatus.QUEUED, ExecutionStatus.RETRY)), eq(ExecutionStatus.RUNNING),
+            any(LocalDateTime.class))).thenReturn(1);
 
         // When
-        Execution result = executionService.markExecutionAsStarted(execution.getId());
+        boolean started = executionService.markExecutionAsStarted(execution.getId());
 
         // Then
-        assertNotNull(result);
-        verify(executionRepository).findById(execution.getId());
-        verify(executionRepository).save(any(Execution.class));
+        assertTrue(started);
+        assertEquals(1.0, meterRegistry.counter("execution_started_total").count());
     }
 
     @Test
-    void getQueuedExecutionsSuccess() {
+    void markExecutionAsStartedLosesRace() {
         // Given
-        List<Execution> queuedExecutions = Arrays.asList(execution);
-        when(executionRepository.findQueuedExecutionsOrderedByQueueTime()).thenReturn(queuedExecutions);
+        when(executionRepository.transitionToRunning(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertFalse(executionService.markExecutionAsStarted(execution.getId()));
+    }
+
+    @Test
+    void claimQueuedExecutionsLoadsClaimedRows() {
+        // Given
+        LocalDateTime queuedBefore = LocalDateTime.now().minusMinutes(1);
+        when(executionRepository.claimQueuedExecutions("worker-1", queuedBefore, 10))
+            .thenReturn(List.of(execution.getId()));
+        when(executionRepository.findAllByIdWithActionInstance(List.of(execution.getId())))
+            .thenReturn(List.of(execution));
 
         // When
-        List<Execution> result = executionService.getQueuedExecutions();
+        List<Execution> result = executionService.claimQueuedExecutions("worker-1", queuedBefore, 10);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.size());
-        verify(executionRepository).findQueuedExecutionsOrderedByQueueTime();
+        assertEquals(1.0, meterRegistry.counter("execution_started_total").count());
+        verify(executionRepository).claimQueuedExecutions("worker-1", queuedBefore, 10);
     }
 
     @Test
-    void getExecutionsReadyForRetrySuccess() {
+    void claimRetryExecutionsReturnsEmptyWhenNothingClaimed() {
         // Given
-        LocalDateTime retryThreshold = LocalDateTime.now().minusMinutes(5);
-        List<Execution> retryExecutions = Arrays.asList(execution);
-        when(executionRepository.findExecutionsReadyForRetry(retryThreshold)).thenReturn(retryExecutions);
+        LocalDateTime now = LocalDateTime.now();
+        when(executionRepository.claimRetryExecutions("worker-1", now, 10)).thenReturn(List.of());
 
         // When
-        List<Execution> result = executionService.getExecutionsReadyForRetry(retryThreshold);
+        List<Execution> result = executionService.claimRetryExecutions("worker-1", now, 10);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(executionRepository).findExecutionsReadyForRetry(retryThreshold);
+        assertTrue(result.isEmpty());
+        verify(executionRepository, never()).findAllByIdWithActionInstance(any());
+    }
+
+    @Test
+    void claimExecutionsSkipsEmptyIdList() {
+        // When
+        List<Execution> result = executionService.claimExecutions("worker-1", List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(executionRepository, never()).claimExecutionsByIds(any(), any());
+    }
+
+    @Test
+    void failTimedOutExecutionsReturnsReapedIds() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(executionRepository.failTimedOutExecutions(now, 300)).thenReturn(List.of(execution.getId()));
+
+        // When
+        List<UUID> result = executionService.failTimedOutExecutions(now, 300);
+
+        // Then
+        assertEquals(List.of(execution.getId()), result);
+        assertEquals(1.0, meterRegistry.counter("execution_updated_total").count());
     }
 
     @Test
     void cancelExecutionSuccess() {
         // Given
         String reason = "Test cancellation";
-        when(executionRepository.findById(execution.getId())).thenReturn(Optional.of(execution));
-        when(executionRepository.save(any(Execution.class))).thenReturn(execution);
+        when(executionRepository.transitionExecution(eq(execution.getId()),
+            eq(Set.of(ExecutionStatus.QUEUED, ExecutionStatus.RETRY, ExecutionStatus.RUNNING)),
+            eq(ExecutionStatus.CANCELED), any(LocalDateTime.class), isNull(), any(), eq(0), isNull()))
+            .thenReturn(1);
 
         // When
-        Execution result = executionService.cancelExecution(execution.getId(), reason);
+        executionService.cancelExecution(execution.getId(), reason);
 
         // Then
-        assertNotNull(result);
-        verify(executionRepository).findById(execution.getId());
-        verify(executionRepository).save(any(Execution.class));
+        assertEquals(1.0, meterRegistry.counter("execution_canceled_total").count());
+    }
+
+    @Test
+    void cancelExecutionNotFound() {
+        // Given
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(0);
+        when(executionRepository.existsById(execution.getId())).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> executionService.cancelExecution(execution.getId(), null));
+    }
+
+    @Test
+    void cancelExecutionAlreadyFinished() {
+        // Given
+        when(executionRepository.transitionExecution(any(), any(), any(), any(), any(), any(), anyInt(), any()))
+            .thenReturn(0);
+        when(executionRepository.existsById(execution.getId())).thenReturn(true);
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> executionService.cancelExecution(execution.getId(), "late"));
+        assertEquals(0.0, meterRegistry.counter("execution_canceled_total").count());
     }
 
     @Test
     void getExecutionStatisticsSuccess() {
         // Given
-        when(executionRepository.countByStatus(ExecutionStatus.QUEUED)).thenReturn(5L);
-        when(executionRepository.countByStatus(ExecutionStatus.RUNNING)).thenReturn(2L);
-        when(executionRepository.countByStatus(ExecutionStatus.OK)).thenReturn(10L);
-        when(executionRepository.countByStatus(ExecutionStatus.RETRY)).thenReturn(1L);
-        when(executionRepository.countByStatus(ExecutionStatus.FAILED)).thenReturn(3L);
-        when(executionRepository.countByStatus(ExecutionStatus.CANCELED)).thenReturn(0L);
+        when(executionRepository.sumStatusCounts()).thenReturn(List.of(
+            new Object[]{"QUEUED", 5L},
+            new Object[]{"RUNNING", 2L},
+            new Object[]{"OK", 10L},
+            new Object[]{"RETRY", 1L},
+            new Object[]{"FAILED", 3L}
+        ));
 
         // When
         Map<String, Long> stats = executionService.getExecutionStatistics();
@@ -205,6 +548,62 @@ class ExecutionServiceTest {
         assertEquals(1L, stats.get("retry"));
         assertEquals(3L, stats.get("failed"));
         assertEquals(0L, stats.get("canceled"));
+        verify(executionRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void getExecutionStatisticsUpdatesStatusGauges() {
+        // Given
+        when(executionRepository.sumStatusCounts()).thenReturn(List.of(
+            new Object[]{"QUEUED", BigDecimal.valueOf(7)},
+            new Object[]{"UNKNOWN", 4L}
+        ));
+
+        // When
+        executionService.getExecutionStatistics();
+
+        // Then
+        assertEquals(7.0, meterRegistry.get("execution_status_count").tag("status", "queued").gauge().value());
+        assertEquals(0.0, meterRegistry.get("execution_status_count").tag("status", "failed").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseClaimedExecutionsRepublishesHandedBackExecutions() {
+        // Given
+        activationMode.setType(ActivationModeType.WEBHOOK);
+        execution.setActivationMode(activationMode);
+        UUID alreadyDone = UUID.randomUUID();
+        when(executionRepository.releaseClaimedExecutions("node-1", List.of(execution.getId(), alreadyDone)))
+            .thenReturn(List.of(execution.getId()));
+        when(executionRepository.findAllByIdWithActionInstance(List.of(execution.getId())))
+            .thenReturn(List.of(execution));
+
+        // When
+        List<UUID> released = executionService.releaseClaimedExecutions("node-1",
+            List.of(execution.getId(), alreadyDone));
+
+        // Then
+        assertEquals(List.of(execution.getId()), released);
+        ArgumentCaptor<List<AreaEventMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(eventOutboxService).enqueueAll(messages.capture());
+        assertEquals(1, messages.getValue().size());
+        assertEquals(execution.getId(), messages.getValue().get(0).getExecutionId());
+        assertEquals("webhook", messages.getValue().get(0).getEventType());
+    }
+
+    @Test
+    void releaseClaimedExecutionsSkipsOutboxWhenNothingWasReleased() {
+        // Given
+        when(executionRepository.releaseClaimedExecutions("node-1", List.of(execution.getId())))
+            .thenReturn(List.of());
+
+        // When
+        List<UUID> released = executionService.releaseClaimedExecutions("node-1", List.of(execution.getId()));
+
+        // Then
+        assertTrue(released.isEmpty());
+        verifyNoInteractions(eventOutboxService);
     }
 
     @Test
@@ -0,0 +1,169 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.dto.AreaEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventOutboxServiceTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisEventService redisEventService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectMapper objectMapper;
+    private EventOutboxService eventOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        eventOutboxService = new EventOutboxService(jdbcTemplate, objectMapper, redisEventService, meterRegistry);
+        eventOutboxService.initMetrics();
+    }
+
+    @Test
+    void enqueueAllWritesOneBatch() {
+        // Given
+        List<AreaEventMessage> messages = List.of(message(), message());
+
+        // When
+        eventOutboxService.enqueueAll(messages);
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(messages), eq(2), any());
+        assertEquals(2.0, meterRegistry.counter("area_outbox_events_enqueued_total").count());
+    }
+
+    @Test
+    void enqueueAllIgnoresEmptyBatches() {
+        // When
+        eventOutboxService.enqueueAll(List.of());
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatchPublishesAndDeletesLockedRows() throws Exception {
+        // Given
+        AreaEventMessage first = message();
+        AreaEventMessage second = message();
+        givenOutboxRows(objectMapper.writeValueAsString(first), objectMapper.writeValueAsString(second));
+
+        // When
+        int relayed = eventOutboxService.relayBatch(BATCH_SIZE);
+
+        // Then
+        assertEquals(2, relayed);
+        ArgumentCaptor<List<AreaEventMessage>> published = ArgumentCaptor.forClass(List.class);
+        verify(redisEventService).publishAreaEvents(published.capture());
+        assertEquals(List.of(first.getExecutionId(), second.getExecutionId()),
+            published.getValue().stream().map(AreaEventMessage::getExecutionId).toList());
+        verify(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+        assertEquals(2.0, meterRegistry.counter("area_outbox_events_relayed_total").count());
+    }
+
+    @Test
+    void relayBatchDoesNothingWhenOutboxIsEmpty() {
+        // Given
+        givenOutboxRows();
+
+        // When
+        int relayed = eventOutboxService.relayBatch(BATCH_SIZE);
+
+        // Then
+        assertEquals(0, relayed);
+        verify(redisEventService, never()).publishAreaEvents(anyList());
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void relayBatchKeepsRowsWhenPublishFails() throws Exception {
+        // Given
+        givenOutboxRows(objectMapper.writeValueAsString(message()));
+        when(redisEventService.publishAreaEvents(anyList())).thenThrow(new RuntimeException("Redis down"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> eventOutboxService.relayBatch(BATCH_SIZE));
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatchDropsUnreadableRows() throws Exception {
+        // Given
+        givenOutboxRows("not json", objectMapper.writeValueAsString(message()));
+
+        // When
+        int relayed = eventOutboxService.relayBatch(BATCH_SIZE);
+
+        // Then
+        assertEquals(2, relayed);
+        ArgumentCaptor<List<AreaEventMessage>> published = ArgumentCaptor.forClass(List.class);
+        verify(redisEventService).publishAreaEvents(published.capture());
+        assertEquals(1, published.getValue().size());
+        assertEquals(1.0, meterRegistry.counter("area_outbox_events_dropped_total").count());
+    }
+
+    private void givenOutboxRows(String... messages) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < messages.length; i++) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getLong("id")).thenReturn((long) i + 1);
+                when(row.getString("message")).thenReturn(messages[i]);
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(BATCH_SIZE));
+    }
+
+    private AreaEventMessage message() {
+        AreaEventMessage message = AreaEventMessage.fromExecution(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Map.of("key", "value"));
+        message.setEventType("chain");
+        message.setCorrelationId(UUID.randomUUID());
+        return message;
+    }
+}
@@ -16,11 +16,14 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StreamOperations;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -50,13 +53,15 @@ class RedisEventServiceTest {
     private RedisEventService redisEventService;
 
     private static final String TEST_STREAM_NAME = "test:areas:events";
+    private static final String TEST_LANE_STREAM = TEST_STREAM_NAME + ":poll";
     private static final String TEST_CONSUMER_GROUP = "test-consumer-group";
     private static final String TEST_CONSUMER_NAME = "test-consumer";
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        redisEventService = new RedisEventService(redisTemplate, redisConfig, meterRegistry);
+        redisEventService = new RedisEventService(redisTemplate, redisConfig,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry), meterRegistry);
 
         // Configuration des comportements par défaut des mocks
         when(redisConfig.getAreasEventsStream()).thenReturn(TEST_STREAM_NAME);
@@ -119,6 +124,64 @@ class RedisEventServiceTest {
         assertEquals(1.0, publishAreaEventCounter.count());
     }
 
+    @Test
+    @DisplayName("publishAreaEvents - Doit publier tous les événements dans un seul pipeline")
+    @SuppressWarnings("unchecked")
+    void testPublishAreaEventsPipelined() {
+        // Given
+        redisEventService.initMetrics();
+        List<AreaEventMessage> messages = List.of(
+            AreaEventMessage.fromExecution(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new HashMap<>()),
+            AreaEventMessage.fromExecution(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new HashMap<>())
+        );
+        RedisOperations<String, Object> pipeline = mock(RedisOperations.class);
+        when(pipeline.opsForStream()).thenReturn(streamOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipeline);
+            return List.of(RecordId.of("1-0"), RecordId.of("1-1"));
+        });
+
+        // When
+        List<String> result = redisEventService.publishAreaEvents(messages);
+
+        // Then
+        assertEquals(List.of("1-0", "1-1"), result);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(streamOperations, times(2)).add(any(ObjectRecord.class));
+        assertEquals(2.0, meterRegistry.find("redis_event.publish_area.calls").counter().count());
+    }
+
+    @Test
+    @DisplayName("publishAreaEvents - Ne doit pas contacter Redis sans événement")
+    void testPublishAreaEventsEmpty() {
+        // When
+        List<String> result = redisEventService.publishAreaEvents(List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("publishAreaEvents - Doit incrémenter le compteur d'échecs en cas d'exception")
+    @SuppressWarnings("unchecked")
+    void testPublishAreaEventsFailure() {
+        // Given
+        redisEventService.initMetrics();
+        List<AreaEventMessage> messages = List.of(
+            AreaEventMessage.fromExecution(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new HashMap<>())
+        );
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+            .thenThrow(new RuntimeException("Redis connection failed"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> redisEventService.publishAreaEvents(messages));
+        assertEquals("Failed to publish events to Redis stream", exception.getMessage());
+        assertEquals(1.0, meterRegistry.find("redis_event.publish_failures").counter().count());
+    }
+
     @Test
     @DisplayName("publishAreaEvent - Doit retourner 'unknown' si recordId est null")
     @SuppressWarnings("unchecked")
@@ -218,7 +281,7 @@ class RedisEventServiceTest {
         verify(streamOperations).add(recordCaptor.capture());
         
         ObjectRecord<String, AreaEventMessage> capturedRecord = recordCaptor.getValue();
-        assertEquals(TEST_STREAM_NAME, capturedRecord.getStream());
+        assertEquals(TEST_LANE_STREAM, capturedRecord.getStream());
     }
 
     @Test
@@ -228,7 +291,7 @@ class RedisEventServiceTest {
         redisEventService.initMetrics();
         
         // Simuler que le stream n'existe pas (info() lance une exception)
-        when(streamOperations.info(TEST_STREAM_NAME))
+        when(streamOperations.info(TEST_LANE_STREAM))
             .thenThrow(new RuntimeException("Stream does not exist"));
         
         RecordId mockRecordId = RecordId.of("0-0");
@@ -238,10 +301,10 @@ class RedisEventServiceTest {
         redisEventService.initializeStream();
 
         // Then
-        verify(streamOperations).info(TEST_STREAM_NAME);
+        verify(streamOperations).info(TEST_LANE_STREAM);
         verify(streamOperations).add(any()); // Ajout du dummy record
-        verify(streamOperations).delete(eq(TEST_STREAM_NAME), eq(mockRecordId)); // Suppression du dummy
-        verify(streamOperations).createGroup(eq(TEST_STREAM_NAME), any(), eq(TEST_CONSUMER_GROUP));
+        verify(streamOperations).delete(eq(TEST_LANE_STREAM), eq(mockRecordId)); // Suppression du dummy
+        verify(streamOperations).createGroup(eq(TEST_LANE_STREAM), any(), eq(TEST_CONSUMER_GROUP));
         
         Counter streamInitCounter = meterRegistry.find("redis_event.stream_init.calls").counter();
         assertEquals(1.0, streamInitCounter.count());
@@ -253,18 +316,18 @@ class RedisEventServiceTest {
         // Given
         redisEventService.initMetrics();
         
-        when(streamOperations.info(TEST_STREAM_NAME)).thenReturn(streamInfo);
+        when(streamOperations.info(TEST_LANE_STREAM)).thenReturn(streamInfo);
         
         // Simuler que le consumer group existe déjà
-        when(streamOperations.createGroup(eq(TEST_STREAM_NAME), any(), eq(TEST_CONSUMER_GROUP)))
+        when(streamOperations.createGroup(eq(TEST_LANE_STREAM), any(), eq(TEST_CONSUMER_GROUP)))
             .thenThrow(new RuntimeException("BUSYGROUP Consumer Group already exists"));
 
         // When
         redisEventService.initializeStream();
 
         // Then
-        verify(streamOperations).info(TEST_STREAM_NAME);
-        verify(streamOperations).createGroup(eq(TEST_STREAM_NAME), any(), eq(TEST_CONSUMER_GROUP));
+        verify(streamOperations).info(TEST_LANE_STREAM);
+        verify(streamOperations).createGroup(eq(TEST_LANE_STREAM), any(), eq(TEST_CONSUMER_GROUP));
         
         Counter streamInitCounter = meterRegistry.find("redis_event.stream_init.calls").counter();
         assertEquals(1.0, streamInitCounter.count());
@@ -276,24 +339,25 @@ class RedisEventServiceTest {
         // Given
         redisEventService.initMetrics();
         
-        when(streamOperations.info(TEST_STREAM_NAME))
+        when(streamOperations.info(TEST_LANE_STREAM))
             .thenThrow(new RuntimeException("Fatal Redis error"));
 
         // When
         assertDoesNotThrow(() -> redisEventService.initializeStream());
 
         // Then
-        verify(streamOperations).info(TEST_STREAM_NAME);
+        verify(streamOperations).info(TEST_LANE_STREAM);
         
         Counter streamInitCounter = meterRegistry.find("redis_event.stream_init.calls").counter();
         assertEquals(1.0, streamInitCounter.count());
     }
 
     @Test
-    @DisplayName("getStreamInfo - Doit retourner les informations du stream")
+    @DisplayName("getStreamInfo - Doit retourner les informations de chaque stream")
+    @SuppressWarnings("unchecked")
     void testGetStreamInfoSuccess() {
         // Given
-        when(streamOperations.info(TEST_STREAM_NAME)).thenReturn(streamInfo);
+        when(streamOperations.info(anyString())).thenReturn(streamInfo);
         when(streamInfo.toString()).thenReturn("StreamInfo{length=10, groups=1}");
 
         // When
@@ -303,17 +367,19 @@ class RedisEventServiceTest {
         assertNotNull(result);
         assertEquals(TEST_STREAM_NAME, result.get("streamKey"));
         assertEquals(TEST_CONSUMER_GROUP, result.get("consumerGroup"));
-        assertEquals("StreamInfo{length=10, groups=1}", result.get("streamInfo"));
-        assertFalse(result.containsKey("error"));
-        
-        verify(streamOperations).info(TEST_STREAM_NAME);
+        Map<String, String> streams = (Map<String, String>) result.get("streams");
+        assertEquals(EventLane.values().length, streams.size());
+        assertEquals("StreamInfo{length=10, groups=1}", streams.get(TEST_LANE_STREAM));
+
+        verify(streamOperations).info(TEST_LANE_STREAM);
     }
 
     @Test
     @DisplayName("getStreamInfo - Doit retourner une erreur si le stream n'est pas accessible")
+    @SuppressWarnings("unchecked")
     void testGetStreamInfoFailure() {
         // Given
-        when(streamOperations.info(TEST_STREAM_NAME))
+        when(streamOperations.info(TEST_LANE_STREAM))
             .thenThrow(new RuntimeException("Unable to connect to Redis"));
 
         // When
@@ -323,10 +389,10 @@ class RedisEventServiceTest {
         assertNotNull(result);
         assertEquals(TEST_STREAM_NAME, result.get("streamKey"));
         assertEquals(TEST_CONSUMER_GROUP, result.get("consumerGroup"));
-        assertEquals("Unable to connect to Redis", result.get("error"));
-        assertFalse(result.containsKey("streamInfo"));
-        
-        verify(streamOperations).info(TEST_STREAM_NAME);
+        Map<String, String> streams = (Map<String, String>) result.get("streams");
+        assertEquals("error: Unable to connect to Redis", streams.get(TEST_LANE_STREAM));
+
+        verify(streamOperations).info(TEST_LANE_STREAM);
     }
 
     @Test
@@ -371,6 +437,7 @@ class RedisEventServiceTest {
         assertEquals(actionInstanceId, capturedMessage.getActionInstanceId());
         assertEquals(areaId, capturedMessage.getAreaId());
         assertEquals("webhook", capturedMessage.getEventType());
+        assertEquals(TEST_STREAM_NAME + ":webhook", capturedRecord.getStream());
         assertEquals("api", capturedMessage.getSource());
     }
 
@@ -421,7 +488,7 @@ class RedisEventServiceTest {
         RecordId eventRecordId = RecordId.of("3333333333-3");
         
         // Simuler l'initialisation du stream (le stream n'existe pas au début)
-        when(streamOperations.info(TEST_STREAM_NAME))
+        when(streamOperations.info(TEST_LANE_STREAM))
             .thenThrow(new RuntimeException("Stream does not exist"))
             .thenReturn(streamInfo);
         
@@ -451,8 +518,8 @@ class RedisEventServiceTest {
 
         // Then
         // Vérifier l'initialisation
-        verify(streamOperations, times(2)).info(TEST_STREAM_NAME);
-        verify(streamOperations).createGroup(eq(TEST_STREAM_NAME), any(), eq(TEST_CONSUMER_GROUP));
+        verify(streamOperations, times(2)).info(TEST_LANE_STREAM);
+        verify(streamOperations).createGroup(eq(TEST_LANE_STREAM), any(), eq(TEST_CONSUMER_GROUP));
         
         // Vérifier la publication - le résultat devrait être non-null et non-"unknown"
         assertNotNull(publishResult);
@@ -464,7 +531,8 @@ class RedisEventServiceTest {
         // Vérifier les informations du stream
         assertEquals(TEST_STREAM_NAME, streamInfoMap.get("streamKey"));
         assertEquals(TEST_CONSUMER_GROUP, streamInfoMap.get("consumerGroup"));
-        assertEquals("StreamInfo{length=1, groups=1}", streamInfoMap.get("streamInfo"));
+        assertEquals("StreamInfo{length=1, groups=1}",
+            ((Map<?, ?>) streamInfoMap.get("streams")).get(TEST_LANE_STREAM));
         
         // Vérifier les métriques
         assertEquals(1.0, meterRegistry.find("redis_event.stream_init.calls").counter().count());
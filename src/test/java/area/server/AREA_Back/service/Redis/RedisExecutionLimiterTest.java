@@ -0,0 +1,143 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.entity.ActivationMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RedisExecutionLimiter - Tests Unitaires")
+class RedisExecutionLimiterTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisExecutionLimiter limiter;
+    private ActivationMode activationMode;
+    private UUID executionId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new RedisExecutionLimiter(redisTemplate, new WorkerProperties(), meterRegistry);
+        limiter.initMetrics();
+
+        activationMode = new ActivationMode();
+        activationMode.setId(UUID.randomUUID());
+        activationMode.setMaxConcurrency(2);
+        activationMode.setRateLimit(Map.of("per_minute", 60));
+        executionId = UUID.randomUUID();
+    }
+
+    private void givenScriptResult(Long result) {
+        when(redisTemplate.execute(eq(RedisExecutionLimiter.ACQUIRE_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), anyList(), any(Object[].class))).thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Doit autoriser sans appel Redis quand aucune limite n'est définie")
+    void testUnlimitedActivationModeSkipsRedis() {
+        // Given
+        activationMode.setMaxConcurrency(null);
+        activationMode.setRateLimit(null);
+
+        // When
+        RedisExecutionLimiter.Decision decision = limiter.tryAcquire(activationMode, executionId);
+
+        // Then
+        assertEquals(RedisExecutionLimiter.Decision.ACQUIRED, decision);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Doit accorder le bail quand le script renvoie 1")
+    void testAcquired() {
+        // Given
+        givenScriptResult(1L);
+
+        // When & Then
+        assertEquals(RedisExecutionLimiter.Decision.ACQUIRED, limiter.tryAcquire(activationMode, executionId));
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Doit signaler le dépassement de concurrence")
+    void testConcurrencyExceeded() {
+        // Given
+        givenScriptResult(-1L);
+
+        // When
+        RedisExecutionLimiter.Decision decision = limiter.tryAcquire(activationMode, executionId);
+
+        // Then
+        assertEquals(RedisExecutionLimiter.Decision.CONCURRENCY_EXCEEDED, decision);
+        assertEquals(1.0, meterRegistry.counter("area_limiter_rejections_total", "reason", "concurrency").count());
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Doit signaler le dépassement de débit")
+    void testRateExceeded() {
+        // Given
+        givenScriptResult(-2L);
+
+        // When
+        RedisExecutionLimiter.Decision decision = limiter.tryAcquire(activationMode, executionId);
+
+        // Then
+        assertEquals(RedisExecutionLimiter.Decision.RATE_EXCEEDED, decision);
+        assertEquals(1.0, meterRegistry.counter("area_limiter_rejections_total", "reason", "rate").count());
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Doit laisser passer si Redis est indisponible")
+    void testFailOpenWhenRedisUnavailable() {
+        // Given
+        when(redisTemplate.execute(eq(RedisExecutionLimiter.ACQUIRE_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), anyList(), any(Object[].class)))
+            .thenThrow(new RuntimeException("Redis down"));
+
+        // When & Then
+        assertEquals(RedisExecutionLimiter.Decision.ACQUIRED, limiter.tryAcquire(activationMode, executionId));
+    }
+
+    @Test
+    @DisplayName("release - Ne doit rien faire sans limite de concurrence")
+    void testReleaseWithoutConcurrencyLimit() {
+        // Given
+        activationMode.setMaxConcurrency(0);
+
+        // When
+        limiter.release(activationMode, executionId);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("parseRateLimit - Doit convertir la fenêtre configurée")
+    void testParseRateLimit() {
+        assertArrayEquals(new long[] {60, 60_000}, RedisExecutionLimiter.parseRateLimit(Map.of("per_minute", 60)));
+        assertArrayEquals(new long[] {5, 1_000}, RedisExecutionLimiter.parseRateLimit(Map.of("per_second", 5)));
+        assertArrayEquals(new long[] {0, 0}, RedisExecutionLimiter.parseRateLimit(Map.of("burst", 5)));
+        assertArrayEquals(new long[] {0, 0}, RedisExecutionLimiter.parseRateLimit(null));
+    }
+}
@@ -0,0 +1,119 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.entity.ActionDefinition;
+import area.server.AREA_Back.entity.ActionInstance;
+import area.server.AREA_Back.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RedisProviderThrottle - Tests Unitaires")
+class RedisProviderThrottleTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisProviderThrottle throttle;
+    private ActionDefinition actionDefinition;
+    private ActionInstance actionInstance;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new RedisProviderThrottle(redisTemplate, new WorkerProperties(), meterRegistry);
+        throttle.initMetrics();
+
+        actionDefinition = new ActionDefinition();
+        actionDefinition.setId(UUID.randomUUID());
+        actionDefinition.setKey("send_message");
+        actionDefinition.setThrottlePolicy(Map.of("per_minute", 60));
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        actionInstance = new ActionInstance();
+        actionInstance.setUser(user);
+    }
+
+    private void givenReservation(Long waitMs) {
+        when(redisTemplate.execute(eq(RedisProviderThrottle.RESERVE_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), anyList(), any(Object[].class))).thenReturn(waitMs);
+    }
+
+    @Test
+    @DisplayName("await - Doit passer sans Redis quand aucune politique n'est définie")
+    void testNoPolicySkipsRedis() {
+        // Given
+        actionDefinition.setThrottlePolicy(null);
+
+        // When & Then
+        assertEquals(0, throttle.await("slack", actionDefinition, actionInstance));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("await - Doit réserver un créneau par compte avec l'intervalle de la politique")
+    @SuppressWarnings("unchecked")
+    void testReservesSlotWithPolicyInterval() {
+        // Given
+        givenReservation(0L);
+
+        // When
+        long delayMs = throttle.await("slack", actionDefinition, actionInstance);
+
+        // Then
+        assertEquals(0, delayMs);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(eq(RedisProviderThrottle.RESERVE_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), keys.capture(), args.capture());
+        assertEquals("area:throttle:slack:" + actionDefinition.getId() + ":user:"
+            + actionInstance.getUser().getId(), keys.getValue().get(0));
+        assertEquals("1000", args.getValue()[1]);
+    }
+
+    @Test
+    @DisplayName("await - Doit différer jusqu'au prochain créneau quand l'attente dépasse le maximum")
+    void testDefersUntilSlotWhenWaitExceedsMaxSleep() {
+        // Given
+        givenReservation(-4000L);
+
+        // When & Then
+        assertEquals(4000, throttle.await("slack", actionDefinition, actionInstance));
+        assertEquals(1.0, meterRegistry.counter("area_throttle_rejections_total").count());
+    }
+
+    @Test
+    @DisplayName("await - Doit laisser passer si Redis est indisponible")
+    void testFailOpenWhenRedisUnavailable() {
+        // Given
+        when(redisTemplate.execute(eq(RedisProviderThrottle.RESERVE_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), anyList(), any(Object[].class)))
+            .thenThrow(new RuntimeException("Redis down"));
+
+        // When & Then
+        assertEquals(0, throttle.await("slack", actionDefinition, actionInstance));
+    }
+}
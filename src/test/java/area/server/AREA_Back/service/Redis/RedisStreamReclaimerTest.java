@@ -0,0 +1,199 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.worker.AreaReactionWorker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RedisStreamReclaimer - Tests Unitaires")
+class RedisStreamReclaimerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConfig redisConfig;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private AreaReactionWorker areaReactionWorker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisStreamReclaimer reclaimer;
+
+    private static final String STREAM = "areas:events";
+    private static final String LANE_STREAM = "areas:events:manual";
+    private static final String GROUP = "area-processors";
+    private static final String CONSUMER = "node-a";
+    private static final String DEAD_LETTER_STREAM = "areas:events:dead-letter";
+    private static final Duration MIN_IDLE = Duration.ofSeconds(60);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reclaimer = new RedisStreamReclaimer(redisTemplate, redisConfig, areaReactionWorker,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry), meterRegistry);
+        reclaimer.initMetrics();
+
+        when(redisConfig.getAreasEventsStream()).thenReturn(STREAM);
+        when(redisConfig.getAreasConsumerGroup()).thenReturn(GROUP);
+        when(redisConfig.getAreasConsumerName()).thenReturn(CONSUMER);
+        when(redisConfig.getAreasReclaimIdle()).thenReturn(MIN_IDLE);
+        when(redisConfig.getAreasReclaimBatchSize()).thenReturn(100);
+        when(redisConfig.getAreasMaxDeliveries()).thenReturn(5);
+        when(redisConfig.getAreasDeadLetterStream()).thenReturn(DEAD_LETTER_STREAM);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(areaReactionWorker.getReadCredits()).thenReturn(100);
+    }
+
+    private PendingMessage pendingMessage(String id, Duration idle, long deliveries) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(GROUP, "node-dead"), idle, deliveries);
+    }
+
+    private void givenPending(PendingMessage... messages) {
+        when(streamOperations.pending(eq(LANE_STREAM), eq(GROUP), any(Range.class), anyLong()))
+            .thenReturn(new PendingMessages(GROUP, List.of(messages)));
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Doit réclamer et redistribuer les entrées inactives")
+    void testReclaimIdleEntries() {
+        // Given
+        givenPending(pendingMessage("1-0", Duration.ofMinutes(5), 1));
+        MapRecord<String, Object, Object> record = StreamRecords.newRecord()
+            .in(LANE_STREAM)
+            .withId(RecordId.of("1-0"))
+            .ofMap(Map.<Object, Object>of("executionId", "id"));
+        when(streamOperations.claim(eq(LANE_STREAM), eq(GROUP), eq(CONSUMER), eq(MIN_IDLE), any(RecordId[].class)))
+            .thenReturn(List.of(record));
+
+        // When
+        reclaimer.reclaimPendingEntries();
+
+        // Then
+        verify(areaReactionWorker).enqueueReclaimed(List.of(record));
+        assertEquals(1.0, meterRegistry.counter("redis_stream.reclaimed_entries").count());
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Ne doit pas réclamer plus d'entrées que les crédits de lecture")
+    void testReclaimIsBoundedByReadCredits() {
+        // Given
+        when(areaReactionWorker.getReadCredits()).thenReturn(1);
+        givenPending(pendingMessage("1-0", Duration.ofMinutes(5), 1), pendingMessage("1-1", Duration.ofMinutes(5), 1));
+
+        // When
+        reclaimer.reclaimPendingEntries();
+
+        // Then
+        verify(streamOperations).claim(LANE_STREAM, GROUP, CONSUMER, MIN_IDLE, RecordId.of("1-0"));
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Doit rafraîchir sans réclamer les entrées encore détenues localement")
+    void testRefreshesEntriesStillHeldLocally() {
+        // Given - a poison-count entry this consumer still buffers
+        PendingMessage held = new PendingMessage(RecordId.of("3-0"), Consumer.from(GROUP, CONSUMER),
+            Duration.ofMinutes(5), 5);
+        givenPending(held);
+        when(areaReactionWorker.isHolding(LANE_STREAM, RecordId.of("3-0"))).thenReturn(true);
+
+        // When
+        reclaimer.reclaimPendingEntries();
+
+        // Then
+        ArgumentCaptor<XClaimOptions> options = ArgumentCaptor.forClass(XClaimOptions.class);
+        verify(streamOperations).claim(eq(LANE_STREAM), eq(GROUP), eq(CONSUMER), options.capture());
+        assertEquals(List.of(RecordId.of("3-0")), options.getValue().getIds());
+        assertEquals(5L, options.getValue().getRetryCount());
+        verify(streamOperations, never()).claim(any(), any(), any(), any(Duration.class), any(RecordId[].class));
+        verify(streamOperations, never()).add(any(MapRecord.class));
+        verify(areaReactionWorker, never()).enqueueReclaimed(any());
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Doit ignorer les entrées encore récentes")
+    void testSkipRecentEntries() {
+        // Given
+        givenPending(pendingMessage("1-0", Duration.ofSeconds(5), 1));
+
+        // When
+        reclaimer.reclaimPendingEntries();
+
+        // Then
+        verify(streamOperations, never()).claim(any(), any(), any(), any(Duration.class), any(RecordId[].class));
+        verify(areaReactionWorker, never()).enqueueReclaimed(any());
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Doit déplacer les messages empoisonnés vers la dead-letter")
+    void testDeadLetterPoisonEntries() {
+        // Given
+        givenPending(pendingMessage("2-0", Duration.ofMinutes(5), 5));
+        MapRecord<String, Object, Object> record = StreamRecords.newRecord()
+            .in(LANE_STREAM)
+            .withId(RecordId.of("2-0"))
+            .ofMap(Map.<Object, Object>of("executionId", "poison"));
+        when(streamOperations.range(eq(LANE_STREAM), any())).thenReturn(List.of(record));
+
+        // When
+        reclaimer.reclaimPendingEntries();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MapRecord<String, Object, Object>> captor = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations).add(captor.capture());
+        assertEquals(DEAD_LETTER_STREAM, captor.getValue().getStream());
+        assertEquals("poison", captor.getValue().getValue().get("executionId"));
+        assertEquals("2-0", captor.getValue().getValue().get("originalId"));
+        assertEquals("5", captor.getValue().getValue().get("deliveryCount"));
+        verify(streamOperations).acknowledge(LANE_STREAM, GROUP, RecordId.of("2-0"));
+        verify(areaReactionWorker, never()).enqueueReclaimed(any());
+        assertEquals(1.0, meterRegistry.counter("redis_stream.dead_lettered_entries").count());
+    }
+
+    @Test
+    @DisplayName("reclaimPendingEntries - Ne doit pas propager les erreurs Redis")
+    void testRedisFailureIsContained() {
+        // Given
+        when(streamOperations.pending(any(), anyString(), any(Range.class), anyLong()))
+            .thenThrow(new RuntimeException("Redis down"));
+
+        // When & Then
+        assertDoesNotThrow(() -> reclaimer.reclaimPendingEntries());
+        verify(areaReactionWorker, never()).enqueueReclaimed(any());
+    }
+}
@@ -0,0 +1,175 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.dto.StreamStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisStreamRetentionTest {
+
+    private static final String STREAM = "areas:events";
+    private static final String GROUP = "area-processors";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConfig redisConfig;
+
+    @Mock
+    private StreamShardAssignment shardAssignment;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisStreamRetention retention;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retention = new RedisStreamRetention(redisTemplate, redisConfig, shardAssignment, meterRegistry);
+        retention.initMetrics();
+
+        when(shardAssignment.getAssignedStreams()).thenReturn(List.of(STREAM));
+        when(redisConfig.getAreasConsumerGroup()).thenReturn(GROUP);
+        when(redisConfig.getAreasTrimRetention()).thenReturn(Duration.ofMinutes(1));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.consumers(STREAM, GROUP)).thenReturn(StreamInfo.XInfoConsumers.fromList(GROUP,
+            List.of(List.of("name", "node-a", "pending", 4L, "idle", 150L))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTrimmed(long trimmed) {
+        when(redisTemplate.execute(eq(RedisStreamRetention.TRIM_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), eq(List.of(STREAM)), any(Object[].class))).thenReturn(trimmed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenStats(long length, long pending, long lag, long memory) {
+        when(redisTemplate.execute(eq(RedisStreamRetention.STATS_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), eq(List.of(STREAM)), any(Object[].class)))
+            .thenReturn(List.of(length, pending, lag, memory));
+    }
+
+    @Test
+    void trimAndSampleRecordsTrimmedEntriesAndStats() {
+        // Given
+        givenTrimmed(250L);
+        givenStats(120L, 4L, 2L, 65536L);
+
+        // When
+        retention.trimAndSample();
+
+        // Then
+        StreamStats stats = retention.getStreamStats().get(0);
+        assertEquals(STREAM, stats.getStreamKey());
+        assertEquals(120L, stats.getLength());
+        assertEquals(4L, stats.getPending());
+        assertEquals(2L, stats.getLag());
+        assertEquals(65536L, stats.getMemoryBytes());
+        assertEquals(250L, stats.getTrimmed());
+        assertEquals(4L, stats.getConsumerPending().get("node-a"));
+        assertEquals(150L, stats.getConsumerIdleMs().get("node-a"));
+        assertEquals(250.0, meterRegistry.counter("area_stream_trimmed_entries_total").count());
+    }
+
+    @Test
+    void trimAndSampleExportsGaugesPerStreamAndConsumer() {
+        // Given
+        givenTrimmed(0L);
+        givenStats(120L, 4L, 2L, 65536L);
+
+        // When
+        retention.trimAndSample();
+
+        // Then
+        assertEquals(120.0, meterRegistry.get("area_stream_length").tag("stream", STREAM).gauge().value());
+        assertEquals(4.0, meterRegistry.get("area_stream_pending").tag("stream", STREAM).gauge().value());
+        assertEquals(2.0, meterRegistry.get("area_stream_lag").tag("stream", STREAM).gauge().value());
+        assertEquals(65536.0, meterRegistry.get("area_stream_memory_bytes").tag("stream", STREAM).gauge().value());
+        assertEquals(4.0, meterRegistry.get("area_stream_consumer_pending")
+            .tags("stream", STREAM, "consumer", "node-a").gauge().value());
+    }
+
+    @Test
+    void unknownLagIsNotReported() {
+        // Given
+        givenTrimmed(0L);
+        givenStats(10L, 0L, -1L, 1024L);
+
+        // When
+        retention.trimAndSample();
+
+        // Then
+        assertNull(retention.getStreamStats().get(0).getLag());
+        assertNull(meterRegistry.find("area_stream_lag").gauge());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void trimKeepsEntriesInsideTheRetentionWindow() {
+        // Given
+        givenTrimmed(0L);
+        givenStats(0L, 0L, 0L, 0L);
+        long before = System.currentTimeMillis() - Duration.ofMinutes(1).toMillis();
+
+        // When
+        retention.trimAndSample();
+
+        // Then
+        ArgumentCaptor<String> minId = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(eq(RedisStreamRetention.TRIM_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), eq(List.of(STREAM)), minId.capture());
+        String cutoff = minId.getValue();
+        long cutoffMs = Long.parseLong(cutoff.substring(0, cutoff.indexOf('-')));
+        assertTrue(cutoffMs >= before);
+        assertTrue(cutoffMs <= System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failingStreamDoesNotStopTheOthers() {
+        // Given
+        when(shardAssignment.getAssignedStreams()).thenReturn(List.of("areas:events:0", STREAM));
+        when(redisTemplate.execute(eq(RedisStreamRetention.TRIM_SCRIPT), any(RedisSerializer.class),
+            any(RedisSerializer.class), eq(List.of("areas:events:0")), any(Object[].class)))
+            .thenThrow(new RuntimeException("NOSCRIPT"));
+        givenTrimmed(0L);
+        givenStats(5L, 0L, 0L, 512L);
+
+        // When
+        retention.trimAndSample();
+
+        // Then
+        List<StreamStats> stats = retention.getStreamStats();
+        assertEquals(1, stats.size());
+        assertEquals(STREAM, stats.get(0).getStreamKey());
+        assertNotNull(stats.get(0).getSampledAt());
+    }
+}
@@ -0,0 +1,271 @@
+package area.server.AREA_Back.service.Redis;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.dto.AreaEventMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoStream;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StreamShardAssignmentTest {
+
+    private static final String STREAM = "areas:events";
+    private static final String MEMBERS = "areas:events:consumers";
+    private static final String GROUP = "area-processors";
+    private static final int SHARDS = 8;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConfig redisConfig;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StreamShardAssignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        assignment = new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry);
+        assignment.initMetrics();
+
+        when(redisConfig.getAreasEventsStream()).thenReturn(STREAM);
+        when(redisConfig.getAreasShardCount()).thenReturn(SHARDS);
+        when(redisConfig.getAreasConsumerName()).thenReturn("node-a");
+        when(redisConfig.getAreasMembershipTtl()).thenReturn(Duration.ofSeconds(15));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void singleShardKeepsOneStreamPerLane() {
+        // Given
+        when(redisConfig.getAreasShardCount()).thenReturn(1);
+
+        // When
+        List<String> assigned = assignment.getAssignedStreams();
+        assignment.rebalance();
+
+        // Then
+        assertEquals(List.of(STREAM + ":manual", STREAM + ":chain", STREAM + ":webhook", STREAM + ":poll",
+            STREAM + ":cron"), assigned);
+        assertEquals(STREAM + ":poll", assignment.streamFor(message(UUID.randomUUID())));
+        assertEquals(List.of(STREAM + ":manual"), assignment.getAssignedStreams(EventLane.INTERACTIVE));
+        verifyNoInteractions(zSetOperations);
+    }
+
+    @Test
+    void legacyStreamIsReadWithItsLaneUntilDrained() {
+        // Given
+        when(redisConfig.getAreasShardCount()).thenReturn(1);
+        givenLegacyStream(2L, "5-0", "5-0");
+
+        // When
+        List<String> whilePending = assignment.getAssignedStreams();
+        List<String> pollWhilePending = assignment.getAssignedStreams(EventLane.POLL);
+        List<String> interactiveWhilePending = assignment.getAssignedStreams(EventLane.INTERACTIVE);
+        givenLegacyStream(0L, "5-0", "5-0");
+        assignment.refreshLegacyStream();
+
+        // Then
+        assertTrue(whilePending.contains(STREAM));
+        assertEquals(List.of(STREAM + ":poll", STREAM), pollWhilePending);
+        assertEquals(List.of(STREAM + ":manual"), interactiveWhilePending);
+        assertFalse(assignment.getAssignedStreams().contains(STREAM));
+        assertEquals(List.of(STREAM + ":poll"), assignment.getAssignedStreams(EventLane.POLL));
+    }
+
+    @Test
+    void legacyStreamWithUndeliveredEntriesIsRead() {
+        // Given
+        givenLegacyStream(0L, "5-1", "5-0");
+
+        // When
+        assignment.refreshLegacyStream();
+
+        // Then
+        assertTrue(assignment.getAssignedStreams(EventLane.POLL).contains(STREAM));
+    }
+
+    @Test
+    void legacyStreamWithoutTheGroupIsIgnored() {
+        // Given
+        when(redisConfig.getAreasShardCount()).thenReturn(1);
+        when(redisTemplate.hasKey(STREAM)).thenReturn(true);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.groups(STREAM)).thenReturn(XInfoGroups.fromList(List.of()));
+
+        // When
+        List<String> assigned = assignment.getAssignedStreams();
+
+        // Then
+        assertFalse(assigned.contains(STREAM));
+    }
+
+    @Test
+    void eventsAreRoutedToTheLaneOfTheirType() {
+        // Given
+        UUID areaId = UUID.randomUUID();
+        AreaEventMessage manual = message(areaId);
+        manual.setEventType("manual");
+        AreaEventMessage chain = message(areaId);
+        chain.setEventType("chain");
+        AreaEventMessage replay = message(areaId);
+        replay.setEventType("replay");
+
+        // When & Then
+        String shard = STREAM + ":" + assignment.shardOf(areaId);
+        assertEquals(shard + ":manual", assignment.streamFor(manual));
+        assertEquals(shard + ":chain", assignment.streamFor(chain));
+        assertEquals(shard + ":poll", assignment.streamFor(replay));
+    }
+
+    @Test
+    void eventsOfAnAreaAlwaysGoToTheSameShard() {
+        // Given
+        UUID areaId = UUID.randomUUID();
+
+        // When
+        String first = assignment.streamFor(message(areaId));
+        String second = assignment.streamFor(message(areaId));
+
+        // Then
+        assertEquals(first, second);
+        assertTrue(assignment.allStreams().contains(first));
+        assertEquals(STREAM + ":" + assignment.shardOf(areaId) + ":poll", first);
+    }
+
+    @Test
+    void eventsWithoutAreaAreSpreadByExecutionId() {
+        // Given
+        AreaEventMessage message = message(null);
+        message.setExecutionId(UUID.randomUUID());
+
+        // When
+        String stream = assignment.streamFor(message);
+
+        // Then
+        assertEquals(STREAM + ":" + assignment.shardOf(message.getExecutionId()) + ":poll", stream);
+    }
+
+    @Test
+    void rebalanceHeartbeatsAndDropsExpiredMembers() {
+        // Given
+        givenMembers("node-a", "node-b");
+
+        // When
+        assignment.rebalance();
+
+        // Then
+        verify(zSetOperations).add(eq(MEMBERS), eq("node-a"), anyDouble());
+        verify(zSetOperations).removeRangeByScore(eq(MEMBERS), eq(0.0), anyDouble());
+        assertEquals(1.0, meterRegistry.counter("area_stream_shard_rebalances_total").count());
+    }
+
+    @Test
+    void liveMembersSplitAllShardsWithoutOverlap() {
+        // Given
+        List<String> members = List.of("node-a", "node-b", "node-c");
+        givenMembers(members.toArray(String[]::new));
+
+        // When
+        List<String> owned = new ArrayList<>();
+        for (String member : members) {
+            when(redisConfig.getAreasConsumerName()).thenReturn(member);
+            StreamShardAssignment node = new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry);
+            node.initMetrics();
+            owned.addAll(node.getAssignedStreams());
+        }
+
+        // Then
+        assertEquals(SHARDS * EventLane.values().length, owned.size());
+        assertEquals(Set.copyOf(assignment.allStreams()), Set.copyOf(owned));
+    }
+
+    @Test
+    void memberLeavingOnlyMovesItsOwnShards() {
+        // Given
+        List<String> before = List.of("node-a", "node-b", "node-c");
+        List<String> after = List.of("node-a", "node-c");
+
+        // When & Then
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String owner = StreamShardAssignment.owner(before, shard);
+            if (!"node-b".equals(owner)) {
+                assertEquals(owner, StreamShardAssignment.owner(after, shard));
+            }
+        }
+    }
+
+    @Test
+    void leaveRemovesThisConsumerFromTheMembership() {
+        // When
+        assignment.leave();
+
+        // Then
+        verify(zSetOperations).remove(MEMBERS, "node-a");
+    }
+
+    private void givenLegacyStream(long pending, String lastEntryId, String lastDeliveredId) {
+        XInfoGroup group = mock(XInfoGroup.class);
+        when(group.groupName()).thenReturn(GROUP);
+        when(group.pendingCount()).thenReturn(pending);
+        when(group.lastDeliveredId()).thenReturn(lastDeliveredId);
+        XInfoGroups groups = mock(XInfoGroups.class);
+        when(groups.iterator()).thenAnswer(invocation -> List.of(group).iterator());
+        XInfoStream info = mock(XInfoStream.class);
+        when(info.streamLength()).thenReturn(3L);
+        when(info.lastEntryId()).thenReturn(lastEntryId);
+
+        when(redisConfig.getAreasConsumerGroup()).thenReturn(GROUP);
+        when(redisTemplate.hasKey(STREAM)).thenReturn(true);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.groups(STREAM)).thenReturn(groups);
+        when(streamOperations.info(STREAM)).thenReturn(info);
+    }
+
+    private void givenMembers(String... members) {
+        when(zSetOperations.range(MEMBERS, 0, -1)).thenReturn(new LinkedHashSet<>(List.of((Object[]) members)));
+    }
+
+    private AreaEventMessage message(UUID areaId) {
+        AreaEventMessage message = new AreaEventMessage();
+        message.setAreaId(areaId);
+        message.setExecutionId(UUID.randomUUID());
+        return message;
+    }
+}
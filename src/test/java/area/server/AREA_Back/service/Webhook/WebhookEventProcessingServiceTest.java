@@ -3,9 +3,10 @@ package area.server.AREA_Back.service.Webhook;
 import area.server.AREA_Back.entity.*;
 import area.server.AREA_Back.entity.enums.ActivationModeType;
 import area.server.AREA_Back.repository.ActionInstanceRepository;
-import area.server.AREA_Back.repository.ActionLinkRepository;
 import area.server.AREA_Back.repository.ActivationModeRepository;
+import area.server.AREA_Back.service.Area.ExecutionGraphService;
 import area.server.AREA_Back.service.Area.ExecutionService;
+import area.server.AREA_Back.service.Redis.EventLane;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,14 +34,11 @@ class WebhookEventProcessingServiceTest {
     @Mock
     private ActivationModeRepository activationModeRepository;
 
-    @Mock
-    private ActionLinkRepository actionLinkRepository;
-
     @Mock
     private ExecutionService executionService;
 
     @Mock
-    private PayloadMappingService payloadMappingService;
+    private ExecutionGraphService executionGraphService;
 
     @InjectMocks
     private WebhookEventProcessingService webhookEventProcessingService;
@@ -75,6 +74,8 @@ class WebhookEventProcessingServiceTest {
         webhookActivationMode.setType(ActivationModeType.WEBHOOK);
         webhookActivationMode.setEnabled(true);
         webhookActivationMode.setActionInstance(actionInstance);
+
+        when(executionService.claimDedupKey(any(), any(), any(), any())).thenReturn(true);
     }
 
     @Test
@@ -710,29 +711,11 @@ class WebhookEventProcessingServiceTest {
     }
 
     @Test
-    void testCreateExecutionForWebhook_WithActionLinks() {
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        Map<String, Object> mapping = new HashMap<>();
-        mapping.put("field1", "value1");
-        actionLink.setMapping(mapping);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-        chainMode.setActionInstance(targetInstance);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
-
+    void testStartRunForWebhook_StartsGraphOnWebhookLane() {
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "opened");
+        Execution queued = new Execution();
+        queued.setId(UUID.randomUUID());
 
         when(actionInstanceRepository.findEnabledActionInstancesByUserAndService(userId, "github"))
             .thenReturn(Collections.singletonList(actionInstance));
@@ -740,33 +723,19 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
-        when(payloadMappingService.applyMapping(any(), any()))
-            .thenReturn(payload);
+        when(executionGraphService.startRun(eq(actionInstance), isNull(), eq(payload), any(), eq(EventLane.WEBHOOK)))
+            .thenReturn(List.of(queued));
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "new_issue", payload, userId
         );
 
-        assertNotNull(result);
-        verify(executionService, times(1)).createExecution(any(), any(), any(), any());
+        assertEquals(List.of(queued), result);
+        verify(executionService).claimDedupKey(eq(actionInstance), eq(webhookActivationMode), eq(payload), any());
     }
 
     @Test
-    void testCreateExecutionForWebhook_NoChainActivationMode() {
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
+    void testStartRunForWebhook_DuplicateEventStartsNoRun() {
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "opened");
 
@@ -776,41 +745,18 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.emptyList());
+        when(executionService.claimDedupKey(any(), any(), any(), any())).thenReturn(false);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "new_issue", payload, userId
         );
 
-        assertNotNull(result);
-        verify(executionService, never()).createExecution(any(), any(), any(), any());
+        assertTrue(result.isEmpty());
+        verify(executionGraphService, never()).startRun(any(), any(), any(), any(), any());
     }
 
     @Test
-    void testCreateExecutionForWebhook_WithMappingException() {
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        Map<String, Object> mapping = new HashMap<>();
-        mapping.put("field1", "value1");
-        actionLink.setMapping(mapping);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-        chainMode.setActionInstance(targetInstance);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
-
+    void testStartRunForWebhook_NoLinkedActions() {
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "opened");
 
@@ -820,20 +766,13 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(payloadMappingService.applyMapping(any(), any()))
-            .thenThrow(new RuntimeException("Mapping failed"));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
+        when(executionGraphService.startRun(any(), any(), any(), any(), any())).thenReturn(List.of());
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "new_issue", payload, userId
         );
 
-        assertNotNull(result);
+        assertTrue(result.isEmpty());
     }
 
     @Test
@@ -858,20 +797,6 @@ class WebhookEventProcessingServiceTest {
     @Test
     void testMatchesEventSubType_GitHub_IssueUpdatedEdited() {
         actionDefinition.setKey("issue_updated");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "edited");
@@ -882,12 +807,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "issue_updated", payload, userId
@@ -899,20 +818,6 @@ class WebhookEventProcessingServiceTest {
     @Test
     void testMatchesEventSubType_GitHub_IssueUpdatedLabeled() {
         actionDefinition.setKey("issue_updated");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "labeled");
@@ -923,12 +828,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "issue_updated", payload, userId
@@ -940,20 +839,6 @@ class WebhookEventProcessingServiceTest {
     @Test
     void testMatchesEventSubType_GitHub_IssueClosed() {
         actionDefinition.setKey("issue_closed");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "closed");
@@ -964,12 +849,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "issue_closed", payload, userId
@@ -981,20 +860,6 @@ class WebhookEventProcessingServiceTest {
     @Test
     void testMatchesEventSubType_GitHub_PRUpdatedSynchronize() {
         actionDefinition.setKey("pr_updated");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "synchronize");
@@ -1005,12 +870,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "pr_updated", payload, userId
@@ -1022,20 +881,6 @@ class WebhookEventProcessingServiceTest {
     @Test
     void testMatchesEventSubType_GitHub_PRMerged() {
         actionDefinition.setKey("pr_merged");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "closed");
@@ -1046,12 +891,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "github", "pr_merged", payload, userId
@@ -1064,20 +903,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Slack_NewMessage() {
         service.setKey("slack");
         actionDefinition.setKey("new_message");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "message");
@@ -1088,12 +913,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "slack", "new_message", payload, userId
@@ -1106,20 +925,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Slack_ReactionAdded() {
         service.setKey("slack");
         actionDefinition.setKey("reaction_added");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "reaction_added");
@@ -1130,12 +935,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "slack", "reaction_added", payload, userId
@@ -1148,20 +947,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Slack_MemberJoined() {
         service.setKey("slack");
         actionDefinition.setKey("member_joined");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "member_joined_channel");
@@ -1172,12 +957,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "slack", "member_joined", payload, userId
@@ -1190,20 +969,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_MessageCreate() {
         service.setKey("discord");
         actionDefinition.setKey("new_message");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "message_create");
@@ -1214,12 +979,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "new_message", payload, userId
@@ -1232,20 +991,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_MessageCreateUpperCase() {
         service.setKey("discord");
         actionDefinition.setKey("new_message");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "MESSAGE_CREATE");
@@ -1256,12 +1001,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "new_message", payload, userId
@@ -1274,20 +1013,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_MessageReaction() {
         service.setKey("discord");
         actionDefinition.setKey("message_reaction");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "message_reaction_add");
@@ -1298,12 +1023,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "message_reaction", payload, userId
@@ -1316,20 +1035,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_MessageReactionUpperCase() {
         service.setKey("discord");
         actionDefinition.setKey("message_reaction");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "MESSAGE_REACTION_ADD");
@@ -1340,12 +1045,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "message_reaction", payload, userId
@@ -1358,20 +1057,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_NewMember() {
         service.setKey("discord");
         actionDefinition.setKey("new_member");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "guild_member_add");
@@ -1382,12 +1067,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "new_member", payload, userId
@@ -1400,20 +1079,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_NewMemberUpperCase() {
         service.setKey("discord");
         actionDefinition.setKey("new_member");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "GUILD_MEMBER_ADD");
@@ -1424,12 +1089,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "new_member", payload, userId
@@ -1442,20 +1101,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_ChannelCreated() {
         service.setKey("discord");
         actionDefinition.setKey("channel_created");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "channel_create");
@@ -1466,12 +1111,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "channel_created", payload, userId
@@ -1484,20 +1123,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_Discord_ChannelCreatedUpperCase() {
         service.setKey("discord");
         actionDefinition.setKey("channel_created");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "CHANNEL_CREATE");
@@ -1508,12 +1133,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "discord", "channel_created", payload, userId
@@ -1548,20 +1167,6 @@ class WebhookEventProcessingServiceTest {
     void testMatchesEventSubType_UnknownService() {
         service.setKey("unknown_service");
         actionDefinition.setKey("some_action");
-        ActionLink actionLink = new ActionLink();
-        actionLink.setSourceActionInstance(actionInstance);
-
-        ActionInstance targetInstance = new ActionInstance();
-        targetInstance.setId(UUID.randomUUID());
-        targetInstance.setActionDefinition(actionDefinition);
-        actionLink.setTargetActionInstance(targetInstance);
-
-        ActivationMode chainMode = new ActivationMode();
-        chainMode.setType(ActivationModeType.CHAIN);
-        chainMode.setEnabled(true);
-
-        Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("action", "test_action");
@@ -1572,12 +1177,6 @@ class WebhookEventProcessingServiceTest {
             .thenReturn(Collections.singletonList(webhookActivationMode));
         when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(actionInstance, ActivationModeType.WEBHOOK, true))
             .thenReturn(Collections.singletonList(webhookActivationMode));
-        when(actionLinkRepository.findBySourceActionInstanceIdWithTargetFetch(actionInstance.getId()))
-            .thenReturn(Collections.singletonList(actionLink));
-        when(activationModeRepository.findByActionInstanceAndTypeAndEnabled(targetInstance, ActivationModeType.CHAIN, true))
-            .thenReturn(Collections.singletonList(chainMode));
-        when(executionService.createExecution(any(), any(), any(), any()))
-            .thenReturn(execution);
 
         List<Execution> result = webhookEventProcessingService.processWebhookEvent(
             "unknown_service", "some_action", payload, userId
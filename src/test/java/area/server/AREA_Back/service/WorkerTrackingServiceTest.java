@@ -1,5 +1,6 @@
 package area.server.AREA_Back.service;
 
+import area.server.AREA_Back.config.VirtualThreadTaskExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -165,4 +166,30 @@ class WorkerTrackingServiceTest {
         assertThat(healthStatus.get("totalWorkers")).isEqualTo(6);
         assertThat(healthStatus.get("maxWorkers")).isEqualTo(16);
     }
+
+    @Test
+    void virtualThreadExecutorsShouldReportPermitsInsteadOfPools() throws Exception {
+        // Given
+        VirtualThreadTaskExecutor areaVirtual = new VirtualThreadTaskExecutor("AreaWorker", 16, 1);
+        VirtualThreadTaskExecutor reactionVirtual = new VirtualThreadTaskExecutor("ReactionExec", 1000, 1);
+        WorkerTrackingService virtualTracking = new WorkerTrackingService(areaVirtual, reactionVirtual);
+
+        try {
+            // When
+            Map<String, Object> statistics = virtualTracking.getWorkerStatistics();
+
+            // Then
+            assertThat(virtualTracking.getMaxWorkers()).isEqualTo(1016);
+            assertThat(virtualTracking.getActiveWorkers()).isZero();
+            assertThat(virtualTracking.isHealthy()).isTrue();
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> reactionWorkerStats = (Map<String, Object>) statistics.get("reactionWorker");
+            assertThat(reactionWorkerStats.get("virtualThreads")).isEqualTo(true);
+            assertThat(reactionWorkerStats.get("availablePermits")).isEqualTo(1000);
+        } finally {
+            areaVirtual.destroy();
+            reactionVirtual.destroy();
+        }
+    }
 }
@@ -1,14 +1,19 @@
 package area.server.AREA_Back.worker;
 
 import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.config.VirtualThreadTaskExecutor;
+import area.server.AREA_Back.config.WorkerProperties;
 import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.ActionInstance;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.enums.ExecutionStatus;
-import area.server.AREA_Back.repository.ExecutionRepository;
 import area.server.AREA_Back.service.Area.ActionLinkService;
+import area.server.AREA_Back.service.Area.ExecutionGraphService;
+import area.server.AREA_Back.service.Area.ExecutionResultWriter;
 import area.server.AREA_Back.service.Area.ExecutionService;
 import area.server.AREA_Back.service.Redis.RedisEventService;
+import area.server.AREA_Back.service.Redis.RedisExecutionLimiter;
+import area.server.AREA_Back.service.Redis.StreamShardAssignment;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,17 +21,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -34,8 +49,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -62,16 +81,26 @@ class AreaReactionWorkerTest {
     @Mock
     private RedisConfig redisConfig;
 
-    @Mock
-    private ExecutionRepository executionRepository;
-
     @Mock
     private ActionLinkService actionLinkService;
 
     @Mock
     private StreamOperations<String, Object, Object> streamOperations;
 
+    @Mock
+    private RedisExecutionLimiter executionLimiter;
+
+    @Mock
+    private ExecutionGraphService executionGraphService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
     private SimpleMeterRegistry meterRegistry;
+    private FairShareScheduler fairShareScheduler;
+    private ExecutionResultWriter resultWriter;
     private AreaReactionWorker areaReactionWorker;
 
     private Execution testExecution;
@@ -81,23 +110,35 @@ class AreaReactionWorkerTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        fairShareScheduler = new FairShareScheduler(new WorkerProperties(), meterRegistry);
+        fairShareScheduler.initMetrics();
+        resultWriter = new ExecutionResultWriter(executionService, executionGraphService, transactionTemplate,
+            new WorkerProperties(), meterRegistry);
+        resultWriter.initMetrics();
 
         // Create AreaReactionWorker manually with all dependencies
         areaReactionWorker = new AreaReactionWorker(
             redisTemplate,
             redisEventService,
             executionService,
-            executionRepository,
             reactionExecutor,
             redisConfig,
             meterRegistry,
-            actionLinkService
+            actionLinkService,
+            new WorkerProperties(),
+            new ReactionDispatcher(Runnable::run, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            resultWriter
         );
 
         // Setup RedisConfig mock
         when(redisConfig.getAreasEventsStream()).thenReturn("areas:events");
         when(redisConfig.getAreasConsumerGroup()).thenReturn("area-processors");
         when(redisConfig.getAreasConsumerName()).thenReturn("test-consumer");
+        when(executionLimiter.tryAcquire(any(), any())).thenReturn(RedisExecutionLimiter.Decision.ACQUIRED);
 
         // Setup test data
         actionInstance = new ActionInstance();
@@ -120,25 +161,59 @@ class AreaReactionWorkerTest {
     @Test
     void testProcessExecutionSuccess() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
+        areaReactionWorker.initialize();
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
         when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
 
         // When
         areaReactionWorker.processExecution(testExecution);
 
         // Then
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimExecutions("test-consumer", List.of(testExecution.getId()));
+        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
         verify(reactionExecutor).executeReaction(testExecution);
         verify(executionService).updateExecutionWithResult(executionResult);
     }
 
+    @Test
+    void testProcessExecutionReleasesLinkedActionsWhenResultApplied() {
+        // Given
+        areaReactionWorker.initialize();
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+        when(executionService.updateExecutionWithResult(executionResult)).thenReturn(true);
+
+        // When
+        areaReactionWorker.processExecution(testExecution);
+
+        // Then
+        verify(executionGraphService)
+            .onExecutionFinished(testExecution, ExecutionStatus.OK, executionResult.getOutputPayload());
+    }
+
+    @Test
+    void testProcessExecutionSkipsLinkedActionsWhenResultDiscarded() {
+        // Given
+        areaReactionWorker.initialize();
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+        when(executionService.updateExecutionWithResult(executionResult)).thenReturn(false);
+
+        // When
+        areaReactionWorker.processExecution(testExecution);
+
+        // Then
+        verify(executionGraphService, never()).onExecutionFinished(any(), any(), any());
+    }
+
     @Test
     void testProcessExecutionWithException() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
         RuntimeException exception = new RuntimeException("Test exception");
         when(reactionExecutor.executeReaction(testExecution)).thenThrow(exception);
 
@@ -146,8 +221,8 @@ class AreaReactionWorkerTest {
         areaReactionWorker.processExecution(testExecution);
 
         // Then
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimExecutions("test-consumer", List.of(testExecution.getId()));
+        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
         verify(reactionExecutor).executeReaction(testExecution);
 
         ArgumentCaptor<ExecutionResult> resultCaptor = ArgumentCaptor.forClass(ExecutionResult.class);
@@ -162,8 +237,8 @@ class AreaReactionWorkerTest {
     @Test
     void testProcessExecutionWithUpdateException() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
         RuntimeException executionException = new RuntimeException("Execution error");
         RuntimeException updateException = new RuntimeException("Update error");
 
@@ -173,54 +248,57 @@ class AreaReactionWorkerTest {
         // When & Then - should not throw exception
         assertDoesNotThrow(() -> areaReactionWorker.processExecution(testExecution));
 
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimExecutions("test-consumer", List.of(testExecution.getId()));
+        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
         verify(executionService).updateExecutionWithResult(any(ExecutionResult.class));
     }
 
     @Test
     void testCleanupTimedOutExecutionsWithTimedOutExecutions() {
         // Given
-        List<Execution> timedOutExecutions = Arrays.asList(testExecution);
-        when(executionService.getTimedOutExecutions(any(LocalDateTime.class))).thenReturn(timedOutExecutions);
+        areaReactionWorker.initialize();
+        when(executionService.failTimedOutExecutions(any(LocalDateTime.class), eq(300)))
+            .thenReturn(List.of(testExecution.getId()));
 
         // When & Then - should not throw exception
         assertDoesNotThrow(() -> areaReactionWorker.cleanupTimedOutExecutions());
 
-        // Verify that the service method was called
-        verify(executionService).getTimedOutExecutions(any(LocalDateTime.class));
+        verify(executionService).failTimedOutExecutions(any(LocalDateTime.class), eq(300));
+        verify(executionService, never()).updateExecutionWithResult(any(ExecutionResult.class));
+        verify(actionLinkService).abortLinkedActions(List.of(testExecution.getId()));
+        assertEquals(1.0, meterRegistry.counter("area_worker_timeouts_cleaned_total").count());
     }
 
     @Test
     void testCleanupTimedOutExecutionsNoTimedOutExecutions() {
         // Given
-        when(executionService.getTimedOutExecutions(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        when(executionService.failTimedOutExecutions(any(LocalDateTime.class), anyInt()))
+            .thenReturn(Collections.emptyList());
 
         // When
         areaReactionWorker.cleanupTimedOutExecutions();
 
         // Then
-        verify(executionService).getTimedOutExecutions(any(LocalDateTime.class));
+        verify(executionService).failTimedOutExecutions(any(LocalDateTime.class), anyInt());
         verify(executionService, never()).updateExecutionWithResult(any(ExecutionResult.class));
     }
 
     @Test
     void testCleanupTimedOutExecutionsWithException() {
         // Given
-        when(executionService.getTimedOutExecutions(any(LocalDateTime.class)))
+        when(executionService.failTimedOutExecutions(any(LocalDateTime.class), anyInt()))
             .thenThrow(new RuntimeException("Database error"));
 
         // When & Then - should not throw exception
         assertDoesNotThrow(() -> areaReactionWorker.cleanupTimedOutExecutions());
 
-        verify(executionService).getTimedOutExecutions(any(LocalDateTime.class));
+        verify(executionService).failTimedOutExecutions(any(LocalDateTime.class), anyInt());
     }
 
     @Test
-    void testProcessEventRecordSuccess() {
+    void testProcessEventRecordsSuccess() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
+        areaReactionWorker.initialize();
         String executionId = testExecution.getId().toString();
         Map<Object, Object> recordValues = Map.of("executionId", executionId);
         MapRecord<String, Object, Object> record = MapRecord.create(
@@ -229,16 +307,16 @@ class AreaReactionWorkerTest {
         ).withId(RecordId.of("1234567890123-0"));
 
         when(redisTemplate.opsForStream()).thenReturn(streamOperations);
-        when(executionService.getQueuedExecutions()).thenReturn(Arrays.asList(testExecution));
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
         when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
 
         // When
-        areaReactionWorker.processEventRecord(record);
+        areaReactionWorker.processEventRecords(List.of(record));
 
         // Then
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).getQueuedExecutions();
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimExecutions("test-consumer", List.of(testExecution.getId()));
+        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
         verify(reactionExecutor).executeReaction(testExecution);
         verify(streamOperations).acknowledge(
             redisConfig.getAreasEventsStream(),
@@ -248,7 +326,255 @@ class AreaReactionWorkerTest {
     }
 
     @Test
-    void testProcessEventRecordExecutionNotFound() {
+    void testProcessEventRecordsClaimsBatchOnceAndAcknowledgesEachResult() {
+        // Given
+        areaReactionWorker.initialize();
+        Execution secondExecution = new Execution();
+        secondExecution.setId(UUID.randomUUID());
+        secondExecution.setActionInstance(actionInstance);
+        secondExecution.setStatus(ExecutionStatus.QUEUED);
+        secondExecution.setAttempt(0);
+
+        MapRecord<String, Object, Object> firstRecord = MapRecord.create(
+            redisConfig.getAreasEventsStream(),
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        MapRecord<String, Object, Object> secondRecord = MapRecord.create(
+            redisConfig.getAreasEventsStream(),
+            Map.<Object, Object>of("executionId", secondExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-1"));
+
+        List<UUID> expectedIds = List.of(testExecution.getId(), secondExecution.getId());
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions("test-consumer", expectedIds))
+            .thenReturn(List.of(secondExecution, testExecution));
+        when(reactionExecutor.executeReaction(any(Execution.class))).thenReturn(executionResult);
+
+        // When
+        areaReactionWorker.processEventRecords(List.of(firstRecord, secondRecord));
+
+        // Then
+        verify(executionService).claimExecutions("test-consumer", expectedIds);
+        verify(reactionExecutor).executeReaction(testExecution);
+        verify(reactionExecutor).executeReaction(secondExecution);
+        verify(streamOperations).acknowledge(
+            redisConfig.getAreasEventsStream(),
+            redisConfig.getAreasConsumerGroup(),
+            firstRecord.getId()
+        );
+        verify(streamOperations).acknowledge(
+            redisConfig.getAreasEventsStream(),
+            redisConfig.getAreasConsumerGroup(),
+            secondRecord.getId()
+        );
+    }
+
+    @Test
+    void testProcessEventRecordsKeepsRecordPendingUntilReactionFinishes() {
+        // Given - a reaction dispatched but not run yet
+        List<Runnable> submitted = new ArrayList<>();
+        areaReactionWorker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            new WorkerProperties(),
+            new ReactionDispatcher(submitted::add, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            resultWriter
+        );
+        areaReactionWorker.initialize();
+        MapRecord<String, Object, Object> record = MapRecord.create(
+            "areas:events",
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions(eq("test-consumer"), anyList())).thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+
+        // When
+        areaReactionWorker.processEventRecords(List.of(record));
+
+        // Then
+        verify(streamOperations, never()).acknowledge(any(String.class), any(String.class), any(RecordId[].class));
+        submitted.forEach(Runnable::run);
+        verify(streamOperations).acknowledge("areas:events", "area-processors", record.getId());
+    }
+
+    @Test
+    void testReclaimedRecordsAreBufferedAndHeldUntilWritten() {
+        // Given
+        List<Runnable> submitted = new ArrayList<>();
+        areaReactionWorker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            new WorkerProperties(),
+            new ReactionDispatcher(submitted::add, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            resultWriter
+        );
+        areaReactionWorker.initialize();
+        MapRecord<String, Object, Object> record = MapRecord.create(
+            "areas:events:webhook",
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions(eq("test-consumer"), anyList())).thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+
+        // When
+        areaReactionWorker.enqueueReclaimed(List.of(record));
+
+        // Then
+        verify(executionService, never()).claimExecutions(any(), any());
+        assertTrue(areaReactionWorker.isHolding("areas:events:webhook", record.getId()));
+        areaReactionWorker.dispatchBufferedEvents();
+        assertTrue(areaReactionWorker.isHolding("areas:events:webhook", record.getId()));
+        submitted.forEach(Runnable::run);
+        assertFalse(areaReactionWorker.isHolding("areas:events:webhook", record.getId()));
+    }
+
+    @Test
+    void testProcessEventRecordsAcknowledgesEachShardStream() {
+        // Given
+        MapRecord<String, Object, Object> firstRecord = MapRecord.create(
+            "areas:events:0",
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        MapRecord<String, Object, Object> secondRecord = MapRecord.create(
+            "areas:events:3",
+            Map.<Object, Object>of("executionId", UUID.randomUUID().toString())
+        ).withId(RecordId.of("1234567890124-0"));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions(eq("test-consumer"), anyList())).thenReturn(List.of());
+
+        // When
+        areaReactionWorker.processEventRecords(List.of(firstRecord, secondRecord));
+
+        // Then
+        verify(streamOperations).acknowledge("areas:events:0", "area-processors", firstRecord.getId());
+        verify(streamOperations).acknowledge("areas:events:3", "area-processors", secondRecord.getId());
+    }
+
+    @Test
+    void testProcessEventRecordsWithWriteBehindAcknowledgesClaimedRecordsAfterFlush() {
+        // Given
+        WorkerProperties properties = new WorkerProperties();
+        properties.getWriteBehind().setEnabled(true);
+        ExecutionResultWriter writeBehind = new ExecutionResultWriter(executionService, executionGraphService,
+            transactionTemplate, properties, meterRegistry);
+        writeBehind.initMetrics();
+        areaReactionWorker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            properties,
+            new ReactionDispatcher(Runnable::run, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            writeBehind
+        );
+        areaReactionWorker.initialize();
+
+        MapRecord<String, Object, Object> claimedRecord = MapRecord.create(
+            "areas:events",
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        MapRecord<String, Object, Object> unclaimedRecord = MapRecord.create(
+            "areas:events",
+            Map.<Object, Object>of("executionId", UUID.randomUUID().toString())
+        ).withId(RecordId.of("1234567890123-1"));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions(eq("test-consumer"), anyList())).thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+        when(executionService.updateExecutionsWithResults(List.of(executionResult)))
+            .thenReturn(Set.of(testExecution.getId()));
+
+        // When
+        areaReactionWorker.processEventRecords(List.of(claimedRecord, unclaimedRecord));
+
+        // Then
+        verify(streamOperations).acknowledge("areas:events", "area-processors", unclaimedRecord.getId());
+        verify(streamOperations, never()).acknowledge("areas:events", "area-processors", claimedRecord.getId());
+        verify(executionService, never()).updateExecutionWithResult(any());
+        verify(executionGraphService, never()).onExecutionFinished(any(), any(), any());
+
+        writeBehind.flush();
+        verify(streamOperations).acknowledge("areas:events", "area-processors", claimedRecord.getId());
+        verify(executionGraphService)
+            .onExecutionFinished(testExecution, ExecutionStatus.OK, executionResult.getOutputPayload());
+    }
+
+    @Test
+    void testProcessEventRecordsWithWriteBehindHandsBackExecutionWhenFlushFails() {
+        // Given
+        WorkerProperties properties = new WorkerProperties();
+        properties.getWriteBehind().setEnabled(true);
+        properties.getWriteBehind().setMaxFlushAttempts(1);
+        ExecutionResultWriter writeBehind = new ExecutionResultWriter(executionService, executionGraphService,
+            transactionTemplate, properties, meterRegistry);
+        writeBehind.initMetrics();
+        areaReactionWorker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            properties,
+            new ReactionDispatcher(Runnable::run, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            writeBehind
+        );
+        areaReactionWorker.initialize();
+
+        MapRecord<String, Object, Object> record = MapRecord.create(
+            "areas:events",
+            Map.<Object, Object>of("executionId", testExecution.getId().toString())
+        ).withId(RecordId.of("1234567890123-0"));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(executionService.claimExecutions(eq("test-consumer"), anyList())).thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+        when(executionService.updateExecutionsWithResults(List.of(executionResult)))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(Set.of(testExecution.getId()));
+
+        // When - the flush fails, then the pending entry is redelivered
+        areaReactionWorker.processEventRecords(List.of(record));
+        writeBehind.flush();
+        areaReactionWorker.processEventRecords(List.of(record));
+        writeBehind.flush();
+
+        // Then
+        verify(executionService).releaseClaimedExecutions("test-consumer", List.of(testExecution.getId()));
+        verify(reactionExecutor, times(2)).executeReaction(testExecution);
+        verify(streamOperations, times(1)).acknowledge("areas:events", "area-processors", record.getId());
+        verify(executionGraphService, times(1))
+            .onExecutionFinished(testExecution, ExecutionStatus.OK, executionResult.getOutputPayload());
+    }
+
+    @Test
+    void testProcessEventRecordsExecutionNotClaimable() {
         // Given
         String executionId = UUID.randomUUID().toString();
         Map<Object, Object> recordValues = Map.of("executionId", executionId);
@@ -258,14 +584,14 @@ class AreaReactionWorkerTest {
         ).withId(RecordId.of("1234567890123-0"));
 
         when(redisTemplate.opsForStream()).thenReturn(streamOperations);
-        when(executionService.getQueuedExecutions()).thenReturn(Collections.emptyList());
+        when(executionService.claimExecutions(any(), any())).thenReturn(Collections.emptyList());
 
         // When
-        areaReactionWorker.processEventRecord(record);
+        areaReactionWorker.processEventRecords(List.of(record));
 
         // Then
-        verify(executionService).getQueuedExecutions();
-        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
+        verify(executionService).claimExecutions(any(), any());
+        verify(reactionExecutor, never()).executeReaction(any(Execution.class));
         verify(streamOperations).acknowledge(
             redisConfig.getAreasEventsStream(),
             redisConfig.getAreasConsumerGroup(),
@@ -274,7 +600,7 @@ class AreaReactionWorkerTest {
     }
 
     @Test
-    void testProcessEventRecordNoExecutionId() {
+    void testProcessEventRecordsNoExecutionId() {
         // Given
         Map<Object, Object> recordValues = Map.of("otherField", "value");
         MapRecord<String, Object, Object> record = MapRecord.create(
@@ -285,10 +611,10 @@ class AreaReactionWorkerTest {
         when(redisTemplate.opsForStream()).thenReturn(streamOperations);
 
         // When
-        areaReactionWorker.processEventRecord(record);
+        areaReactionWorker.processEventRecords(List.of(record));
 
         // Then
-        verify(executionService, never()).getQueuedExecutions();
+        verify(executionService, never()).claimExecutions(any(), any());
         verify(streamOperations).acknowledge(
             redisConfig.getAreasEventsStream(),
             redisConfig.getAreasConsumerGroup(),
@@ -296,21 +622,256 @@ class AreaReactionWorkerTest {
         );
     }
 
+    @Test
+    void testProcessAreaEventsReadsLanesByWeightWhileBacklogged() {
+        // Given
+        areaReactionWorker.initialize();
+        List<StreamOffset<String>[]> reads = new ArrayList<>();
+        List<StreamReadOptions> options = new ArrayList<>();
+        givenStreamReads(reads, options, 1);
+
+        // When
+        areaReactionWorker.processAreaEvents();
+
+        // Then
+        assertEquals(11, reads.size());
+        List<String> laneOrder = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            laneOrder.add(reads.get(i)[0].getKey());
+            assertFalse(options.get(i).isBlocking());
+        }
+        assertEquals(List.of("areas:events:manual", "areas:events:chain", "areas:events:webhook",
+            "areas:events:poll", "areas:events:cron"), laneOrder);
+        assertEquals(16L, options.get(0).getCount());
+        assertEquals(2L, options.get(3).getCount());
+        assertTrue(options.get(10).isBlocking());
+        assertEquals(5, reads.get(10).length);
+        assertEquals(2.0, meterRegistry.counter("area_worker_lane_events_total", "lane", "poll").count());
+    }
+
+    @Test
+    void testProcessAreaEventsBlocksOnceWhenEveryLaneIsIdle() {
+        // Given
+        areaReactionWorker.initialize();
+        List<StreamOffset<String>[]> reads = new ArrayList<>();
+        List<StreamReadOptions> options = new ArrayList<>();
+        givenStreamReads(reads, options, 0);
+
+        // When
+        areaReactionWorker.processAreaEvents();
+
+        // Then
+        assertEquals(6, reads.size());
+        assertTrue(options.get(5).isBlocking());
+        assertEquals(2L, options.get(5).getCount());
+        verify(streamOperations, never()).acknowledge(any(String.class), any(String.class), any(RecordId[].class));
+    }
+
+    @Test
+    void testProcessAreaEventsBuffersEventsByUserWhileNoSlotIsFree() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadTaskExecutor reactions = new VirtualThreadTaskExecutor("test-reactions", 1, 1);
+        try {
+            areaReactionWorker = workerWithSaturatedDispatcher(reactions, release, new WorkerProperties());
+            UUID userId = UUID.randomUUID();
+            when(redisEventService.getStreamInfo()).thenReturn(Map.of());
+            when(redisConfig.getAreasBatchSize()).thenReturn(2);
+            when(redisConfig.getAreasPollTimeout()).thenReturn(Duration.ofMillis(100));
+            when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+            when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class)))
+                .thenReturn(List.of(MapRecord.create("areas:events:webhook", Map.<Object, Object>of(
+                        "userId", userId.toString(),
+                        "executionId", UUID.randomUUID().toString()))
+                    .withId(RecordId.of("1-0"))))
+                .thenReturn(List.of());
+
+            // When
+            areaReactionWorker.processAreaEvents();
+
+            // Then
+            assertEquals(Map.of(userId.toString(), 1), areaReactionWorker.getWorkerStatus().get("bufferedEvents"));
+            verify(executionService, never()).claimExecutions(any(), any());
+        } finally {
+            release.countDown();
+            reactions.destroy();
+        }
+    }
+
+    @Test
+    void testProcessAreaEventsDefersReadsWithoutCredits() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadTaskExecutor reactions = new VirtualThreadTaskExecutor("test-reactions", 1, 1);
+        WorkerProperties noReadAhead = new WorkerProperties();
+        noReadAhead.getFairShare().setMaxBuffered(0);
+        try {
+            areaReactionWorker = workerWithSaturatedDispatcher(reactions, release, noReadAhead);
+            when(redisConfig.getAreasBatchSize()).thenReturn(2);
+            when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+
+            // When
+            areaReactionWorker.processAreaEvents();
+
+            // Then
+            verify(streamOperations, never())
+                .read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class));
+            assertEquals(1.0, meterRegistry.counter("area_worker_stream_reads_deferred_total").count());
+        } finally {
+            release.countDown();
+            reactions.destroy();
+        }
+    }
+
+    @Test
+    void testProcessAreaEventsSkipsOverlappingRound() throws Exception {
+        // Given - a round blocked inside its first stream read
+        areaReactionWorker.initialize();
+        when(redisConfig.getAreasBatchSize()).thenReturn(2);
+        when(redisConfig.getAreasPollTimeout()).thenReturn(Duration.ofMillis(100));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class)))
+            .thenAnswer(invocation -> {
+                reading.countDown();
+                release.await();
+                return List.of();
+            })
+            .thenReturn(List.of());
+        Thread firstRound = Thread.ofVirtual().start(areaReactionWorker::processAreaEvents);
+        assertTrue(reading.await(1, TimeUnit.SECONDS));
+
+        try {
+            // When
+            areaReactionWorker.processAreaEvents();
+
+            // Then
+            verify(streamOperations, times(1))
+                .read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class));
+        } finally {
+            release.countDown();
+            firstRound.join();
+        }
+    }
+
+    @Test
+    void testProcessRetryExecutionsClaimsNoMoreThanFreeSlots() throws Exception {
+        // Given - three reaction slots, one of them busy
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadTaskExecutor reactions = new VirtualThreadTaskExecutor("test-reactions", 3, 1);
+        try {
+            areaReactionWorker = workerWithSaturatedDispatcher(reactions, release, new WorkerProperties());
+            when(executionService.claimRetryExecutions(eq("test-consumer"), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of());
+
+            // When
+            areaReactionWorker.processRetryExecutions();
+
+            // Then
+            verify(executionService).claimRetryExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(2));
+        } finally {
+            release.countDown();
+            reactions.destroy();
+        }
+    }
+
+    @Test
+    void testDatabaseSweepsSkipClaimingWithoutFreeSlots() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadTaskExecutor reactions = new VirtualThreadTaskExecutor("test-reactions", 1, 1);
+        try {
+            areaReactionWorker = workerWithSaturatedDispatcher(reactions, release, new WorkerProperties());
+
+            // When
+            areaReactionWorker.processRetryExecutions();
+            areaReactionWorker.processQueuedExecutions();
+
+            // Then
+            verify(executionService, never()).claimRetryExecutions(any(), any(), anyInt());
+            verify(executionService, never()).claimQueuedExecutions(any(), any(), anyInt());
+        } finally {
+            release.countDown();
+            reactions.destroy();
+        }
+    }
+
+    /**
+     * Worker whose only reaction slot is held until {@code release} counts down.
+     */
+    private AreaReactionWorker workerWithSaturatedDispatcher(VirtualThreadTaskExecutor reactions,
+                                                            CountDownLatch release, WorkerProperties properties) {
+        ReactionDispatcher dispatcher = new ReactionDispatcher(reactions, meterRegistry);
+        dispatcher.dispatch(UUID.randomUUID(), Duration.ofMinutes(1), () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        FairShareScheduler scheduler = new FairShareScheduler(properties, meterRegistry);
+        scheduler.initMetrics();
+        AreaReactionWorker worker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            properties,
+            dispatcher,
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            scheduler,
+            resultWriter
+        );
+        worker.initialize();
+        return worker;
+    }
+
+    /**
+     * Stubs stream reads with batch size 2: the poll lane returns a full quota for the given
+     * number of reads, every other read returns nothing.
+     */
+    @SuppressWarnings("unchecked")
+    private void givenStreamReads(List<StreamOffset<String>[]> reads, List<StreamReadOptions> options,
+                                  int backloggedPollReads) {
+        when(redisConfig.getAreasBatchSize()).thenReturn(2);
+        when(redisConfig.getAreasPollTimeout()).thenReturn(Duration.ofMillis(100));
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        int[] remaining = {backloggedPollReads};
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class)))
+            .thenAnswer(invocation -> {
+                StreamOffset<String>[] offsets = Arrays.copyOfRange(invocation.getArguments(), 2,
+                    invocation.getArguments().length, StreamOffset[].class);
+                reads.add(offsets);
+                options.add(invocation.getArgument(1));
+                if (offsets.length == 1 && "areas:events:poll".equals(offsets[0].getKey()) && remaining[0]-- > 0) {
+                    return List.of(
+                        MapRecord.create("areas:events:poll", Map.<Object, Object>of("otherField", "a"))
+                            .withId(RecordId.of("1-0")),
+                        MapRecord.create("areas:events:poll", Map.<Object, Object>of("otherField", "b"))
+                            .withId(RecordId.of("1-1")));
+                }
+                return List.of();
+            });
+    }
+
     @Test
     void testProcessRetryExecutionsWithRetryExecutions() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
-        List<Execution> retryExecutions = Arrays.asList(testExecution);
-        when(executionService.getExecutionsReadyForRetry(any(LocalDateTime.class))).thenReturn(retryExecutions);
+        areaReactionWorker.initialize();
+        when(executionService.claimRetryExecutions(eq("test-consumer"), any(LocalDateTime.class), anyInt()))
+            .thenReturn(List.of(testExecution));
         when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
 
         // When
-        areaReactionWorker.processExecution(testExecution); // Test the core logic directly
+        areaReactionWorker.processRetryExecutions();
 
         // Then
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimRetryExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(50));
         verify(reactionExecutor).executeReaction(testExecution);
         verify(executionService).updateExecutionWithResult(executionResult);
     }
@@ -318,72 +879,133 @@ class AreaReactionWorkerTest {
     @Test
     void testProcessRetryExecutionsNoRetryExecutions() {
         // Given
-        when(executionService.getExecutionsReadyForRetry(any(LocalDateTime.class)))
+        when(executionService.claimRetryExecutions(any(), any(LocalDateTime.class), anyInt()))
             .thenReturn(Collections.emptyList());
 
         // When
         areaReactionWorker.processRetryExecutions();
 
         // Then
-        verify(executionService).getExecutionsReadyForRetry(any(LocalDateTime.class));
-        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
+        verify(executionService).claimRetryExecutions(any(), any(LocalDateTime.class), anyInt());
         verify(reactionExecutor, never()).executeReaction(any(Execution.class));
     }
 
     @Test
     void testProcessRetryExecutionsWithException() {
         // Given
-        when(executionService.getExecutionsReadyForRetry(any(LocalDateTime.class)))
+        when(executionService.claimRetryExecutions(any(), any(LocalDateTime.class), anyInt()))
             .thenThrow(new RuntimeException("Database error"));
 
         // When & Then - should not throw exception
         assertDoesNotThrow(() -> areaReactionWorker.processRetryExecutions());
 
-        verify(executionService).getExecutionsReadyForRetry(any(LocalDateTime.class));
+        verify(executionService).claimRetryExecutions(any(), any(LocalDateTime.class), anyInt());
     }
 
     @Test
     void testProcessQueuedExecutionsWithQueuedExecutions() {
         // Given
-        when(executionRepository.findByIdWithActionInstance(testExecution.getId()))
-            .thenReturn(java.util.Optional.of(testExecution));
-        List<Execution> queuedExecutions = Arrays.asList(testExecution);
-        when(executionService.getQueuedExecutions()).thenReturn(queuedExecutions);
+        areaReactionWorker.initialize();
+        when(executionService.claimQueuedExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(50)))
+            .thenReturn(List.of(testExecution));
         when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
 
         // When
-        areaReactionWorker.processExecution(testExecution); // Test the core logic directly
+        areaReactionWorker.processQueuedExecutions();
 
         // Then
-        verify(executionRepository).findByIdWithActionInstance(testExecution.getId());
-        verify(executionService).markExecutionAsStarted(testExecution.getId());
+        verify(executionService).claimQueuedExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(50));
         verify(reactionExecutor).executeReaction(testExecution);
         verify(executionService).updateExecutionWithResult(executionResult);
     }
 
+    @Test
+    void testProcessQueuedExecutionsKeepsClaimingWhileBatchesAreFull() {
+        // Given
+        WorkerProperties smallBatches = new WorkerProperties();
+        smallBatches.setClaimBatchSize(1);
+        areaReactionWorker = new AreaReactionWorker(
+            redisTemplate,
+            redisEventService,
+            executionService,
+            reactionExecutor,
+            redisConfig,
+            meterRegistry,
+            actionLinkService,
+            smallBatches,
+            new ReactionDispatcher(Runnable::run, meterRegistry),
+            executionLimiter,
+            new StreamShardAssignment(redisTemplate, redisConfig, meterRegistry),
+            fairShareScheduler,
+            resultWriter
+        );
+        areaReactionWorker.initialize();
+        when(executionService.claimQueuedExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(1)))
+            .thenReturn(List.of(testExecution))
+            .thenReturn(Collections.emptyList());
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+
+        // When
+        areaReactionWorker.processQueuedExecutions();
+
+        // Then
+        verify(executionService, times(2)).claimQueuedExecutions(eq("test-consumer"), any(LocalDateTime.class), eq(1));
+        verify(reactionExecutor).executeReaction(testExecution);
+    }
+
     @Test
     void testProcessQueuedExecutionsNoQueuedExecutions() {
         // Given
-        when(executionService.getQueuedExecutions()).thenReturn(Collections.emptyList());
+        when(executionService.claimQueuedExecutions(any(), any(), anyInt())).thenReturn(Collections.emptyList());
 
         // When
         areaReactionWorker.processQueuedExecutions();
 
         // Then
-        verify(executionService).getQueuedExecutions();
-        verify(executionService, never()).markExecutionAsStarted(any(UUID.class));
+        verify(executionService).claimQueuedExecutions(any(), any(), anyInt());
         verify(reactionExecutor, never()).executeReaction(any(Execution.class));
     }
 
     @Test
     void testProcessQueuedExecutionsWithException() {
         // Given
-        when(executionService.getQueuedExecutions()).thenThrow(new RuntimeException("Database error"));
+        when(executionService.claimQueuedExecutions(any(), any(), anyInt()))
+            .thenThrow(new RuntimeException("Database error"));
 
         // When & Then - should not throw exception
         assertDoesNotThrow(() -> areaReactionWorker.processQueuedExecutions());
 
-        verify(executionService).getQueuedExecutions();
+        verify(executionService).claimQueuedExecutions(any(), any(), anyInt());
+    }
+
+    @Test
+    void testProcessQueuedExecutionsOnlySweepsStaleExecutions() {
+        // Given
+        when(executionService.claimQueuedExecutions(any(), any(), anyInt())).thenReturn(Collections.emptyList());
+        LocalDateTime latestExpected = LocalDateTime.now().minusSeconds(60);
+
+        // When
+        areaReactionWorker.processQueuedExecutions();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> queuedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(executionService).claimQueuedExecutions(any(), queuedBefore.capture(), anyInt());
+        assertFalse(queuedBefore.getValue().isBefore(latestExpected));
+        assertTrue(queuedBefore.getValue().isBefore(LocalDateTime.now().minusSeconds(59)));
+    }
+
+    @Test
+    void testProcessExecutionAlreadyClaimed() {
+        // Given
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        areaReactionWorker.processExecution(testExecution);
+
+        // Then
+        verify(reactionExecutor, never()).executeReaction(any(Execution.class));
+        verify(executionService, never()).updateExecutionWithResult(any(ExecutionResult.class));
     }
 
     @Test
@@ -457,4 +1079,38 @@ class AreaReactionWorkerTest {
 
         verify(executionService).getExecutionStatistics();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProcessExecutionDeferredWhenActivationModeLimitReached() {
+        // Given
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
+        when(executionLimiter.tryAcquire(any(), eq(testExecution.getId())))
+            .thenReturn(RedisExecutionLimiter.Decision.CONCURRENCY_EXCEEDED);
+
+        // When
+        areaReactionWorker.processExecution(testExecution);
+
+        // Then
+        verify(reactionExecutor, never()).executeReaction(any(Execution.class));
+        verify(executionLimiter, never()).release(any(), any());
+        ArgumentCaptor<ExecutionResult> resultCaptor = ArgumentCaptor.forClass(ExecutionResult.class);
+        verify(executionService).updateExecutionWithResult(resultCaptor.capture());
+        assertEquals(ExecutionStatus.RETRY, resultCaptor.getValue().getStatus());
+        assertTrue(resultCaptor.getValue().isDeferred());
+    }
+
+    @Test
+    void testProcessExecutionReleasesLimiterLease() {
+        // Given
+        when(executionService.claimExecutions("test-consumer", List.of(testExecution.getId())))
+            .thenReturn(List.of(testExecution));
+        when(reactionExecutor.executeReaction(testExecution)).thenReturn(executionResult);
+
+        // When
+        areaReactionWorker.processExecution(testExecution);
+
+        // Then
+        verify(executionLimiter).release(testExecution.getActivationMode(), testExecution.getId());
+    }
+}
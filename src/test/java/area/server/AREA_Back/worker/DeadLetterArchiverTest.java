@@ -0,0 +1,92 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Area.DeadLetterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterArchiverTest {
+
+    @Mock
+    private DeadLetterService deadLetterService;
+
+    private WorkerProperties workerProperties;
+    private DeadLetterArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        workerProperties = new WorkerProperties();
+        workerProperties.getDeadLetter().setMoveBatchSize(10);
+        archiver = new DeadLetterArchiver(deadLetterService, workerProperties);
+    }
+
+    @Test
+    void archiveDrainsFullBatchesUntilPartialBatch() {
+        // Given
+        when(deadLetterService.moveFailedExecutions(any(LocalDateTime.class), eq(10)))
+            .thenReturn(10, 10, 3);
+
+        // When
+        archiver.archiveFailedExecutions();
+
+        // Then
+        verify(deadLetterService, times(3)).moveFailedExecutions(any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    void archiveStopsAfterMaxBatchesPerRun() {
+        // Given
+        when(deadLetterService.moveFailedExecutions(any(LocalDateTime.class), eq(10))).thenReturn(10);
+
+        // When
+        archiver.archiveFailedExecutions();
+
+        // Then
+        verify(deadLetterService, times(20)).moveFailedExecutions(any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    void archiveStopsDrainingAfterFailedBatch() {
+        // Given
+        when(deadLetterService.moveFailedExecutions(any(LocalDateTime.class), eq(10)))
+            .thenReturn(10)
+            .thenThrow(new RuntimeException("Database error"));
+
+        // When
+        archiver.archiveFailedExecutions();
+
+        // Then
+        verify(deadLetterService, times(2)).moveFailedExecutions(any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    void archiveOnlyMovesExecutionsOlderThanMoveAfter() {
+        // Given
+        workerProperties.getDeadLetter().setMoveAfterSeconds(3600);
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(deadLetterService.moveFailedExecutions(before.capture(), eq(10))).thenReturn(0);
+        LocalDateTime start = LocalDateTime.now();
+
+        // When
+        archiver.archiveFailedExecutions();
+
+        // Then
+        assertFalse(before.getValue().isBefore(start.minusSeconds(3600)));
+        assertFalse(before.getValue().isAfter(LocalDateTime.now().minusSeconds(3600)));
+        verify(deadLetterService, times(1)).moveFailedExecutions(any(LocalDateTime.class), eq(10));
+    }
+}
@@ -0,0 +1,81 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Redis.EventOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxRelayTest {
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    private WorkerProperties workerProperties;
+    private EventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        workerProperties = new WorkerProperties();
+        workerProperties.getOutbox().setRelayBatchSize(2);
+        relay = new EventOutboxRelay(eventOutboxService, workerProperties);
+    }
+
+    @Test
+    void relayDrainsWhileBatchesAreFull() {
+        // Given
+        when(eventOutboxService.relayBatch(2)).thenReturn(2, 2, 1);
+
+        // When
+        relay.relayEvents();
+
+        // Then
+        verify(eventOutboxService, times(3)).relayBatch(2);
+    }
+
+    @Test
+    void relayStopsAfterEmptyBatch() {
+        // Given
+        when(eventOutboxService.relayBatch(2)).thenReturn(2, 0);
+
+        // When
+        relay.relayEvents();
+
+        // Then
+        verify(eventOutboxService, times(2)).relayBatch(2);
+    }
+
+    @Test
+    void relayStopsDrainingAfterFailedBatch() {
+        // Given
+        when(eventOutboxService.relayBatch(2))
+            .thenReturn(2)
+            .thenThrow(new RuntimeException("Redis down"));
+
+        // When
+        relay.relayEvents();
+
+        // Then
+        verify(eventOutboxService, times(2)).relayBatch(2);
+    }
+
+    @Test
+    void relayUsesAtLeastOneEventPerBatch() {
+        // Given
+        workerProperties.getOutbox().setRelayBatchSize(0);
+        when(eventOutboxService.relayBatch(1)).thenReturn(1, 1, 0);
+
+        // When
+        relay.relayEvents();
+
+        // Then
+        verify(eventOutboxService, times(3)).relayBatch(1);
+    }
+}
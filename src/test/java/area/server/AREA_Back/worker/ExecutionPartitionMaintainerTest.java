@@ -0,0 +1,82 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExecutionPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkerProperties workerProperties;
+    private ExecutionPartitionMaintainer maintainer;
+    private LocalDate currentMonth;
+
+    @BeforeEach
+    void setUp() {
+        workerProperties = new WorkerProperties();
+        maintainer = new ExecutionPartitionMaintainer(jdbcTemplate, workerProperties);
+        currentMonth = LocalDate.now().withDayOfMonth(1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(0);
+    }
+
+    @Test
+    void maintainPartitionsCreatesArchivesAndDrops() {
+        // When
+        maintainer.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate).queryForObject("SELECT area.ensure_execution_partitions(?, ?)", Integer.class,
+            Date.valueOf(currentMonth), 3);
+        verify(jdbcTemplate).queryForObject("SELECT area.archive_execution_partitions(?)", Integer.class,
+            Date.valueOf(currentMonth.minusMonths(6)));
+        verify(jdbcTemplate).queryForObject("SELECT area.drop_archived_execution_partitions(?)", Integer.class,
+            Date.valueOf(currentMonth.minusMonths(24)));
+    }
+
+    @Test
+    void maintainPartitionsSkipsRetentionWhenDisabled() {
+        // Given
+        workerProperties.getPartitions().setHotRetentionMonths(0);
+        workerProperties.getPartitions().setArchiveRetentionMonths(0);
+
+        // When
+        maintainer.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT area.archive_execution_partitions(?)"),
+            eq(Integer.class), any(Object[].class));
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT area.drop_archived_execution_partitions(?)"),
+            eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    void maintainPartitionsSwallowsErrors() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class)))
+            .thenThrow(new RuntimeException("permission denied"));
+
+        // When & Then
+        assertDoesNotThrow(() -> maintainer.maintainPartitions());
+    }
+}
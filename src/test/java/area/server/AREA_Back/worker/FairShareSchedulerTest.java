@@ -0,0 +1,168 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Redis.EventLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairShareSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkerProperties workerProperties;
+    private FairShareScheduler scheduler;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workerProperties = new WorkerProperties();
+        scheduler = new FairShareScheduler(workerProperties, meterRegistry);
+        scheduler.initMetrics();
+    }
+
+    @Test
+    void floodingTenantIsInterleavedWithOthers() {
+        // Given
+        enqueue("noisy", 5);
+        enqueue("quiet", 2);
+
+        // When
+        List<String> order = tenants(scheduler.next(7));
+
+        // Then
+        assertEquals(List.of("noisy", "quiet", "noisy", "quiet", "noisy", "noisy", "noisy"), order);
+        assertEquals(0, scheduler.getBuffered());
+    }
+
+    @Test
+    void quantumOverrideGivesATenantALargerShare() {
+        // Given
+        workerProperties.getFairShare().getQuanta().put("premium", 3);
+        enqueue("premium", 4);
+        enqueue("basic", 4);
+
+        // When
+        List<String> order = tenants(scheduler.next(5));
+
+        // Then
+        assertEquals(List.of("premium", "premium", "premium", "basic", "premium"), order);
+    }
+
+    @Test
+    void tenantCutShortByTheLimitIsServedFirstNextTime() {
+        // Given
+        workerProperties.getFairShare().setQuantum(2);
+        enqueue("a", 3);
+        enqueue("b", 3);
+
+        // When
+        List<String> first = tenants(scheduler.next(1));
+        List<String> second = tenants(scheduler.next(3));
+
+        // Then
+        assertEquals(List.of("a"), first);
+        assertEquals(List.of("a", "b", "b"), second);
+    }
+
+    @Test
+    void bufferIsBoundedByMaxBuffered() {
+        // Given
+        workerProperties.getFairShare().setMaxBuffered(3);
+
+        // When
+        enqueue("a", 2);
+
+        // Then
+        assertEquals(1, scheduler.remainingCapacity());
+        enqueue("a", 2);
+        assertEquals(0, scheduler.remainingCapacity());
+    }
+
+    @Test
+    void queueDepthIsExportedAsAggregatesWithoutTenantTags() {
+        // Given
+        enqueue("a", 3);
+        enqueue("b", 1);
+        enqueue("c", 2);
+
+        // When
+        scheduler.next(3);
+
+        // Then
+        assertEquals(Map.of("a", 2, "c", 1), scheduler.getQueueDepths());
+        assertEquals(2.0, meterRegistry.get("area_worker_fair_share_tenants").gauge().value());
+        assertEquals(2.0, meterRegistry.get("area_worker_fair_share_max_tenant_depth").gauge().value());
+        assertEquals(3.0, meterRegistry.get("area_worker_fair_share_buffered").gauge().value());
+        assertTrue(meterRegistry.find("area_worker_tenant_queue_depth").gauges().isEmpty());
+    }
+
+    @Test
+    void containsTracksBufferedEntriesPerStream() {
+        // Given
+        enqueue("a", EventLane.POLL, 1);
+
+        // When & Then
+        assertTrue(scheduler.contains("areas:events:poll", RecordId.of("1-0")));
+        assertFalse(scheduler.contains("areas:events:webhook", RecordId.of("1-0")));
+        scheduler.next(1);
+        assertFalse(scheduler.contains("areas:events:poll", RecordId.of("1-0")));
+    }
+
+    @Test
+    void interactiveEventsOvertakeTheTenantsOwnBacklog() {
+        // Given - a webhook storm of one user, then a manual trigger of the same user
+        workerProperties.getFairShare().setQuantum(4);
+        enqueue("storm", EventLane.WEBHOOK, 10);
+        enqueue("storm", EventLane.INTERACTIVE, 1);
+
+        // When
+        List<String> lanes = scheduler.next(4).stream()
+            .map(record -> (String) record.getValue().get("lane"))
+            .toList();
+
+        // Then
+        assertEquals("manual", lanes.get(0));
+    }
+
+    @Test
+    void lanesOfATenantShareByWeight() {
+        // Given
+        workerProperties.getFairShare().setQuantum(20);
+        enqueue("a", EventLane.POLL, 10);
+        enqueue("a", EventLane.WEBHOOK, 10);
+
+        // When
+        List<String> lanes = scheduler.next(6).stream()
+            .map(record -> (String) record.getValue().get("lane"))
+            .toList();
+
+        // Then - webhook weight 2, poll weight 1
+        assertEquals(List.of("webhook", "webhook", "poll", "webhook", "webhook", "poll"), lanes);
+    }
+
+    private void enqueue(String tenant, int count) {
+        enqueue(tenant, EventLane.POLL, count);
+    }
+
+    private void enqueue(String tenant, EventLane lane, int count) {
+        for (int i = 0; i < count; i++) {
+            scheduler.enqueue(tenant, lane, MapRecord.create("areas:events:" + lane.getKey(),
+                    Map.<Object, Object>of("tenant", tenant, "lane", lane.getKey()))
+                .withId(RecordId.of("1-" + sequence++)));
+        }
+    }
+
+    private static List<String> tenants(List<MapRecord<String, Object, Object>> records) {
+        return records.stream().map(record -> (String) record.getValue().get("tenant")).toList();
+    }
+}
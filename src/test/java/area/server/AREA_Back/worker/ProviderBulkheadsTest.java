@@ -0,0 +1,141 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.WorkerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProviderBulkheadsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkerProperties properties;
+    private ProviderBulkheads bulkheads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WorkerProperties();
+        properties.getBulkhead().setMaxWaitMs(50);
+        WorkerProperties.BulkheadLimits spotifyLimits = new WorkerProperties.BulkheadLimits();
+        spotifyLimits.setMaxConcurrent(1);
+        spotifyLimits.setQueueDepth(0);
+        properties.getBulkhead().getProviders().put("spotify", spotifyLimits);
+        bulkheads = new ProviderBulkheads(properties, meterRegistry,
+            new ReactionDispatcher(Runnable::run, meterRegistry));
+    }
+
+    @Test
+    void saturatedProviderDoesNotBlockOtherProviders() throws InterruptedException {
+        // Given - a Spotify call holding the only slot
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slowCall = Thread.ofVirtual().start(() -> bulkheads.execute("spotify", () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(holding.await(1, TimeUnit.SECONDS));
+
+        try {
+            // When & Then
+            assertThrows(BulkheadFullException.class, () -> bulkheads.execute("spotify", () -> "late"));
+            assertEquals("ok", bulkheads.execute("github", () -> "ok"));
+            assertEquals(1.0, meterRegistry.get("area_reaction_bulkhead_saturation")
+                .tag("provider", "spotify").gauge().value());
+            assertEquals(1.0, meterRegistry.counter("area_reaction_bulkhead_rejected_total",
+                "provider", "spotify").count());
+        } finally {
+            release.countDown();
+            slowCall.join();
+        }
+    }
+
+    @Test
+    void waitingCallerGetsSlotOnceReleased() {
+        // When
+        String first = bulkheads.execute("spotify", () -> "first");
+        String second = bulkheads.execute("spotify", () -> "second");
+
+        // Then
+        assertEquals("first", first);
+        assertEquals("second", second);
+        assertEquals(0.0, meterRegistry.get("area_reaction_bulkhead_active")
+            .tag("provider", "spotify").gauge().value());
+    }
+
+    @Test
+    void slowProviderLeavesPoolThreadsForOtherProviders() throws Exception {
+        // Given - a 4-thread pool, so a provider gets at most 2 of its threads
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(4);
+        pool.setMaxPoolSize(4);
+        pool.setQueueCapacity(10);
+        pool.initialize();
+        bulkheads = new ProviderBulkheads(new WorkerProperties(), meterRegistry,
+            new ReactionDispatcher(pool, meterRegistry));
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        Runnable slowSpotifyCall = () -> {
+            try {
+                bulkheads.execute("spotify", () -> {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            } catch (BulkheadFullException e) {
+                rejected.incrementAndGet();
+            }
+        };
+
+        try {
+            // When - Spotify hangs while more of its reactions than threads are dispatched
+            for (int i = 0; i < 6; i++) {
+                pool.execute(slowSpotifyCall);
+            }
+            assertTrue(holding.await(1, TimeUnit.SECONDS));
+            CompletableFuture<String> github = CompletableFuture.supplyAsync(
+                () -> bulkheads.execute("github", () -> "ok"), pool);
+
+            // Then
+            assertEquals("ok", github.get(1, TimeUnit.SECONDS));
+            assertTrue(rejected.get() > 0);
+            assertEquals(2.0, meterRegistry.get("area_reaction_bulkhead_active")
+                .tag("provider", "spotify").gauge().value());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void providerOverridesFallBackToDefaults() {
+        // When
+        WorkerProperties.BulkheadLimits github = properties.getBulkhead().limitsFor("github");
+        WorkerProperties.BulkheadLimits spotify = properties.getBulkhead().limitsFor("spotify");
+
+        // Then
+        assertEquals(50, github.getMaxConcurrent());
+        assertEquals(100, github.getQueueDepth());
+        assertEquals(1, spotify.getMaxConcurrent());
+        assertEquals(0, spotify.getQueueDepth());
+    }
+}
@@ -0,0 +1,185 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.VirtualThreadTaskExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactionDispatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void dispatchTracksInFlightReactions() {
+        // Given
+        AtomicReference<Runnable> submitted = new AtomicReference<>();
+        ReactionDispatcher dispatcher = new ReactionDispatcher(submitted::set, meterRegistry);
+        dispatcher.initMetrics();
+
+        // When
+        dispatcher.dispatch(UUID.randomUUID(), Duration.ofMinutes(1), () -> { });
+
+        // Then
+        assertEquals(1, dispatcher.getInFlight());
+        assertEquals(1.0, meterRegistry.get("area_worker_reactions_in_flight").gauge().value());
+
+        submitted.get().run();
+        assertEquals(0, dispatcher.getInFlight());
+    }
+
+    @Test
+    void runTrackedPublishesTheDeadlineToTheReaction() {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(Runnable::run, meterRegistry);
+        AtomicReference<Duration> remaining = new AtomicReference<>();
+
+        // When
+        dispatcher.runTracked(UUID.randomUUID(), Duration.ofSeconds(5),
+            () -> remaining.set(ReactionDeadline.remaining()));
+
+        // Then
+        assertTrue(remaining.get().compareTo(Duration.ZERO) > 0);
+        assertTrue(remaining.get().compareTo(Duration.ofSeconds(5)) <= 0);
+        assertNull(ReactionDeadline.remaining());
+    }
+
+    @Test
+    void withdrawnReactionDoesNotRunWhenItReachesAThread() {
+        // Given
+        AtomicReference<Runnable> submitted = new AtomicReference<>();
+        ReactionDispatcher dispatcher = new ReactionDispatcher(submitted::set, meterRegistry);
+        AtomicInteger runs = new AtomicInteger();
+        UUID executionId = UUID.randomUUID();
+        dispatcher.dispatch(executionId, Duration.ofMinutes(1), runs::incrementAndGet);
+
+        // When
+        List<UUID> withdrawn = dispatcher.withdrawWaiting();
+        submitted.get().run();
+
+        // Then
+        assertEquals(List.of(executionId), withdrawn);
+        assertEquals(0, runs.get());
+        assertEquals(0, dispatcher.getInFlight());
+        assertTrue(dispatcher.withdrawWaiting().isEmpty());
+    }
+
+    @Test
+    void dispatchRunsOnCallerWhenExecutorRejects() {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(task -> {
+            throw new RejectedExecutionException("saturated");
+        }, meterRegistry);
+        AtomicInteger runs = new AtomicInteger();
+
+        // When
+        dispatcher.dispatch(UUID.randomUUID(), Duration.ofMinutes(1), runs::incrementAndGet);
+
+        // Then
+        assertEquals(1, runs.get());
+        assertEquals(0, dispatcher.getInFlight());
+        assertEquals(1.0, meterRegistry.counter("area_worker_reactions_caller_runs_total").count());
+    }
+
+    @Test
+    void cancelOverdueInterruptsReactionPastDeadline() throws InterruptedException {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(
+            task -> Thread.ofVirtual().start(task), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        dispatcher.dispatch(UUID.randomUUID(), Duration.ZERO, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // When
+        int cancelled = dispatcher.cancelOverdue();
+
+        // Then
+        assertEquals(1, cancelled);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("area_worker_reactions_cancelled_total").count());
+    }
+
+    @Test
+    void cancelIgnoresFinishedReactions() {
+        // Given
+        ReactionDispatcher dispatcher = new ReactionDispatcher(Runnable::run, meterRegistry);
+        UUID executionId = UUID.randomUUID();
+        dispatcher.dispatch(executionId, Duration.ZERO, () -> { });
+
+        // When
+        int cancelled = dispatcher.cancel(List.of(executionId));
+
+        // Then
+        assertEquals(0, cancelled);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void freeSlotsFollowThreadPoolSizeAndQueue() {
+        // Given
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setMaxPoolSize(6);
+        pool.setQueueCapacity(50);
+        ReactionDispatcher dispatcher = new ReactionDispatcher(pool, meterRegistry);
+        dispatcher.initMetrics();
+
+        // Then
+        assertEquals(56, dispatcher.getCapacity());
+        assertEquals(56, dispatcher.getFreeSlots());
+        assertEquals(0.0, meterRegistry.get("area_worker_reaction_utilization").gauge().value());
+    }
+
+    @Test
+    void freeSlotsDropWhileVirtualThreadPermitsAreTaken() throws Exception {
+        // Given
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("test", 2, 1);
+        ReactionDispatcher dispatcher = new ReactionDispatcher(executor, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // When
+            dispatcher.dispatch(UUID.randomUUID(), Duration.ofMinutes(1), () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // Then
+            assertEquals(2, dispatcher.getCapacity());
+            assertEquals(1, dispatcher.getFreeSlots());
+            assertEquals(0.5, dispatcher.getUtilization());
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+}
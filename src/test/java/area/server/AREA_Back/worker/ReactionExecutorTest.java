@@ -1,5 +1,6 @@
 package area.server.AREA_Back.worker;
 
+import area.server.AREA_Back.config.WorkerProperties;
 import area.server.AREA_Back.dto.ExecutionResult;
 import area.server.AREA_Back.entity.Execution;
 import area.server.AREA_Back.entity.ActionInstance;
@@ -11,6 +12,7 @@ import area.server.AREA_Back.service.Area.Services.DiscordActionService;
 import area.server.AREA_Back.service.Area.Services.GitHubActionService;
 import area.server.AREA_Back.service.Area.Services.GoogleActionService;
 import area.server.AREA_Back.service.Area.Services.NotionActionService;
+import area.server.AREA_Back.service.Redis.RedisProviderThrottle;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -28,6 +31,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
@@ -56,6 +61,9 @@ class ReactionExecutorTest {
     @Mock
     private NotionActionService notionActionService;
 
+    @Mock
+    private RedisProviderThrottle providerThrottle;
+
     private SimpleMeterRegistry meterRegistry;
 
     private ReactionExecutor reactionExecutor;
@@ -78,7 +86,10 @@ class ReactionExecutorTest {
             slackActionService,
             spotifyActionService,
             notionActionService,
-            meterRegistry
+            meterRegistry,
+            new ProviderBulkheads(new WorkerProperties(), meterRegistry,
+                new ReactionDispatcher(Runnable::run, meterRegistry)),
+            providerThrottle
         );
 
         service = new Service();
@@ -110,6 +121,8 @@ class ReactionExecutorTest {
         execution.setStatus(ExecutionStatus.QUEUED);
         execution.setAttempt(0);
         execution.setInputPayload(Map.of("data", "test"));
+
+        lenient().when(providerThrottle.await(any(), any(), any())).thenReturn(0L);
     }
 
     @Test
@@ -263,4 +276,50 @@ class ReactionExecutorTest {
         assertTrue(result.getErrorMessage().contains("Service not supported"));
         assertFalse(result.isShouldRetry());
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeReactionDefersWhenProviderBulkheadIsFull() {
+        // Given
+        WorkerProperties properties = new WorkerProperties();
+        properties.getBulkhead().setMaxConcurrent(0);
+        properties.getBulkhead().setQueueDepth(0);
+        reactionExecutor = new ReactionExecutor(
+            retryManager,
+            gitHubActionService,
+            googleActionService,
+            discordActionService,
+            slackActionService,
+            spotifyActionService,
+            notionActionService,
+            meterRegistry,
+            new ProviderBulkheads(properties, meterRegistry, new ReactionDispatcher(Runnable::run, meterRegistry)),
+            providerThrottle
+        );
+
+        // When
+        ExecutionResult result = reactionExecutor.executeReaction(execution);
+
+        // Then
+        assertEquals(ExecutionStatus.RETRY, result.getStatus());
+        assertTrue(result.isDeferred());
+        assertNotNull(result.getNextRetryAt());
+        assertEquals(1.0, meterRegistry.counter("area_reaction_bulkhead_rejected_total", "provider", "github").count());
+    }
+
+    @Test
+    void executeReactionDefersWhenThrottlePolicyIsSaturated() {
+        // Given
+        actionDefinition.setThrottlePolicy(Map.of("per_minute", 60));
+        when(providerThrottle.await("github", actionDefinition, actionInstance)).thenReturn(4000L);
+
+        // When
+        ExecutionResult result = reactionExecutor.executeReaction(execution);
+
+        // Then
+        assertEquals(ExecutionStatus.RETRY, result.getStatus());
+        assertTrue(result.isDeferred());
+        assertTrue(result.getNextRetryAt().isBefore(LocalDateTime.now().plusSeconds(5)));
+        assertTrue(result.getNextRetryAt().isAfter(LocalDateTime.now().plusSeconds(3)));
+        verifyNoInteractions(gitHubActionService);
+    }
+}
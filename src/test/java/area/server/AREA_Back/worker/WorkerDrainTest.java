@@ -0,0 +1,148 @@
+package area.server.AREA_Back.worker;
+
+import area.server.AREA_Back.config.RedisConfig;
+import area.server.AREA_Back.config.WorkerProperties;
+import area.server.AREA_Back.service.Area.ExecutionResultWriter;
+import area.server.AREA_Back.service.Area.ExecutionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkerDrainTest {
+
+    @Mock
+    private AreaReactionWorker areaReactionWorker;
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private ExecutionResultWriter resultWriter;
+
+    @Mock
+    private RedisConfig redisConfig;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private ReactionDispatcher reactionDispatcher;
+    private WorkerProperties workerProperties;
+    private WorkerDrain workerDrain;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        reactionDispatcher = new ReactionDispatcher(submitted::add, meterRegistry);
+        workerProperties = new WorkerProperties();
+        FairShareScheduler fairShareScheduler = new FairShareScheduler(workerProperties, meterRegistry);
+        fairShareScheduler.initMetrics();
+        workerDrain = new WorkerDrain(areaReactionWorker, reactionDispatcher, executionService, resultWriter,
+            fairShareScheduler, redisConfig, workerProperties);
+        when(redisConfig.getAreasConsumerName()).thenReturn("node-1");
+    }
+
+    @Test
+    void drainHandsBackUnstartedExecutionsAndFlushesResults() {
+        // Given
+        UUID waiting = UUID.randomUUID();
+        AtomicInteger runs = new AtomicInteger();
+        reactionDispatcher.dispatch(waiting, Duration.ofMinutes(1), runs::incrementAndGet);
+        when(executionService.releaseClaimedExecutions("node-1", List.of(waiting))).thenAnswer(invocation -> {
+            submitted.forEach(Runnable::run);
+            return List.of(waiting);
+        });
+
+        // When
+        workerDrain.stop();
+
+        // Then
+        var order = inOrder(areaReactionWorker, executionService, resultWriter);
+        order.verify(areaReactionWorker).shutdown();
+        order.verify(executionService).releaseClaimedExecutions("node-1", List.of(waiting));
+        order.verify(resultWriter).flush();
+        assertEquals(0, runs.get());
+        assertEquals(WorkerDrain.State.DRAINED, workerDrain.getState());
+        Map<String, Object> status = workerDrain.getStatus();
+        assertEquals(1, status.get("handedBack"));
+        assertEquals(0, status.get("abandoned"));
+    }
+
+    @Test
+    void drainStillFlushesWhenHandBackFails() {
+        // Given - the hand-back and its outbox events roll back together
+        UUID waiting = UUID.randomUUID();
+        reactionDispatcher.dispatch(waiting, Duration.ofMinutes(1), () -> { });
+        when(executionService.releaseClaimedExecutions("node-1", List.of(waiting)))
+            .thenThrow(new RuntimeException("db down"));
+
+        // When
+        workerDrain.drain();
+
+        // Then
+        verify(resultWriter).flush();
+        assertEquals(0, workerDrain.getStatus().get("handedBack"));
+        assertEquals(WorkerDrain.State.DRAINED, workerDrain.getState());
+    }
+
+    @Test
+    void drainStopsWaitingAtTheDeadline() throws Exception {
+        // Given
+        workerProperties.getDrain().setTimeoutMs(200);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        reactionDispatcher.dispatch(UUID.randomUUID(), Duration.ofMinutes(1), () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread reaction = Thread.ofVirtual().start(submitted.get(0));
+        started.await();
+
+        // When
+        workerDrain.drain();
+
+        // Then
+        assertEquals(1, workerDrain.getStatus().get("abandoned"));
+        assertEquals(WorkerDrain.State.DRAINED, workerDrain.getState());
+        verify(resultWriter).flush();
+        release.countDown();
+        reaction.join();
+    }
+
+    @Test
+    void drainRunsOnce() {
+        // When
+        workerDrain.drain();
+        workerDrain.drain();
+
+        // Then
+        verify(areaReactionWorker, times(1)).shutdown();
+        verify(executionService, times(1)).releaseClaimedExecutions(eq("node-1"), anyList());
+        assertTrue(workerDrain.getStatus().get("finishedAt") != null);
+    }
+}